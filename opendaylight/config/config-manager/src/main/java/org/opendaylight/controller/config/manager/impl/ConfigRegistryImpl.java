@@ -8,6 +8,7 @@
 package org.opendaylight.controller.config.manager.impl;
 
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -20,10 +21,13 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 import javax.management.InstanceAlreadyExistsException;
@@ -50,6 +54,7 @@ import org.opendaylight.controller.config.manager.impl.jmx.RootRuntimeBeanRegist
 import org.opendaylight.controller.config.manager.impl.osgi.BeanToOsgiServiceManager;
 import org.opendaylight.controller.config.manager.impl.osgi.BeanToOsgiServiceManager.OsgiRegistration;
 import org.opendaylight.controller.config.manager.impl.osgi.mapping.BindingContextProvider;
+import org.opendaylight.controller.config.manager.impl.util.DependencyOrderedExecution;
 import org.opendaylight.controller.config.manager.impl.util.LookupBeansUtil;
 import org.opendaylight.controller.config.manager.impl.util.ModuleQNameUtil;
 import org.opendaylight.controller.config.spi.Module;
@@ -118,15 +123,45 @@ public class ConfigRegistryImpl implements AutoCloseable, ConfigRegistryImplMXBe
     private CloseableServiceReferenceReadableRegistry readableSRRegistry = ServiceReferenceRegistryImpl
             .createInitialSRLookupRegistry();
 
+    // instantiates and destroys independent modules concurrently, null if they are processed one after another
+    @Nullable
+    private final ExecutorService moduleInstantiationExecutor;
+
     // constructor
     public ConfigRegistryImpl(final ModuleFactoriesResolver resolver, final MBeanServer configMBeanServer,
             final BindingContextProvider bindingContextProvider) {
-        this(resolver, configMBeanServer, new BaseJMXRegistrator(configMBeanServer), bindingContextProvider);
+        this(resolver, configMBeanServer, bindingContextProvider, 0);
+    }
+
+    /**
+     * Create a registry which instantiates and destroys modules not depending on each other concurrently.
+     *
+     * @param moduleInstantiationThreads number of threads used to instantiate and destroy modules, 0 to process them
+     *                                   one after another from the committing thread
+     */
+    public ConfigRegistryImpl(final ModuleFactoriesResolver resolver, final MBeanServer configMBeanServer,
+            final BindingContextProvider bindingContextProvider, final int moduleInstantiationThreads) {
+        this(resolver, configMBeanServer, new BaseJMXRegistrator(configMBeanServer), bindingContextProvider,
+                moduleInstantiationThreads);
     }
 
     // constructor
     public ConfigRegistryImpl(final ModuleFactoriesResolver resolver, final MBeanServer configMBeanServer,
             final BaseJMXRegistrator baseJMXRegistrator, final BindingContextProvider bindingContextProvider) {
+        this(resolver, configMBeanServer, baseJMXRegistrator, bindingContextProvider, 0);
+    }
+
+    // constructor
+    public ConfigRegistryImpl(final ModuleFactoriesResolver resolver, final MBeanServer configMBeanServer,
+            final BaseJMXRegistrator baseJMXRegistrator, final BindingContextProvider bindingContextProvider,
+            final int moduleInstantiationThreads) {
+        if (moduleInstantiationThreads < 0) {
+            throw new IllegalArgumentException("Invalid number of module instantiation threads "
+                    + moduleInstantiationThreads);
+        }
+        this.moduleInstantiationExecutor = moduleInstantiationThreads == 0 ? null
+                : Executors.newFixedThreadPool(moduleInstantiationThreads, new ThreadFactoryBuilder()
+                        .setNameFormat("config-module-instantiation-%d").setDaemon(true).build());
         this.resolver = resolver;
         this.beanToOsgiServiceManager = new BeanToOsgiServiceManager();
         this.configMBeanServer = configMBeanServer;
@@ -231,7 +266,8 @@ public class ConfigRegistryImpl implements AutoCloseable, ConfigRegistryImplMXBe
 
         ConfigTransactionControllerInternal transactionController = new ConfigTransactionControllerImpl(
                 txLookupRegistry, version, bindingContextProvider, versionCounter, allCurrentFactories,
-                transactionsMBeanServer, configMBeanServer, blankTransaction, writableRegistry);
+                transactionsMBeanServer, configMBeanServer, blankTransaction, writableRegistry,
+                moduleInstantiationExecutor);
         try {
             txLookupRegistry.registerMBean(transactionController, transactionController.getControllerObjectName());
         } catch (final InstanceAlreadyExistsException e) {
@@ -293,12 +329,13 @@ public class ConfigRegistryImpl implements AutoCloseable, ConfigRegistryImplMXBe
 
         // close instances which were destroyed by the user, including
         // (hopefully) runtime beans
-        for (DestroyedModule toBeDestroyed : commitInfo.getDestroyedFromPreviousTransactions()) {
-            // closes instance (which should close
-            // runtime jmx registrator),
-            // also closes osgi registration and ModuleJMXRegistrator
-            // registration
-            toBeDestroyed.close();
+        // closes instance (which should close
+        // runtime jmx registrator),
+        // also closes osgi registration and ModuleJMXRegistrator
+        // registration
+        List<DestroyedModule> destroyedModules = commitInfo.getDestroyedFromPreviousTransactions();
+        destroyModules(destroyedModules);
+        for (DestroyedModule toBeDestroyed : destroyedModules) {
             currentConfig.remove(toBeDestroyed.getIdentifier());
         }
 
@@ -335,6 +372,8 @@ public class ConfigRegistryImpl implements AutoCloseable, ConfigRegistryImplMXBe
 
         // can register runtime beans
         List<ModuleIdentifier> orderedModuleIdentifiers = configTransactionController.secondPhaseCommit();
+        Map<ModuleIdentifier, Set<ModuleIdentifier>> moduleDependencies =
+                configTransactionController.getModuleDependencies();
         txLookupRegistry.close();
         configTransactionController.close();
 
@@ -431,7 +470,8 @@ public class ConfigRegistryImpl implements AutoCloseable, ConfigRegistryImplMXBe
             RootRuntimeBeanRegistratorImpl runtimeBeanRegistrator = runtimeRegistrators.get(entry.getIdentifier());
             ModuleInternalInfo newInfo = new ModuleInternalInfo(entry.getIdentifier(), newReadableConfigBean,
                     osgiRegistration, runtimeBeanRegistrator, newModuleJMXRegistrator, orderingIdx,
-                    entry.isDefaultBean(), entry.getModuleFactory(), entry.getBundleContext());
+                    entry.isDefaultBean(), entry.getModuleFactory(), entry.getBundleContext(),
+                    moduleDependencies.getOrDefault(moduleIdentifier, Collections.emptySet()));
 
             newConfigEntries.put(realModule, newInfo);
             orderingIdx++;
@@ -494,8 +534,9 @@ public class ConfigRegistryImpl implements AutoCloseable, ConfigRegistryImplMXBe
 
         LOG.info("ConfigRegistry closing - destroying {} modules", destroyedModules.size());
 
-        for (DestroyedModule destroyedModule : destroyedModules) {
-            destroyedModule.close();
+        destroyModules(destroyedModules);
+        if (moduleInstantiationExecutor != null) {
+            moduleInstantiationExecutor.shutdown();
         }
         // unregister MBeans that failed to unregister properly
         baseJMXRegistrator.close();
@@ -506,6 +547,37 @@ public class ConfigRegistryImpl implements AutoCloseable, ConfigRegistryImplMXBe
         LOG.info("ConfigRegistry closed");
     }
 
+    /**
+     * Close the destroyed modules, each one before the modules it depends on. The list is sorted from top to bottom of
+     * the dependency hierarchy, hence closing the modules one after another respects that order.
+     */
+    private void destroyModules(final List<DestroyedModule> destroyedModules) {
+        if (moduleInstantiationExecutor == null) {
+            for (DestroyedModule destroyedModule : destroyedModules) {
+                destroyedModule.close();
+            }
+            return;
+        }
+
+        // a module can be closed once all the destroyed modules depending on it have been closed
+        Map<DestroyedModule, List<DestroyedModule>> dependents = new HashMap<>();
+        Map<ModuleIdentifier, DestroyedModule> byIdentifier = new HashMap<>();
+        for (DestroyedModule destroyedModule : destroyedModules) {
+            dependents.put(destroyedModule, new ArrayList<>());
+            byIdentifier.put(destroyedModule.getIdentifier(), destroyedModule);
+        }
+        for (DestroyedModule destroyedModule : destroyedModules) {
+            for (ModuleIdentifier dependency : destroyedModule.getDependencies()) {
+                DestroyedModule destroyedDependency = byIdentifier.get(dependency);
+                if (destroyedDependency != null) {
+                    dependents.get(destroyedDependency).add(destroyedModule);
+                }
+            }
+        }
+
+        DependencyOrderedExecution.execute(moduleInstantiationExecutor, dependents, DestroyedModule::close);
+    }
+
     /**
      * {@inheritDoc}
      */
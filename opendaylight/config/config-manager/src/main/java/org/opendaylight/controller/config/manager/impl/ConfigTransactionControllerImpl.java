@@ -16,6 +16,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
@@ -39,6 +40,7 @@ import org.opendaylight.controller.config.manager.impl.factoriesresolver.Hierarc
 import org.opendaylight.controller.config.manager.impl.jmx.TransactionModuleJMXRegistrator;
 import org.opendaylight.controller.config.manager.impl.jmx.TransactionModuleJMXRegistrator.TransactionModuleJMXRegistration;
 import org.opendaylight.controller.config.manager.impl.osgi.mapping.BindingContextProvider;
+import org.opendaylight.controller.config.manager.impl.util.DependencyOrderedExecution;
 import org.opendaylight.controller.config.manager.impl.util.InterfacesHelper;
 import org.opendaylight.controller.config.spi.AbstractModule;
 import org.opendaylight.controller.config.spi.Module;
@@ -82,11 +84,28 @@ public class ConfigTransactionControllerImpl implements ConfigTransactionControl
     @GuardedBy("this")
     private final SearchableServiceReferenceWritableRegistry writableSRRegistry;
 
+    /**
+     * Executor on which independent modules are instantiated concurrently, or null if they are instantiated one after
+     * another from the committing thread.
+     */
+    @Nullable
+    private final ExecutorService moduleInstantiationExecutor;
+
     public ConfigTransactionControllerImpl(final ConfigTransactionLookupRegistry txLookupRegistry,
             final long parentVersion, final BindingContextProvider bindingContextProvider, final long currentVersion,
             final Map<String, Entry<ModuleFactory, BundleContext>> currentlyRegisteredFactories,
             final MBeanServer transactionsMBeanServer, final MBeanServer configMBeanServer,
             final boolean blankTransaction, final SearchableServiceReferenceWritableRegistry writableSRRegistry) {
+        this(txLookupRegistry, parentVersion, bindingContextProvider, currentVersion, currentlyRegisteredFactories,
+                transactionsMBeanServer, configMBeanServer, blankTransaction, writableSRRegistry, null);
+    }
+
+    public ConfigTransactionControllerImpl(final ConfigTransactionLookupRegistry txLookupRegistry,
+            final long parentVersion, final BindingContextProvider bindingContextProvider, final long currentVersion,
+            final Map<String, Entry<ModuleFactory, BundleContext>> currentlyRegisteredFactories,
+            final MBeanServer transactionsMBeanServer, final MBeanServer configMBeanServer,
+            final boolean blankTransaction, final SearchableServiceReferenceWritableRegistry writableSRRegistry,
+            @Nullable final ExecutorService moduleInstantiationExecutor) {
         this.txLookupRegistry = txLookupRegistry;
         String transactionName = txLookupRegistry.getTransactionIdentifier().getName();
         this.controllerON = ObjectNameUtil.createTransactionControllerON(transactionName);
@@ -101,6 +120,7 @@ public class ConfigTransactionControllerImpl implements ConfigTransactionControl
         this.configMBeanServer = configMBeanServer;
         this.blankTransaction = blankTransaction;
         this.writableSRRegistry = writableSRRegistry;
+        this.moduleInstantiationExecutor = moduleInstantiationExecutor;
     }
 
     @Override
@@ -423,13 +443,16 @@ public class ConfigTransactionControllerImpl implements ConfigTransactionControl
         // performed bottom to top
         List<ModuleIdentifier> sortedModuleIdentifiers = Lists
                 .reverse(dependencyResolverManager.getSortedModuleIdentifiers());
-        for (ModuleIdentifier moduleIdentifier : sortedModuleIdentifiers) {
-            Module module = allModules.get(moduleIdentifier);
-
-            LOG.debug("About to commit {} in transaction {}", moduleIdentifier, getTransactionIdentifier());
-            AutoCloseable instance = module.getInstance();
-            Preconditions.checkNotNull(instance, "Instance is null:%s in transaction %s", moduleIdentifier,
-                    getTransactionIdentifier());
+        if (moduleInstantiationExecutor != null) {
+            // Modules which do not depend on each other are instantiated concurrently, each one once all of the
+            // modules it depends on have been instantiated
+            DependencyOrderedExecution.execute(moduleInstantiationExecutor,
+                    dependencyResolverManager.getDependencyGraph(),
+                    moduleIdentifier -> instantiate(moduleIdentifier, allModules.get(moduleIdentifier)));
+        } else {
+            for (ModuleIdentifier moduleIdentifier : sortedModuleIdentifiers) {
+                instantiate(moduleIdentifier, allModules.get(moduleIdentifier));
+            }
         }
 
         LOG.trace("Committed configuration {}", getTransactionIdentifier());
@@ -438,6 +461,18 @@ public class ConfigTransactionControllerImpl implements ConfigTransactionControl
         return sortedModuleIdentifiers;
     }
 
+    private void instantiate(final ModuleIdentifier moduleIdentifier, final Module module) {
+        LOG.debug("About to commit {} in transaction {}", moduleIdentifier, getTransactionIdentifier());
+        AutoCloseable instance = module.getInstance();
+        Preconditions.checkNotNull(instance, "Instance is null:%s in transaction %s", moduleIdentifier,
+                getTransactionIdentifier());
+    }
+
+    @Override
+    public Map<ModuleIdentifier, Set<ModuleIdentifier>> getModuleDependencies() {
+        return dependencyResolverManager.getDependencyGraph();
+    }
+
     @Override
     public void abortConfig() {
         transactionStatus.checkNotCommitStarted();
@@ -9,6 +9,8 @@ package org.opendaylight.controller.config.manager.impl;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import javax.management.ObjectName;
 import org.opendaylight.controller.config.api.ModuleIdentifier;
 import org.opendaylight.controller.config.api.ValidationException;
@@ -55,6 +57,14 @@ interface ConfigTransactionControllerInternal extends ConfigTransactionControlle
      */
     List<ModuleIdentifier> secondPhaseCommit();
 
+    /**
+     * Get the dependencies among the modules of this transaction, as observed
+     * during validation and instantiation.
+     *
+     * @return map of module identifiers to the identifiers of the modules they depend on
+     */
+    Map<ModuleIdentifier, Set<ModuleIdentifier>> getModuleDependencies();
+
     /**
      * Gets the objectName of this transaction controller.
      *
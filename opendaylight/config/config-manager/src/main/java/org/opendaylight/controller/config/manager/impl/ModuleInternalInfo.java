@@ -7,6 +7,8 @@
  */
 package org.opendaylight.controller.config.manager.impl;
 
+import com.google.common.collect.ImmutableSet;
+import java.util.Set;
 import javax.annotation.Nullable;
 import org.opendaylight.controller.config.api.ModuleIdentifier;
 import org.opendaylight.controller.config.manager.impl.dependencyresolver.DestroyedModule;
@@ -39,12 +41,14 @@ public class ModuleInternalInfo implements Comparable<ModuleInternalInfo>, Ident
     private final boolean isDefaultBean;
     private final ModuleFactory moduleFactory;
     private final BundleContext bundleContext;
+    private final Set<ModuleIdentifier> dependencies;
 
     public ModuleInternalInfo(final ModuleIdentifier name, @Nullable final DynamicReadableWrapper readableModule,
             final OsgiRegistration osgiRegistration,
             @Nullable final RootRuntimeBeanRegistratorImpl runtimeBeanRegistrator,
             final ModuleJMXRegistrator moduleJMXRegistrator, final int orderingIdx, final boolean isDefaultBean,
-            final ModuleFactory moduleFactory, final BundleContext bundleContext) {
+            final ModuleFactory moduleFactory, final BundleContext bundleContext,
+            final Set<ModuleIdentifier> dependencies) {
 
         if (osgiRegistration == null) {
             throw new IllegalArgumentException("Parameter 'osgiRegistration' is missing");
@@ -58,6 +62,7 @@ public class ModuleInternalInfo implements Comparable<ModuleInternalInfo>, Ident
         this.isDefaultBean = isDefaultBean;
         this.moduleFactory = moduleFactory;
         this.bundleContext = bundleContext;
+        this.dependencies = ImmutableSet.copyOf(dependencies);
     }
 
     public DynamicReadableWrapper getReadableModule() {
@@ -106,7 +111,7 @@ public class ModuleInternalInfo implements Comparable<ModuleInternalInfo>, Ident
 
     public DestroyedModule toDestroyedModule() {
         return new DestroyedModule(getIdentifier(), getReadableModule().getInstance(), getModuleJMXRegistrator(),
-                getOsgiRegistration(), getOrderingIdx(), runtimeBeanRegistrator);
+                getOsgiRegistration(), getOrderingIdx(), runtimeBeanRegistrator, dependencies);
     }
 
     @Override
@@ -125,4 +130,13 @@ public class ModuleInternalInfo implements Comparable<ModuleInternalInfo>, Ident
     public BundleContext getBundleContext() {
         return bundleContext;
     }
+
+    /**
+     * Get the modules this module depended on within the transaction which committed it.
+     *
+     * @return identifiers of the dependencies
+     */
+    public Set<ModuleIdentifier> getDependencies() {
+        return dependencies;
+    }
 }
@@ -8,6 +8,7 @@
 package org.opendaylight.controller.config.manager.impl.dependencyresolver;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -271,6 +272,13 @@ public final class DependencyResolverImpl implements DependencyResolver, Compara
         return this.name;
     }
 
+    /**
+     * Get the modules this module depends on, as observed so far during validation and instantiation.
+     */
+    public synchronized Set<ModuleIdentifier> getDependencies() {
+        return ImmutableSet.copyOf(this.dependencies);
+    }
+
     @Override
     public Object getAttribute(final ObjectName name, final String attribute)
             throws MBeanException, AttributeNotFoundException, InstanceNotFoundException, ReflectionException {
@@ -17,6 +17,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.annotation.concurrent.GuardedBy;
 import javax.management.InstanceAlreadyExistsException;
 import javax.management.MBeanServer;
@@ -105,6 +106,18 @@ public class DependencyResolverManager implements DependencyResolverFactory, Aut
         return result;
     }
 
+    /**
+     * Get the dependency graph of this transaction, mapping each module to the modules it depends on.
+     */
+    public synchronized Map<ModuleIdentifier, Set<ModuleIdentifier>> getDependencyGraph() {
+        Map<ModuleIdentifier, Set<ModuleIdentifier>> result = new HashMap<>();
+        for (Map.Entry<ModuleIdentifier, DependencyResolverImpl> entry
+                : moduleIdentifiersToDependencyResolverMap.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().getDependencies());
+        }
+        return result;
+    }
+
     public ModuleInternalTransactionalInfo destroyModule(final ModuleIdentifier moduleIdentifier) {
         transactionStatus.checkNotCommitted();
         ModuleInternalTransactionalInfo found = modulesHolder.destroyModule(moduleIdentifier);
@@ -122,6 +135,7 @@ public class DependencyResolverManager implements DependencyResolverFactory, Aut
         // optimization: subsequent calls to getInstance MUST return the same value
         // during transaction,
         // so it is safe to cache the response
+        @GuardedBy("this")
         private Object cachedInstance;
 
         ModuleInvocationHandler(final DeadlockMonitor deadlockMonitor, final ModuleIdentifier moduleIdentifier,
@@ -134,27 +148,34 @@ public class DependencyResolverManager implements DependencyResolverFactory, Aut
         @Override
         protected Object handleInvocation(final Object proxy, final Method method, final Object[] args)
                 throws Throwable {
-            boolean isGetInstance = "getInstance".equals(method.getName());
-            if (isGetInstance) {
-                if (cachedInstance != null) {
-                    return cachedInstance;
-                }
-
-                Preconditions.checkState(deadlockMonitor.isAlive(), "Deadlock monitor is not alive");
-                deadlockMonitor.setCurrentlyInstantiatedModule(moduleIdentifier);
+            if ("getInstance".equals(method.getName())) {
+                return getInstance(method, args);
+            }
+            return invoke(method, args);
+        }
+
+        // Modules may be instantiated concurrently, in which case a module depended upon by several others may be
+        // requested from multiple threads. Cycles are rejected during validation, hence this cannot deadlock.
+        private synchronized Object getInstance(final Method method, final Object[] args) throws Throwable {
+            if (cachedInstance != null) {
+                return cachedInstance;
+            }
+
+            Preconditions.checkState(deadlockMonitor.isAlive(), "Deadlock monitor is not alive");
+            deadlockMonitor.setCurrentlyInstantiatedModule(moduleIdentifier);
+            try {
+                cachedInstance = invoke(method, args);
+                return cachedInstance;
+            } finally {
+                deadlockMonitor.setCurrentlyInstantiatedModule(null);
             }
+        }
+
+        private Object invoke(final Method method, final Object[] args) throws Throwable {
             try {
-                Object response = method.invoke(module, args);
-                if (isGetInstance) {
-                    cachedInstance = response;
-                }
-                return response;
+                return method.invoke(module, args);
             } catch (final InvocationTargetException e) {
                 throw e.getCause();
-            } finally {
-                if (isGetInstance) {
-                    deadlockMonitor.setCurrentlyInstantiatedModule(null);
-                }
             }
         }
     }
@@ -7,6 +7,8 @@
  */
 package org.opendaylight.controller.config.manager.impl.dependencyresolver;
 
+import com.google.common.collect.ImmutableSet;
+import java.util.Set;
 import org.opendaylight.controller.config.api.ModuleIdentifier;
 import org.opendaylight.controller.config.manager.impl.jmx.ModuleJMXRegistrator;
 import org.opendaylight.controller.config.manager.impl.jmx.RootRuntimeBeanRegistratorImpl;
@@ -32,17 +34,20 @@ public class DestroyedModule implements AutoCloseable,
     private final OsgiRegistration osgiRegistration;
     private final int orderingIdx;
     private final RootRuntimeBeanRegistratorImpl runtimeBeanRegistrator;
+    private final Set<ModuleIdentifier> dependencies;
 
     public DestroyedModule(final ModuleIdentifier identifier, final AutoCloseable instance,
                            final ModuleJMXRegistrator oldJMXRegistrator,
                            final OsgiRegistration osgiRegistration, final int orderingIdx,
-                           final RootRuntimeBeanRegistratorImpl runtimeBeanRegistrator) {
+                           final RootRuntimeBeanRegistratorImpl runtimeBeanRegistrator,
+                           final Set<ModuleIdentifier> dependencies) {
         this.identifier = identifier;
         this.instance = instance;
         this.oldJMXRegistrator = oldJMXRegistrator;
         this.osgiRegistration = osgiRegistration;
         this.orderingIdx = orderingIdx;
         this.runtimeBeanRegistrator = runtimeBeanRegistrator;
+        this.dependencies = ImmutableSet.copyOf(dependencies);
     }
 
     @Override
@@ -82,4 +87,14 @@ public class DestroyedModule implements AutoCloseable,
     public ModuleIdentifier getIdentifier() {
         return identifier;
     }
+
+    /**
+     * Get the modules this module depended on when it was committed. Their instances must not be closed before this
+     * one's.
+     *
+     * @return identifiers of the dependencies
+     */
+    public Set<ModuleIdentifier> getDependencies() {
+        return dependencies;
+    }
 }
@@ -43,6 +43,12 @@ public class ConfigManagerActivator implements BundleActivator, SynchronousBundl
 
     private static final long SYSTEM_BUNDLE_ID = 0;
 
+    /**
+     * Framework property holding the number of threads used to instantiate and destroy independent modules
+     * concurrently. Modules are processed one after another when it is absent or 0.
+     */
+    private static final String MODULE_INSTANTIATION_THREADS_PROP = "config.manager.moduleInstantiationThreads";
+
     private final MBeanServer configMBeanServer = ManagementFactory.getPlatformMBeanServer();
 
     private AutoCloseable autoCloseable;
@@ -69,7 +75,7 @@ public class ConfigManagerActivator implements BundleActivator, SynchronousBundl
             final BundleContextBackedModuleFactoriesResolver bundleContextBackedModuleFactoriesResolver =
                     new BundleContextBackedModuleFactoriesResolver(context);
             this.configRegistry = new ConfigRegistryImpl(bundleContextBackedModuleFactoriesResolver,
-                    this.configMBeanServer, bindingContextProvider);
+                    this.configMBeanServer, bindingContextProvider, getModuleInstantiationThreads(context));
 
             // track bundles containing factories
             final BlankTransactionServiceTracker blankTransactionServiceTracker = new BlankTransactionServiceTracker(
@@ -141,6 +147,26 @@ public class ConfigManagerActivator implements BundleActivator, SynchronousBundl
         LOG.info("Config manager start complete");
     }
 
+    private static int getModuleInstantiationThreads(final BundleContext context) {
+        final String value = context.getProperty(MODULE_INSTANTIATION_THREADS_PROP);
+        if (value == null) {
+            return 0;
+        }
+
+        try {
+            final int threads = Integer.parseInt(value.trim());
+            if (threads >= 0) {
+                LOG.info("Using {} threads for module instantiation", threads);
+                return threads;
+            }
+        } catch (final NumberFormatException e) {
+            LOG.debug("Failed to parse {}", MODULE_INSTANTIATION_THREADS_PROP, e);
+        }
+
+        LOG.warn("Ignoring invalid value {} of {}", value, MODULE_INSTANTIATION_THREADS_PROP);
+        return 0;
+    }
+
     @Override
     public void stop(final BundleContext context) throws Exception {
         LOG.info("Config manager stopping");
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.config.manager.impl.util;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Runs a task for each node of a directed acyclic graph, executing independent nodes concurrently. The task of a node
+ * is started only after the tasks of all of its prerequisites have completed.
+ */
+public final class DependencyOrderedExecution {
+
+    private DependencyOrderedExecution() {
+    }
+
+    /**
+     * Run the task for all nodes and wait for completion. Prerequisites which are not nodes of the graph are ignored.
+     * Once a task fails, no further tasks are started and the first failure is rethrown once the tasks already running
+     * have completed.
+     *
+     * @param executor executor on which the tasks are run
+     * @param prerequisites nodes of the graph, mapped to the nodes whose tasks need to complete before theirs starts
+     * @param task task to run for each node
+     * @param <T> node type
+     * @throws IllegalArgumentException if the graph contains a cycle
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public static <T> void execute(final Executor executor, final Map<T, ? extends Collection<T>> prerequisites,
+            final Consumer<T> task) {
+        Preconditions.checkNotNull(executor);
+        Preconditions.checkNotNull(task);
+
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Consumer<T> guarded = node -> {
+            if (failure.get() == null) {
+                try {
+                    task.accept(node);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        };
+
+        final Map<T, CompletableFuture<Void>> futures = new HashMap<>();
+        for (T node : prerequisites.keySet()) {
+            schedule(node, prerequisites, futures, new ArrayList<>(), executor, guarded);
+        }
+
+        // Failures are recorded rather than propagated, hence this completes once all the tasks have completed
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).join();
+
+        final Throwable cause = failure.get();
+        if (cause != null) {
+            Throwables.throwIfUnchecked(cause);
+            throw new CompletionException(cause);
+        }
+    }
+
+    private static <T> CompletableFuture<Void> schedule(final T node, final Map<T, ? extends Collection<T>> graph,
+            final Map<T, CompletableFuture<Void>> futures, final List<T> path, final Executor executor,
+            final Consumer<T> task) {
+        final CompletableFuture<Void> existing = futures.get(node);
+        if (existing != null) {
+            return existing;
+        }
+        Preconditions.checkArgument(!path.contains(node), "Cycle detected, %s depends on %s", path, node);
+        path.add(node);
+
+        final List<CompletableFuture<Void>> required = new ArrayList<>();
+        for (T prerequisite : graph.get(node)) {
+            if (graph.containsKey(prerequisite)) {
+                required.add(schedule(prerequisite, graph, futures, path, executor, task));
+            }
+        }
+        path.remove(path.size() - 1);
+
+        final CompletableFuture<Void> future = CompletableFuture.allOf(required.toArray(new CompletableFuture<?>[0]))
+                .thenRunAsync(() -> task.accept(node), executor);
+        futures.put(node, future);
+        return future;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.config.manager.impl.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DependencyOrderedExecutionTest {
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testPrerequisitesRunFirst() {
+        // d depends on b and c, which both depend on a; e is not part of the graph
+        final Map<String, List<String>> graph = ImmutableMap.of("a", ImmutableList.of(),
+                "b", ImmutableList.of("a"), "c", ImmutableList.of("a", "e"), "d", ImmutableList.of("b", "c"));
+        final List<String> executed = Collections.synchronizedList(new ArrayList<>());
+
+        DependencyOrderedExecution.execute(executor, graph, executed::add);
+
+        assertEquals(4, executed.size());
+        assertEquals("a", executed.get(0));
+        assertEquals("d", executed.get(3));
+        assertTrue(executed.containsAll(ImmutableList.of("b", "c")));
+    }
+
+    @Test
+    public void testIndependentTasksRunConcurrently() {
+        final Map<String, List<String>> graph = ImmutableMap.of("a", ImmutableList.of(), "b", ImmutableList.of());
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+
+        DependencyOrderedExecution.execute(executor, graph, node -> {
+            bothStarted.countDown();
+            try {
+                assertTrue("Tasks did not run concurrently", bothStarted.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Test
+    public void testFailureStopsDependents() {
+        final Map<String, List<String>> graph = ImmutableMap.of("a", ImmutableList.of(), "b", ImmutableList.of("a"));
+        final List<String> executed = Collections.synchronizedList(new ArrayList<>());
+        final IllegalStateException failure = new IllegalStateException("mock");
+
+        try {
+            DependencyOrderedExecution.execute(executor, graph, node -> {
+                executed.add(node);
+                throw failure;
+            });
+            fail("Expected exception");
+        } catch (IllegalStateException e) {
+            assertEquals(failure, e);
+        }
+
+        assertEquals(ImmutableList.of("a"), executed);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCycle() {
+        final Map<String, List<String>> graph = ImmutableMap.of("a", ImmutableList.of("b"),
+                "b", ImmutableList.of("a"));
+
+        DependencyOrderedExecution.execute(executor, graph, node -> {
+            throw new AssertionError("Task should not run");
+        });
+    }
+
+    @Test
+    public void testEmpty() {
+        final List<String> executed = new ArrayList<>();
+        DependencyOrderedExecution.execute(executor, Collections.<String, List<String>>emptyMap(), executed::add);
+        assertTrue(executed.isEmpty());
+    }
+}
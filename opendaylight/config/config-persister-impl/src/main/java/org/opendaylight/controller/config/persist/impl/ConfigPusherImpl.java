@@ -11,8 +11,11 @@ package org.opendaylight.controller.config.persist.impl;
 import static com.google.common.base.Preconditions.checkNotNull;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Collections2;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -20,9 +23,13 @@ import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
-import javax.annotation.concurrent.Immutable;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
 import javax.management.MBeanServerConnection;
 import org.opendaylight.controller.config.api.ConflictingVersionException;
 import org.opendaylight.controller.config.api.ModuleFactoryNotFoundException;
@@ -35,6 +42,7 @@ import org.opendaylight.controller.config.persist.api.ConfigPusher;
 import org.opendaylight.controller.config.persist.api.ConfigSnapshotHolder;
 import org.opendaylight.controller.config.persist.api.Persister;
 import org.opendaylight.controller.config.util.capability.Capability;
+import org.opendaylight.controller.config.util.capability.ModuleListener;
 import org.opendaylight.controller.config.util.xml.DocumentedException;
 import org.opendaylight.controller.config.util.xml.XmlUtil;
 import org.slf4j.Logger;
@@ -42,30 +50,112 @@ import org.slf4j.LoggerFactory;
 import org.w3c.dom.Element;
 import org.xml.sax.SAXException;
 
-@Immutable
-public class ConfigPusherImpl implements ConfigPusher {
+/**
+ * Pushes config snapshots to the config subsystem. Pushes waiting for yang capabilities or module factories to appear
+ * are woken up by {@link #onCapabilitiesChanged(Set, Set)} and {@link #onModuleFactoriesChanged()}, hence they proceed
+ * as soon as the config subsystem changes.
+ */
+@ThreadSafe
+public class ConfigPusherImpl implements ConfigPusher, ModuleListener {
     private static final Logger LOG = LoggerFactory.getLogger(ConfigPusherImpl.class);
 
     private static final Date NO_REVISION = new Date(0);
-    private static final int QUEUE_SIZE = 100;
+
+    /**
+     * Upper bound on a single wait for a change, so that pushes also make progress when changes are not signalled.
+     */
+    private static final long MAX_CHANGE_WAIT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    /**
+     * Enqueued by a failed push in order to wake up {@link #process(List, MBeanServerConnection, Persister, boolean)}.
+     */
+    private static final List<ConfigSnapshotHolder> STOP_PROCESSING = Collections.unmodifiableList(new ArrayList<>());
 
     private final long maxWaitForCapabilitiesMillis;
     private final long conflictingVersionTimeoutMillis;
-    private final BlockingQueue<List<? extends ConfigSnapshotHolder>> queue = new LinkedBlockingQueue<>(QUEUE_SIZE);
+    private final int pushThreads;
+    private final BlockingQueue<List<? extends ConfigSnapshotHolder>> queue = new LinkedBlockingQueue<>();
+
+    private final Object changeLock = new Object();
+    @GuardedBy("changeLock")
+    private long changeCount;
 
     private final ConfigSubsystemFacadeFactory facade;
+    @GuardedBy("this")
     private ConfigPersisterNotificationHandler jmxNotificationHandler;
 
     public ConfigPusherImpl(final ConfigSubsystemFacadeFactory facade, final long maxWaitForCapabilitiesMillis,
                         final long conflictingVersionTimeoutMillis) {
+        this(facade, maxWaitForCapabilitiesMillis, conflictingVersionTimeoutMillis, 1);
+    }
+
+    /**
+     * Create a pusher which pushes up to {@code pushThreads} of the lists passed to {@link #pushConfigs(List)}
+     * concurrently. Snapshots within a list are always pushed one after another.
+     */
+    public ConfigPusherImpl(final ConfigSubsystemFacadeFactory facade, final long maxWaitForCapabilitiesMillis,
+                        final long conflictingVersionTimeoutMillis, final int pushThreads) {
+        if (pushThreads < 1) {
+            throw new IllegalArgumentException("Invalid number of push threads " + pushThreads);
+        }
         this.maxWaitForCapabilitiesMillis = maxWaitForCapabilitiesMillis;
         this.conflictingVersionTimeoutMillis = conflictingVersionTimeoutMillis;
+        this.pushThreads = pushThreads;
         this.facade = facade;
     }
 
     public void process(final List<AutoCloseable> autoCloseables, final MBeanServerConnection platformMBeanServer,
             final Persister persisterAggregator, final boolean propagateExceptions) throws InterruptedException {
-        while(processSingle(autoCloseables, platformMBeanServer, persisterAggregator, propagateExceptions)) {
+        if (pushThreads == 1) {
+            while(processSingle(autoCloseables, platformMBeanServer, persisterAggregator, propagateExceptions)) {
+            }
+            return;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(pushThreads,
+                new ThreadFactoryBuilder().setNameFormat("config-pusher-%d").setDaemon(true).build());
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        try {
+            while (true) {
+                final List<? extends ConfigSnapshotHolder> configs = queue.take();
+                final RuntimeException failed = failure.get();
+                if (failed != null) {
+                    if (propagateExceptions) {
+                        throw failed;
+                    }
+                    return;
+                }
+
+                executor.execute(() -> {
+                    try {
+                        pushConfigsAndListen(configs, autoCloseables, platformMBeanServer, persisterAggregator);
+                    } catch (final Exception e) {
+                        LOG.debug("Failed to push some of configs: {}", configs, e);
+                        failure.compareAndSet(null, e instanceof RuntimeException ? (RuntimeException) e
+                                : new IllegalStateException(e));
+                        queue.add(STOP_PROCESSING);
+                    }
+                });
+            }
+        } finally {
+            awaitPushes(executor);
+        }
+    }
+
+    /**
+     * Stop accepting pushes and wait for the ones in flight to complete, so that none of them runs after process()
+     * has returned. The pushes themselves are bounded by the capability and conflicting version timeouts.
+     */
+    private static void awaitPushes(final ExecutorService executor) {
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOG.info("Still waiting for in-flight config pushes to complete");
+            }
+        } catch (final InterruptedException e) {
+            LOG.debug("Interrupted while waiting for in-flight config pushes", e);
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -73,18 +163,7 @@ public class ConfigPusherImpl implements ConfigPusher {
             final Persister persisterAggregator, final boolean propagateExceptions) throws InterruptedException {
         final List<? extends ConfigSnapshotHolder> configs = queue.take();
         try {
-            internalPushConfigs(configs);
-
-            // Do not register multiple notification handlers
-            if(jmxNotificationHandler == null) {
-                jmxNotificationHandler =
-                        new ConfigPersisterNotificationHandler(platformMBeanServer, persisterAggregator, facade);
-                synchronized (autoCloseables) {
-                    autoCloseables.add(jmxNotificationHandler);
-                }
-            }
-
-            LOG.debug("ConfigPusher has pushed configs {}", configs);
+            pushConfigsAndListen(configs, autoCloseables, platformMBeanServer, persisterAggregator);
         } catch (final Exception e) {
             // Exceptions are logged to error downstream
             LOG.debug("Failed to push some of configs: {}", configs, e);
@@ -103,6 +182,75 @@ public class ConfigPusherImpl implements ConfigPusher {
         return true;
     }
 
+    private void pushConfigsAndListen(final List<? extends ConfigSnapshotHolder> configs,
+            final List<AutoCloseable> autoCloseables, final MBeanServerConnection platformMBeanServer,
+            final Persister persisterAggregator) throws DocumentedException {
+        internalPushConfigs(configs);
+        registerNotificationHandler(autoCloseables, platformMBeanServer, persisterAggregator);
+        LOG.debug("ConfigPusher has pushed configs {}", configs);
+    }
+
+    private synchronized void registerNotificationHandler(final List<AutoCloseable> autoCloseables,
+            final MBeanServerConnection platformMBeanServer, final Persister persisterAggregator) {
+        // Do not register multiple notification handlers
+        if(jmxNotificationHandler == null) {
+            jmxNotificationHandler =
+                    new ConfigPersisterNotificationHandler(platformMBeanServer, persisterAggregator, facade);
+            synchronized (autoCloseables) {
+                autoCloseables.add(jmxNotificationHandler);
+            }
+        }
+    }
+
+    @Override
+    public void onCapabilitiesChanged(final Set<Capability> added, final Set<Capability> removed) {
+        LOG.debug("Capabilities changed, added {}, removed {}", added, removed);
+        signalChange();
+    }
+
+    /**
+     * Invoked when module factories have been registered, so that pushes waiting for them are retried.
+     */
+    public void onModuleFactoriesChanged() {
+        LOG.debug("Module factories changed");
+        signalChange();
+    }
+
+    private void signalChange() {
+        synchronized (changeLock) {
+            changeCount++;
+            changeLock.notifyAll();
+        }
+    }
+
+    private long getChangeCount() {
+        synchronized (changeLock) {
+            return changeCount;
+        }
+    }
+
+    /**
+     * Wait until a change is signalled after {@code observedChangeCount} has been read, or the time allowed by
+     * {@code maxWaitMillis} runs out.
+     */
+    private void awaitChange(final long observedChangeCount, final Stopwatch stopwatch, final long maxWaitMillis) {
+        synchronized (changeLock) {
+            if (changeCount != observedChangeCount) {
+                return;
+            }
+
+            final long remainingMillis = maxWaitMillis - stopwatch.elapsed(TimeUnit.MILLISECONDS);
+            if (remainingMillis > 0) {
+                try {
+                    changeLock.wait(Math.min(remainingMillis, MAX_CHANGE_WAIT_MILLIS));
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+
     @Override
     public void pushConfigs(final List<? extends ConfigSnapshotHolder> configs) throws InterruptedException {
         LOG.debug("Requested to push configs {}", configs);
@@ -138,7 +286,7 @@ public class ConfigPusherImpl implements ConfigPusher {
         return result;
     }
 
-    private synchronized boolean pushConfigWithConflictingVersionRetries(final ConfigSnapshotHolder configSnapshotHolder) throws ConfigSnapshotFailureException {
+    private boolean pushConfigWithConflictingVersionRetries(final ConfigSnapshotHolder configSnapshotHolder) throws ConfigSnapshotFailureException {
         ConflictingVersionException lastException;
         Stopwatch stopwatch = Stopwatch.createUnstarted();
         do {
@@ -157,8 +305,8 @@ public class ConfigPusherImpl implements ConfigPusher {
                 return pushConfig(configSnapshotHolder);
             } catch (final ConflictingVersionException e) {
                 lastException = e;
-                LOG.info("Conflicting version detected, will retry after timeout");
-                sleep();
+                // The version conflicts with a transaction which has been committed already, retry right away
+                LOG.info("Conflicting version detected, will retry");
             }
         } while (stopwatch.elapsed(TimeUnit.MILLISECONDS) < conflictingVersionTimeoutMillis);
         throw new IllegalStateException("Max wait for conflicting version stabilization timeout after " + stopwatch.elapsed(TimeUnit.MILLISECONDS) + " ms",
@@ -169,6 +317,8 @@ public class ConfigPusherImpl implements ConfigPusher {
         Stopwatch stopwatch = Stopwatch.createStarted();
         ConfigPusherException lastException;
         do {
+            // read before checking, so that changes made while checking are not missed
+            final long observedChangeCount = getChangeCount();
             try {
                 final Set<Capability> currentCaps = facade.getCurrentCapabilities();
                 final Set<String> notFoundCapabilities = computeNotFoundCapabilities(expectedCapabilities, currentCaps);
@@ -185,7 +335,7 @@ public class ConfigPusherImpl implements ConfigPusher {
             } catch (final ConfigPusherException e) {
                 LOG.debug("Not enough capabilities: {}", e.toString());
                 lastException = e;
-                sleep();
+                awaitChange(observedChangeCount, stopwatch, maxWaitForCapabilitiesMillis);
             }
         } while (stopwatch.elapsed(TimeUnit.MILLISECONDS) < maxWaitForCapabilitiesMillis);
 
@@ -252,16 +402,7 @@ public class ConfigPusherImpl implements ConfigPusher {
         }
     }
 
-    private void sleep() {
-        try {
-            Thread.sleep(100);
-        } catch (final InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException(e);
-        }
-    }
-
-    private synchronized boolean pushConfig(final ConfigSnapshotHolder configSnapshotHolder) throws ConfigSnapshotFailureException, ConflictingVersionException {
+    private boolean pushConfig(final ConfigSnapshotHolder configSnapshotHolder) throws ConfigSnapshotFailureException, ConflictingVersionException {
         Element xmlToBePersisted;
         try {
             xmlToBePersisted = XmlUtil.readXmlToElement(configSnapshotHolder.getConfigSnapshot());
@@ -297,13 +438,14 @@ public class ConfigPusherImpl implements ConfigPusher {
         Stopwatch stopwatch = Stopwatch.createStarted();
         ModuleFactoryNotFoundException lastException = null;
         do {
+            final long observedChangeCount = getChangeCount();
             try {
                 facade.executeConfigExecution(configExecution);
                 return;
             } catch (final ModuleFactoryNotFoundException e) {
-                LOG.debug("{} - will retry after timeout", e.toString());
+                LOG.debug("{} - will retry once module factories change", e.toString());
                 lastException = e;
-                sleep();
+                awaitChange(observedChangeCount, stopwatch, maxWaitForCapabilitiesMillis);
             }
         } while (stopwatch.elapsed(TimeUnit.MILLISECONDS) < maxWaitForCapabilitiesMillis);
 
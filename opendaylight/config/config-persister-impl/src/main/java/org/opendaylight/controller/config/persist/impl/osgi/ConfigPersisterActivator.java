@@ -19,6 +19,7 @@ import org.opendaylight.controller.config.persist.api.ConfigSnapshotHolder;
 import org.opendaylight.controller.config.persist.api.Persister;
 import org.opendaylight.controller.config.persist.impl.ConfigPusherImpl;
 import org.opendaylight.controller.config.persist.impl.PersisterAggregator;
+import org.opendaylight.controller.config.spi.ModuleFactory;
 import org.opendaylight.controller.config.util.CloseableUtil;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
@@ -38,6 +39,8 @@ public class ConfigPersisterActivator implements BundleActivator {
     private static final long MAX_WAIT_FOR_CAPABILITIES_MILLIS_DEFAULT = TimeUnit.MINUTES.toMillis(2);
     public static final String CONFLICTING_VERSION_TIMEOUT_MILLIS_PROPERTY = "conflictingVersionTimeoutMillis";
     private static final long CONFLICTING_VERSION_TIMEOUT_MILLIS_DEFAULT = TimeUnit.MINUTES.toMillis(1);
+    public static final String PUSH_THREADS_PROPERTY = "pushThreads";
+    private static final int PUSH_THREADS_DEFAULT = 1;
 
     public static final String NETCONF_CONFIG_PERSISTER = "netconf.config.persister";
 
@@ -60,6 +63,7 @@ public class ConfigPersisterActivator implements BundleActivator {
         final long maxWaitForCapabilitiesMillis = getMaxWaitForCapabilitiesMillis(propertiesProvider);
         final List<ConfigSnapshotHolder> configs = persisterAggregator.loadLastConfigs();
         final long conflictingVersionTimeoutMillis = getConflictingVersionTimeoutMillis(propertiesProvider);
+        final int pushThreads = getPushThreads(propertiesProvider);
         LOG.debug("Following configs will be pushed: {}", configs);
 
         ServiceTrackerCustomizer<ConfigSubsystemFacadeFactory, ConfigSubsystemFacadeFactory> schemaServiceTrackerCustomizer = new ServiceTrackerCustomizer<ConfigSubsystemFacadeFactory, ConfigSubsystemFacadeFactory>() {
@@ -69,7 +73,8 @@ public class ConfigPersisterActivator implements BundleActivator {
                 LOG.debug("Got addingService(SchemaContextProvider) event");
                 // Yang store service should not be registered multiple times
                 ConfigSubsystemFacadeFactory configSubsystemFacadeFactory = reference.getBundle().getBundleContext().getService(reference);
-                startPusherThread(configs, maxWaitForCapabilitiesMillis, configSubsystemFacadeFactory, conflictingVersionTimeoutMillis, persisterAggregator);
+                startPusherThread(configs, maxWaitForCapabilitiesMillis, configSubsystemFacadeFactory, conflictingVersionTimeoutMillis,
+                        pushThreads, persisterAggregator);
                 return configSubsystemFacadeFactory;
             }
 
@@ -99,6 +104,11 @@ public class ConfigPersisterActivator implements BundleActivator {
         return timeoutProperty == null ? MAX_WAIT_FOR_CAPABILITIES_MILLIS_DEFAULT : Long.valueOf(timeoutProperty);
     }
 
+    private int getPushThreads(final PropertiesProviderBaseImpl propertiesProvider) {
+        String threadsProperty = propertiesProvider.getProperty(PUSH_THREADS_PROPERTY);
+        return threadsProperty == null ? PUSH_THREADS_DEFAULT : Integer.valueOf(threadsProperty);
+    }
+
     @Override
     public void stop(final BundleContext context) throws Exception {
         synchronized(autoCloseables) {
@@ -112,10 +122,30 @@ public class ConfigPersisterActivator implements BundleActivator {
     }
 
     private void startPusherThread(final List<? extends ConfigSnapshotHolder> configs, final long maxWaitForCapabilitiesMillis,
-                           final ConfigSubsystemFacadeFactory service, final long conflictingVersionTimeoutMillis, final Persister persisterAggregator){
+                           final ConfigSubsystemFacadeFactory service, final long conflictingVersionTimeoutMillis,
+                           final int pushThreads, final Persister persisterAggregator){
         LOG.debug("Creating new job queue");
         final ConfigPusherImpl configPusher = new ConfigPusherImpl(service,
-                maxWaitForCapabilitiesMillis, conflictingVersionTimeoutMillis);
+                maxWaitForCapabilitiesMillis, conflictingVersionTimeoutMillis, pushThreads);
+
+        // Wake up pushes waiting for yang models or module factories as soon as they appear
+        final AutoCloseable moduleListenerRegistration = service.getYangStoreService()
+                .registerModuleListener(configPusher);
+        final ServiceTracker<ModuleFactory, ModuleFactory> moduleFactoryTracker =
+                new ServiceTracker<ModuleFactory, ModuleFactory>(context, ModuleFactory.class, null) {
+                    @Override
+                    public ModuleFactory addingService(final ServiceReference<ModuleFactory> reference) {
+                        final ModuleFactory moduleFactory = super.addingService(reference);
+                        configPusher.onModuleFactoriesChanged();
+                        return moduleFactory;
+                    }
+                };
+        moduleFactoryTracker.open();
+        synchronized (autoCloseables) {
+            autoCloseables.add(moduleListenerRegistration);
+            autoCloseables.add(moduleFactoryTracker::close);
+        }
+
         LOG.debug("Configuration Persister got {}", service);
         LOG.debug("Context was {}", context);
         LOG.debug("Registration was {}", registration);
@@ -8,15 +8,19 @@
 package org.opendaylight.controller.config.persist.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import com.google.common.base.Throwables;
@@ -26,6 +30,9 @@ import java.lang.management.ManagementFactory;
 import java.util.Collections;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.management.MBeanServerConnection;
 import javax.management.NotificationFilter;
 import javax.management.NotificationListener;
@@ -35,6 +42,7 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.controller.config.api.ConflictingVersionException;
+import org.opendaylight.controller.config.api.ModuleFactoryNotFoundException;
 import org.opendaylight.controller.config.api.jmx.CommitStatus;
 import org.opendaylight.controller.config.facade.xml.ConfigExecution;
 import org.opendaylight.controller.config.facade.xml.ConfigSubsystemFacade;
@@ -180,4 +188,107 @@ public class ConfigPusherImplTest {
         verify(facade, times(3)).commitSilentTransaction();
     }
 
+    @Test
+    public void testCapabilitiesChangeWakesUpPush() throws Exception {
+        doReturn(new TreeSet<>(Lists.newArrayList("namespace?module=module&revision=2012-12-12"))).when(mockedConfigSnapshot).getCapabilities();
+        final ConfigExecution cfgExec = mock(ConfigExecution.class);
+        doReturn(cfgExec).when(facade).getConfigExecution(any(Config.class), any(Element.class));
+        doReturn(mock(CommitStatus.class)).when(facade).commitSilentTransaction();
+
+        final ConfigPusherImpl configPusher = new ConfigPusherImpl(facadeFactory, 60000, 0);
+        configPusher.pushConfigs(Collections.singletonList(mockedConfigSnapshot));
+        final Thread pushThread = startProcessSingle(configPusher, new AtomicReference<>());
+        verify(facadeFactory, timeout(5000)).getCurrentCapabilities();
+
+        final Capability cap = mock(Capability.class);
+        doReturn("namespace?module=module&revision=2012-12-12").when(cap).getCapabilityUri();
+        doReturn(Sets.newHashSet(cap)).when(facadeFactory).getCurrentCapabilities();
+        configPusher.onCapabilitiesChanged(Collections.singleton(cap), Collections.<Capability>emptySet());
+
+        // well below the interval at which missing capabilities are re-checked without being signalled
+        pushThread.join(2000);
+        assertFalse(pushThread.isAlive());
+        verify(facade).commitSilentTransaction();
+    }
+
+    @Test
+    public void testModuleFactoriesChangeWakesUpPush() throws Exception {
+        doReturn(new TreeSet<>()).when(mockedConfigSnapshot).getCapabilities();
+        final ConfigExecution cfgExec = mock(ConfigExecution.class);
+        doReturn(cfgExec).when(facade).getConfigExecution(any(Config.class), any(Element.class));
+        doThrow(new ModuleFactoryNotFoundException("factory")).doNothing().when(facade).executeConfigExecution(cfgExec);
+        doReturn(mock(CommitStatus.class)).when(facade).commitSilentTransaction();
+
+        final ConfigPusherImpl configPusher = new ConfigPusherImpl(facadeFactory, 60000, 0);
+        configPusher.pushConfigs(Collections.singletonList(mockedConfigSnapshot));
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        final Thread pushThread = startProcessSingle(configPusher, failure);
+        verify(facade, timeout(5000)).executeConfigExecution(cfgExec);
+
+        configPusher.onModuleFactoriesChanged();
+
+        pushThread.join(2000);
+        assertFalse(pushThread.isAlive());
+        assertNull(failure.get());
+        verify(facade, times(2)).executeConfigExecution(cfgExec);
+        verify(facade).commitSilentTransaction();
+    }
+
+    @Test
+    public void testProcessWaitsForInFlightPushes() throws Exception {
+        // The first snapshot fails to push, while the second one is still being pushed
+        doReturn(new TreeSet<>(Lists.newArrayList("required-cap"))).when(mockedConfigSnapshot).getCapabilities();
+        final ConfigSnapshotHolder slowSnapshot = mock(ConfigSnapshotHolder.class);
+        doReturn("slow snapshot").when(slowSnapshot).toString();
+        doReturn("<mocked-snapshot/>").when(slowSnapshot).getConfigSnapshot();
+        doReturn(new TreeSet<>()).when(slowSnapshot).getCapabilities();
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final ConfigExecution cfgExec = mock(ConfigExecution.class);
+        doReturn(cfgExec).when(facade).getConfigExecution(any(Config.class), any(Element.class));
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(facade).executeConfigExecution(cfgExec);
+        doReturn(mock(CommitStatus.class)).when(facade).commitSilentTransaction();
+
+        final ConfigPusherImpl configPusher = new ConfigPusherImpl(facadeFactory, 0, 0, 2);
+        configPusher.pushConfigs(Collections.singletonList(mockedConfigSnapshot));
+        configPusher.pushConfigs(Collections.singletonList(slowSnapshot));
+
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        final Thread pushThread = new Thread(() -> {
+            try {
+                configPusher.process(Lists.<AutoCloseable>newArrayList(), mBeanServer, mockedAggregator, true);
+            } catch (final Exception e) {
+                failure.set(e);
+            }
+        });
+        pushThread.setDaemon(true);
+        pushThread.start();
+        verify(facade, timeout(5000)).executeConfigExecution(cfgExec);
+
+        // process() does not return while the second push is still in flight
+        pushThread.join(500);
+        assertTrue(pushThread.isAlive());
+
+        release.countDown();
+        pushThread.join(5000);
+        assertFalse(pushThread.isAlive());
+        assertTrue(Throwables.getRootCause(failure.get()) instanceof ConfigPusherImpl.NotEnoughCapabilitiesException);
+        verify(facade).commitSilentTransaction();
+    }
+
+    private Thread startProcessSingle(final ConfigPusherImpl configPusher, final AtomicReference<Exception> failure) {
+        final Thread thread = new Thread(() -> {
+            try {
+                configPusher.processSingle(Lists.<AutoCloseable>newArrayList(), mBeanServer, mockedAggregator, true);
+            } catch (final Exception e) {
+                failure.set(e);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.benchmark;
+
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.access.concepts.ClientIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.FrontendIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.FrontendType;
+import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.MemberName;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionPayload;
+import org.opendaylight.controller.cluster.datastore.persisted.DataTreeCandidateInputOutput;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of DataTreeCandidate serialization, as performed by the shard leader when it replicates a transaction
+ * and by followers and recovery when they apply it. Run with the GC profiler to see the allocation rate, the size
+ * of the serialized form is reported by the {@link SerializedSize} counters of the write benchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = SerializationBenchmarks.WARMUP_ITERATIONS)
+@Measurement(iterations = SerializationBenchmarks.MEASUREMENT_ITERATIONS)
+public class DataTreeCandidateBenchmark {
+    private static final TransactionIdentifier TX_ID = new TransactionIdentifier(new LocalHistoryIdentifier(
+        ClientIdentifier.create(FrontendIdentifier.create(MemberName.forName("member-1"),
+            FrontendType.forName("benchmark")), 0), 0), 0);
+
+    @Param({"WIDE_LIST", "DEEP_CONTAINERS", "LEAF_LIST", "AUGMENTED_LIST"})
+    public NodeShape shape;
+
+    private DataTreeCandidate candidate;
+    private int nodeCount;
+    private byte[] serialized;
+    private CommitTransactionPayload payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final NormalizedNode<?, ?> node = shape.createNode();
+        candidate = DataTreeCandidates.fromNormalizedNode(NodeShape.ROOT_PATH, node);
+        nodeCount = NodeShape.countNodes(node);
+        serialized = write();
+        payload = createPayload();
+    }
+
+    @Benchmark
+    public byte[] writeDataTreeCandidate(final SerializedSize size) throws IOException {
+        final byte[] bytes = write();
+        size.record(bytes.length, nodeCount);
+        return bytes;
+    }
+
+    @Benchmark
+    public DataTreeCandidate readDataTreeCandidate() throws IOException {
+        return DataTreeCandidateInputOutput.readDataTreeCandidate(ByteStreams.newDataInput(serialized));
+    }
+
+    @Benchmark
+    public CommitTransactionPayload createPayload() throws IOException {
+        return CommitTransactionPayload.create(TX_ID, candidate);
+    }
+
+    @Benchmark
+    public Entry<TransactionIdentifier, DataTreeCandidate> readPayload() throws IOException {
+        return payload.getCandidate();
+    }
+
+    private byte[] write() throws IOException {
+        final ByteArrayDataOutput out = ByteStreams.newDataOutput();
+        DataTreeCandidateInputOutput.writeDataTreeCandidate(out, candidate);
+        return out.toByteArray();
+    }
+}
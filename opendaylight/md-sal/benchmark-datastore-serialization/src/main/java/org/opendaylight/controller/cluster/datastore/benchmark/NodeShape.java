@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.benchmark;
+
+import com.google.common.collect.ImmutableSet;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeAttrBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.ListNodeBuilder;
+
+/**
+ * Shapes of data benchmarked for serialization. Each shape is rooted at a container identified by {@link #ROOT_PATH},
+ * so it can also be used as the data of a DataTreeCandidate. Serialization does not need a SchemaContext, hence the
+ * data is built without one.
+ */
+public enum NodeShape {
+    /**
+     * A single list with many entries, each having a few leaves. This is the typical shape of inventory data.
+     */
+    WIDE_LIST {
+        @Override
+        NormalizedNode<?, ?> createNode() {
+            final CollectionNodeBuilder<MapEntryNode, MapNode> list = ImmutableNodes.mapNodeBuilder(ENTRY_QNAME);
+            for (int i = 0; i < WIDTH; ++i) {
+                list.withChild(createEntry(i).build());
+            }
+            return createRoot(list.build());
+        }
+    },
+    /**
+     * Deeply-nested containers, each having a leaf.
+     */
+    DEEP_CONTAINERS {
+        @Override
+        NormalizedNode<?, ?> createNode() {
+            ContainerNode level = ImmutableNodes.containerNode(LEVEL_QNAME);
+            for (int i = DEPTH; i > 0; --i) {
+                level = Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(LEVEL_QNAME))
+                        .withChild(ImmutableNodes.leafNode(DEPTH_QNAME, i)).withChild(level).build();
+            }
+            return createRoot(level);
+        }
+    },
+    /**
+     * A single leaf-list with many entries.
+     */
+    LEAF_LIST {
+        @Override
+        NormalizedNode<?, ?> createNode() {
+            final ListNodeBuilder<Object, LeafSetEntryNode<Object>> leafList = Builders.leafSetBuilder()
+                    .withNodeIdentifier(new NodeIdentifier(LEAF_LIST_QNAME));
+            for (int i = 0; i < WIDTH; ++i) {
+                final String value = "value-" + i;
+                leafList.withChild(Builders.leafSetEntryBuilder()
+                    .withNodeIdentifier(new NodeWithValue<>(LEAF_LIST_QNAME, value)).withValue(value).build());
+            }
+            return createRoot(leafList.build());
+        }
+    },
+    /**
+     * A single list with many entries, each of which is augmented with additional leaves.
+     */
+    AUGMENTED_LIST {
+        @Override
+        NormalizedNode<?, ?> createNode() {
+            final AugmentationIdentifier augId = new AugmentationIdentifier(ImmutableSet.of(AUG_NAME_QNAME,
+                AUG_VALUE_QNAME));
+            final CollectionNodeBuilder<MapEntryNode, MapNode> list = ImmutableNodes.mapNodeBuilder(ENTRY_QNAME);
+            for (int i = 0; i < WIDTH; ++i) {
+                list.withChild(createEntry(i).withChild(Builders.augmentationBuilder().withNodeIdentifier(augId)
+                    .withChild(ImmutableNodes.leafNode(AUG_NAME_QNAME, "augmented-" + i))
+                    .withChild(ImmutableNodes.leafNode(AUG_VALUE_QNAME, (long) i)).build()).build());
+            }
+            return createRoot(list.build());
+        }
+    };
+
+    static final QName ROOT_QNAME = QName.create(
+        "urn:opendaylight:params:xml:ns:yang:controller:benchmark:serialization", "2017-01-01", "root");
+    static final YangInstanceIdentifier ROOT_PATH = YangInstanceIdentifier.of(ROOT_QNAME);
+
+    private static final QName ENTRY_QNAME = QName.create(ROOT_QNAME, "entry");
+    private static final QName ID_QNAME = QName.create(ROOT_QNAME, "id");
+    private static final QName NAME_QNAME = QName.create(ROOT_QNAME, "name");
+    private static final QName VALUE_QNAME = QName.create(ROOT_QNAME, "value");
+    private static final QName LEVEL_QNAME = QName.create(ROOT_QNAME, "level");
+    private static final QName DEPTH_QNAME = QName.create(ROOT_QNAME, "depth");
+    private static final QName LEAF_LIST_QNAME = QName.create(ROOT_QNAME, "leaf-list");
+    private static final QName AUG_NAME_QNAME = QName.create(ROOT_QNAME, "aug-name");
+    private static final QName AUG_VALUE_QNAME = QName.create(ROOT_QNAME, "aug-value");
+
+    private static final int WIDTH = 10000;
+    private static final int DEPTH = 100;
+
+    abstract NormalizedNode<?, ?> createNode();
+
+    /**
+     * Count the nodes in a tree, including the root.
+     *
+     * @param node root of the tree
+     * @return number of nodes
+     */
+    static int countNodes(final NormalizedNode<?, ?> node) {
+        int count = 1;
+        if (node instanceof NormalizedNodeContainer) {
+            for (Object child : ((NormalizedNodeContainer<?, ?, ?>) node).getValue()) {
+                count += countNodes((NormalizedNode<?, ?>) child);
+            }
+        }
+        return count;
+    }
+
+    private static ContainerNode createRoot(final DataContainerChild<?, ?> child) {
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(ROOT_QNAME)).withChild(child).build();
+    }
+
+    private static DataContainerNodeAttrBuilder<NodeIdentifierWithPredicates, MapEntryNode> createEntry(final int id) {
+        return ImmutableNodes.mapEntryBuilder(ENTRY_QNAME, ID_QNAME, id)
+                .withChild(ImmutableNodes.leafNode(NAME_QNAME, "name-" + id))
+                .withChild(ImmutableNodes.leafNode(VALUE_QNAME, (long) id));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.benchmark;
+
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.SerializationUtils;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of NormalizedNode stream serialization, which is used by every commit, replication and snapshot. Both
+ * the raw NormalizedNodeDataOutput/NormalizedNodeDataInput streams and the SerializationUtils wrappers are measured.
+ * Run with the GC profiler to see the allocation rate, the size of the serialized form is reported by the
+ * {@link SerializedSize} counters of the write benchmarks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = SerializationBenchmarks.WARMUP_ITERATIONS)
+@Measurement(iterations = SerializationBenchmarks.MEASUREMENT_ITERATIONS)
+public class NormalizedNodeStreamBenchmark {
+    @Param({"WIDE_LIST", "DEEP_CONTAINERS", "LEAF_LIST", "AUGMENTED_LIST"})
+    public NodeShape shape;
+
+    private NormalizedNode<?, ?> node;
+    private int nodeCount;
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        node = shape.createNode();
+        nodeCount = NodeShape.countNodes(node);
+        serialized = write();
+    }
+
+    @Benchmark
+    public byte[] writeNormalizedNode(final SerializedSize size) throws IOException {
+        final byte[] bytes = write();
+        size.record(bytes.length, nodeCount);
+        return bytes;
+    }
+
+    @Benchmark
+    public NormalizedNode<?, ?> readNormalizedNode() throws IOException {
+        return NormalizedNodeInputOutput.newDataInput(ByteStreams.newDataInput(serialized)).readNormalizedNode();
+    }
+
+    @Benchmark
+    public byte[] serializeNormalizedNode() {
+        return SerializationUtils.serializeNormalizedNode(node);
+    }
+
+    @Benchmark
+    public NormalizedNode<?, ?> deserializeNormalizedNode() {
+        return SerializationUtils.deserializeNormalizedNode(serialized);
+    }
+
+    private byte[] write() throws IOException {
+        final ByteArrayDataOutput out = ByteStreams.newDataOutput();
+        try (NormalizedNodeDataOutput writer = NormalizedNodeInputOutput.newDataOutput(out)) {
+            writer.writeNormalizedNode(node);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,19 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.benchmark;
+
+/**
+ * Settings shared by the serialization benchmarks.
+ */
+final class SerializationBenchmarks {
+    static final int WARMUP_ITERATIONS = 10;
+    static final int MEASUREMENT_ITERATIONS = 10;
+
+    private SerializationBenchmarks() {
+    }
+}
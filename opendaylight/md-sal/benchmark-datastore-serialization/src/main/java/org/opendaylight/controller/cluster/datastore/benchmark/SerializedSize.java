@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Secondary results of the write benchmarks, reporting the size of the serialized form alongside the throughput.
+ * JMH reports both counters as rates in the benchmark's time unit. Dividing {@link #serializedBytes} by
+ * {@link #serializedNodes} gives the number of bytes per node, dividing it by the throughput gives the number of bytes
+ * per operation.
+ */
+@State(Scope.Thread)
+@AuxCounters
+public class SerializedSize {
+    public long serializedBytes;
+    public long serializedNodes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        serializedBytes = 0;
+        serializedNodes = 0;
+    }
+
+    void record(final int bytes, final int nodes) {
+        serializedBytes += bytes;
+        serializedNodes += nodes;
+    }
+}
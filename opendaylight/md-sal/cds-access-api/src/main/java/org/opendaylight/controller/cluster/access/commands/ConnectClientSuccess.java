@@ -16,6 +16,7 @@ import com.google.common.collect.ImmutableList;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BooleanSupplier;
 import javax.annotation.Nonnull;
 import org.opendaylight.controller.cluster.access.ABIVersion;
 import org.opendaylight.controller.cluster.access.concepts.ClientIdentifier;
@@ -40,23 +41,33 @@ public final class ConnectClientSuccess extends RequestSuccess<ClientIdentifier,
 
     @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "See justification above.")
     private final DataTree dataTree;
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "See justification above.")
+    private final BooleanSupplier leaderLease;
     private final ActorRef backend;
     private final int maxMessages;
 
     ConnectClientSuccess(final ClientIdentifier target, final long sequence, final ActorRef backend,
-        final List<ActorSelection> alternates, final Optional<DataTree> dataTree, final int maxMessages) {
+        final List<ActorSelection> alternates, final Optional<DataTree> dataTree, final BooleanSupplier leaderLease,
+        final int maxMessages) {
         super(target, sequence);
         this.backend = Preconditions.checkNotNull(backend);
         this.alternates = ImmutableList.copyOf(alternates);
         this.dataTree = dataTree.orElse(null);
+        this.leaderLease = Preconditions.checkNotNull(leaderLease);
         Preconditions.checkArgument(maxMessages > 0, "Maximum messages has to be positive, not %s", maxMessages);
         this.maxMessages = maxMessages;
     }
 
+    public ConnectClientSuccess(@Nonnull final ClientIdentifier target, final long sequence,
+            @Nonnull final ActorRef backend, @Nonnull final List<ActorSelection> alternates,
+            @Nonnull final DataTree dataTree, @Nonnull final BooleanSupplier leaderLease, final int maxMessages) {
+        this(target, sequence, backend, alternates, Optional.of(dataTree), leaderLease, maxMessages);
+    }
+
     public ConnectClientSuccess(@Nonnull final ClientIdentifier target, final long sequence,
             @Nonnull final ActorRef backend, @Nonnull final List<ActorSelection> alternates,
             @Nonnull final DataTree dataTree, final int maxMessages) {
-        this(target, sequence, backend, alternates, Optional.of(dataTree), maxMessages);
+        this(target, sequence, backend, alternates, dataTree, () -> true, maxMessages);
     }
 
     /**
@@ -78,6 +89,18 @@ public final class ConnectClientSuccess extends RequestSuccess<ClientIdentifier,
         return Optional.ofNullable(dataTree);
     }
 
+    /**
+     * Return a supplier indicating whether the backend currently holds its leader lease, i.e. whether reads from
+     * {@link #getDataTree()} are guaranteed to observe all data committed by the backend. Note this supplier is only
+     * meaningful when the DataTree is present.
+     *
+     * @return leader lease supplier
+     */
+    @Nonnull
+    public BooleanSupplier getLeaderLease() {
+        return leaderLease;
+    }
+
     public int getMaxMessages() {
         return maxMessages;
     }
@@ -78,7 +78,8 @@ final class ConnectClientSuccessProxyV1 extends AbstractSuccessProxy<ClientIdent
 
     @Override
     protected ConnectClientSuccess createSuccess(final ClientIdentifier target, final long sequence) {
-        return new ConnectClientSuccess(target, sequence, backend, alternates, Optional.empty(), maxMessages);
+        return new ConnectClientSuccess(target, sequence, backend, alternates, Optional.empty(), () -> false,
+            maxMessages);
     }
 
     @Override
@@ -15,6 +15,8 @@ import com.google.common.base.Preconditions;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Lock;
@@ -151,6 +153,34 @@ public abstract class AbstractClientConnection<T extends BackendInfo> {
         sendEntry(new ConnectionEntry(request, callback, now), now);
     }
 
+    /**
+     * Send a request to the backend and invoke a specified callback when it finishes. This method is safe to invoke
+     * from any thread.
+     *
+     * <p>
+     * Unlike {@link #sendRequest(Request, Consumer)}, this method never puts the caller thread to sleep. Backpressure
+     * is exerted through the returned future instead: it completes once the caller should send further requests,
+     * which is immediately unless the queue towards the backend is congested. The callback may be invoked before
+     * the future completes.
+     *
+     * @param request Request to send
+     * @param callback Callback to invoke
+     * @return A future which completes when the connection is ready to accept further requests
+     */
+    public final CompletionStage<Void> sendRequestAsync(final Request<?, ?> request,
+            final Consumer<Response<?, ?>> callback) {
+        final long now = currentTime();
+        final long delay = throttleDelay(enqueueOrForward(new ConnectionEntry(request, callback, now), now));
+
+        final CompletableFuture<Void> ret = new CompletableFuture<>();
+        if (delay <= 0) {
+            ret.complete(null);
+        } else {
+            context.executeDelayed(() -> ret.complete(null), FiniteDuration.fromNanos(delay));
+        }
+        return ret;
+    }
+
     /**
      * Send a request to the backend and invoke a specified callback when it finishes. This method is safe to invoke
      * from any thread.
@@ -246,19 +276,8 @@ public abstract class AbstractClientConnection<T extends BackendInfo> {
             RequestException runtimeRequestException);
 
     final void sendEntry(final ConnectionEntry entry, final long now) {
-        long delay = enqueueOrForward(entry, now);
+        final long delay = throttleDelay(enqueueOrForward(entry, now));
         try {
-            if (delay >= DEBUG_DELAY_NANOS) {
-                if (delay > MAX_DELAY_NANOS) {
-                    LOG.info("Capping {} throttle delay from {} to {} seconds", this,
-                        TimeUnit.NANOSECONDS.toSeconds(delay), MAX_DELAY_SECONDS, new Throwable());
-                    delay = MAX_DELAY_NANOS;
-                }
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("{}: Sleeping for {}ms on connection {}", context.persistenceId(),
-                        TimeUnit.NANOSECONDS.toMillis(delay), this);
-                }
-            }
             TimeUnit.NANOSECONDS.sleep(delay);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -266,6 +285,27 @@ public abstract class AbstractClientConnection<T extends BackendInfo> {
         }
     }
 
+    private long throttleDelay(final long delay) {
+        if (delay < DEBUG_DELAY_NANOS) {
+            return delay;
+        }
+
+        final long ret;
+        if (delay > MAX_DELAY_NANOS) {
+            LOG.info("Capping {} throttle delay from {} to {} seconds", this, TimeUnit.NANOSECONDS.toSeconds(delay),
+                MAX_DELAY_SECONDS, new Throwable());
+            ret = MAX_DELAY_NANOS;
+        } else {
+            ret = delay;
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("{}: Throttling for {}ms on connection {}", context.persistenceId(),
+                TimeUnit.NANOSECONDS.toMillis(ret), this);
+        }
+        return ret;
+    }
+
     final ClientActorBehavior<T> reconnect(final ClientActorBehavior<T> current, final RequestException cause) {
         lock.lock();
         try {
@@ -109,4 +109,17 @@ public class ClientActorContext extends AbstractClientActorContext implements Id
         return scheduler.scheduleOnce(Preconditions.checkNotNull(delay), self(), Preconditions.checkNotNull(command),
             executionContext, ActorRef.noSender());
     }
+
+    /**
+     * Execute a task after a delay. Unlike {@link #executeInActor(InternalCommand, FiniteDuration)}, the task does
+     * not run in the context of the client actor, hence it must not touch actor state.
+     *
+     * @param task Task to execute
+     * @param delay Delay before execution
+     * @return A handle to cancel the execution
+     */
+    public Cancellable executeDelayed(@Nonnull final Runnable task, final FiniteDuration delay) {
+        return scheduler.scheduleOnce(Preconditions.checkNotNull(delay), Preconditions.checkNotNull(task),
+            executionContext);
+    }
 }
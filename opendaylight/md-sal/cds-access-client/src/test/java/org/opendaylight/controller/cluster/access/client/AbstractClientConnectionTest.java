@@ -20,6 +20,7 @@ import akka.testkit.JavaTestKit;
 import akka.testkit.TestProbe;
 import com.google.common.collect.Iterables;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 import org.junit.After;
 import org.junit.Assert;
@@ -105,6 +106,18 @@ public abstract class AbstractClientConnectionTest<T extends AbstractClientConne
         verify(callback, timeout(1000)).accept(isA(TransactionAbortSuccess.class));
     }
 
+    @Test
+    public void testSendRequestAsync() throws Exception {
+        final Consumer<Response<?, ?>> callback = mock(Consumer.class);
+        final CompletionStage<Void> admitted = connection.sendRequestAsync(createRequest(replyToProbe.ref()),
+            callback);
+        // A lightly-loaded connection does not throttle
+        Assert.assertTrue(admitted.toCompletableFuture().isDone());
+
+        connection.poison(new RuntimeRequestException("fail", new RuntimeException("fail")));
+        verify(callback, timeout(1000)).accept(isA(TransactionFailure.class));
+    }
+
     @Test
     public void testRun() throws Exception {
         final ClientActorBehavior<U> behavior = mock(ClientActorBehavior.class);
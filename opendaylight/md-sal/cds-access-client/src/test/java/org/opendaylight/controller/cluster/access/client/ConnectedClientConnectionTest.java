@@ -13,7 +13,10 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
+import com.google.common.base.Stopwatch;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import org.junit.Assert;
 import org.junit.Test;
@@ -80,4 +83,23 @@ public class ConnectedClientConnectionTest
 
         backendProbe.expectMsgClass(MessageSlice.class);
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSendRequestAsyncThrottled() throws Exception {
+        // Fill the queue beyond half of its target depth, which is when requests start being throttled
+        final Consumer<Response<?, ?>> callback = mock(Consumer.class);
+        for (int i = 0; i < 25; i++) {
+            connection.enqueueEntry(new ConnectionEntry(createRequest(replyToProbe.ref()), callback, 0L),
+                connection.currentTime());
+        }
+
+        final Stopwatch stopwatch = Stopwatch.createStarted();
+        final CompletableFuture<Void> admitted = connection.sendRequestAsync(createRequest(replyToProbe.ref()),
+            callback).toCompletableFuture();
+        Assert.assertFalse("Admitted without delay", admitted.isDone());
+
+        admitted.get(10, TimeUnit.SECONDS);
+        Assert.assertTrue("Admitted after " + stopwatch, stopwatch.elapsed(TimeUnit.MILLISECONDS) >= 100);
+    }
 }
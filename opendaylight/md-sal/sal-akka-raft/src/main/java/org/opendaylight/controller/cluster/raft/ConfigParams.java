@@ -69,6 +69,15 @@ public interface ConfigParams {
      */
     int getSnapshotChunkSize();
 
+    /**
+     * Returns the maximum number of snapshot chunks a Leader may have outstanding to a follower, i.e. chunks which
+     * have been sent but not yet acknowledged. A value of 1 results in each chunk being sent only after the previous
+     * one has been acknowledged.
+     *
+     * @return the maximum number of unacknowledged snapshot chunks.
+     */
+    int getSnapshotChunkWindowSize();
+
     /**
      * Returns the maximum number of journal log entries to batch on recovery before applying.
      *
@@ -139,4 +148,14 @@ public interface ConfigParams {
      * @return the threshold in terms of number of journal entries.
      */
     long getSyncIndexThreshold();
+
+    /**
+     * Determines whether the leader maintains a lease, derived from the times at which a majority of followers last
+     * replied. While the lease is valid, no other peer can have been elected leader, hence reads of the leader's
+     * applied state are linearizable. Enabling the lease also makes followers reject votes requested by a candidate
+     * while they are still hearing from a leader, so it needs to be enabled on all peers.
+     *
+     * @return true if the leader lease is enabled, false otherwise.
+     */
+    boolean isLeaderLeaseEnabled();
 }
@@ -37,6 +37,8 @@ public class DefaultConfigParamsImpl implements ConfigParams {
 
     private static final int SNAPSHOT_CHUNK_SIZE = 2048 * 1000; //2MB
 
+    private static final int SNAPSHOT_CHUNK_WINDOW_SIZE = 1;
+
 
     /**
      * The interval at which a heart beat message will be sent to the remote
@@ -63,6 +65,8 @@ public class DefaultConfigParamsImpl implements ConfigParams {
 
     private int snapshotChunkSize = SNAPSHOT_CHUNK_SIZE;
 
+    private int snapshotChunkWindowSize = SNAPSHOT_CHUNK_WINDOW_SIZE;
+
     private long electionTimeoutFactor = 2;
     private String customRaftPolicyImplementationClass;
 
@@ -74,6 +78,8 @@ public class DefaultConfigParamsImpl implements ConfigParams {
 
     private long syncIndexThreshold = 10;
 
+    private boolean leaderLeaseEnabled = false;
+
     public void setHeartBeatInterval(final FiniteDuration heartBeatInterval) {
         this.heartBeatInterval = heartBeatInterval;
         electionTimeOutInterval = null;
@@ -91,6 +97,11 @@ public class DefaultConfigParamsImpl implements ConfigParams {
         this.snapshotChunkSize = snapshotChunkSize;
     }
 
+    public void setSnapshotChunkWindowSize(final int snapshotChunkWindowSize) {
+        Preconditions.checkArgument(snapshotChunkWindowSize > 0);
+        this.snapshotChunkWindowSize = snapshotChunkWindowSize;
+    }
+
     public void setJournalRecoveryLogBatchSize(final int journalRecoveryLogBatchSize) {
         this.journalRecoveryLogBatchSize = journalRecoveryLogBatchSize;
     }
@@ -156,6 +167,11 @@ public class DefaultConfigParamsImpl implements ConfigParams {
         return snapshotChunkSize;
     }
 
+    @Override
+    public int getSnapshotChunkWindowSize() {
+        return snapshotChunkWindowSize;
+    }
+
     @Override
     public int getJournalRecoveryLogBatchSize() {
         return journalRecoveryLogBatchSize;
@@ -206,6 +222,15 @@ public class DefaultConfigParamsImpl implements ConfigParams {
         this.syncIndexThreshold = syncIndexThreshold;
     }
 
+    @Override
+    public boolean isLeaderLeaseEnabled() {
+        return leaderLeaseEnabled;
+    }
+
+    public void setLeaderLeaseEnabled(final boolean leaderLeaseEnabled) {
+        this.leaderLeaseEnabled = leaderLeaseEnabled;
+    }
+
     @SuppressWarnings("checkstyle:IllegalCatch")
     private RaftPolicy getPolicy() {
         if (Strings.isNullOrEmpty(DefaultConfigParamsImpl.this.customRaftPolicyImplementationClass)) {
@@ -105,6 +105,29 @@ public interface FollowerLogInformation {
      */
     long timeSinceLastActivity();
 
+    /**
+     * Records that an AppendEntries message has been sent to the follower.
+     *
+     * @param sendNanos the time at which the message was sent, as measured by the leader lease ticker.
+     */
+    void appendEntriesSent(long sendNanos);
+
+    /**
+     * Records that an AppendEntriesReply has been received from the follower. Messages between two actors are
+     * delivered in order, hence the reply acknowledges the oldest AppendEntries which has not been acknowledged yet.
+     */
+    void appendEntriesAcknowledged();
+
+    /**
+     * Returns the time at which the AppendEntries last acknowledged by the follower was sent. An AppendEntries which
+     * is lost in transit is never acknowledged, in which case the times reported for subsequent messages are earlier
+     * than the actual ones, but never later.
+     *
+     * @return the send time, as measured by the leader lease ticker, or null if it is not known.
+     */
+    @Nullable
+    Long getLastAcknowledgedSendTime();
+
     /**
      * This method checks if the next replicate message can be sent to the follower. This is an optimization to avoid
      * sending duplicate message too frequently if the last replicate message was sent and no reply has been received
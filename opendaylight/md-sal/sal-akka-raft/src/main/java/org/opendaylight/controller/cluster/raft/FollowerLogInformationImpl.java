@@ -10,6 +10,8 @@ package org.opendaylight.controller.cluster.raft;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -22,6 +24,18 @@ import org.opendaylight.controller.cluster.raft.behaviors.LeaderInstallSnapshotS
  * @author Thomas Pantelis
  */
 public class FollowerLogInformationImpl implements FollowerLogInformation {
+    // Maximum number of unacknowledged AppendEntries send times tracked individually
+    private static final int MAX_PENDING_SENDS = 128;
+
+    private static final class PendingSend {
+        final long sendNanos;
+        int count = 1;
+
+        PendingSend(final long sendNanos) {
+            this.sendNanos = sendNanos;
+        }
+    }
+
     private final Stopwatch stopwatch = Stopwatch.createUnstarted();
 
     private final RaftActorContext context;
@@ -48,6 +62,12 @@ public class FollowerLogInformationImpl implements FollowerLogInformation {
 
     private long slicedLogEntryIndex = NO_INDEX;
 
+    // Send times of unacknowledged AppendEntries, oldest first. Once MAX_PENDING_SENDS is reached, further sends are
+    // accounted to the last element, i.e. attributed an earlier send time.
+    private final Deque<PendingSend> pendingSends = new ArrayDeque<>();
+
+    private Long lastAcknowledgedSendTime;
+
     /**
      * Constructs an instance.
      *
@@ -154,6 +174,38 @@ public class FollowerLogInformationImpl implements FollowerLogInformation {
         return stopwatch.elapsed(TimeUnit.MILLISECONDS);
     }
 
+    @Override
+    public void appendEntriesSent(long sendNanos) {
+        final PendingSend last = pendingSends.peekLast();
+        if (last != null && pendingSends.size() >= MAX_PENDING_SENDS) {
+            last.count++;
+        } else {
+            pendingSends.addLast(new PendingSend(sendNanos));
+        }
+    }
+
+    @Override
+    public void appendEntriesAcknowledged() {
+        final PendingSend first = pendingSends.peekFirst();
+        if (first == null) {
+            lastAcknowledgedSendTime = null;
+            return;
+        }
+
+        if (--first.count == 0) {
+            pendingSends.removeFirst();
+        }
+
+        // The reply to a sliced AppendEntries is only sent once its last slice has been received, i.e. possibly after
+        // the replies to AppendEntries sent after it, hence replies cannot be matched to send times until then.
+        lastAcknowledgedSendTime = isLogEntrySlicingInProgress() ? null : first.sendNanos;
+    }
+
+    @Override
+    public Long getLastAcknowledgedSendTime() {
+        return lastAcknowledgedSendTime;
+    }
+
     @Override
     public boolean okToReplicate() {
         if (peerInfo.getVotingState() == VotingState.VOTING_NOT_INITIALIZED) {
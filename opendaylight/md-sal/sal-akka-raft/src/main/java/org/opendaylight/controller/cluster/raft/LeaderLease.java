@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Tracks whether this peer currently holds a leader lease. The lease is granted and revoked by leader behaviors on
+ * the actor thread, but can be checked from any thread, for example by a co-located frontend which wants to read
+ * the leader's state directly rather than sending a message to the actor.
+ *
+ * <p>
+ * Each grant is associated with the behavior instance which issued it, so that closing a previous behavior does not
+ * revoke the grant made by its successor.
+ *
+ * <p>
+ * A grant is enforced if it was issued by a leader while leases are enabled, in which case followers do not elect
+ * another leader while it is valid. Otherwise it is merely held for as long as the issuing behavior is active, which
+ * does not guarantee that there is no other leader.
+ */
+@ThreadSafe
+public final class LeaderLease {
+    private static final class Grant {
+        final Object holder;
+        final long expiryNanos;
+        final boolean unbounded;
+        final boolean enforced;
+
+        Grant(final Object holder, final long expiryNanos, final boolean unbounded, final boolean enforced) {
+            this.holder = Preconditions.checkNotNull(holder);
+            this.expiryNanos = expiryNanos;
+            this.unbounded = unbounded;
+            this.enforced = enforced;
+        }
+    }
+
+    private final Ticker ticker;
+
+    private volatile Grant grant;
+
+    public LeaderLease() {
+        this(Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    LeaderLease(final Ticker ticker) {
+        this.ticker = Preconditions.checkNotNull(ticker);
+    }
+
+    /**
+     * Returns the ticker against which lease expiry is measured.
+     *
+     * @return the ticker.
+     */
+    public Ticker ticker() {
+        return ticker;
+    }
+
+    /**
+     * Determines whether the lease is currently held.
+     *
+     * @return true if the lease has been granted and has not expired or been revoked, false otherwise.
+     */
+    public boolean isValid() {
+        return isValid(grant);
+    }
+
+    /**
+     * Determines whether the lease is currently held and enforced, i.e. no other leader can have been elected.
+     *
+     * @return true if the lease is valid and was granted by a leader while leases are enabled, false otherwise.
+     */
+    public boolean isEnforced() {
+        final Grant local = grant;
+        return local != null && local.enforced && isValid(local);
+    }
+
+    private boolean isValid(final Grant local) {
+        return local != null && (local.unbounded || ticker.read() - local.expiryNanos < 0);
+    }
+
+    /**
+     * Grants the lease until the specified time, as measured by {@link #ticker()}.
+     *
+     * @param holder the behavior granting the lease
+     * @param expiryNanos the time at which the lease expires
+     */
+    public void grantUntil(final Object holder, final long expiryNanos) {
+        grant = new Grant(holder, expiryNanos, false, true);
+    }
+
+    /**
+     * Grants the lease until it is revoked.
+     *
+     * @param holder the behavior granting the lease
+     */
+    public void grantUnbounded(final Object holder) {
+        grant = new Grant(holder, 0, true, true);
+    }
+
+    /**
+     * Grants the lease until it is revoked, without it being enforced. This is used when leases are disabled.
+     *
+     * @param holder the behavior granting the lease
+     */
+    public void grantUnenforced(final Object holder) {
+        grant = new Grant(holder, 0, true, false);
+    }
+
+    /**
+     * Revokes the lease if it was last granted by the specified holder.
+     *
+     * @param holder the behavior which granted the lease
+     */
+    public void revoke(final Object holder) {
+        final Grant local = grant;
+        if (local != null && local.holder == holder) {
+            grant = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        final Grant local = grant;
+        if (local == null) {
+            return "LeaderLease [revoked]";
+        }
+        if (!local.enforced) {
+            return "LeaderLease [unenforced]";
+        }
+        return local.unbounded ? "LeaderLease [unbounded]"
+                : "LeaderLease [remainingNanos=" + (local.expiryNanos - ticker.read()) + "]";
+    }
+}
@@ -222,6 +222,23 @@ public interface RaftActorContext {
     @Nonnull
     ConfigParams getConfigParams();
 
+    /**
+     * Returns the LeaderLease instance, which tracks whether this peer holds a leader lease.
+     *
+     * @return the LeaderLease instance.
+     */
+    @Nonnull
+    LeaderLease getLeaderLease();
+
+    /**
+     * Returns the ReplicaFreshness instance, which tracks how stale this peer's applied state may be while it is
+     * a follower.
+     *
+     * @return the ReplicaFreshness instance.
+     */
+    @Nonnull
+    ReplicaFreshness getReplicaFreshness();
+
     /**
      * Returns the SnapshotManager instance.
      *
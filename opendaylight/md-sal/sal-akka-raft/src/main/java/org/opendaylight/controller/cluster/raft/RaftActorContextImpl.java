@@ -91,6 +91,10 @@ public class RaftActorContextImpl implements RaftActorContext {
 
     private final FileBackedOutputStreamFactory fileBackedOutputStreamFactory;
 
+    private final LeaderLease leaderLease = new LeaderLease();
+
+    private final ReplicaFreshness replicaFreshness = new ReplicaFreshness();
+
     private RaftActorLeadershipTransferCohort leadershipTransferCohort;
 
     public RaftActorContextImpl(ActorRef actor, ActorContext context, String id,
@@ -281,6 +285,16 @@ public class RaftActorContextImpl implements RaftActorContext {
         return configParams;
     }
 
+    @Override
+    public LeaderLease getLeaderLease() {
+        return leaderLease;
+    }
+
+    @Override
+    public ReplicaFreshness getReplicaFreshness() {
+        return replicaFreshness;
+    }
+
     @Override
     public void addToPeers(String peerId, String address, VotingState votingState) {
         peerInfoMap.put(peerId, new PeerInfo(peerId, address, votingState));
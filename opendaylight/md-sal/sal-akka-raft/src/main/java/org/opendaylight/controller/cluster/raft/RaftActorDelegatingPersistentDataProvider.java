@@ -40,6 +40,31 @@ class RaftActorDelegatingPersistentDataProvider extends DelegatingPersistentData
         doPersist(entry, procedure, true);
     }
 
+    @Override
+    public <T> void persistAll(final Iterable<T> entries, final Procedure<T> procedure) {
+        doPersistAll(entries, procedure, false);
+    }
+
+    @Override
+    public <T> void persistAllAsync(final Iterable<T> entries, final Procedure<T> procedure) {
+        doPersistAll(entries, procedure, true);
+    }
+
+    private <T> void doPersistAll(final Iterable<T> entries, final Procedure<T> procedure, final boolean async) {
+        if (getDelegate().isRecoveryApplicable()) {
+            if (async) {
+                super.persistAllAsync(entries, procedure);
+            } else {
+                super.persistAll(entries, procedure);
+            }
+        } else {
+            // Entries may be routed to different providers based on their payload, hence we cannot batch them
+            for (T entry : entries) {
+                doPersist(entry, procedure, async);
+            }
+        }
+    }
+
     private <T> void doPersist(final T entry, final Procedure<T> procedure, final boolean async) {
         if (getDelegate().isRecoveryApplicable()) {
             persistSuper(entry, procedure, async);
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Tracks how stale the state applied by a follower may be with respect to its leader. The follower marks the
+ * replica as current whenever it has applied everything the leader reported as committed in an AppendEntries
+ * message. The time elapsed since then bounds how far the follower's state can lag behind the leader's, which
+ * allows a co-located frontend to decide, from any thread, whether it can serve a read from the follower's state.
+ */
+@ThreadSafe
+public final class ReplicaFreshness {
+    private static final long UNKNOWN = Long.MIN_VALUE;
+
+    private final Ticker ticker;
+
+    private volatile long currentAtNanos = UNKNOWN;
+
+    public ReplicaFreshness() {
+        this(Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    ReplicaFreshness(final Ticker ticker) {
+        this.ticker = Preconditions.checkNotNull(ticker);
+    }
+
+    /**
+     * Records that the replica has applied all entries known to be committed by the leader.
+     */
+    public void markCurrent() {
+        currentAtNanos = ticker.read();
+    }
+
+    /**
+     * Records that the replica is no longer following a leader.
+     */
+    public void reset() {
+        currentAtNanos = UNKNOWN;
+    }
+
+    /**
+     * Returns the time elapsed since the replica was last known to be current.
+     *
+     * @return staleness in nanoseconds, or {@link Long#MAX_VALUE} if the replica is not known to be current
+     */
+    public long getStalenessNanos() {
+        final long local = currentAtNanos;
+        return local == UNKNOWN ? Long.MAX_VALUE : ticker.read() - local;
+    }
+
+    /**
+     * Determines whether the replica's state lags behind the leader's by at most the specified time.
+     *
+     * @param maxStalenessNanos maximum acceptable staleness, in nanoseconds
+     * @return true if the replica is fresh enough, false otherwise
+     */
+    public boolean isWithin(final long maxStalenessNanos) {
+        return getStalenessNanos() <= maxStalenessNanos;
+    }
+
+    @Override
+    public String toString() {
+        final long staleness = getStalenessNanos();
+        return staleness == Long.MAX_VALUE ? "ReplicaFreshness [unknown]"
+                : "ReplicaFreshness [stalenessNanos=" + staleness + "]";
+    }
+}
@@ -100,6 +100,20 @@ public interface ReplicatedLog {
     boolean appendAndPersist(@Nonnull ReplicatedLogEntry replicatedLogEntry,
             @Nullable Procedure<ReplicatedLogEntry> callback, boolean doAsync);
 
+    /**
+     * Appends a batch of entries to the in-memory log and persists them as a single journal write. Entries which
+     * fail to append, as their index is already included in the log, are skipped.
+     *
+     * @param replicatedLogEntries the entries to append, in log order
+     * @param callback the Procedure to be notified when persistence of each entry is complete (optional).
+     * @param doAsync if true, the persistent actor can receive subsequent messages to process in between the persist
+     *        call and the execution of the associated callback. If false, subsequent messages are stashed and get
+     *        delivered after persistence is complete and the associated callback is executed.
+     * @return the entries which were successfully appended and submitted for persistence.
+     */
+    @Nonnull List<ReplicatedLogEntry> appendAndPersistAll(@Nonnull List<ReplicatedLogEntry> replicatedLogEntries,
+            @Nullable Procedure<ReplicatedLogEntry> callback, boolean doAsync);
+
     /**
      * Returns a list of log entries starting from the given index to the end of the log.
      *
@@ -9,6 +9,7 @@ package org.opendaylight.controller.cluster.raft;
 
 import akka.japi.Procedure;
 import com.google.common.base.Preconditions;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import javax.annotation.Nonnull;
@@ -102,22 +103,53 @@ class ReplicatedLogImpl extends AbstractReplicatedLogImpl {
             return false;
         }
 
-        Procedure<ReplicatedLogEntry> persistCallback = persistedLogEntry -> {
-            context.getLogger().debug("{}: persist complete {}", context.getId(), persistedLogEntry);
+        final Procedure<ReplicatedLogEntry> persistCallback = persistCallback(callback);
+        if (doAsync) {
+            context.getPersistenceProvider().persistAsync(replicatedLogEntry, persistCallback);
+        } else {
+            context.getPersistenceProvider().persist(replicatedLogEntry, persistCallback);
+        }
 
-            dataSizeSinceLastSnapshot += persistedLogEntry.size();
+        return true;
+    }
 
-            if (callback != null) {
-                callback.apply(persistedLogEntry);
+    @Override
+    public List<ReplicatedLogEntry> appendAndPersistAll(@Nonnull final List<ReplicatedLogEntry> replicatedLogEntries,
+            @Nullable final Procedure<ReplicatedLogEntry> callback, final boolean doAsync) {
+
+        final List<ReplicatedLogEntry> appended = new ArrayList<>(replicatedLogEntries.size());
+        for (ReplicatedLogEntry entry : replicatedLogEntries) {
+            if (append(entry)) {
+                appended.add(entry);
             }
-        };
+        }
 
+        if (appended.isEmpty()) {
+            return appended;
+        }
+
+        context.getLogger().debug("{}: Appended {} log entries, persisting {} through {}", context.getId(),
+            appended.size(), appended.get(0).getIndex(), appended.get(appended.size() - 1).getIndex());
+
+        final Procedure<ReplicatedLogEntry> persistCallback = persistCallback(callback);
         if (doAsync) {
-            context.getPersistenceProvider().persistAsync(replicatedLogEntry, persistCallback);
+            context.getPersistenceProvider().persistAllAsync(appended, persistCallback);
         } else {
-            context.getPersistenceProvider().persist(replicatedLogEntry, persistCallback);
+            context.getPersistenceProvider().persistAll(appended, persistCallback);
         }
 
-        return true;
+        return appended;
+    }
+
+    private Procedure<ReplicatedLogEntry> persistCallback(@Nullable final Procedure<ReplicatedLogEntry> callback) {
+        return persistedLogEntry -> {
+            context.getLogger().debug("{}: persist complete {}", context.getId(), persistedLogEntry);
+
+            dataSizeSinceLastSnapshot += persistedLogEntry.size();
+
+            if (callback != null) {
+                callback.apply(persistedLogEntry);
+            }
+        };
     }
 }
@@ -17,6 +17,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.io.ByteSource;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -35,6 +36,7 @@ import org.opendaylight.controller.cluster.raft.ClientRequestTracker;
 import org.opendaylight.controller.cluster.raft.ClientRequestTrackerImpl;
 import org.opendaylight.controller.cluster.raft.FollowerLogInformation;
 import org.opendaylight.controller.cluster.raft.FollowerLogInformationImpl;
+import org.opendaylight.controller.cluster.raft.LeaderLease;
 import org.opendaylight.controller.cluster.raft.PeerInfo;
 import org.opendaylight.controller.cluster.raft.RaftActorContext;
 import org.opendaylight.controller.cluster.raft.RaftState;
@@ -79,6 +81,13 @@ import scala.concurrent.duration.FiniteDuration;
  * </ul>
  */
 public abstract class AbstractLeader extends AbstractRaftActorBehavior {
+    /**
+     * Number of heartbeat intervals after which an unacknowledged snapshot chunk is sent again, if more than one chunk
+     * may be outstanding. The follower discards chunks it already has, hence an early resend costs only bandwidth,
+     * whereas a late one stalls the chunk window. With a window of a single chunk, chunks are not resent on timeout.
+     */
+    private static final int SNAPSHOT_CHUNK_ACK_TIMEOUT_HEARTBEATS = 2;
+
     private final Map<String, FollowerLogInformation> followerToLog = new HashMap<>();
 
     /**
@@ -133,6 +142,8 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
 
         // It is important to schedule this heartbeat here
         scheduleHeartBeat(context.getConfigParams().getHeartBeatInterval());
+
+        updateLeaderLease();
     }
 
     protected AbstractLeader(final RaftActorContext context, final RaftState state) {
@@ -226,8 +237,10 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         }
 
         followerLogInformation.markFollowerActive();
+        followerLogInformation.appendEntriesAcknowledged();
         followerLogInformation.setPayloadVersion(appendEntriesReply.getPayloadVersion());
         followerLogInformation.setRaftVersion(appendEntriesReply.getRaftVersion());
+        updateLeaderLease();
 
         long followerLastLogIndex = appendEntriesReply.getLogLastIndex();
         long followersLastLogTermInLeadersLog = getLogEntryTerm(followerLastLogIndex);
@@ -529,65 +542,59 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
 
         followerLogInformation.markFollowerActive();
 
-        if (installSnapshotState.getChunkIndex() == reply.getChunkIndex()) {
-            boolean wasLastChunk = false;
-            if (reply.isSuccess()) {
-                if (installSnapshotState.isLastChunk(reply.getChunkIndex())) {
-                    //this was the last chunk reply
-
-                    long followerMatchIndex = snapshotHolder.get().getLastIncludedIndex();
-                    followerLogInformation.setMatchIndex(followerMatchIndex);
-                    followerLogInformation.setNextIndex(followerMatchIndex + 1);
-                    followerLogInformation.clearLeaderInstallSnapshotState();
-
-                    log.info("{}: Snapshot successfully installed on follower {} (last chunk {}) - "
-                        + "matchIndex set to {}, nextIndex set to {}", logName(), followerId, reply.getChunkIndex(),
-                        followerLogInformation.getMatchIndex(), followerLogInformation.getNextIndex());
-
-                    if (!anyFollowersInstallingSnapshot()) {
-                        // once there are no pending followers receiving snapshots
-                        // we can remove snapshot from the memory
-                        setSnapshot(null);
-                    }
+        if (reply.getChunkIndex() == LeaderInstallSnapshotState.INVALID_CHUNK_INDEX) {
+            log.warn("{}: Follower {} requested the snapshot install to be restarted", logName(), followerId);
 
-                    wasLastChunk = true;
-                    if (context.getPeerInfo(followerId).getVotingState() == VotingState.VOTING_NOT_INITIALIZED) {
-                        UnInitializedFollowerSnapshotReply unInitFollowerSnapshotSuccess =
-                                             new UnInitializedFollowerSnapshotReply(followerId);
-                        context.getActor().tell(unInitFollowerSnapshotSuccess, context.getActor());
-                        log.debug("Sent message UnInitializedFollowerSnapshotReply to self");
-                    }
-                } else {
-                    installSnapshotState.markSendStatus(true);
-                }
-            } else {
-                log.warn("{}: Received failed InstallSnapshotReply - will retry: {}", logName(), reply);
+            // Since the Follower did not find this index to be valid we should reset the follower snapshot
+            // so that Installing the snapshot can resume from the beginning
+            installSnapshotState.reset();
+            return;
+        }
+
+        if (!installSnapshotState.markSendStatus(reply.getChunkIndex(), reply.isSuccess())) {
+            // This can happen if a chunk has been resent after its acknowledgement timed out
+            log.debug("{}: Chunk index {} in InstallSnapshotReply from follower {} is not outstanding - ignoring",
+                    logName(), reply.getChunkIndex(), followerId);
+            return;
+        }
+
+        if (!reply.isSuccess()) {
+            log.warn("{}: Received failed InstallSnapshotReply - will retry: {}", logName(), reply);
+        } else if (installSnapshotState.isComplete()) {
+            //this was the last chunk reply
+
+            long followerMatchIndex = snapshotHolder.get().getLastIncludedIndex();
+            followerLogInformation.setMatchIndex(followerMatchIndex);
+            followerLogInformation.setNextIndex(followerMatchIndex + 1);
+            followerLogInformation.clearLeaderInstallSnapshotState();
 
-                installSnapshotState.markSendStatus(false);
+            log.info("{}: Snapshot successfully installed on follower {} (last chunk {}) - "
+                + "matchIndex set to {}, nextIndex set to {}", logName(), followerId, reply.getChunkIndex(),
+                followerLogInformation.getMatchIndex(), followerLogInformation.getNextIndex());
+
+            if (!anyFollowersInstallingSnapshot()) {
+                // once there are no pending followers receiving snapshots
+                // we can remove snapshot from the memory
+                setSnapshot(null);
             }
 
-            if (wasLastChunk) {
-                if (!context.getSnapshotManager().isCapturing()) {
-                    // Since the follower is now caught up try to purge the log.
-                    purgeInMemoryLog();
-                }
-            } else {
-                ActorSelection followerActor = context.getPeerActorSelection(followerId);
-                if (followerActor != null) {
-                    sendSnapshotChunk(followerActor, followerLogInformation);
-                }
+            if (context.getPeerInfo(followerId).getVotingState() == VotingState.VOTING_NOT_INITIALIZED) {
+                UnInitializedFollowerSnapshotReply unInitFollowerSnapshotSuccess =
+                                     new UnInitializedFollowerSnapshotReply(followerId);
+                context.getActor().tell(unInitFollowerSnapshotSuccess, context.getActor());
+                log.debug("Sent message UnInitializedFollowerSnapshotReply to self");
             }
 
-        } else {
-            log.error("{}: Chunk index {} in InstallSnapshotReply from follower {} does not match expected index {}",
-                    logName(), reply.getChunkIndex(), followerId,
-                    installSnapshotState.getChunkIndex());
-
-            if (reply.getChunkIndex() == LeaderInstallSnapshotState.INVALID_CHUNK_INDEX) {
-                // Since the Follower did not find this index to be valid we should reset the follower snapshot
-                // so that Installing the snapshot can resume from the beginning
-                installSnapshotState.reset();
+            if (!context.getSnapshotManager().isCapturing()) {
+                // Since the follower is now caught up try to purge the log.
+                purgeInMemoryLog();
             }
+            return;
+        }
+
+        ActorSelection followerActor = context.getPeerActorSelection(followerId);
+        if (followerActor != null) {
+            sendSnapshotChunk(followerActor, followerLogInformation);
         }
     }
 
@@ -658,6 +665,12 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
 
             LeaderInstallSnapshotState installSnapshotState = followerLogInformation.getInstallSnapshotState();
             if (installSnapshotState != null) {
+                // resend any chunks the follower has not acknowledged in time
+                if (context.getConfigParams().getSnapshotChunkWindowSize() > 1) {
+                    installSnapshotState.markExpiredChunks(context.getConfigParams().getHeartBeatInterval().toNanos()
+                        * SNAPSHOT_CHUNK_ACK_TIMEOUT_HEARTBEATS);
+                }
+
                 // if install snapshot is in process , then sent next chunk if possible
                 if (isFollowerActive && installSnapshotState.canSendNextChunk()) {
                     sendSnapshotChunk(followerActor, followerLogInformation);
@@ -781,6 +794,7 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
 
         // Record that slicing is in progress for the follower.
         followerLogInfo.setSlicedLogEntryIndex(logIndex);
+        followerLogInfo.appendEntriesSent(context.getLeaderLease().ticker().read());
 
         final FollowerIdentifier identifier = new FollowerIdentifier(followerLogInfo.getId());
         appendEntriesMessageSlicer.slice(SliceOptions.builder().identifier(identifier)
@@ -820,6 +834,7 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
                     appendEntries);
         }
 
+        followerLogInformation.appendEntriesSent(context.getLeaderLease().ticker().read());
         followerActor.tell(appendEntries, actor());
     }
 
@@ -857,8 +872,7 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         boolean captureInitiated = context.getSnapshotManager().captureToInstall(context.getReplicatedLog().last(),
             this.getReplicatedToAllIndex(), followerId);
         if (captureInitiated) {
-            followerLogInfo.setLeaderInstallSnapshotState(new LeaderInstallSnapshotState(
-                context.getConfigParams().getSnapshotChunkSize(), logName()));
+            followerLogInfo.setLeaderInstallSnapshotState(newLeaderInstallSnapshotState());
         }
 
         return captureInitiated;
@@ -892,16 +906,20 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         }
     }
 
+    private LeaderInstallSnapshotState newLeaderInstallSnapshotState() {
+        return new LeaderInstallSnapshotState(context.getConfigParams().getSnapshotChunkSize(),
+            context.getConfigParams().getSnapshotChunkWindowSize(), logName(), context.getLeaderLease().ticker());
+    }
+
     /**
-     *  Sends a snapshot chunk to a given follower
+     *  Sends snapshot chunks to a given follower, until the window of unacknowledged chunks is full.
      *  InstallSnapshot should qualify as a heartbeat too.
      */
     private void sendSnapshotChunk(final ActorSelection followerActor, final FollowerLogInformation followerLogInfo) {
         if (snapshotHolder.isPresent()) {
             LeaderInstallSnapshotState installSnapshotState = followerLogInfo.getInstallSnapshotState();
             if (installSnapshotState == null) {
-                installSnapshotState = new LeaderInstallSnapshotState(context.getConfigParams().getSnapshotChunkSize(),
-                        logName());
+                installSnapshotState = newLeaderInstallSnapshotState();
                 followerLogInfo.setLeaderInstallSnapshotState(installSnapshotState);
             }
 
@@ -909,40 +927,36 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
                 // Ensure the snapshot bytes are set - this is a no-op.
                 installSnapshotState.setSnapshotBytes(snapshotHolder.get().getSnapshotBytes());
 
-                if (!installSnapshotState.canSendNextChunk()) {
-                    return;
-                }
+                while (installSnapshotState.canSendNextChunk()) {
+                    final LeaderInstallSnapshotState.Chunk chunk = installSnapshotState.getNextChunk();
 
-                byte[] nextSnapshotChunk = installSnapshotState.getNextChunk();
+                    log.debug("{}: next snapshot chunk size for follower {}: {}", logName(), followerLogInfo.getId(),
+                            chunk.getData().length);
 
-                log.debug("{}: next snapshot chunk size for follower {}: {}", logName(), followerLogInfo.getId(),
-                        nextSnapshotChunk.length);
+                    Optional<ServerConfigurationPayload> serverConfig = Optional.absent();
+                    if (installSnapshotState.isLastChunk(chunk.getIndex())) {
+                        serverConfig = Optional.fromNullable(context.getPeerServerInfo(true));
+                    }
 
-                int nextChunkIndex = installSnapshotState.incrementChunkIndex();
-                Optional<ServerConfigurationPayload> serverConfig = Optional.absent();
-                if (installSnapshotState.isLastChunk(nextChunkIndex)) {
-                    serverConfig = Optional.fromNullable(context.getPeerServerInfo(true));
+                    followerActor.tell(
+                        new InstallSnapshot(currentTerm(), context.getId(),
+                            snapshotHolder.get().getLastIncludedIndex(),
+                            snapshotHolder.get().getLastIncludedTerm(),
+                            chunk.getData(),
+                            chunk.getIndex(),
+                            installSnapshotState.getTotalChunks(),
+                            Optional.of(chunk.getLastChunkHashCode()),
+                            serverConfig
+                        ).toSerializable(followerLogInfo.getRaftVersion()),
+                        actor()
+                    );
+
+                    log.debug("{}: InstallSnapshot sent to follower {}, Chunk: {}/{}", logName(),
+                        followerActor.path(), chunk.getIndex(), installSnapshotState.getTotalChunks());
                 }
-
-                followerActor.tell(
-                    new InstallSnapshot(currentTerm(), context.getId(),
-                        snapshotHolder.get().getLastIncludedIndex(),
-                        snapshotHolder.get().getLastIncludedTerm(),
-                        nextSnapshotChunk,
-                        nextChunkIndex,
-                        installSnapshotState.getTotalChunks(),
-                        Optional.of(installSnapshotState.getLastChunkHashCode()),
-                        serverConfig
-                    ).toSerializable(followerLogInfo.getRaftVersion()),
-                    actor()
-                );
-
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
-
-            log.debug("{}: InstallSnapshot sent to follower {}, Chunk: {}/{}", logName(), followerActor.path(),
-                installSnapshotState.getChunkIndex(), installSnapshotState.getTotalChunks());
         }
     }
 
@@ -984,6 +998,7 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
     public void close() {
         stopHeartBeat();
         appendEntriesMessageSlicer.close();
+        context.getLeaderLease().revoke(this);
     }
 
     @Override
@@ -1010,6 +1025,63 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         return minPresent != 0;
     }
 
+    /**
+     * Determines whether this behavior may hold a leader lease, i.e. whether it can serve linearizable reads of the
+     * applied state while a majority of voting followers keeps replying.
+     *
+     * @return true if a lease may be held, false otherwise
+     */
+    protected boolean canHoldLeaderLease() {
+        return false;
+    }
+
+    /**
+     * Updates the leader lease. If leases are not enabled, the lease is simply held, unenforced, for as long as this
+     * behavior is active. Otherwise it is extended to half of the election timeout past the time at which this leader
+     * sent the AppendEntries most recently acknowledged by a majority of voting followers, including this leader.
+     * A follower does not grant votes to another candidate within the election timeout after receiving that
+     * AppendEntries, so that leaves the other half as a margin for clock drift.
+     */
+    protected final void updateLeaderLease() {
+        final LeaderLease lease = context.getLeaderLease();
+        if (!context.getConfigParams().isLeaderLeaseEnabled()) {
+            lease.grantUnenforced(this);
+            return;
+        }
+        if (!canHoldLeaderLease()) {
+            lease.revoke(this);
+            return;
+        }
+
+        final int minPresent = getMinIsolatedLeaderPeerCount();
+        if (minPresent == 0) {
+            lease.grantUnbounded(this);
+            return;
+        }
+
+        final long[] acknowledgedSendTimes = new long[followerToLog.size()];
+        int count = 0;
+        for (FollowerLogInformation followerLogInformation : followerToLog.values()) {
+            final PeerInfo peerInfo = context.getPeerInfo(followerLogInformation.getId());
+            final Long sendTime = followerLogInformation.getLastAcknowledgedSendTime();
+            if (peerInfo != null && peerInfo.isVoting() && followerLogInformation.isFollowerActive()
+                    && sendTime != null) {
+                acknowledgedSendTimes[count++] = sendTime;
+            }
+        }
+
+        if (count >= minPresent) {
+            // Ticker values may overflow, hence compare them relative to the current time
+            final long now = lease.ticker().read();
+            for (int i = 0; i < count; i++) {
+                acknowledgedSendTimes[i] = now - acknowledgedSendTimes[i];
+            }
+            Arrays.sort(acknowledgedSendTimes, 0, count);
+            final long leaseStart = now - acknowledgedSendTimes[minPresent - 1];
+            lease.grantUntil(this, leaseStart + context.getConfigParams().getElectionTimeOutInterval().toNanos() / 2);
+        }
+    }
+
     // called from example-actor for printing the follower-states
     public String printFollowerStates() {
         final StringBuilder sb = new StringBuilder();
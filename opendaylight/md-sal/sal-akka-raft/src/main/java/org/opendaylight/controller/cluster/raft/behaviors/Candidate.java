@@ -50,6 +50,17 @@ public class Candidate extends AbstractRaftActorBehavior {
     private final Collection<String> votingPeers = new ArrayList<>();
 
     public Candidate(RaftActorContext context) {
+        this(context, false);
+    }
+
+    /**
+     * Constructs an instance.
+     *
+     * @param context the RaftActorContext
+     * @param leadershipTransfer true if the election was requested by the current leader, in which case voters
+     *                           should not reject it in favor of that leader
+     */
+    public Candidate(RaftActorContext context, boolean leadershipTransfer) {
         super(context, RaftState.Candidate);
 
         for (PeerInfo peer: context.getPeers()) {
@@ -62,7 +73,7 @@ public class Candidate extends AbstractRaftActorBehavior {
 
         votesRequired = getMajorityVoteCount(votingPeers.size());
 
-        startNewTerm();
+        startNewTerm(leadershipTransfer);
 
         if (votingPeers.isEmpty()) {
             actor().tell(ElectionTimeout.INSTANCE, actor());
@@ -138,7 +149,7 @@ public class Candidate extends AbstractRaftActorBehavior {
                 return internalSwitchBehavior(RaftState.Leader);
             }
 
-            startNewTerm();
+            startNewTerm(false);
             scheduleElection(electionDuration());
             return this;
         }
@@ -173,7 +184,7 @@ public class Candidate extends AbstractRaftActorBehavior {
     }
 
 
-    private void startNewTerm() {
+    private void startNewTerm(boolean leadershipTransfer) {
 
 
         // set voteCount back to 1 (that is voting for self)
@@ -196,7 +207,8 @@ public class Candidate extends AbstractRaftActorBehavior {
                         context.getTermInformation().getCurrentTerm(),
                         context.getId(),
                         context.getReplicatedLog().lastIndex(),
-                        context.getReplicatedLog().lastTerm());
+                        context.getReplicatedLog().lastTerm(),
+                        leadershipTransfer);
 
                 log.debug("{}: Sending {} to peer {}", logName(), requestVote, peerId);
 
@@ -61,6 +61,9 @@ public class Follower extends AbstractRaftActorBehavior {
 
     private final Stopwatch lastLeaderMessageTimer = Stopwatch.createStarted();
     private SnapshotTracker snapshotTracker = null;
+    // lastIncludedIndex of the last snapshot installed from the leader, used to discard chunks of that snapshot which
+    // arrive late, e.g. retransmitted ones. Reset when the snapshot fails to apply or a new one is requested.
+    private long lastInstalledSnapshotIndex = -1;
     private String leaderId;
     private short leaderPayloadVersion;
 
@@ -116,6 +119,19 @@ public class Follower extends AbstractRaftActorBehavior {
         lastLeaderMessageTimer.start();
     }
 
+    /**
+     * Determines whether granting a vote would disrupt a leader we are still hearing from. With leader leases
+     * enabled, such a leader may be serving reads based on our replies, so a candidate which could not reach it must
+     * not be elected until our election timeout expires. The term is not updated either, as that would depose the
+     * leader. A candidate started on request of the leader is not subject to this check.
+     */
+    private boolean isVoteDisruptive(final RequestVote requestVote) {
+        return context.getConfigParams().isLeaderLeaseEnabled() && !requestVote.isLeadershipTransfer()
+                && leaderId != null && !leaderId.equals(requestVote.getCandidateId())
+                && lastLeaderMessageTimer.isRunning() && lastLeaderMessageTimer.elapsed(TimeUnit.MILLISECONDS)
+                    < context.getConfigParams().getElectionTimeOutInterval().toMillis();
+    }
+
     private boolean isLogEntryPresent(final long index) {
         if (context.getReplicatedLog().isInSnapshot(index)) {
             return true;
@@ -209,6 +225,11 @@ public class Follower extends AbstractRaftActorBehavior {
             applyLogToStateMachine(appendEntries.getLeaderCommit());
         }
 
+        // Our applied state is now as recent as the leader's committed state when it sent this message
+        if (context.getLastApplied() >= appendEntries.getLeaderCommit()) {
+            context.getReplicaFreshness().markCurrent();
+        }
+
         if (!context.getSnapshotManager().isCapturing()) {
             super.performSnapshotWithoutCapture(appendEntries.getReplicatedToAllIndex());
         }
@@ -300,19 +321,23 @@ public class Follower extends AbstractRaftActorBehavior {
             }
         };
 
-        // Append any new entries not already in the log
-        for (int i = addEntriesFrom; i < numLogEntries; i++) {
-            ReplicatedLogEntry entry = appendEntries.getEntries().get(i);
+        // Append any new entries not already in the log. All of them are persisted in a single journal write, so
+        // we do not stall on each entry.
+        if (addEntriesFrom < numLogEntries) {
+            final List<ReplicatedLogEntry> entriesToAppend = appendEntries.getEntries().subList(addEntriesFrom,
+                numLogEntries);
 
-            log.debug("{}: Append entry to log {}", logName(), entry.getData());
+            log.debug("{}: Append {} entries to log", logName(), entriesToAppend.size());
 
-            context.getReplicatedLog().appendAndPersist(entry, appendAndPersistCallback, false);
+            context.getReplicatedLog().appendAndPersistAll(entriesToAppend, appendAndPersistCallback, false);
 
-            shouldCaptureSnapshot.compareAndSet(false,
-                    context.getReplicatedLog().shouldCaptureSnapshot(entry.getIndex()));
+            for (ReplicatedLogEntry entry : entriesToAppend) {
+                shouldCaptureSnapshot.compareAndSet(false,
+                        context.getReplicatedLog().shouldCaptureSnapshot(entry.getIndex()));
 
-            if (entry.getData() instanceof ServerConfigurationPayload) {
-                context.updatePeerIds((ServerConfigurationPayload)entry.getData());
+                if (entry.getData() instanceof ServerConfigurationPayload) {
+                    context.updatePeerIds((ServerConfigurationPayload)entry.getData());
+                }
             }
         }
 
@@ -392,6 +417,11 @@ public class Follower extends AbstractRaftActorBehavior {
     }
 
     private void sendOutOfSyncAppendEntriesReply(final ActorRef sender, boolean forceInstallSnapshot) {
+        if (forceInstallSnapshot) {
+            // the leader may need to send the same snapshot again
+            lastInstalledSnapshotIndex = -1;
+        }
+
         // We found that the log was out of sync so just send a negative reply.
         final AppendEntriesReply reply = new AppendEntriesReply(context.getId(), currentTerm(), false, lastIndex(),
                 lastTerm(), context.getPayloadVersion(), forceInstallSnapshot);
@@ -428,6 +458,12 @@ public class Follower extends AbstractRaftActorBehavior {
         }
 
         final RaftRPC rpc = (RaftRPC) message;
+        if (rpc instanceof RequestVote && isVoteDisruptive((RequestVote) rpc)) {
+            log.debug("{}: Rejecting {} as leader {} is still active", logName(), rpc, leaderId);
+            sender.tell(new RequestVoteReply(currentTerm(), false), actor());
+            return this;
+        }
+
         // If RPC request or response contains term T > currentTerm:
         // set currentTerm = T, convert to follower (§5.1)
         // This applies to all RPC messages and responses
@@ -467,7 +503,7 @@ public class Follower extends AbstractRaftActorBehavior {
         if (canStartElection()) {
             if (message instanceof TimeoutNow) {
                 log.debug("{}: Received TimeoutNow - switching to Candidate", logName());
-                return internalSwitchBehavior(RaftState.Candidate);
+                return internalSwitchBehavior(new Candidate(context, true));
             } else if (noLeaderMessageReceived) {
                 // Check the cluster state to see if the leader is known to be up before we go to Candidate.
                 // However if we haven't heard from the leader in a long time even though the cluster state
@@ -550,6 +586,15 @@ public class Follower extends AbstractRaftActorBehavior {
 
         log.debug("{}: handleInstallSnapshot: {}", logName(), installSnapshot);
 
+        if (snapshotTracker == null && installSnapshot.getLastIncludedIndex() <= lastInstalledSnapshotIndex) {
+            // A duplicate of a chunk of a snapshot which has already been installed, replying could acknowledge
+            // a chunk of a subsequent snapshot
+            log.debug("{}: Ignoring chunk {} of snapshot with last included index {}, installed snapshot is at {}",
+                    logName(), installSnapshot.getChunkIndex(), installSnapshot.getLastIncludedIndex(),
+                    lastInstalledSnapshotIndex);
+            return;
+        }
+
         leaderId = installSnapshot.getLeaderId();
 
         if (snapshotTracker == null) {
@@ -559,6 +604,11 @@ public class Follower extends AbstractRaftActorBehavior {
 
         updateInitialSyncStatus(installSnapshot.getLastIncludedIndex(), installSnapshot.getLeaderId());
 
+        if (installSnapshot.getChunkIndex() == installSnapshot.getTotalChunks()) {
+            // The last chunk carries the server configuration, but it need not be the one completing the snapshot
+            snapshotTracker.setServerConfig(installSnapshot.getServerConfig());
+        }
+
         try {
             final InstallSnapshotReply reply = new InstallSnapshotReply(
                     currentTerm(), context.getId(), installSnapshot.getChunkIndex(), true);
@@ -577,7 +627,7 @@ public class Follower extends AbstractRaftActorBehavior {
                         installSnapshot.getLastIncludedTerm(),
                         context.getTermInformation().getCurrentTerm(),
                         context.getTermInformation().getVotedFor(),
-                        installSnapshot.getServerConfig().orNull());
+                        snapshotTracker.getServerConfig().orNull());
 
                 ApplySnapshot.Callback applySnapshotCallback = new ApplySnapshot.Callback() {
                     @Override
@@ -589,10 +639,12 @@ public class Follower extends AbstractRaftActorBehavior {
 
                     @Override
                     public void onFailure() {
+                        lastInstalledSnapshotIndex = -1;
                         sender.tell(new InstallSnapshotReply(currentTerm(), context.getId(), -1, false), actor());
                     }
                 };
 
+                lastInstalledSnapshotIndex = installSnapshot.getLastIncludedIndex();
                 actor().tell(new ApplySnapshot(snapshot, applySnapshotCallback), actor());
 
                 closeSnapshotTracker();
@@ -620,6 +672,7 @@ public class Follower extends AbstractRaftActorBehavior {
 
     @Override
     public void close() {
+        context.getReplicaFreshness().reset();
         closeSnapshotTracker();
         stopElection();
         appendEntriesMessageAssembler.close();
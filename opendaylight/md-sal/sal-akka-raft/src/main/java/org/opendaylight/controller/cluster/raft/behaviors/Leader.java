@@ -55,6 +55,7 @@ public class Leader extends AbstractLeader {
 
     private final Stopwatch isolatedLeaderCheck = Stopwatch.createStarted();
     @Nullable private LeadershipTransferContext leadershipTransferContext;
+    private boolean leadershipTransferred;
 
     Leader(RaftActorContext context, @Nullable AbstractLeader initializeFromLeader) {
         super(context, RaftState.Leader, initializeFromLeader);
@@ -96,6 +97,11 @@ public class Leader extends AbstractLeader {
         }
     }
 
+    @Override
+    protected boolean canHoldLeaderLease() {
+        return leadershipTransferContext == null && !leadershipTransferred;
+    }
+
     @Override
     protected RaftActorBehavior handleAppendEntriesReply(ActorRef sender, AppendEntriesReply appendEntriesReply) {
         RaftActorBehavior returnBehavior = super.handleAppendEntriesReply(sender, appendEntriesReply);
@@ -126,6 +132,9 @@ public class Leader extends AbstractLeader {
 
         leadershipTransferContext = new LeadershipTransferContext(leadershipTransferCohort);
 
+        // The followers may elect another leader from now on
+        updateLeaderLease();
+
         // Send an immediate heart beat to the followers.
         sendAppendEntries(0, false);
     }
@@ -163,6 +172,7 @@ public class Leader extends AbstractLeader {
             // Now send a TimeoutNow message to the matching follower to immediately start an election.
             ActorSelection followerActor = context.getPeerActorSelection(followerId);
             followerActor.tell(TimeoutNow.INSTANCE, context.getActor());
+            leadershipTransferred = true;
 
             log.debug("{}: Leader transfer complete", logName());
 
@@ -7,15 +7,23 @@
  */
 package org.opendaylight.controller.cluster.raft.behaviors;
 
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
 import com.google.common.io.ByteSource;
+import com.google.common.io.ByteStreams;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Encapsulates the leader state and logic for sending snapshot chunks to a follower.
+ * Encapsulates the leader state and logic for sending snapshot chunks to a follower. Up to a configured number of
+ * chunks may be outstanding at any given time. Chunks are acknowledged individually and in any order, and each
+ * outstanding chunk is retained until it is acknowledged, so that it can be re-sent if the follower reports a failure
+ * or does not respond in time.
  */
 public final class LeaderInstallSnapshotState implements AutoCloseable {
     private static final Logger LOG = LoggerFactory.getLogger(LeaderInstallSnapshotState.class);
@@ -29,24 +37,68 @@ public final class LeaderInstallSnapshotState implements AutoCloseable {
     // This would be passed as the hash code of the last chunk when sending the first chunk
     static final int INITIAL_LAST_CHUNK_HASH_CODE = -1;
 
+    /**
+     * A snapshot chunk which has been handed out for sending, but has not been acknowledged yet.
+     */
+    static final class Chunk {
+        private final int index;
+        private final byte[] data;
+        private final int lastChunkHashCode;
+        private long sentNanos;
+        private boolean resend;
+
+        Chunk(final int index, final byte[] data, final int lastChunkHashCode) {
+            this.index = index;
+            this.data = data;
+            this.lastChunkHashCode = lastChunkHashCode;
+        }
+
+        int getIndex() {
+            return index;
+        }
+
+        byte[] getData() {
+            return data;
+        }
+
+        /**
+         * Return the hash code of the chunk preceding this one, which the follower uses to verify it has received
+         * the chunks in their proper order.
+         *
+         * @return hash code of the previous chunk
+         */
+        int getLastChunkHashCode() {
+            return lastChunkHashCode;
+        }
+    }
+
     private final int snapshotChunkSize;
+    private final int snapshotChunkWindowSize;
     private final String logName;
+    private final Ticker ticker;
+    // chunks which have been sent, but not acknowledged, keyed by chunk index
+    private final Map<Integer, Chunk> outstandingChunks = new TreeMap<>();
     private ByteSource snapshotBytes;
     private int offset = 0;
-    // the next snapshot chunk is sent only if the replyReceivedForOffset matches offset
-    private int replyReceivedForOffset = -1;
-    // if replyStatus is false, the previous chunk is attempted
-    private boolean replyStatus = false;
-    private int chunkIndex = FIRST_CHUNK_INDEX;
+    // the index of the next chunk to be read from the snapshot
+    private int nextChunkIndex = FIRST_CHUNK_INDEX;
     private int totalChunks;
     private int lastChunkHashCode = INITIAL_LAST_CHUNK_HASH_CODE;
-    private int nextChunkHashCode = INITIAL_LAST_CHUNK_HASH_CODE;
     private long snapshotSize;
     private InputStream snapshotInputStream;
 
-    LeaderInstallSnapshotState(final int snapshotChunkSize, final String logName) {
+    LeaderInstallSnapshotState(final int snapshotChunkSize, final int snapshotChunkWindowSize, final String logName) {
+        this(snapshotChunkSize, snapshotChunkWindowSize, logName, Ticker.systemTicker());
+    }
+
+    LeaderInstallSnapshotState(final int snapshotChunkSize, final int snapshotChunkWindowSize, final String logName,
+            final Ticker ticker) {
+        Preconditions.checkArgument(snapshotChunkWindowSize > 0, "Invalid chunk window size %s",
+            snapshotChunkWindowSize);
         this.snapshotChunkSize = snapshotChunkSize;
+        this.snapshotChunkWindowSize = snapshotChunkWindowSize;
         this.logName = logName;
+        this.ticker = Preconditions.checkNotNull(ticker);
     }
 
     void setSnapshotBytes(final ByteSource snapshotBytes) throws IOException {
@@ -63,28 +115,7 @@ public final class LeaderInstallSnapshotState implements AutoCloseable {
 
         LOG.debug("{}: Snapshot {} bytes, total chunks to send: {}", logName, snapshotSize, totalChunks);
 
-        replyReceivedForOffset = -1;
-        chunkIndex = FIRST_CHUNK_INDEX;
-    }
-
-    int incrementOffset() {
-        if (replyStatus) {
-            // if prev chunk failed, we would want to sent the same chunk again
-            offset = offset + snapshotChunkSize;
-        }
-        return offset;
-    }
-
-    int incrementChunkIndex() {
-        if (replyStatus) {
-            // if prev chunk failed, we would want to sent the same chunk again
-            chunkIndex =  chunkIndex + 1;
-        }
-        return chunkIndex;
-    }
-
-    int getChunkIndex() {
-        return chunkIndex;
+        nextChunkIndex = FIRST_CHUNK_INDEX;
     }
 
     int getTotalChunks() {
@@ -92,30 +123,95 @@ public final class LeaderInstallSnapshotState implements AutoCloseable {
     }
 
     boolean canSendNextChunk() {
-        // we only send a false if a chunk is sent but we have not received a reply yet
-        return snapshotBytes != null && (nextChunkHashCode == INITIAL_LAST_CHUNK_HASH_CODE
-                || replyReceivedForOffset == offset);
+        if (snapshotBytes == null) {
+            return false;
+        }
+
+        for (Chunk chunk : outstandingChunks.values()) {
+            if (chunk.resend) {
+                return true;
+            }
+        }
+
+        return outstandingChunks.size() < snapshotChunkWindowSize && nextChunkIndex <= totalChunks;
     }
 
     boolean isLastChunk(final int index) {
         return totalChunks == index;
     }
 
-    void markSendStatus(final boolean success) {
+    /**
+     * Check whether all chunks have been sent and acknowledged.
+     *
+     * @return true if the follower has acknowledged all chunks.
+     */
+    boolean isComplete() {
+        return snapshotBytes != null && nextChunkIndex > totalChunks && outstandingChunks.isEmpty();
+    }
+
+    /**
+     * Process the acknowledgement of a chunk. A successful acknowledgement releases the chunk, a failed one schedules
+     * it for sending again.
+     *
+     * @param chunkIndex index of the chunk being acknowledged
+     * @param success true if the follower has accepted the chunk
+     * @return true if the chunk was outstanding, false if it has already been acknowledged
+     */
+    boolean markSendStatus(final int chunkIndex, final boolean success) {
         if (success) {
-            // if the chunk sent was successful
-            replyReceivedForOffset = offset;
-            replyStatus = true;
-            lastChunkHashCode = nextChunkHashCode;
-        } else {
-            // if the chunk sent was failure
-            replyReceivedForOffset = offset;
-            replyStatus = false;
+            return outstandingChunks.remove(chunkIndex) != null;
         }
+
+        final Chunk chunk = outstandingChunks.get(chunkIndex);
+        if (chunk == null) {
+            return false;
+        }
+
+        chunk.resend = true;
+        return true;
     }
 
-    byte[] getNextChunk() throws IOException {
-        int start = incrementOffset();
+    /**
+     * Schedule any outstanding chunks which have not been acknowledged within specified timeout for sending again.
+     *
+     * @param timeoutNanos acknowledgement timeout, in nanoseconds
+     * @return number of chunks scheduled for sending again
+     */
+    int markExpiredChunks(final long timeoutNanos) {
+        final long now = ticker.read();
+        int expired = 0;
+        for (Chunk chunk : outstandingChunks.values()) {
+            if (!chunk.resend && now - chunk.sentNanos >= timeoutNanos) {
+                LOG.debug("{}: Chunk {} has not been acknowledged in time, scheduling it to be resent", logName,
+                    chunk.index);
+                chunk.resend = true;
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Return the next chunk which should be sent. Chunks which need to be sent again are returned first, in the order
+     * of their index, otherwise the next chunk is read from the snapshot. The returned chunk is considered to be
+     * outstanding until it is acknowledged.
+     *
+     * @return the chunk to send
+     * @throws IOException if the snapshot cannot be read
+     */
+    Chunk getNextChunk() throws IOException {
+        for (Chunk chunk : outstandingChunks.values()) {
+            if (chunk.resend) {
+                LOG.debug("{}: Resending chunk {}", logName, chunk.index);
+                chunk.resend = false;
+                chunk.sentNanos = ticker.read();
+                return chunk;
+            }
+        }
+
+        Preconditions.checkState(nextChunkIndex <= totalChunks, "All %s chunks have already been sent", totalChunks);
+
+        int start = offset;
         int size = snapshotChunkSize;
         if (snapshotChunkSize > snapshotSize) {
             size = (int) snapshotSize;
@@ -124,17 +220,23 @@ public final class LeaderInstallSnapshotState implements AutoCloseable {
         }
 
         byte[] nextChunk = new byte[size];
-        int numRead = snapshotInputStream.read(nextChunk);
+        int numRead = ByteStreams.read(snapshotInputStream, nextChunk, 0, size);
         if (numRead != size) {
             throw new IOException(String.format(
                     "The # of bytes read from the input stream, %d, does not match the expected # %d", numRead, size));
         }
 
-        nextChunkHashCode = Arrays.hashCode(nextChunk);
+        final Chunk chunk = new Chunk(nextChunkIndex, nextChunk, lastChunkHashCode);
+        chunk.sentNanos = ticker.read();
+        outstandingChunks.put(chunk.index, chunk);
 
-        LOG.debug("{}: Next chunk: total length={}, offset={}, size={}, hashCode={}", logName,
-                snapshotSize, start, size, nextChunkHashCode);
-        return nextChunk;
+        offset = offset + size;
+        nextChunkIndex = nextChunkIndex + 1;
+        lastChunkHashCode = Arrays.hashCode(nextChunk);
+
+        LOG.debug("{}: Next chunk: index={}, total length={}, offset={}, size={}, hashCode={}", logName,
+                chunk.index, snapshotSize, start, size, lastChunkHashCode);
+        return chunk;
     }
 
     /**
@@ -144,10 +246,9 @@ public final class LeaderInstallSnapshotState implements AutoCloseable {
         closeStream();
 
         offset = 0;
-        replyStatus = false;
-        replyReceivedForOffset = offset;
-        chunkIndex = FIRST_CHUNK_INDEX;
+        nextChunkIndex = FIRST_CHUNK_INDEX;
         lastChunkHashCode = INITIAL_LAST_CHUNK_HASH_CODE;
+        outstandingChunks.clear();
 
         try {
             snapshotInputStream = snapshotBytes.openStream();
@@ -159,6 +260,7 @@ public final class LeaderInstallSnapshotState implements AutoCloseable {
     @Override
     public void close() {
         closeStream();
+        outstandingChunks.clear();
         snapshotBytes = null;
     }
 
@@ -173,8 +275,4 @@ public final class LeaderInstallSnapshotState implements AutoCloseable {
             snapshotInputStream = null;
         }
     }
-
-    int getLastChunkHashCode() {
-        return lastChunkHashCode;
-    }
 }
@@ -14,12 +14,17 @@ import com.google.common.io.ByteSource;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
 import org.opendaylight.controller.cluster.io.FileBackedOutputStream;
 import org.opendaylight.controller.cluster.raft.RaftActorContext;
+import org.opendaylight.controller.cluster.raft.persisted.ServerConfigurationPayload;
 import org.slf4j.Logger;
 
 /**
- * Helper class that maintains state for a snapshot that is being installed in chunks on a Follower.
+ * Helper class that maintains state for a snapshot that is being installed in chunks on a Follower. The leader may
+ * have multiple chunks in flight, hence chunks arriving ahead of the next expected chunk are held until the gap is
+ * filled, and chunks which have already been received are ignored.
  */
 class SnapshotTracker implements AutoCloseable {
     private final Logger log;
@@ -31,6 +36,9 @@ class SnapshotTracker implements AutoCloseable {
     private boolean sealed = false;
     private int lastChunkHashCode = LeaderInstallSnapshotState.INITIAL_LAST_CHUNK_HASH_CODE;
     private long count;
+    // chunks received ahead of the next expected one, keyed by chunk index
+    private final Map<Integer, PendingChunk> pendingChunks = new TreeMap<>();
+    private Optional<ServerConfigurationPayload> serverConfig = Optional.absent();
 
     SnapshotTracker(Logger log, int totalChunks, String leaderId, RaftActorContext context) {
         this.log = log;
@@ -59,10 +67,36 @@ class SnapshotTracker implements AutoCloseable {
                     + " all chunks already received");
         }
 
+        if (chunkIndex < LeaderInstallSnapshotState.FIRST_CHUNK_INDEX || chunkIndex > totalChunks) {
+            throw new InvalidChunkException("Expected chunkIndex between "
+                    + LeaderInstallSnapshotState.FIRST_CHUNK_INDEX + " and " + totalChunks + " got " + chunkIndex);
+        }
+
+        if (chunkIndex <= lastChunkIndex || pendingChunks.containsKey(chunkIndex)) {
+            // The leader has resent a chunk whose acknowledgement it has not seen in time
+            log.debug("addChunk: chunkIndex {} has already been received", chunkIndex);
+            return false;
+        }
+
         if (lastChunkIndex + 1 != chunkIndex) {
-            throw new InvalidChunkException("Expected chunkIndex " + (lastChunkIndex + 1) + " got " + chunkIndex);
+            log.debug("addChunk: chunkIndex {} received ahead of expected chunkIndex {}", chunkIndex,
+                    lastChunkIndex + 1);
+            pendingChunks.put(chunkIndex, new PendingChunk(chunk, maybeLastChunkHashCode));
+            return false;
+        }
+
+        appendChunk(chunkIndex, chunk, maybeLastChunkHashCode);
+
+        PendingChunk pending;
+        while (!sealed && (pending = pendingChunks.remove(lastChunkIndex + 1)) != null) {
+            appendChunk(lastChunkIndex + 1, pending.chunk, pending.maybeLastChunkHashCode);
         }
 
+        return sealed;
+    }
+
+    private void appendChunk(int chunkIndex, byte[] chunk, Optional<Integer> maybeLastChunkHashCode)
+            throws InvalidChunkException, IOException {
         if (maybeLastChunkHashCode.isPresent() && maybeLastChunkHashCode.get() != this.lastChunkHashCode) {
             throw new InvalidChunkException("The hash code of the recorded last chunk does not match "
                     + "the senders hash code, expected " + this.lastChunkHashCode + " was "
@@ -75,7 +109,19 @@ class SnapshotTracker implements AutoCloseable {
         sealed = chunkIndex == totalChunks;
         lastChunkIndex = chunkIndex;
         this.lastChunkHashCode = Arrays.hashCode(chunk);
-        return sealed;
+    }
+
+    /**
+     * Records the server configuration, which the leader sends along with the last chunk.
+     *
+     * @param serverConfig the optional server configuration
+     */
+    void setServerConfig(Optional<ServerConfigurationPayload> serverConfig) {
+        this.serverConfig = Preconditions.checkNotNull(serverConfig);
+    }
+
+    Optional<ServerConfigurationPayload> getServerConfig() {
+        return serverConfig;
     }
 
     ByteSource getSnapshotBytes() throws IOException {
@@ -93,9 +139,20 @@ class SnapshotTracker implements AutoCloseable {
 
     @Override
     public void close() {
+        pendingChunks.clear();
         fileBackedStream.cleanup();
     }
 
+    private static final class PendingChunk {
+        final byte[] chunk;
+        final Optional<Integer> maybeLastChunkHashCode;
+
+        PendingChunk(byte[] chunk, Optional<Integer> maybeLastChunkHashCode) {
+            this.chunk = chunk;
+            this.maybeLastChunkHashCode = maybeLastChunkHashCode;
+        }
+    }
+
     public static class InvalidChunkException extends IOException {
         private static final long serialVersionUID = 1L;
 
@@ -28,11 +28,21 @@ public class RequestVote extends AbstractRaftRPC {
     // term of candidate’s last log entry (§5.4)
     private final long lastLogTerm;
 
+    // whether the election was requested by the leader, in which case voters should not reject it in favor of the
+    // leader they are currently hearing from
+    private final boolean leadershipTransfer;
+
     public RequestVote(long term, String candidateId, long lastLogIndex, long lastLogTerm) {
+        this(term, candidateId, lastLogIndex, lastLogTerm, false);
+    }
+
+    public RequestVote(long term, String candidateId, long lastLogIndex, long lastLogTerm,
+            boolean leadershipTransfer) {
         super(term);
         this.candidateId = candidateId;
         this.lastLogIndex = lastLogIndex;
         this.lastLogTerm = lastLogTerm;
+        this.leadershipTransfer = leadershipTransfer;
     }
 
     public String getCandidateId() {
@@ -47,17 +57,24 @@ public class RequestVote extends AbstractRaftRPC {
         return lastLogTerm;
     }
 
+    public boolean isLeadershipTransfer() {
+        return leadershipTransfer;
+    }
+
     @Override
     public String toString() {
         return "RequestVote [term=" + getTerm()
                 + ", candidateId=" + candidateId
                 + ", lastLogIndex=" + lastLogIndex
                 + ", lastLogTerm=" + lastLogTerm
+                + ", leadershipTransfer=" + leadershipTransfer
                 + "]";
     }
 
     private Object writeReplace() {
-        return new Proxy(this);
+        // Peers which predate the leadership transfer flag cannot deserialize ProxyV2, hence it is used only when
+        // the flag is set, so that these peers can still take part in regular elections
+        return leadershipTransfer ? new ProxyV2(this) : new Proxy(this);
     }
 
     private static class Proxy implements Externalizable {
@@ -97,4 +114,44 @@ public class RequestVote extends AbstractRaftRPC {
             return requestVote;
         }
     }
+
+    private static class ProxyV2 implements Externalizable {
+        private static final long serialVersionUID = 1L;
+
+        private RequestVote requestVote;
+
+        // checkstyle flags the public modifier as redundant which really doesn't make sense since it clearly isn't
+        // redundant. It is explicitly needed for Java serialization to be able to create instances via reflection.
+        @SuppressWarnings("checkstyle:RedundantModifier")
+        public ProxyV2() {
+        }
+
+        ProxyV2(RequestVote requestVote) {
+            this.requestVote = requestVote;
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeLong(requestVote.getTerm());
+            out.writeObject(requestVote.candidateId);
+            out.writeLong(requestVote.lastLogIndex);
+            out.writeLong(requestVote.lastLogTerm);
+            out.writeBoolean(requestVote.leadershipTransfer);
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+            long term = in.readLong();
+            String candidateId = (String) in.readObject();
+            long lastLogIndex = in.readLong();
+            long lastLogTerm = in.readLong();
+            boolean leadershipTransfer = in.readBoolean();
+
+            requestVote = new RequestVote(term, candidateId, lastLogIndex, lastLogTerm, leadershipTransfer);
+        }
+
+        private Object readResolve() {
+            return requestVote;
+        }
+    }
 }
@@ -330,6 +330,12 @@ public class AbstractReplicatedLogImplTest {
             return true;
         }
 
+        @Override
+        public List<ReplicatedLogEntry> appendAndPersistAll(List<ReplicatedLogEntry> replicatedLogEntries,
+                Procedure<ReplicatedLogEntry> callback, boolean doAsync) {
+            return replicatedLogEntries;
+        }
+
         @Override
         public void captureSnapshotIfReady(ReplicatedLogEntry replicatedLogEntry) {
         }
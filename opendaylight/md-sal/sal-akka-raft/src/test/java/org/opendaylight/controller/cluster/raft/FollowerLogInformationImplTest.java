@@ -9,6 +9,7 @@ package org.opendaylight.controller.cluster.raft;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import com.google.common.base.Stopwatch;
@@ -130,4 +131,58 @@ public class FollowerLogInformationImplTest {
         assertFalse(followerLogInformation.decrNextIndex());
         assertEquals("getNextIndex", -1, followerLogInformation.getNextIndex());
     }
+
+    @Test
+    public void testAcknowledgedSendTime() {
+        MockRaftActorContext context = new MockRaftActorContext();
+        FollowerLogInformation followerLogInformation =
+                new FollowerLogInformationImpl(new PeerInfo("follower1", null, VotingState.VOTING), -1, context);
+        assertNull(followerLogInformation.getLastAcknowledgedSendTime());
+
+        followerLogInformation.appendEntriesSent(10);
+        followerLogInformation.appendEntriesSent(20);
+        followerLogInformation.appendEntriesAcknowledged();
+        assertEquals(Long.valueOf(10), followerLogInformation.getLastAcknowledgedSendTime());
+        followerLogInformation.appendEntriesAcknowledged();
+        assertEquals(Long.valueOf(20), followerLogInformation.getLastAcknowledgedSendTime());
+
+        // A reply which does not match any request cannot be attributed a send time
+        followerLogInformation.appendEntriesAcknowledged();
+        assertNull(followerLogInformation.getLastAcknowledgedSendTime());
+
+        // Replies to a sliced AppendEntries and to those sent while slicing cannot be matched to requests
+        followerLogInformation.setSlicedLogEntryIndex(5);
+        followerLogInformation.appendEntriesSent(30);
+        followerLogInformation.appendEntriesSent(40);
+        followerLogInformation.appendEntriesAcknowledged();
+        assertNull(followerLogInformation.getLastAcknowledgedSendTime());
+        followerLogInformation.appendEntriesAcknowledged();
+        assertNull(followerLogInformation.getLastAcknowledgedSendTime());
+        followerLogInformation.setSlicedLogEntryIndex(FollowerLogInformation.NO_INDEX);
+
+        followerLogInformation.appendEntriesSent(50);
+        followerLogInformation.appendEntriesAcknowledged();
+        assertEquals(Long.valueOf(50), followerLogInformation.getLastAcknowledgedSendTime());
+    }
+
+    @Test
+    public void testAcknowledgedSendTimeWithManyPendingSends() {
+        MockRaftActorContext context = new MockRaftActorContext();
+        FollowerLogInformation followerLogInformation =
+                new FollowerLogInformationImpl(new PeerInfo("follower1", null, VotingState.VOTING), -1, context);
+
+        for (long i = 1; i <= 1000; i++) {
+            followerLogInformation.appendEntriesSent(i);
+        }
+
+        // Send times which are not tracked individually err on the early side
+        long previous = 0;
+        for (long i = 1; i <= 1000; i++) {
+            followerLogInformation.appendEntriesAcknowledged();
+            final long sendTime = followerLogInformation.getLastAcknowledgedSendTime();
+            assertTrue("Send time " + sendTime + " is later than " + i, sendTime <= i);
+            assertTrue("Send time " + sendTime + " precedes " + previous, sendTime >= previous);
+            previous = sendTime;
+        }
+    }
 }
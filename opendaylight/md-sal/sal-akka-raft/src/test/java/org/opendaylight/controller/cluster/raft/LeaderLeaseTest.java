@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Ticker;
+import org.junit.Test;
+
+/**
+ * Unit tests for LeaderLease.
+ */
+public class LeaderLeaseTest {
+    private long nanos = 1000;
+    private final LeaderLease lease = new LeaderLease(new Ticker() {
+        @Override
+        public long read() {
+            return nanos;
+        }
+    });
+
+    @Test
+    public void testGrantUntil() {
+        final Object holder = new Object();
+        assertFalse("Initially valid", lease.isValid());
+
+        lease.grantUntil(holder, nanos + 100);
+        assertTrue("Valid before expiry", lease.isValid());
+
+        nanos += 99;
+        assertTrue("Valid before expiry", lease.isValid());
+
+        nanos += 1;
+        assertFalse("Valid at expiry", lease.isValid());
+
+        lease.grantUntil(holder, nanos + 100);
+        assertTrue("Valid after renewal", lease.isValid());
+    }
+
+    @Test
+    public void testGrantUnbounded() {
+        final Object holder = new Object();
+        lease.grantUnbounded(holder);
+        assertTrue("Valid", lease.isValid());
+
+        nanos = Long.MAX_VALUE;
+        assertTrue("Valid", lease.isValid());
+
+        lease.revoke(holder);
+        assertFalse("Valid after revoke", lease.isValid());
+    }
+
+    @Test
+    public void testGrantUnenforced() {
+        final Object holder = new Object();
+        lease.grantUnenforced(holder);
+        assertTrue("Valid", lease.isValid());
+        assertFalse("Enforced", lease.isEnforced());
+
+        lease.grantUntil(holder, nanos + 100);
+        assertTrue("Enforced", lease.isEnforced());
+
+        nanos += 100;
+        assertFalse("Enforced after expiry", lease.isEnforced());
+
+        lease.grantUnbounded(holder);
+        assertTrue("Enforced", lease.isEnforced());
+
+        lease.revoke(holder);
+        assertFalse("Enforced after revoke", lease.isEnforced());
+    }
+
+    @Test
+    public void testRevokeByPreviousHolder() {
+        final Object previous = new Object();
+        final Object current = new Object();
+
+        lease.grantUnbounded(previous);
+        lease.grantUntil(current, nanos + 100);
+
+        lease.revoke(previous);
+        assertTrue("Valid after revoke by previous holder", lease.isValid());
+
+        lease.revoke(current);
+        assertFalse("Valid after revoke by current holder", lease.isValid());
+    }
+}
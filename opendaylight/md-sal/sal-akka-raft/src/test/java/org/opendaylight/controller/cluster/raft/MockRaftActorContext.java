@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -202,6 +203,16 @@ public class MockRaftActorContext extends RaftActorContextImpl {
 
             return true;
         }
+
+        @Override
+        public List<ReplicatedLogEntry> appendAndPersistAll(final List<ReplicatedLogEntry> replicatedLogEntries,
+                final Procedure<ReplicatedLogEntry> callback, final boolean doAsync) {
+            for (ReplicatedLogEntry entry : replicatedLogEntries) {
+                appendAndPersist(entry, callback, doAsync);
+            }
+
+            return replicatedLogEntries;
+        }
     }
 
     public static class MockPayload extends Payload implements Serializable {
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Ticker;
+import org.junit.Test;
+
+/**
+ * Unit tests for ReplicaFreshness.
+ */
+public class ReplicaFreshnessTest {
+    private long nanos = 1000;
+    private final ReplicaFreshness freshness = new ReplicaFreshness(new Ticker() {
+        @Override
+        public long read() {
+            return nanos;
+        }
+    });
+
+    @Test
+    public void testStaleness() {
+        assertEquals("Initial staleness", Long.MAX_VALUE, freshness.getStalenessNanos());
+        assertFalse("Initially within", freshness.isWithin(Long.MAX_VALUE - 1));
+
+        freshness.markCurrent();
+        assertEquals("Staleness", 0, freshness.getStalenessNanos());
+
+        nanos += 100;
+        assertEquals("Staleness", 100, freshness.getStalenessNanos());
+        assertTrue("Within", freshness.isWithin(100));
+        assertFalse("Within", freshness.isWithin(99));
+
+        freshness.markCurrent();
+        assertTrue("Within after mark", freshness.isWithin(0));
+
+        freshness.reset();
+        assertFalse("Within after reset", freshness.isWithin(Long.MAX_VALUE - 1));
+    }
+}
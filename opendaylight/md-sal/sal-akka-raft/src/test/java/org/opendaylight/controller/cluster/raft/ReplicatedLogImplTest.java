@@ -15,7 +15,10 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import akka.japi.Procedure;
+import com.google.common.collect.ImmutableList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
@@ -126,6 +129,38 @@ public class ReplicatedLogImplTest {
         assertEquals("size", 1, log.size());
     }
 
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Test
+    public void testAppendAndPersistAll() throws Exception {
+        ReplicatedLog log = ReplicatedLogImpl.newInstance(context);
+
+        ReplicatedLogEntry logEntry1 = new SimpleReplicatedLogEntry(1, 1, new MockPayload("1"));
+        log.appendAndPersist(logEntry1, null, true);
+        reset(mockPersistence);
+
+        ReplicatedLogEntry logEntry2 = new SimpleReplicatedLogEntry(2, 1, new MockPayload("2"));
+        ReplicatedLogEntry logEntry3 = new SimpleReplicatedLogEntry(3, 1, new MockPayload("3"));
+        Procedure<ReplicatedLogEntry> mockCallback = Mockito.mock(Procedure.class);
+
+        // The duplicate entry must be skipped
+        List<ReplicatedLogEntry> appended = log.appendAndPersistAll(Arrays.asList(logEntry1, logEntry2, logEntry3),
+                mockCallback, false);
+        assertEquals("appended", ImmutableList.of(logEntry2, logEntry3), appended);
+        assertEquals("size", 3, log.size());
+
+        ArgumentCaptor<Iterable> entries = ArgumentCaptor.forClass(Iterable.class);
+        ArgumentCaptor<Procedure> procedure = ArgumentCaptor.forClass(Procedure.class);
+        verify(mockPersistence).persistAll(entries.capture(), procedure.capture());
+        verifyNoMoreInteractions(mockPersistence);
+        assertEquals("persisted", ImmutableList.of(logEntry2, logEntry3), ImmutableList.copyOf(entries.getValue()));
+
+        procedure.getValue().apply(logEntry2);
+        procedure.getValue().apply(logEntry3);
+
+        verify(mockCallback).apply(same(logEntry2));
+        verify(mockCallback).apply(same(logEntry3));
+    }
+
     @Test
     public void testAppendAndPersistExpectingCaptureDueToJournalCount() throws Exception {
         configParams.setSnapshotBatchCount(2);
@@ -205,6 +205,35 @@ public class FollowerTest extends AbstractRaftActorBehaviorTest<Follower> {
         verify(follower, never()).scheduleElection(any(FiniteDuration.class));
     }
 
+    @Test
+    public void testHandleRequestVoteWithLeaderLeaseWhileLeaderActive() {
+        logStart("testHandleRequestVoteWithLeaderLeaseWhileLeaderActive");
+
+        MockRaftActorContext context = createActorContext();
+        ((DefaultConfigParamsImpl)context.getConfigParams()).setLeaderLeaseEnabled(true);
+        long term = 1000;
+        context.getTermInformation().update(term, null);
+
+        follower = createBehavior(context);
+        follower.setLeaderId("leader");
+
+        follower.handleMessage(leaderActor, new RequestVote(term + 1, "candidate", 10000, 999));
+
+        RequestVoteReply reply = MessageCollectorActor.expectFirstMatching(leaderActor, RequestVoteReply.class);
+        assertEquals("isVoteGranted", false, reply.isVoteGranted());
+        assertEquals("getTerm", term, reply.getTerm());
+        assertEquals("getCurrentTerm", term, context.getTermInformation().getCurrentTerm());
+
+        MessageCollectorActor.clearMessages(leaderActor);
+
+        // A candidate started on request of the leader is granted the vote
+        follower.handleMessage(leaderActor, new RequestVote(term + 1, "candidate", 10000, 999, true));
+
+        reply = MessageCollectorActor.expectFirstMatching(leaderActor, RequestVoteReply.class);
+        assertEquals("isVoteGranted", true, reply.isVoteGranted());
+        assertEquals("getTerm", term + 1, reply.getTerm());
+    }
+
 
     @Test
     public void testHandleFirstAppendEntries() {
@@ -505,9 +534,16 @@ public class FollowerTest extends AbstractRaftActorBehaviorTest<Follower> {
         AppendEntries appendEntries = new AppendEntries(2, "leader-1", 100, 1, entries, 101, 100, (short)0);
 
         follower = createBehavior(context);
+        assertFalse("Replica fresh before AppendEntries",
+            context.getReplicaFreshness().isWithin(TimeUnit.SECONDS.toNanos(10)));
         follower.handleMessage(leaderActor, appendEntries);
 
         assertEquals("getLastApplied", 101L, context.getLastApplied());
+        assertTrue("Replica fresh after AppendEntries",
+            context.getReplicaFreshness().isWithin(TimeUnit.SECONDS.toNanos(10)));
+
+        follower.close();
+        assertFalse("Replica fresh after close", context.getReplicaFreshness().isWithin(TimeUnit.SECONDS.toNanos(10)));
     }
 
     /**
@@ -1006,7 +1042,7 @@ public class FollowerTest extends AbstractRaftActorBehaviorTest<Follower> {
         ByteString bsSnapshot = createSnapshot();
 
         InstallSnapshot installSnapshot = new InstallSnapshot(1, "leader", 3, 1,
-                getNextChunk(bsSnapshot, 10, 50), 3, 3);
+                getNextChunk(bsSnapshot, 10, 50), 4, 3);
         follower.handleMessage(leaderActor, installSnapshot);
 
         InstallSnapshotReply reply = MessageCollectorActor.expectFirstMatching(leaderActor,
@@ -1020,6 +1056,79 @@ public class FollowerTest extends AbstractRaftActorBehaviorTest<Follower> {
         assertNull("Expected null SnapshotTracker", follower.getSnapshotTracker());
     }
 
+    @Test
+    public void testHandleInstallSnapshotChunksOutOfOrder() {
+        logStart("testHandleInstallSnapshotChunksOutOfOrder");
+
+        MockRaftActorContext context = createActorContext();
+        context.getTermInformation().update(1, "leader");
+
+        follower = createBehavior(context);
+
+        ByteString bsSnapshot = createSnapshot();
+        int chunkSize = 50;
+        int totalChunks = bsSnapshot.size() / chunkSize + (bsSnapshot.size() % chunkSize > 0 ? 1 : 0);
+        assertTrue(totalChunks > 2);
+
+        // Deliver the chunks in reverse order, the snapshot should be installed once the first one arrives
+        for (int chunkIndex = totalChunks; chunkIndex > 0; chunkIndex--) {
+            follower.handleMessage(leaderActor, new InstallSnapshot(1, "leader", 1, 1,
+                    getNextChunk(bsSnapshot, (chunkIndex - 1) * chunkSize, chunkSize), chunkIndex, totalChunks));
+        }
+
+        ApplySnapshot applySnapshot = MessageCollectorActor.expectFirstMatching(followerActor,
+                ApplySnapshot.class);
+        Assert.assertArrayEquals("getState", bsSnapshot.toByteArray(),
+                ((ByteState)applySnapshot.getSnapshot().getState()).getBytes());
+        applySnapshot.getCallback().onSuccess();
+
+        List<InstallSnapshotReply> replies = MessageCollectorActor.getAllMatching(
+                leaderActor, InstallSnapshotReply.class);
+        assertEquals("InstallSnapshotReply count", totalChunks, replies.size());
+
+        int chunkIndex = totalChunks;
+        for (InstallSnapshotReply reply: replies) {
+            assertEquals("getChunkIndex", chunkIndex--, reply.getChunkIndex());
+            assertEquals("isSuccess", true, reply.isSuccess());
+        }
+
+        assertNull("Expected null SnapshotTracker", follower.getSnapshotTracker());
+    }
+
+    @Test
+    public void testHandleInstallSnapshotIgnoresLateDuplicateChunk() {
+        logStart("testHandleInstallSnapshotIgnoresLateDuplicateChunk");
+
+        MockRaftActorContext context = createActorContext();
+        context.getTermInformation().update(1, "leader");
+
+        follower = createBehavior(context);
+
+        ByteString bsSnapshot = createSnapshot();
+        int chunkSize = 50;
+        int totalChunks = bsSnapshot.size() / chunkSize + (bsSnapshot.size() % chunkSize > 0 ? 1 : 0);
+
+        for (int chunkIndex = 1; chunkIndex <= totalChunks; chunkIndex++) {
+            follower.handleMessage(leaderActor, new InstallSnapshot(1, "leader", 3, 1,
+                    getNextChunk(bsSnapshot, (chunkIndex - 1) * chunkSize, chunkSize), chunkIndex, totalChunks));
+        }
+
+        MessageCollectorActor.expectFirstMatching(followerActor, ApplySnapshot.class).getCallback().onSuccess();
+        assertNull("Expected null SnapshotTracker", follower.getSnapshotTracker());
+        MessageCollectorActor.clearMessages(leaderActor);
+
+        // A retransmitted chunk arriving after the snapshot has been installed is dropped
+        follower.handleMessage(leaderActor, new InstallSnapshot(1, "leader", 3, 1,
+                getNextChunk(bsSnapshot, 0, chunkSize), 1, totalChunks));
+        assertNull("Expected null SnapshotTracker", follower.getSnapshotTracker());
+        MessageCollectorActor.assertNoneMatching(leaderActor, InstallSnapshotReply.class, 200);
+
+        // A newer snapshot is still accepted
+        follower.handleMessage(leaderActor, new InstallSnapshot(1, "leader", 5, 1,
+                getNextChunk(bsSnapshot, 0, chunkSize), 1, totalChunks));
+        assertNotNull("Expected SnapshotTracker", follower.getSnapshotTracker());
+    }
+
     @Test
     public void testFollowerSchedulesElectionTimeoutImmediatelyWhenItHasNoPeers() {
         MockRaftActorContext context = createActorContext();
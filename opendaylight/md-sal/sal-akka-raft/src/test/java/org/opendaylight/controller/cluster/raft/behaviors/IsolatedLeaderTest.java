@@ -8,6 +8,8 @@
 package org.opendaylight.controller.cluster.raft.behaviors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import akka.actor.ActorRef;
 import java.util.HashMap;
@@ -134,6 +136,27 @@ public class IsolatedLeaderTest extends AbstractLeaderTest<IsolatedLeader> {
         assertEquals("Raft state", RaftState.Leader, newBehavior.state());
     }
 
+    @Test
+    public void testLeaderLease() {
+        MockRaftActorContext leaderActorContext = createActorContext();
+        Map<String, String> peerAddresses = new HashMap<>();
+        peerAddresses.put("follower-1", "akka://test/user/$a");
+        peerAddresses.put("follower-2", "akka://test/user/$b");
+        leaderActorContext.setPeerAddresses(peerAddresses);
+
+        // With leases disabled, the lease is held but not enforced
+        isolatedLeader = new IsolatedLeader(leaderActorContext);
+        assertTrue("Lease valid", leaderActorContext.getLeaderLease().isValid());
+        assertFalse("Lease enforced", leaderActorContext.getLeaderLease().isEnforced());
+        isolatedLeader.close();
+
+        // With leases enabled, an isolated leader does not hold the lease at all
+        ((DefaultConfigParamsImpl) leaderActorContext.getConfigParams()).setLeaderLeaseEnabled(true);
+        isolatedLeader = new IsolatedLeader(leaderActorContext);
+        assertFalse("Lease valid", leaderActorContext.getLeaderLease().isValid());
+        assertFalse("Lease enforced", leaderActorContext.getLeaderLease().isEnforced());
+    }
+
     @Test
     public void testHandleMessageFromAnotherLeader() throws Exception {
         String followerAddress1 = "akka://test/user/$a";
@@ -26,6 +26,7 @@ import akka.actor.Terminated;
 import akka.testkit.JavaTestKit;
 import akka.testkit.TestActorRef;
 import com.google.common.base.Optional;
+import com.google.common.base.Ticker;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.ByteSource;
 import com.google.common.util.concurrent.Uninterruptibles;
@@ -38,6 +39,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import org.apache.commons.lang3.SerializationUtils;
 import org.junit.After;
@@ -596,13 +598,13 @@ public class LeaderTest extends AbstractLeaderTest<Leader> {
                 Collections.<ReplicatedLogEntry>emptyList(), commitIndex, snapshotTerm, commitIndex, snapshotTerm,
                 -1, null, null), ByteSource.wrap(bs.toByteArray())));
         LeaderInstallSnapshotState fts = new LeaderInstallSnapshotState(
-                actorContext.getConfigParams().getSnapshotChunkSize(), leader.logName());
+                actorContext.getConfigParams().getSnapshotChunkSize(),
+                actorContext.getConfigParams().getSnapshotChunkWindowSize(), leader.logName());
         fts.setSnapshotBytes(ByteSource.wrap(bs.toByteArray()));
         leader.getFollower(FOLLOWER_ID).setLeaderInstallSnapshotState(fts);
 
         //send first chunk and no InstallSnapshotReply received yet
         fts.getNextChunk();
-        fts.incrementChunkIndex();
 
         Uninterruptibles.sleepUninterruptibly(actorContext.getConfigParams().getHeartBeatInterval().toMillis(),
                 TimeUnit.MILLISECONDS);
@@ -614,7 +616,7 @@ public class LeaderTest extends AbstractLeaderTest<Leader> {
         assertTrue("AppendEntries should be sent with empty entries", ae.getEntries().isEmpty());
 
         //InstallSnapshotReply received
-        fts.markSendStatus(true);
+        fts.markSendStatus(LeaderInstallSnapshotState.FIRST_CHUNK_INDEX, true);
 
         leader.handleMessage(leaderActor, SendHeartBeat.INSTANCE);
 
@@ -957,19 +959,21 @@ public class LeaderTest extends AbstractLeaderTest<Leader> {
                 Collections.<ReplicatedLogEntry>emptyList(), commitIndex, snapshotTerm, commitIndex, snapshotTerm,
                 -1, null, null), ByteSource.wrap(bs.toByteArray())));
         LeaderInstallSnapshotState fts = new LeaderInstallSnapshotState(
-                actorContext.getConfigParams().getSnapshotChunkSize(), leader.logName());
+                actorContext.getConfigParams().getSnapshotChunkSize(),
+                actorContext.getConfigParams().getSnapshotChunkWindowSize(), leader.logName());
         fts.setSnapshotBytes(ByteSource.wrap(bs.toByteArray()));
         leader.getFollower(FOLLOWER_ID).setLeaderInstallSnapshotState(fts);
-        while (!fts.isLastChunk(fts.getChunkIndex())) {
-            fts.getNextChunk();
-            fts.incrementChunkIndex();
+        LeaderInstallSnapshotState.Chunk chunk = fts.getNextChunk();
+        while (!fts.isLastChunk(chunk.getIndex())) {
+            fts.markSendStatus(chunk.getIndex(), true);
+            chunk = fts.getNextChunk();
         }
 
         //clears leaders log
         actorContext.getReplicatedLog().removeFrom(0);
 
         RaftActorBehavior raftBehavior = leader.handleMessage(followerActor,
-                new InstallSnapshotReply(currentTerm, FOLLOWER_ID, fts.getChunkIndex(), true));
+                new InstallSnapshotReply(currentTerm, FOLLOWER_ID, fts.getTotalChunks(), true));
 
         assertTrue(raftBehavior instanceof Leader);
 
@@ -1201,7 +1205,7 @@ public class LeaderTest extends AbstractLeaderTest<Leader> {
         ByteString bs = toByteString(leadersSnapshot);
         byte[] barray = bs.toByteArray();
 
-        LeaderInstallSnapshotState fts = new LeaderInstallSnapshotState(50, "test");
+        LeaderInstallSnapshotState fts = new LeaderInstallSnapshotState(50, 1, "test");
         fts.setSnapshotBytes(ByteSource.wrap(barray));
 
         assertEquals(bs.size(), barray.length);
@@ -1215,17 +1219,83 @@ public class LeaderTest extends AbstractLeaderTest<Leader> {
                 length = barray.length;
             }
 
-            byte[] chunk = fts.getNextChunk();
-            assertEquals("bytestring size not matching for chunk:" + chunkIndex, length - i, chunk.length);
-            assertEquals("chunkindex not matching", chunkIndex, fts.getChunkIndex());
+            LeaderInstallSnapshotState.Chunk chunk = fts.getNextChunk();
+            assertEquals("bytestring size not matching for chunk:" + chunkIndex, length - i, chunk.getData().length);
+            assertEquals("chunkindex not matching", chunkIndex, chunk.getIndex());
+            assertFalse(fts.canSendNextChunk());
 
-            fts.markSendStatus(true);
-            if (!fts.isLastChunk(chunkIndex)) {
-                fts.incrementChunkIndex();
-            }
+            assertTrue(fts.markSendStatus(chunkIndex, true));
         }
 
         assertEquals("totalChunks not matching", chunkIndex, fts.getTotalChunks());
+        assertTrue(fts.isComplete());
+        fts.close();
+    }
+
+    @Test
+    public void testLeaderInstallSnapshotStateWithWindow() throws IOException {
+        logStart("testLeaderInstallSnapshotStateWithWindow");
+
+        byte[] barray = new byte[200];
+        Arrays.fill(barray, (byte) 1);
+
+        final AtomicLong now = new AtomicLong();
+        final Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return now.get();
+            }
+        };
+
+        LeaderInstallSnapshotState fts = new LeaderInstallSnapshotState(50, 2, "test", ticker);
+        fts.setSnapshotBytes(ByteSource.wrap(barray));
+        assertEquals(4, fts.getTotalChunks());
+
+        LeaderInstallSnapshotState.Chunk chunk1 = fts.getNextChunk();
+        assertEquals(1, chunk1.getIndex());
+        assertEquals(LeaderInstallSnapshotState.INITIAL_LAST_CHUNK_HASH_CODE, chunk1.getLastChunkHashCode());
+        assertTrue(fts.canSendNextChunk());
+
+        LeaderInstallSnapshotState.Chunk chunk2 = fts.getNextChunk();
+        assertEquals(2, chunk2.getIndex());
+        assertEquals(Arrays.hashCode(chunk1.getData()), chunk2.getLastChunkHashCode());
+        assertFalse(fts.canSendNextChunk());
+
+        // Out-of-order acknowledgement opens the window
+        assertTrue(fts.markSendStatus(2, true));
+        assertFalse(fts.markSendStatus(2, true));
+        assertTrue(fts.canSendNextChunk());
+
+        LeaderInstallSnapshotState.Chunk chunk3 = fts.getNextChunk();
+        assertEquals(3, chunk3.getIndex());
+        assertEquals(Arrays.hashCode(chunk2.getData()), chunk3.getLastChunkHashCode());
+        assertFalse(fts.canSendNextChunk());
+
+        // A failed chunk is sent again ahead of new chunks
+        assertTrue(fts.markSendStatus(1, false));
+        assertTrue(fts.canSendNextChunk());
+        assertSame(chunk1, fts.getNextChunk());
+        assertFalse(fts.canSendNextChunk());
+
+        // So is a chunk which has not been acknowledged in time
+        assertEquals(0, fts.markExpiredChunks(TimeUnit.MINUTES.toNanos(1)));
+        now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        assertEquals(2, fts.markExpiredChunks(TimeUnit.MINUTES.toNanos(1)));
+        assertSame(chunk1, fts.getNextChunk());
+        assertSame(chunk3, fts.getNextChunk());
+        assertFalse(fts.canSendNextChunk());
+
+        assertTrue(fts.markSendStatus(3, true));
+        assertTrue(fts.markSendStatus(1, true));
+        assertFalse(fts.isComplete());
+
+        LeaderInstallSnapshotState.Chunk chunk4 = fts.getNextChunk();
+        assertEquals(4, chunk4.getIndex());
+        assertTrue(fts.isLastChunk(chunk4.getIndex()));
+        assertFalse(fts.canSendNextChunk());
+
+        assertTrue(fts.markSendStatus(4, true));
+        assertTrue(fts.isComplete());
         fts.close();
     }
 
@@ -2125,6 +2195,88 @@ public class LeaderTest extends AbstractLeaderTest<Leader> {
         verify(mockTransferCohort).transferComplete();
     }
 
+    @Test
+    public void testLeaderLeaseDisabled() {
+        logStart("testLeaderLeaseDisabled");
+
+        MockRaftActorContext leaderActorContext = createActorContextWithFollower();
+        ((DefaultConfigParamsImpl)leaderActorContext.getConfigParams()).setHeartBeatInterval(
+                new FiniteDuration(1000, TimeUnit.SECONDS));
+
+        leader = new Leader(leaderActorContext);
+        assertTrue("Lease valid", leaderActorContext.getLeaderLease().isValid());
+
+        leader.close();
+        assertFalse("Lease valid after close", leaderActorContext.getLeaderLease().isValid());
+    }
+
+    @Test
+    public void testLeaderLease() {
+        logStart("testLeaderLease");
+
+        MockRaftActorContext leaderActorContext = createActorContextWithFollower();
+        DefaultConfigParamsImpl configParams = (DefaultConfigParamsImpl) leaderActorContext.getConfigParams();
+        configParams.setHeartBeatInterval(new FiniteDuration(1000, TimeUnit.SECONDS));
+        configParams.setLeaderLeaseEnabled(true);
+
+        leader = new Leader(leaderActorContext);
+        leaderActorContext.setCurrentBehavior(leader);
+        assertFalse("Lease valid before follower replied", leaderActorContext.getLeaderLease().isValid());
+
+        leader.handleMessage(leaderActor, new AppendEntriesReply(FOLLOWER_ID, 1, true, -1, -1, (short)0));
+        assertTrue("Lease valid after follower replied", leaderActorContext.getLeaderLease().isValid());
+
+        // Starting a leadership transfer relinquishes the lease
+        leader.transferLeadership(mock(RaftActorLeadershipTransferCohort.class));
+        assertFalse("Lease valid after leadership transfer", leaderActorContext.getLeaderLease().isValid());
+    }
+
+    @Test
+    public void testLeaderLeaseExpiry() {
+        logStart("testLeaderLeaseExpiry");
+
+        MockRaftActorContext leaderActorContext = createActorContextWithFollower();
+        DefaultConfigParamsImpl configParams = (DefaultConfigParamsImpl) leaderActorContext.getConfigParams();
+        configParams.setHeartBeatInterval(new FiniteDuration(1000, TimeUnit.SECONDS));
+        configParams.setElectionTimeoutFactor(1);
+        configParams.setLeaderLeaseEnabled(true);
+
+        leader = new Leader(leaderActorContext);
+        leaderActorContext.setCurrentBehavior(leader);
+        configParams.setHeartBeatInterval(new FiniteDuration(200, TimeUnit.MILLISECONDS));
+
+        leader.handleMessage(leaderActor, new AppendEntriesReply(FOLLOWER_ID, 1, true, -1, -1, (short)0));
+        assertTrue("Lease valid after follower replied", leaderActorContext.getLeaderLease().isValid());
+
+        // The lease lasts for half of the election timeout
+        Uninterruptibles.sleepUninterruptibly(150, TimeUnit.MILLISECONDS);
+        assertFalse("Lease valid after expiry", leaderActorContext.getLeaderLease().isValid());
+    }
+
+    @Test
+    public void testLeaderLeaseStartsWhenAppendEntriesSent() {
+        logStart("testLeaderLeaseStartsWhenAppendEntriesSent");
+
+        MockRaftActorContext leaderActorContext = createActorContextWithFollower();
+        DefaultConfigParamsImpl configParams = (DefaultConfigParamsImpl) leaderActorContext.getConfigParams();
+        configParams.setHeartBeatInterval(new FiniteDuration(1000, TimeUnit.SECONDS));
+        configParams.setElectionTimeoutFactor(1);
+        configParams.setLeaderLeaseEnabled(true);
+
+        // The initial AppendEntries is sent when the leader is created
+        leader = new Leader(leaderActorContext);
+        leaderActorContext.setCurrentBehavior(leader);
+        configParams.setHeartBeatInterval(new FiniteDuration(400, TimeUnit.MILLISECONDS));
+
+        // The reply is delayed, which must not extend the lease past half of the election timeout from the send time
+        Uninterruptibles.sleepUninterruptibly(100, TimeUnit.MILLISECONDS);
+        leader.handleMessage(leaderActor, new AppendEntriesReply(FOLLOWER_ID, 1, true, -1, -1, (short)0));
+        assertTrue("Lease valid after follower replied", leaderActorContext.getLeaderLease().isValid());
+
+        Uninterruptibles.sleepUninterruptibly(150, TimeUnit.MILLISECONDS);
+        assertFalse("Lease valid after expiry", leaderActorContext.getLeaderLease().isValid());
+    }
+
     @Test
     public void testTransferLeadershipWithEmptyLog() {
         logStart("testTransferLeadershipWithEmptyLog");
@@ -9,6 +9,8 @@
 package org.opendaylight.controller.cluster.raft.behaviors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
@@ -79,6 +81,43 @@ public class SnapshotTrackerTest {
         verify(fbos).cleanup();
     }
 
+    @Test
+    public void testAddChunksOutOfOrder() throws IOException {
+        try (SnapshotTracker tracker = new SnapshotTracker(LOG, 3, "leader", mockContext)) {
+            assertFalse(tracker.addChunk(1, chunk1,
+                Optional.of(LeaderInstallSnapshotState.INITIAL_LAST_CHUNK_HASH_CODE)));
+            assertFalse(tracker.addChunk(3, chunk3, Optional.of(Arrays.hashCode(chunk2))));
+            assertTrue(tracker.addChunk(2, chunk2, Optional.of(Arrays.hashCode(chunk1))));
+
+            ByteSource snapshotBytes = tracker.getSnapshotBytes();
+            assertEquals("Deserialized", data, SerializationUtils.deserialize(snapshotBytes.read()));
+        }
+    }
+
+    @Test
+    public void testAddDuplicateChunk() throws IOException {
+        try (SnapshotTracker tracker = new SnapshotTracker(LOG, 3, "leader", mockContext)) {
+            tracker.addChunk(1, chunk1, Optional.of(LeaderInstallSnapshotState.INITIAL_LAST_CHUNK_HASH_CODE));
+            assertFalse(tracker.addChunk(1, chunk1,
+                Optional.of(LeaderInstallSnapshotState.INITIAL_LAST_CHUNK_HASH_CODE)));
+            tracker.addChunk(3, chunk3, Optional.of(Arrays.hashCode(chunk2)));
+            assertFalse(tracker.addChunk(3, chunk3, Optional.of(Arrays.hashCode(chunk2))));
+            assertTrue(tracker.addChunk(2, chunk2, Optional.of(Arrays.hashCode(chunk1))));
+
+            ByteSource snapshotBytes = tracker.getSnapshotBytes();
+            assertEquals("Deserialized", data, SerializationUtils.deserialize(snapshotBytes.read()));
+        }
+    }
+
+    @Test(expected = SnapshotTracker.InvalidChunkException.class)
+    public void testInvalidLastChunkHashCodeOfPendingChunk() throws IOException {
+        try (SnapshotTracker tracker = new SnapshotTracker(LOG, 3, "leader", mockContext)) {
+            tracker.addChunk(1, chunk1, Optional.of(LeaderInstallSnapshotState.INITIAL_LAST_CHUNK_HASH_CODE));
+            tracker.addChunk(3, chunk3, Optional.of(1));
+            tracker.addChunk(2, chunk2, Optional.of(Arrays.hashCode(chunk1)));
+        }
+    }
+
     @Test(expected = SnapshotTracker.InvalidChunkException.class)
     public void testAddChunkWhenAlreadySealed() throws IOException {
         try (SnapshotTracker tracker = new SnapshotTracker(LOG, 2, "leader", mockContext)) {
@@ -8,6 +8,8 @@
 package org.opendaylight.controller.cluster.raft.messages;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import org.apache.commons.lang.SerializationUtils;
 import org.junit.Test;
@@ -28,5 +30,16 @@ public class RequestVoteTest {
         assertEquals("getCandidateId", expected.getCandidateId(), cloned.getCandidateId());
         assertEquals("getLastLogIndex", expected.getLastLogIndex(), cloned.getLastLogIndex());
         assertEquals("getLastLogTerm", expected.getLastLogTerm(), cloned.getLastLogTerm());
+        assertFalse("isLeadershipTransfer", cloned.isLeadershipTransfer());
+    }
+
+    @Test
+    public void testSerializationWithLeadershipTransfer() {
+        RequestVote expected = new RequestVote(4, "candidateId", 3, 2, true);
+        RequestVote cloned = (RequestVote) SerializationUtils.clone(expected);
+
+        assertEquals("getTerm", expected.getTerm(), cloned.getTerm());
+        assertEquals("getCandidateId", expected.getCandidateId(), cloned.getCandidateId());
+        assertTrue("isLeadershipTransfer", cloned.isLeadershipTransfer());
     }
 }
@@ -43,6 +43,24 @@ public interface DataPersistenceProvider {
      */
     <T> void persistAsync(T entry, Procedure<T> procedure);
 
+    /**
+     * Persists a batch of entries to the applicable journal synchronously, as a single write operation.
+     *
+     * @param entries the journal entries to persist
+     * @param procedure the callback invoked for each entry when persistence is complete
+     * @param <T> the type of the journal entries
+     */
+    <T> void persistAll(Iterable<T> entries, Procedure<T> procedure);
+
+    /**
+     * Persists a batch of entries to the applicable journal asynchronously, as a single write operation.
+     *
+     * @param entries the journal entries to persist
+     * @param procedure the callback invoked for each entry when persistence is complete
+     * @param <T> the type of the journal entries
+     */
+    <T> void persistAllAsync(Iterable<T> entries, Procedure<T> procedure);
+
     /**
      * Saves a snapshot.
      *
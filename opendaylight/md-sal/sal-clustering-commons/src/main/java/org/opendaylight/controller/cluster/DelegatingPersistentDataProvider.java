@@ -45,6 +45,16 @@ public class DelegatingPersistentDataProvider implements DataPersistenceProvider
         delegate.persistAsync(entry, procedure);
     }
 
+    @Override
+    public <T> void persistAll(Iterable<T> entries, Procedure<T> procedure) {
+        delegate.persistAll(entries, procedure);
+    }
+
+    @Override
+    public <T> void persistAllAsync(Iterable<T> entries, Procedure<T> procedure) {
+        delegate.persistAllAsync(entries, procedure);
+    }
+
     @Override
     public void saveSnapshot(Object entry) {
         delegate.saveSnapshot(entry);
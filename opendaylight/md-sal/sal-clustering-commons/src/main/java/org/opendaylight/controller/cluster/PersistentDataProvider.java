@@ -38,6 +38,16 @@ public class PersistentDataProvider implements DataPersistenceProvider {
         persistentActor.persistAsync(entry, procedure);
     }
 
+    @Override
+    public <T> void persistAll(Iterable<T> entries, Procedure<T> procedure) {
+        persistentActor.persistAll(entries, procedure);
+    }
+
+    @Override
+    public <T> void persistAllAsync(Iterable<T> entries, Procedure<T> procedure) {
+        persistentActor.persistAllAsync(entries, procedure);
+    }
+
     @Override
     public void saveSnapshot(Object snapshot) {
         persistentActor.saveSnapshot(snapshot);
@@ -13,6 +13,9 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.cluster.reporting.MetricsReporter;
 
 /**
@@ -25,6 +28,10 @@ import org.opendaylight.controller.cluster.reporting.MetricsReporter;
  *     <li>message processing rate by message type</li>
  * </ul>
  * The information is reported to {@link org.opendaylight.controller.cluster.reporting.MetricsReporter}
+ *
+ * <p>
+ * The timers are looked up once per message class, so that metering a message does not involve building metric names
+ * or registry lookups.
  */
 public class MeteringBehavior implements Procedure<Object> {
     public static final String DOMAIN = "org.opendaylight.controller.actor.metric";
@@ -38,6 +45,9 @@ public class MeteringBehavior implements Procedure<Object> {
     private String actorQualifiedName;
     private Timer msgProcessingTimer;
 
+    // Timers by message type, created on first use of each message class. Only accessed from the actor.
+    private final Map<Class<?>, Timer> msgProcessingTimersByMsgType = new HashMap<>();
+
     /**
      * Constructs an instance.
      *
@@ -71,6 +81,7 @@ public class MeteringBehavior implements Procedure<Object> {
     /**
      * Uses 2 timers to measure message processing rate. One for overall message processing rate and
      * another to measure rate by message type. The timers are re-used if they were previously created.
+     * The processing time is measured once and recorded in both timers.
      *
      * <p>
      * {@link com.codahale.metrics.MetricRegistry} maintains a reservoir for different timers where
@@ -89,16 +100,10 @@ public class MeteringBehavior implements Procedure<Object> {
     @SuppressWarnings("checkstyle:IllegalCatch")
     @Override
     public void apply(final Object message) throws Exception {
-        final String messageType = message.getClass().getSimpleName();
-
-        final String msgProcessingTimeByMsgType =
-                MetricRegistry.name(actorQualifiedName, MSG_PROCESSING_RATE, messageType);
-
-        final Timer msgProcessingTimerByMsgType = metricRegistry.timer(msgProcessingTimeByMsgType);
-
-        //start timers
-        final Timer.Context context = msgProcessingTimer.time();
-        final Timer.Context contextByMsgType = msgProcessingTimerByMsgType.time();
+        final Timer msgProcessingTimerByMsgType = msgProcessingTimersByMsgType.computeIfAbsent(message.getClass(),
+            type -> metricRegistry.timer(MetricRegistry.name(actorQualifiedName, MSG_PROCESSING_RATE,
+                type.getSimpleName())));
+        final long startTime = System.nanoTime();
 
         try {
             meteredActor.onReceive(message);
@@ -106,9 +111,9 @@ public class MeteringBehavior implements Procedure<Object> {
             Throwables.propagateIfPossible(e, Exception.class);
             throw new RuntimeException(e);
         } finally {
-            //stop timers
-            contextByMsgType.stop();
-            context.stop();
+            final long elapsed = System.nanoTime() - startTime;
+            msgProcessingTimer.update(elapsed, TimeUnit.NANOSECONDS);
+            msgProcessingTimerByMsgType.update(elapsed, TimeUnit.NANOSECONDS);
         }
     }
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.io;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * An immutable sequence of bytes, stored in a number of chunks of bounded size. Large payloads stored this way do
+ * not need a single contiguous array, which avoids the copies needed to grow and trim such an array, as well as
+ * allocations which are too large for a GC region. Instances are produced by {@link ChunkedOutputStream}.
+ */
+@Beta
+@ThreadSafe
+public final class ChunkedByteArray {
+    private final List<byte[]> chunks;
+    private final int size;
+
+    ChunkedByteArray(final int size, final List<byte[]> chunks) {
+        this.size = size;
+        this.chunks = ImmutableList.copyOf(chunks);
+    }
+
+    /**
+     * Read a ChunkedByteArray of specified size from a {@link DataInput}, allocating chunks of at most the default
+     * size.
+     *
+     * @param in input to read from
+     * @param size number of bytes to read
+     * @return A ChunkedByteArray
+     * @throws IOException if the input fails
+     */
+    public static ChunkedByteArray readFrom(final DataInput in, final int size) throws IOException {
+        Preconditions.checkArgument(size >= 0, "Size %s is negative", size);
+        final ImmutableList.Builder<byte[]> builder = ImmutableList.builder();
+        int remaining = size;
+        while (remaining > 0) {
+            final byte[] chunk = new byte[Math.min(remaining, ChunkedOutputStream.MAX_CHUNK_SIZE)];
+            in.readFully(chunk);
+            builder.add(chunk);
+            remaining -= chunk.length;
+        }
+        return new ChunkedByteArray(size, builder.build());
+    }
+
+    /**
+     * Return the total number of bytes.
+     *
+     * @return Number of bytes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Open a new {@link InputStream} reading the bytes, without copying them.
+     *
+     * @return An InputStream
+     */
+    @Nonnull
+    public InputStream openStream() {
+        if (chunks.size() == 1) {
+            return new ByteArrayInputStream(chunks.get(0));
+        }
+
+        final Iterator<byte[]> it = chunks.iterator();
+        return new SequenceInputStream(new Enumeration<InputStream>() {
+            @Override
+            public boolean hasMoreElements() {
+                return it.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                return new ByteArrayInputStream(it.next());
+            }
+        });
+    }
+
+    /**
+     * Open a new {@link DataInput} reading the bytes, without copying them.
+     *
+     * @return A DataInput
+     */
+    @Nonnull
+    public DataInput openDataInput() {
+        return new DataInputStream(openStream());
+    }
+
+    /**
+     * Write the bytes to a {@link DataOutput}, chunk by chunk.
+     *
+     * @param out output to write to
+     * @throws IOException if the output fails
+     */
+    public void copyTo(final DataOutput out) throws IOException {
+        for (byte[] chunk : chunks) {
+            out.write(chunk);
+        }
+    }
+
+    List<byte[]> getChunks() {
+        return chunks;
+    }
+
+    @Override
+    public String toString() {
+        return "ChunkedByteArray [size=" + size + ", chunks=" + chunks.size() + "]";
+    }
+}
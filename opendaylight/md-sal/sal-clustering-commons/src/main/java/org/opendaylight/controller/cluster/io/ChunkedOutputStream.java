@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.io;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * An {@link OutputStream} producing a {@link ChunkedByteArray}. The first chunk grows like a
+ * {@link java.io.ByteArrayOutputStream} until it reaches {@link #MAX_CHUNK_SIZE}, after which further chunks of that
+ * size are allocated as needed. Growing the stream therefore copies at most the first chunk, and converting it trims
+ * only the last chunk, regardless of how much data has been written.
+ */
+@Beta
+@NotThreadSafe
+public final class ChunkedOutputStream extends OutputStream {
+    /**
+     * Maximum size of a single chunk. This is kept well below the humongous allocation threshold of G1 with default
+     * region sizes.
+     */
+    static final int MAX_CHUNK_SIZE = 256 * 1024;
+
+    private final List<byte[]> chunks = new ArrayList<>(1);
+    private byte[] currentChunk;
+    private int currentOffset;
+    private int size;
+    private boolean closed;
+
+    public ChunkedOutputStream(final int requestedInitialCapacity) {
+        Preconditions.checkArgument(requestedInitialCapacity >= 0, "Negative initial capacity %s",
+            requestedInitialCapacity);
+        currentChunk = new byte[Math.min(Math.max(requestedInitialCapacity, 1), MAX_CHUNK_SIZE)];
+    }
+
+    @Override
+    public void write(final int value) {
+        checkNotClosed();
+        ensureOneByte();
+        currentChunk[currentOffset++] = (byte) value;
+        size++;
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int off, final int len) {
+        checkNotClosed();
+        Preconditions.checkPositionIndexes(off, off + len, bytes.length);
+
+        int fromOffset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            ensureOneByte();
+            final int count = Math.min(remaining, currentChunk.length - currentOffset);
+            System.arraycopy(bytes, fromOffset, currentChunk, currentOffset, count);
+            currentOffset += count;
+            fromOffset += count;
+            remaining -= count;
+        }
+        size += len;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Close this stream and convert its contents into a {@link ChunkedByteArray}.
+     *
+     * @return A ChunkedByteArray
+     */
+    @Nonnull
+    public ChunkedByteArray toChunkedByteArray() {
+        closed = true;
+        if (currentOffset != 0 || chunks.isEmpty()) {
+            chunks.add(currentOffset == currentChunk.length ? currentChunk
+                    : Arrays.copyOf(currentChunk, currentOffset));
+            currentChunk = null;
+            currentOffset = 0;
+        }
+        return new ChunkedByteArray(size, chunks);
+    }
+
+    private void ensureOneByte() {
+        if (currentOffset == currentChunk.length) {
+            if (currentChunk.length < MAX_CHUNK_SIZE && chunks.isEmpty()) {
+                // Still growing the first chunk
+                currentChunk = Arrays.copyOf(currentChunk, Math.min(currentChunk.length * 2, MAX_CHUNK_SIZE));
+            } else {
+                chunks.add(currentChunk);
+                currentChunk = new byte[MAX_CHUNK_SIZE];
+                currentOffset = 0;
+            }
+        }
+    }
+
+    private void checkNotClosed() {
+        Preconditions.checkState(!closed, "Stream has been closed");
+    }
+}
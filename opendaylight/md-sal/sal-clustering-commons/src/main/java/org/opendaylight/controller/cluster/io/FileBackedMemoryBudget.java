@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.io;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A limit on the total amount of memory which can be used by a set of {@link FileBackedOutputStream}s before they
+ * switch to file buffering. A stream which cannot reserve memory from its budget switches to a file early, even if
+ * it has not reached its file threshold. This allows bounding the memory used by many concurrent streams without
+ * lowering the threshold of each stream.
+ */
+@ThreadSafe
+public final class FileBackedMemoryBudget {
+    private final AtomicLong available;
+    private final long capacity;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity the maximum number of bytes which can be reserved at any given time
+     */
+    public FileBackedMemoryBudget(final long capacity) {
+        Preconditions.checkArgument(capacity >= 0, "capacity must be >= 0");
+        this.capacity = capacity;
+        this.available = new AtomicLong(capacity);
+    }
+
+    /**
+     * Attempts to reserve the specified number of bytes.
+     *
+     * @param bytes the number of bytes to reserve
+     * @return true if the bytes were reserved, false if there is not enough memory available
+     */
+    public boolean tryReserve(final long bytes) {
+        long current = available.get();
+        while (current >= bytes) {
+            if (available.compareAndSet(current, current - bytes)) {
+                return true;
+            }
+            current = available.get();
+        }
+        return false;
+    }
+
+    /**
+     * Returns previously-reserved bytes to this budget.
+     *
+     * @param bytes the number of bytes to release
+     */
+    public void release(final long bytes) {
+        available.addAndGet(bytes);
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public long getAvailable() {
+        return available.get();
+    }
+
+    @Override
+    public String toString() {
+        return "FileBackedMemoryBudget [capacity=" + capacity + ", available=" + available.get() + "]";
+    }
+}
@@ -52,8 +52,14 @@ public class FileBackedOutputStream extends OutputStream {
      */
     private static final FinalizableReferenceQueue REFERENCE_QUEUE = new FinalizableReferenceQueue();
 
+    /**
+     * Memory is reserved from the budget in chunks of at least this size, so that small writes do not contend on it.
+     */
+    private static final int MIN_RESERVATION = 65536;
+
     private final int fileThreshold;
     private final String fileDirectory;
+    private final FileBackedMemoryBudget memoryBudget;
 
     @GuardedBy("this")
     private MemoryOutputStream memory = new MemoryOutputStream();
@@ -67,6 +73,9 @@ public class FileBackedOutputStream extends OutputStream {
     @GuardedBy("this")
     private ByteSource source;
 
+    @GuardedBy("this")
+    private long reservedMemory;
+
     private volatile long count;
 
     /**
@@ -78,8 +87,26 @@ public class FileBackedOutputStream extends OutputStream {
      *                      location is used.
      */
     public FileBackedOutputStream(int fileThreshold, @Nullable String fileDirectory) {
+        this(fileThreshold, fileDirectory, null);
+    }
+
+    /**
+     * Creates a new instance that uses the given file threshold and memory budget. The stream switches to buffering
+     * to a file once the data reaches the file threshold or the budget cannot accommodate it, whichever comes first.
+     * Memory reserved from the budget is returned when the stream switches to a file or when {@link #cleanup()} is
+     * called.
+     *
+     * @param fileThreshold the number of bytes before the stream should switch to buffering to a file
+     * @param fileDirectory the directory in which to create the file if needed. If null, the default temp file
+     *                      location is used.
+     * @param memoryBudget the budget from which buffered memory is reserved. If null, memory use is bounded only by
+     *                     the file threshold.
+     */
+    public FileBackedOutputStream(int fileThreshold, @Nullable String fileDirectory,
+            @Nullable FileBackedMemoryBudget memoryBudget) {
         this.fileThreshold = fileThreshold;
         this.fileDirectory = fileDirectory;
+        this.memoryBudget = memoryBudget;
     }
 
     /**
@@ -164,6 +191,7 @@ public class FileBackedOutputStream extends OutputStream {
         LOG.debug("In cleanup");
 
         closeQuietly();
+        releaseMemory();
 
         if (file != null) {
             Iterator<Cleanup> iter = REFERENCE_CACHE.iterator();
@@ -199,13 +227,13 @@ public class FileBackedOutputStream extends OutputStream {
             throw new IOException("Stream already closed");
         }
 
-        if (file == null && memory.getCount() + len > fileThreshold) {
+        if (file == null && (memory.getCount() + len > fileThreshold || !reserveMemory(len))) {
             File temp = File.createTempFile("FileBackedOutputStream", null,
                     fileDirectory == null ? null : new File(fileDirectory));
             temp.deleteOnExit();
 
-            LOG.debug("Byte count {} has exceeded threshold {} - switching to file: {}", memory.getCount() + len,
-                    fileThreshold, temp);
+            LOG.debug("Byte count {} has exceeded threshold {} or memory budget {} - switching to file: {}",
+                    memory.getCount() + len, fileThreshold, memoryBudget, temp);
 
             OutputStream transfer = null;
             try {
@@ -217,6 +245,7 @@ public class FileBackedOutputStream extends OutputStream {
                 out = transfer;
                 file = temp;
                 memory = null;
+                releaseMemory();
 
                 new Cleanup(this, file);
             } catch (IOException e) {
@@ -234,6 +263,41 @@ public class FileBackedOutputStream extends OutputStream {
         }
     }
 
+    /**
+     * Ensures the memory budget covers buffering additional {@code len} bytes in memory.
+     *
+     * @return true if memory is available, false if the stream should switch to file buffering
+     */
+    @GuardedBy("this")
+    private boolean reserveMemory(int len) {
+        if (memoryBudget == null) {
+            return true;
+        }
+
+        final long needed = memory.getCount() + (long) len;
+        if (needed <= reservedMemory) {
+            return true;
+        }
+
+        // Callers have checked that needed does not exceed fileThreshold
+        final long toReserve = Math.min(fileThreshold, Math.max(needed, reservedMemory + MIN_RESERVATION))
+                - reservedMemory;
+        if (!memoryBudget.tryReserve(toReserve)) {
+            return false;
+        }
+
+        reservedMemory += toReserve;
+        return true;
+    }
+
+    @GuardedBy("this")
+    private void releaseMemory() {
+        if (reservedMemory != 0) {
+            memoryBudget.release(reservedMemory);
+            reservedMemory = 0;
+        }
+    }
+
     private static void deleteFile(File file) {
         if (!file.delete()) {
             LOG.warn("Could not delete temp file {}", file);
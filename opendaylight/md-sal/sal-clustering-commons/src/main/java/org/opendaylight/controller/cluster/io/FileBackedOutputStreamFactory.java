@@ -7,6 +7,7 @@
  */
 package org.opendaylight.controller.cluster.io;
 
+import com.google.common.base.Preconditions;
 import javax.annotation.Nullable;
 
 /**
@@ -40,6 +41,17 @@ public class FileBackedOutputStreamFactory {
         return new FileBackedOutputStream(fileThreshold, fileDirectory);
     }
 
+    /**
+     * Creates a new {@link FileBackedOutputStream} with the settings configured for this factory, which reserves
+     * the memory it uses from the given budget.
+     *
+     * @param memoryBudget the budget from which buffered memory is reserved
+     * @return a {@link FileBackedOutputStream} instance
+     */
+    public FileBackedOutputStream newInstance(final FileBackedMemoryBudget memoryBudget) {
+        return new FileBackedOutputStream(fileThreshold, fileDirectory, Preconditions.checkNotNull(memoryBudget));
+    }
+
     /**
      * Creates a new {@link SharedFileBackedOutputStream} with the settings configured for this factory.
      *
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.io;
+
+import com.google.common.annotations.Beta;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Utility methods for compressing streams of serialized data. Compressed streams use the GZIP format, whose header
+ * identifies them as such. This allows {@link #decompressIfNeeded(InputStream)} to transparently read both compressed
+ * and uncompressed data, so that data written before compression was enabled remains readable.
+ */
+@Beta
+public final class StreamCompression {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // First two bytes of a GZIP stream, as defined in RFC 1952
+    private static final int GZIP_MAGIC_1 = 0x1f;
+    private static final int GZIP_MAGIC_2 = 0x8b;
+
+    private StreamCompression() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Wrap an output stream so that data written to it is compressed. The returned stream needs to be closed in order
+     * for the compressed data to be completely written.
+     *
+     * @param out the stream to wrap
+     * @return a compressing stream
+     * @throws IOException if an I/O error occurs
+     */
+    public static OutputStream compress(final OutputStream out) throws IOException {
+        return new GZIPOutputStream(out, BUFFER_SIZE);
+    }
+
+    /**
+     * Wrap an input stream so that compressed data read from it is decompressed. If the stream does not start with
+     * a compression header, the data is returned as is.
+     *
+     * @param in the stream to wrap
+     * @return a stream returning uncompressed data
+     * @throws IOException if an I/O error occurs
+     */
+    public static InputStream decompressIfNeeded(final InputStream in) throws IOException {
+        final PushbackInputStream pushback = new PushbackInputStream(in, 2);
+        final int first = pushback.read();
+        if (first == -1) {
+            return pushback;
+        }
+
+        final int second = pushback.read();
+        if (second != -1) {
+            pushback.unread(second);
+        }
+        pushback.unread(first);
+
+        return first == GZIP_MAGIC_1 && second == GZIP_MAGIC_2 ? new GZIPInputStream(pushback, BUFFER_SIZE) : pushback;
+    }
+}
@@ -12,7 +12,9 @@ import com.google.common.io.ByteSource;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.util.Arrays;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
+import org.opendaylight.controller.cluster.io.FileBackedMemoryBudget;
 import org.opendaylight.controller.cluster.io.FileBackedOutputStream;
 import org.opendaylight.controller.cluster.io.FileBackedOutputStreamFactory;
 import org.opendaylight.yangtools.concepts.Identifier;
@@ -50,11 +52,28 @@ public class AssembledMessageState implements AutoCloseable {
      */
     public AssembledMessageState(final Identifier identifier, final int totalSlices,
             final FileBackedOutputStreamFactory fileBackedStreamFactory, final String logContext) {
+        this(identifier, totalSlices, fileBackedStreamFactory, null, logContext);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param identifier the identifier for this instance
+     * @param totalSlices the total number of slices to expect
+     * @param fileBackedStreamFactory factory for creating the FileBackedOutputStream instance used for streaming
+     * @param memoryBudget the budget from which memory used for buffering the assembled bytes is reserved. If null,
+     *                     memory use is bounded only by the file threshold of the factory.
+     * @param logContext the context for log messages
+     */
+    public AssembledMessageState(final Identifier identifier, final int totalSlices,
+            final FileBackedOutputStreamFactory fileBackedStreamFactory,
+            final @Nullable FileBackedMemoryBudget memoryBudget, final String logContext) {
         this.identifier = identifier;
         this.totalSlices = totalSlices;
         this.logContext = logContext;
 
-        fileBackedStream = fileBackedStreamFactory.newInstance();
+        fileBackedStream = memoryBudget == null ? fileBackedStreamFactory.newInstance()
+                : fileBackedStreamFactory.newInstance(memoryBudget);
         bufferedStream = new BufferedOutputStream(fileBackedStream);
     }
 
@@ -21,6 +21,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import javax.annotation.Nonnull;
+import org.opendaylight.controller.cluster.io.FileBackedMemoryBudget;
 import org.opendaylight.controller.cluster.io.FileBackedOutputStreamFactory;
 import org.opendaylight.yangtools.concepts.Identifier;
 import org.slf4j.Logger;
@@ -35,14 +36,23 @@ import org.slf4j.LoggerFactory;
 public class MessageAssembler implements AutoCloseable {
     private static final Logger LOG = LoggerFactory.getLogger(MessageAssembler.class);
 
+    /**
+     * Budget shared by all assemblers which have not been given one explicitly, so that concurrent re-assembly of
+     * large messages spills to files rather than exhausting the heap.
+     */
+    private static final FileBackedMemoryBudget DEFAULT_MEMORY_BUDGET =
+            new FileBackedMemoryBudget(Runtime.getRuntime().maxMemory() / 8);
+
     private final Cache<Identifier, AssembledMessageState> stateCache;
     private final FileBackedOutputStreamFactory fileBackedStreamFactory;
+    private final FileBackedMemoryBudget memoryBudget;
     private final BiConsumer<Object, ActorRef> assembledMessageCallback;
     private final String logContext;
 
     private MessageAssembler(final Builder builder) {
         this.fileBackedStreamFactory = Preconditions.checkNotNull(builder.fileBackedStreamFactory,
                 "FiledBackedStreamFactory cannot be null");
+        this.memoryBudget = builder.memoryBudget;
         this.assembledMessageCallback = Preconditions.checkNotNull(builder.assembledMessageCallback,
                 "assembledMessageCallback cannot be null");
         this.logContext = builder.logContext;
@@ -135,7 +145,7 @@ public class MessageAssembler implements AutoCloseable {
         if (messageSlice.getSliceIndex() == SlicedMessageState.FIRST_SLICE_INDEX) {
             LOG.debug("{}: Received first slice for {} - creating AssembledMessageState", logContext, identifier);
             return new AssembledMessageState(identifier, messageSlice.getTotalSlices(),
-                    fileBackedStreamFactory, logContext);
+                    fileBackedStreamFactory, memoryBudget, logContext);
         }
 
         LOG.debug("{}: AssembledMessageState not found for {} - returning failed reply", logContext, identifier);
@@ -219,6 +229,7 @@ public class MessageAssembler implements AutoCloseable {
 
     public static class Builder {
         private FileBackedOutputStreamFactory fileBackedStreamFactory;
+        private FileBackedMemoryBudget memoryBudget = DEFAULT_MEMORY_BUDGET;
         private BiConsumer<Object, ActorRef> assembledMessageCallback;
         private long expireStateAfterInactivityDuration = 1;
         private TimeUnit expireStateAfterInactivityUnit = TimeUnit.MINUTES;
@@ -235,6 +246,19 @@ public class MessageAssembler implements AutoCloseable {
             return this;
         }
 
+        /**
+         * Sets the budget from which memory used for buffering re-assembled messages is reserved. Once the budget
+         * is exhausted, messages are buffered in files regardless of the file threshold. By default, a budget of
+         * one eighth of the maximum heap size, shared by all MessageAssembler instances, is used.
+         *
+         * @param newMemoryBudget the memory budget
+         * @return this Builder
+         */
+        public Builder memoryBudget(final FileBackedMemoryBudget newMemoryBudget) {
+            this.memoryBudget = Preconditions.checkNotNull(newMemoryBudget);
+            return this;
+        }
+
         /**
          * Sets the Consumer callback for assembled messages. The callback takes the assembled message and the
          * original sender ActorRef as arguments.
@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import com.google.common.base.Preconditions;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * A single segment of a {@link SegmentedJournal}. It is a pre-allocated file, which is filled with entries in an
+ * append-only fashion through positional {@link FileChannel} reads and writes. Each entry consists of a header, made up
+ * of the payload size, the CRC32 checksum of the payload and the sequence number, followed by the payload itself.
+ * Unused space is zero-filled, hence a zero size marks the end of entries. An entry whose checksum does not match, as
+ * could be left behind by a crash during a write, is treated in the same way when opening the last segment of a
+ * journal. Anywhere else it indicates that the segment has been corrupted, and is reported as an error.
+ *
+ * <p>
+ * Opening a segment scans it once, building an index of the sequence numbers and offsets of its entries, so that reads
+ * go directly to the first requested entry. The file stays open until the segment is closed or deleted.
+ */
+final class JournalSegment {
+    /**
+     * Callback invoked for each entry read from a segment.
+     */
+    @FunctionalInterface
+    interface EntryConsumer {
+        /**
+         * Accept an entry.
+         *
+         * @param sequenceNr entry sequence number
+         * @param payload entry payload
+         * @return true if more entries should be read, false otherwise
+         * @throws IOException if the entry cannot be processed
+         */
+        boolean accept(long sequenceNr, byte[] payload) throws IOException;
+    }
+
+    static final int ENTRY_HEADER_SIZE = 16;
+
+    private static final int INITIAL_INDEX_SIZE = 64;
+
+    private final File file;
+    private final long firstSequenceNr;
+    private final FileChannel channel;
+    private final int capacity;
+
+    // Sequence numbers of entries and the offsets they are stored at, both in append order
+    private long[] sequenceNrs = new long[INITIAL_INDEX_SIZE];
+    private int[] offsets = new int[INITIAL_INDEX_SIZE];
+    private int entryCount;
+    private int position;
+
+    private JournalSegment(final File file, final long firstSequenceNr, final FileChannel channel,
+            final int capacity) {
+        this.file = Preconditions.checkNotNull(file);
+        this.firstSequenceNr = firstSequenceNr;
+        this.channel = Preconditions.checkNotNull(channel);
+        this.capacity = capacity;
+    }
+
+    /**
+     * Create a new segment file, pre-allocated to specified size.
+     *
+     * @param file the file to create
+     * @param firstSequenceNr sequence number of the first entry to be stored in this segment
+     * @param size size of the segment, in bytes
+     * @return A new segment
+     * @throws IOException if the file cannot be created
+     */
+    static JournalSegment create(final File file, final long firstSequenceNr, final int size) throws IOException {
+        final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.setLength(size);
+        } catch (IOException e) {
+            raf.close();
+            throw e;
+        }
+
+        // Closing the channel closes the file as well
+        return new JournalSegment(file, firstSequenceNr, raf.getChannel(), size);
+    }
+
+    /**
+     * Open an existing segment file, locate the end of valid entries in it and index them.
+     *
+     * @param file the file to open
+     * @param firstSequenceNr sequence number of the first entry stored in this segment
+     * @param truncateCorrupted true if a corrupted entry should be treated as the end of entries, as is the case for
+     *                          the last segment of a journal, false if it should be reported as an error
+     * @return An opened segment
+     * @throws IOException if the file cannot be opened or contains a corrupted entry
+     */
+    static JournalSegment open(final File file, final long firstSequenceNr, final boolean truncateCorrupted)
+            throws IOException {
+        final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            final JournalSegment segment = new JournalSegment(file, firstSequenceNr, raf.getChannel(),
+                (int) Math.min(raf.length(), Integer.MAX_VALUE));
+            segment.scan(truncateCorrupted);
+            return segment;
+        } catch (IOException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    long getFirstSequenceNr() {
+        return firstSequenceNr;
+    }
+
+    /**
+     * Return the sequence number of the last entry in this segment.
+     *
+     * @return last sequence number, or 0 if the segment is empty
+     */
+    long getLastSequenceNr() {
+        return entryCount == 0 ? 0 : sequenceNrs[entryCount - 1];
+    }
+
+    int getPosition() {
+        return position;
+    }
+
+    boolean isEmpty() {
+        return entryCount == 0;
+    }
+
+    boolean hasSpaceFor(final int payloadSize) {
+        return capacity - position >= ENTRY_HEADER_SIZE + payloadSize;
+    }
+
+    void append(final long sequenceNr, final byte[] payload) throws IOException {
+        Preconditions.checkState(hasSpaceFor(payload.length), "Segment %s cannot fit %s bytes", file, payload.length);
+
+        final CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        // Make sure any stale data following this entry is not mistaken for an entry
+        final int end = position + ENTRY_HEADER_SIZE + payload.length;
+        final boolean terminate = capacity - end >= Integer.BYTES;
+
+        final ByteBuffer entry = ByteBuffer.allocate(end - position + (terminate ? Integer.BYTES : 0));
+        entry.putInt(payload.length);
+        entry.putInt((int) crc.getValue());
+        entry.putLong(sequenceNr);
+        entry.put(payload);
+        if (terminate) {
+            entry.putInt(0);
+        }
+        entry.flip();
+        writeFully(entry, position);
+
+        addToIndex(sequenceNr, position);
+        position = end;
+    }
+
+    /**
+     * Discard all entries appended after specified position, as reported by {@link #getPosition()}.
+     *
+     * @param newPosition position to truncate to
+     * @throws IOException if the end of entries cannot be marked
+     */
+    void truncate(final int newPosition) throws IOException {
+        final int index = Arrays.binarySearch(offsets, 0, entryCount, newPosition);
+        Preconditions.checkArgument(index >= 0 || newPosition == position, "Invalid position %s", newPosition);
+
+        if (index >= 0) {
+            entryCount = index;
+        }
+        position = newPosition;
+
+        if (capacity - newPosition >= Integer.BYTES) {
+            writeFully(ByteBuffer.allocate(Integer.BYTES), newPosition);
+        }
+    }
+
+    /**
+     * Read entries with sequence numbers in specified range, in the order in which they were appended.
+     *
+     * @param fromSequenceNr lowest sequence number to read, inclusive
+     * @param toSequenceNr highest sequence number to read, inclusive
+     * @param consumer consumer of entries
+     * @throws IOException if an entry is corrupted or the consumer fails
+     */
+    void readEntries(final long fromSequenceNr, final long toSequenceNr, final EntryConsumer consumer)
+            throws IOException {
+        final int found = Arrays.binarySearch(sequenceNrs, 0, entryCount, fromSequenceNr);
+        final ByteBuffer header = ByteBuffer.allocate(ENTRY_HEADER_SIZE);
+
+        int index = found >= 0 ? found : -found - 1;
+        while (index < entryCount && sequenceNrs[index] <= toSequenceNr) {
+            final int offset = offsets[index];
+            final int end = index + 1 < entryCount ? offsets[index + 1] : position;
+
+            header.clear();
+            readFully(header, offset);
+            final byte[] payload = header.getInt(0) == end - offset - ENTRY_HEADER_SIZE
+                    ? readPayload(header, offset) : null;
+            if (payload == null) {
+                throw new IOException("Segment " + file + " has a corrupted entry at offset " + offset);
+            }
+
+            if (!consumer.accept(sequenceNrs[index], payload)) {
+                break;
+            }
+            index++;
+        }
+    }
+
+    /**
+     * Flush appended entries to the storage device.
+     *
+     * @throws IOException if the entries cannot be flushed
+     */
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * Close the underlying file. The segment must not be used afterwards.
+     */
+    void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            SegmentedJournal.LOG.warn("Failed to close segment {}", file, e);
+        }
+    }
+
+    /**
+     * Close and delete the underlying file. The segment must not be used afterwards.
+     */
+    void delete() {
+        close();
+        if (!file.delete() && file.exists()) {
+            SegmentedJournal.LOG.warn("Failed to delete segment {}", file);
+        }
+    }
+
+    private void scan(final boolean truncateCorrupted) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(ENTRY_HEADER_SIZE);
+        int offset = 0;
+        while (capacity - offset >= ENTRY_HEADER_SIZE) {
+            header.clear();
+            readFully(header, offset);
+
+            final int size = header.getInt(0);
+            if (size <= 0 || capacity - offset - ENTRY_HEADER_SIZE < size) {
+                break;
+            }
+
+            if (readPayload(header, offset) == null) {
+                if (!truncateCorrupted) {
+                    throw new IOException("Segment " + file + " has a corrupted entry at offset " + offset);
+                }
+
+                SegmentedJournal.LOG.warn("Segment {} has a corrupted entry at offset {}, ignoring it and any entries "
+                        + "following it", file, offset);
+                break;
+            }
+
+            addToIndex(header.getLong(2 * Integer.BYTES), offset);
+            offset += ENTRY_HEADER_SIZE + size;
+        }
+
+        position = offset;
+    }
+
+    // Read the payload of the entry with specified header, returning null if its checksum does not match
+    private byte[] readPayload(final ByteBuffer header, final int offset) throws IOException {
+        final byte[] payload = new byte[header.getInt(0)];
+        readFully(ByteBuffer.wrap(payload), offset + ENTRY_HEADER_SIZE);
+
+        final CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue() == header.getInt(Integer.BYTES) ? payload : null;
+    }
+
+    private void addToIndex(final long sequenceNr, final int offset) {
+        if (entryCount == sequenceNrs.length) {
+            sequenceNrs = Arrays.copyOf(sequenceNrs, entryCount * 2);
+            offsets = Arrays.copyOf(offsets, entryCount * 2);
+        }
+
+        sequenceNrs[entryCount] = sequenceNr;
+        offsets[entryCount] = offset;
+        entryCount++;
+    }
+
+    private void readFully(final ByteBuffer buf, final long offset) throws IOException {
+        while (buf.hasRemaining()) {
+            if (channel.read(buf, offset + buf.position()) < 0) {
+                throw new EOFException("Segment " + file + " ends unexpectedly at offset " + (offset + buf.position()));
+            }
+        }
+    }
+
+    private void writeFully(final ByteBuffer buf, final long offset) throws IOException {
+        while (buf.hasRemaining()) {
+            channel.write(buf, offset + buf.position());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JournalSegment [file=" + file + ", firstSequenceNr=" + firstSequenceNr + ", lastSequenceNr="
+                + getLastSequenceNr() + ", position=" + position + "]";
+    }
+}
@@ -26,6 +26,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
@@ -43,6 +44,7 @@ import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.io.StreamCompression;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import scala.concurrent.ExecutionContext;
@@ -52,7 +54,9 @@ import scala.concurrent.Future;
  * Akka SnapshotStore implementation backed by the local file system. This class was patterned after akka's
  * LocalSnapshotStore class and exists because akka's version serializes to a byte[] before persisting
  * to the file which will fail if the data reaches or exceeds Integer.MAX_VALUE in size. This class avoids that issue
- * by serializing the data directly to the file.
+ * by serializing the data directly to the file. Snapshot files may optionally be compressed, which is controlled by
+ * the "use-compression" setting. Both compressed and uncompressed snapshot files are loaded regardless of that
+ * setting.
  *
  * @author Thomas Pantelis
  */
@@ -64,6 +68,7 @@ public class LocalSnapshotStore extends SnapshotStore {
     private final ExecutionContext executionContext;
     private final int maxLoadAttempts;
     private final File snapshotDir;
+    private final boolean useCompression;
 
     public LocalSnapshotStore(final Config config) {
         this.executionContext = context().system().dispatchers().lookup(config.getString("stream-dispatcher"));
@@ -72,7 +77,10 @@ public class LocalSnapshotStore extends SnapshotStore {
         int localMaxLoadAttempts = config.getInt("max-load-attempts");
         maxLoadAttempts = localMaxLoadAttempts > 0 ? localMaxLoadAttempts : 1;
 
-        LOG.debug("LocalSnapshotStore ctor: snapshotDir: {}, maxLoadAttempts: {}", snapshotDir, maxLoadAttempts);
+        useCompression = config.hasPath("use-compression") && config.getBoolean("use-compression");
+
+        LOG.debug("LocalSnapshotStore ctor: snapshotDir: {}, maxLoadAttempts: {}, useCompression: {}", snapshotDir,
+                maxLoadAttempts, useCompression);
     }
 
     @Override
@@ -133,7 +141,8 @@ public class LocalSnapshotStore extends SnapshotStore {
     }
 
     private Object deserialize(final File file) throws IOException {
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(file))) {
+        try (ObjectInputStream in = new ObjectInputStream(StreamCompression.decompressIfNeeded(
+                new FileInputStream(file)))) {
             return in.readObject();
         } catch (ClassNotFoundException e) {
             throw new IOException("Error loading snapshot file " + file, e);
@@ -171,7 +180,9 @@ public class LocalSnapshotStore extends SnapshotStore {
 
         LOG.debug("Saving to temp file: {}", temp);
 
-        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(temp))) {
+        final OutputStream fileStream = new FileOutputStream(temp);
+        try (ObjectOutputStream out = new ObjectOutputStream(useCompression
+                ? StreamCompression.compress(fileStream) : fileStream)) {
             out.writeObject(snapshot);
         } catch (IOException e) {
             LOG.error("Error saving snapshot file {}. Deleting file..", temp, e);
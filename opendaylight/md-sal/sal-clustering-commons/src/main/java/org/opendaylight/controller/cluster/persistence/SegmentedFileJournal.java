@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import akka.dispatch.Futures;
+import akka.persistence.AtomicWrite;
+import akka.persistence.PersistentRepr;
+import akka.persistence.journal.japi.AsyncWriteJournal;
+import akka.serialization.Serialization;
+import akka.serialization.SerializationExtension;
+import com.typesafe.config.Config;
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.concurrent.Future;
+
+/**
+ * Akka AsyncWriteJournal implementation backed by append-only segment files on the local file system.
+ * Each persistence ID has its own directory holding its segments. Unlike LevelDB, there is no background compaction:
+ * deleting messages simply removes the segments which hold only deleted messages.
+ *
+ * <p>
+ * Each batch of writes handed to the journal is flushed to the storage device once, after all of its messages have
+ * been appended, unless disabled via the "sync-on-write" setting. Messages are serialized using akka serialization,
+ * hence this journal can be used as a drop-in replacement of the LevelDB journal. It does not migrate existing
+ * LevelDB journals, though.
+ */
+public class SegmentedFileJournal extends AsyncWriteJournal {
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentedFileJournal.class);
+
+    private final Map<String, SegmentedJournal> journals = new ConcurrentHashMap<>();
+    private final Serialization serialization;
+    private final File rootDirectory;
+    private final int maxSegmentSize;
+    private final boolean syncOnWrite;
+
+    public SegmentedFileJournal(final Config config) {
+        rootDirectory = new File(config.getString("root-directory"));
+        maxSegmentSize = (int) config.getBytes("max-segment-size").longValue();
+        syncOnWrite = !config.hasPath("sync-on-write") || config.getBoolean("sync-on-write");
+        serialization = SerializationExtension.get(context().system());
+
+        LOG.debug("SegmentedFileJournal ctor: rootDirectory: {}, maxSegmentSize: {}, syncOnWrite: {}", rootDirectory,
+            maxSegmentSize, syncOnWrite);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public Future<Iterable<Optional<Exception>>> doAsyncWriteMessages(final Iterable<AtomicWrite> messages) {
+        final List<Optional<Exception>> results = new ArrayList<>();
+        final Set<SegmentedJournal> written = new HashSet<>();
+
+        try {
+            for (AtomicWrite write : messages) {
+                // Copy to array - workaround for eclipse "ambiguous method" errors for toIterator, toIterable etc
+                final PersistentRepr[] reprs = new PersistentRepr[write.payload().size()];
+                write.payload().copyToArray(reprs);
+
+                // Serialize all messages first, so that a failure rejects the write as a whole
+                final long[] sequenceNrs = new long[reprs.length];
+                final byte[][] serialized = new byte[reprs.length][];
+                try {
+                    for (int i = 0; i < reprs.length; ++i) {
+                        sequenceNrs[i] = reprs[i].sequenceNr();
+                        serialized[i] = serialization.serialize(reprs[i]).get();
+                    }
+                } catch (Exception e) {
+                    LOG.debug("Rejecting write of {}", write.persistenceId(), e);
+                    results.add(Optional.of(e));
+                    continue;
+                }
+
+                // A failure part way through leaves none of the write's messages in the journal
+                final SegmentedJournal journal = journalFor(write.persistenceId());
+                journal.append(sequenceNrs, serialized);
+
+                written.add(journal);
+                results.add(Optional.empty());
+            }
+
+            if (syncOnWrite) {
+                for (SegmentedJournal journal : written) {
+                    journal.force();
+                }
+            }
+        } catch (IOException e) {
+            LOG.error("Error writing to journal", e);
+            return Futures.failed(e);
+        }
+
+        return Futures.successful(results);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public Future<Void> doAsyncReplayMessages(final String persistenceId, final long fromSequenceNr,
+            final long toSequenceNr, final long max, final Consumer<PersistentRepr> replayCallback) {
+        LOG.debug("doAsyncReplayMessages for {}: fromSequenceNr: {}, toSequenceNr: {}, max: {}", persistenceId,
+            fromSequenceNr, toSequenceNr, max);
+
+        try {
+            final SegmentedJournal journal = existingJournalFor(persistenceId);
+            if (journal != null) {
+                journal.read(fromSequenceNr, toSequenceNr, max, (sequenceNr, payload) -> {
+                    replayCallback.accept(serialization.deserialize(payload, PersistentRepr.class).get());
+                    return true;
+                });
+            }
+        } catch (Exception e) {
+            LOG.error("Error replaying journal of {}", persistenceId, e);
+            return Futures.failed(e);
+        }
+
+        return Futures.successful(null);
+    }
+
+    @Override
+    public Future<Long> doAsyncReadHighestSequenceNr(final String persistenceId, final long fromSequenceNr) {
+        LOG.debug("doAsyncReadHighestSequenceNr for {}: fromSequenceNr: {}", persistenceId, fromSequenceNr);
+
+        try {
+            final SegmentedJournal journal = existingJournalFor(persistenceId);
+            return Futures.successful(journal != null ? journal.getLastSequenceNr() : 0L);
+        } catch (IOException e) {
+            LOG.error("Error opening journal of {}", persistenceId, e);
+            return Futures.failed(e);
+        }
+    }
+
+    @Override
+    public Future<Void> doAsyncDeleteMessagesTo(final String persistenceId, final long toSequenceNr) {
+        LOG.debug("doAsyncDeleteMessagesTo for {}: toSequenceNr: {}", persistenceId, toSequenceNr);
+
+        try {
+            final SegmentedJournal journal = existingJournalFor(persistenceId);
+            if (journal != null) {
+                journal.delete(toSequenceNr);
+            }
+        } catch (IOException e) {
+            LOG.error("Error deleting messages of {}", persistenceId, e);
+            return Futures.failed(e);
+        }
+
+        return Futures.successful(null);
+    }
+
+    private SegmentedJournal journalFor(final String persistenceId) throws IOException {
+        SegmentedJournal journal = journals.get(persistenceId);
+        if (journal == null) {
+            journal = openJournal(persistenceId);
+        }
+        return journal;
+    }
+
+    private SegmentedJournal existingJournalFor(final String persistenceId) throws IOException {
+        final SegmentedJournal journal = journals.get(persistenceId);
+        if (journal != null || !journalDirectory(persistenceId).isDirectory()) {
+            return journal;
+        }
+        return openJournal(persistenceId);
+    }
+
+    private synchronized SegmentedJournal openJournal(final String persistenceId) throws IOException {
+        SegmentedJournal journal = journals.get(persistenceId);
+        if (journal == null) {
+            journal = SegmentedJournal.open(journalDirectory(persistenceId), maxSegmentSize);
+            journals.put(persistenceId, journal);
+        }
+        return journal;
+    }
+
+    private File journalDirectory(final String persistenceId) {
+        try {
+            return new File(rootDirectory, URLEncoder.encode(persistenceId, StandardCharsets.UTF_8.name()));
+        } catch (UnsupportedEncodingException e) {
+            // Shouldn't happen
+            throw new IllegalStateException(e);
+        }
+    }
+}
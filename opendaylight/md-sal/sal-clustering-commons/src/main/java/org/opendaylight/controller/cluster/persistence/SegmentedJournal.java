@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import com.google.common.base.Preconditions;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The journal of a single persistence ID, stored as a sequence of {@link JournalSegment}s in a dedicated directory.
+ * Each segment file is named after the sequence number of the first entry stored in it. Entries are only ever
+ * appended to the last segment, a new segment being started when the last one is full. Deleting entries records
+ * the highest deleted sequence number in a marker file, and removes segments which contain only deleted entries.
+ * Earlier segments are opened lazily when they are first read. The most recently read ones are kept open, so that
+ * repeated replays do not need to scan them again, up to a limit beyond which the least recently read one is closed.
+ *
+ * <p>
+ * Instances are thread-safe, as akka may replay messages outside of the journal actor.
+ */
+final class SegmentedJournal {
+    static final Logger LOG = LoggerFactory.getLogger(SegmentedJournal.class);
+
+    private static final Pattern SEGMENT_FILE_NAME = Pattern.compile("(\\d+)\\.segment");
+    private static final String DELETED_TO_FILE_NAME = "deleted-to";
+    private static final int MAX_OPEN_SEGMENTS = 8;
+
+    private final NavigableMap<Long, File> segmentFiles = new TreeMap<>();
+
+    // Segments preceding the last one, in access order, the least recently read one being closed when over the limit
+    private final Map<Long, JournalSegment> openSegments = new LinkedHashMap<Long, JournalSegment>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Entry<Long, JournalSegment> eldest) {
+            if (size() <= MAX_OPEN_SEGMENTS) {
+                return false;
+            }
+
+            LOG.debug("Closing least recently read segment {}", eldest.getValue());
+            eldest.getValue().close();
+            return true;
+        }
+    };
+
+    private final File directory;
+    private final int maxSegmentSize;
+
+    // The segment being appended to, null if a new segment needs to be started on next append
+    private JournalSegment lastSegment;
+    private long lastSequenceNr;
+    private long deletedToSequenceNr;
+
+    private SegmentedJournal(final File directory, final int maxSegmentSize) {
+        this.directory = Preconditions.checkNotNull(directory);
+        this.maxSegmentSize = maxSegmentSize;
+    }
+
+    /**
+     * Open the journal stored in specified directory, creating the directory if it does not exist.
+     *
+     * @param directory directory holding the journal
+     * @param maxSegmentSize size of newly-created segments
+     * @return An open journal
+     * @throws IOException if the journal cannot be opened
+     */
+    static SegmentedJournal open(final File directory, final int maxSegmentSize) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+            throw new IOException("Failed to create journal directory " + directory);
+        }
+
+        final SegmentedJournal journal = new SegmentedJournal(directory, maxSegmentSize);
+        journal.load();
+        return journal;
+    }
+
+    private void load() throws IOException {
+        final File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                final Matcher matcher = SEGMENT_FILE_NAME.matcher(file.getName());
+                if (matcher.matches()) {
+                    segmentFiles.put(Long.valueOf(matcher.group(1)), file);
+                }
+            }
+        }
+
+        final File deletedToFile = new File(directory, DELETED_TO_FILE_NAME);
+        if (deletedToFile.exists()) {
+            try (DataInputStream in = new DataInputStream(new FileInputStream(deletedToFile))) {
+                deletedToSequenceNr = in.readLong();
+            }
+        }
+
+        // Open the last non-empty segment for appending, removing any segments which never received an entry
+        while (!segmentFiles.isEmpty()) {
+            final Entry<Long, File> last = segmentFiles.lastEntry();
+            final JournalSegment segment = JournalSegment.open(last.getValue(), last.getKey(), true);
+            if (!segment.isEmpty()) {
+                lastSegment = segment;
+                lastSequenceNr = segment.getLastSequenceNr();
+                break;
+            }
+
+            LOG.debug("Removing empty segment {}", segment);
+            segment.delete();
+            segmentFiles.remove(last.getKey());
+        }
+
+        lastSequenceNr = Math.max(lastSequenceNr, deletedToSequenceNr);
+
+        LOG.debug("Opened journal {}: segments {}, lastSequenceNr {}, deletedToSequenceNr {}", directory,
+            segmentFiles.keySet(), lastSequenceNr, deletedToSequenceNr);
+    }
+
+    /**
+     * Append an entry. It is not guaranteed to be stored durably until {@link #force()} is invoked.
+     *
+     * @param sequenceNr entry sequence number, which needs to be higher than that of any previous entry
+     * @param payload entry payload
+     * @throws IOException if a new segment cannot be created
+     */
+    synchronized void append(final long sequenceNr, final byte[] payload) throws IOException {
+        Preconditions.checkArgument(sequenceNr > lastSequenceNr, "Sequence number %s does not follow %s", sequenceNr,
+            lastSequenceNr);
+
+        if (lastSegment == null || !lastSegment.hasSpaceFor(payload.length)) {
+            if (lastSegment != null) {
+                lastSegment.force();
+            }
+
+            // An oversized entry gets a dedicated segment
+            final int size = Math.max(maxSegmentSize, JournalSegment.ENTRY_HEADER_SIZE + payload.length);
+            final File file = new File(directory, String.format("%020d.segment", sequenceNr));
+            final JournalSegment segment = JournalSegment.create(file, sequenceNr, size);
+
+            // The previous segment is now only read from
+            if (lastSegment != null) {
+                openSegments.put(lastSegment.getFirstSequenceNr(), lastSegment);
+            }
+            lastSegment = segment;
+            segmentFiles.put(sequenceNr, file);
+
+            LOG.debug("Started new segment {}", lastSegment);
+        }
+
+        lastSegment.append(sequenceNr, payload);
+        lastSequenceNr = sequenceNr;
+    }
+
+    /**
+     * Append a group of entries atomically: if any of them cannot be appended, none of them are retained.
+     *
+     * @param sequenceNrs entry sequence numbers, which need to be increasing and higher than that of any previous
+     *                    entry
+     * @param payloads entry payloads
+     * @throws IOException if a new segment cannot be created
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    synchronized void append(final long[] sequenceNrs, final byte[][] payloads) throws IOException {
+        Preconditions.checkArgument(sequenceNrs.length == payloads.length, "Mismatched sequence numbers and payloads");
+
+        final JournalSegment prevSegment = lastSegment;
+        final int prevPosition = prevSegment != null ? prevSegment.getPosition() : 0;
+        final long prevLastSequenceNr = lastSequenceNr;
+
+        try {
+            for (int i = 0; i < sequenceNrs.length; ++i) {
+                append(sequenceNrs[i], payloads[i]);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.debug("Discarding partially-appended entries following {} in {}", prevLastSequenceNr, directory);
+
+            // Any segment started by this group holds only its entries
+            final Iterator<Entry<Long, File>> it = segmentFiles.tailMap(prevLastSequenceNr, false).entrySet()
+                    .iterator();
+            while (it.hasNext()) {
+                deleteSegment(it.next());
+                it.remove();
+            }
+
+            lastSegment = prevSegment;
+            if (prevSegment != null) {
+                // It may have been handed over to openSegments when the group started a new segment
+                openSegments.remove(prevSegment.getFirstSequenceNr());
+                try {
+                    prevSegment.truncate(prevPosition);
+                } catch (IOException truncateFailure) {
+                    e.addSuppressed(truncateFailure);
+                }
+            }
+            lastSequenceNr = prevLastSequenceNr;
+            throw e;
+        }
+    }
+
+    /**
+     * Flush appended entries to the storage device.
+     *
+     * @throws IOException if the entries cannot be flushed
+     */
+    synchronized void force() throws IOException {
+        if (lastSegment != null) {
+            lastSegment.force();
+        }
+    }
+
+    /**
+     * Read entries in specified range.
+     *
+     * @param fromSequenceNr lowest sequence number to read, inclusive
+     * @param toSequenceNr highest sequence number to read, inclusive
+     * @param max maximum number of entries to read
+     * @param consumer consumer of entries
+     * @throws IOException if a segment cannot be read or the consumer fails
+     */
+    synchronized void read(final long fromSequenceNr, final long toSequenceNr, final long max,
+            final JournalSegment.EntryConsumer consumer) throws IOException {
+        final long from = Math.max(fromSequenceNr, deletedToSequenceNr + 1);
+        if (max <= 0 || from > toSequenceNr) {
+            return;
+        }
+
+        final Long startKey = segmentFiles.floorKey(from);
+        final long[] remaining = { max };
+        for (Entry<Long, File> entry : segmentFiles.tailMap(startKey != null ? startKey : from, true).entrySet()) {
+            if (entry.getKey() > toSequenceNr) {
+                break;
+            }
+
+            final JournalSegment segment = segmentFor(entry);
+            segment.readEntries(from, toSequenceNr, (sequenceNr, payload) -> {
+                consumer.accept(sequenceNr, payload);
+                return --remaining[0] > 0;
+            });
+
+            if (remaining[0] <= 0) {
+                break;
+            }
+        }
+    }
+
+    private JournalSegment segmentFor(final Entry<Long, File> entry) throws IOException {
+        if (lastSegment != null && lastSegment.getFirstSequenceNr() == entry.getKey()) {
+            return lastSegment;
+        }
+
+        JournalSegment segment = openSegments.get(entry.getKey());
+        if (segment == null) {
+            // Only the last segment may end with an incomplete entry, which is dealt with when the journal is loaded
+            segment = JournalSegment.open(entry.getValue(), entry.getKey(), false);
+            openSegments.put(entry.getKey(), segment);
+        }
+        return segment;
+    }
+
+    /**
+     * Return the highest sequence number stored in this journal, including deleted entries.
+     *
+     * @return highest sequence number, or 0 if the journal has never held any entries
+     */
+    synchronized long getLastSequenceNr() {
+        return lastSequenceNr;
+    }
+
+    /**
+     * Delete entries up to and including specified sequence number. Segments holding only deleted entries are
+     * removed.
+     *
+     * @param toSequenceNr highest sequence number to delete
+     * @throws IOException if the deletion cannot be recorded
+     */
+    synchronized void delete(final long toSequenceNr) throws IOException {
+        final long newDeletedTo = Math.min(toSequenceNr, lastSequenceNr);
+        if (newDeletedTo <= deletedToSequenceNr) {
+            return;
+        }
+
+        writeDeletedTo(newDeletedTo);
+        deletedToSequenceNr = newDeletedTo;
+
+        // A segment can be removed if the next one starts at or below the first retained entry
+        final Iterator<Entry<Long, File>> it = segmentFiles.entrySet().iterator();
+        while (it.hasNext()) {
+            final Entry<Long, File> entry = it.next();
+            final Long next = segmentFiles.higherKey(entry.getKey());
+            final boolean removable;
+            if (next != null) {
+                removable = next - 1 <= deletedToSequenceNr;
+            } else {
+                removable = lastSegment == null || lastSegment.getLastSequenceNr() <= deletedToSequenceNr;
+            }
+
+            if (!removable) {
+                break;
+            }
+
+            LOG.debug("Removing segment {}", entry.getValue());
+            deleteSegment(entry);
+            if (next == null) {
+                lastSegment = null;
+            }
+            it.remove();
+        }
+    }
+
+    // Close the segment if it is open, and delete its file
+    private void deleteSegment(final Entry<Long, File> entry) {
+        JournalSegment segment = openSegments.remove(entry.getKey());
+        if (segment == null && lastSegment != null && lastSegment.getFirstSequenceNr() == entry.getKey()) {
+            segment = lastSegment;
+        }
+
+        if (segment != null) {
+            segment.delete();
+        } else if (!entry.getValue().delete() && entry.getValue().exists()) {
+            LOG.warn("Failed to delete segment {}", entry.getValue());
+        }
+    }
+
+    private void writeDeletedTo(final long sequenceNr) throws IOException {
+        final File actual = new File(directory, DELETED_TO_FILE_NAME);
+        final File temp = File.createTempFile(DELETED_TO_FILE_NAME, null, directory);
+        try (FileOutputStream fos = new FileOutputStream(temp); DataOutputStream out = new DataOutputStream(fos)) {
+            out.writeLong(sequenceNr);
+            out.flush();
+            fos.getFD().sync();
+        } catch (IOException e) {
+            if (!temp.delete()) {
+                LOG.error("Failed to successfully delete file {}", temp);
+            }
+            throw e;
+        }
+
+        Files.move(temp.toPath(), actual.toPath(), StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public String toString() {
+        return "SegmentedJournal [directory=" + directory + ", lastSequenceNr=" + lastSequenceNr
+                + ", deletedToSequenceNr=" + deletedToSequenceNr + "]";
+    }
+}
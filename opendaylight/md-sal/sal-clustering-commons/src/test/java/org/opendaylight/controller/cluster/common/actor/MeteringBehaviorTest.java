@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.common.actor;
+
+import static org.junit.Assert.assertEquals;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.actor.UntypedActor;
+import akka.testkit.JavaTestKit;
+import akka.testkit.TestActorRef;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.reporting.MetricsReporter;
+
+/**
+ * Unit tests for MeteringBehavior.
+ */
+public class MeteringBehaviorTest {
+    private static ActorSystem actorSystem;
+
+    @BeforeClass
+    public static void setUp() {
+        actorSystem = ActorSystem.create("test");
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        JavaTestKit.shutdownActorSystem(actorSystem);
+        actorSystem = null;
+    }
+
+    @Test
+    public void testTimersByMessageType() {
+        final TestActorRef<MeteredActor> actor = TestActorRef.create(actorSystem, Props.create(MeteredActor.class),
+            "metered-actor");
+
+        actor.tell("first", ActorRef.noSender());
+        actor.tell(Integer.valueOf(1), ActorRef.noSender());
+        actor.tell("second", ActorRef.noSender());
+
+        final String prefix = MetricRegistry.name(actor.path().parent().toStringWithoutAddress() + "/metered-actor",
+            "msg-rate");
+        final MetricRegistry registry = MetricsReporter.getInstance(MeteringBehavior.DOMAIN).getMetricsRegistry();
+        final Timer total = registry.getTimers().get(prefix);
+        final Timer strings = registry.getTimers().get(MetricRegistry.name(prefix, "String"));
+        final Timer integers = registry.getTimers().get(MetricRegistry.name(prefix, "Integer"));
+
+        assertEquals("Total count", 3, total.getCount());
+        assertEquals("String count", 2, strings.getCount());
+        assertEquals("Integer count", 1, integers.getCount());
+        assertEquals("Received count", 3, actor.underlyingActor().received);
+    }
+
+    public static class MeteredActor extends UntypedActor {
+        int received;
+
+        public MeteredActor() {
+            getContext().become(new MeteringBehavior(this));
+        }
+
+        @Override
+        public void onReceive(final Object message) {
+            received++;
+        }
+    }
+}
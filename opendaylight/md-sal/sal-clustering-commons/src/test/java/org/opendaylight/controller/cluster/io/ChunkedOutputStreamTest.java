@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import org.junit.Test;
+
+public class ChunkedOutputStreamTest {
+    private static final int LARGE_SIZE = ChunkedOutputStream.MAX_CHUNK_SIZE * 2 + 100;
+
+    @Test
+    public void testSmallStream() throws IOException {
+        final byte[] data = newData(100);
+        final ChunkedOutputStream cos = new ChunkedOutputStream(16);
+        cos.write(data[0]);
+        cos.write(data, 1, data.length - 1);
+        assertEquals("size", data.length, cos.size());
+
+        final ChunkedByteArray array = cos.toChunkedByteArray();
+        assertEquals("size", data.length, array.size());
+        assertEquals("chunks", 1, array.getChunks().size());
+        assertArrayEquals(data, ByteStreams.toByteArray(array.openStream()));
+    }
+
+    @Test
+    public void testLargeStream() throws IOException {
+        final byte[] data = newData(LARGE_SIZE);
+        final ChunkedOutputStream cos = new ChunkedOutputStream(256);
+        cos.write(data);
+
+        final ChunkedByteArray array = cos.toChunkedByteArray();
+        assertEquals("size", data.length, array.size());
+        assertEquals("chunks", 3, array.getChunks().size());
+        assertEquals("last chunk size", 100, array.getChunks().get(2).length);
+        assertArrayEquals(data, ByteStreams.toByteArray(array.openStream()));
+
+        final byte[] read = new byte[data.length];
+        array.openDataInput().readFully(read);
+        assertArrayEquals(data, read);
+    }
+
+    @Test
+    public void testEmptyStream() throws IOException {
+        final ChunkedByteArray array = new ChunkedOutputStream(0).toChunkedByteArray();
+        assertEquals("size", 0, array.size());
+        assertEquals("read", -1, array.openStream().read());
+    }
+
+    @Test
+    public void testCopyToAndReadFrom() throws IOException {
+        final byte[] data = newData(LARGE_SIZE);
+        final ChunkedOutputStream cos = new ChunkedOutputStream(256);
+        cos.write(data);
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bos)) {
+            cos.toChunkedByteArray().copyTo(out);
+        }
+        assertArrayEquals(data, bos.toByteArray());
+
+        final ChunkedByteArray read = ChunkedByteArray.readFrom(new DataInputStream(
+            new ByteArrayInputStream(bos.toByteArray())), data.length);
+        assertEquals("chunks", 3, read.getChunks().size());
+        assertArrayEquals(data, ByteStreams.toByteArray(read.openStream()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testWriteAfterConversion() {
+        final ChunkedOutputStream cos = new ChunkedOutputStream(16);
+        cos.toChunkedByteArray();
+        cos.write(1);
+    }
+
+    private static byte[] newData(final int size) {
+        final byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+}
@@ -146,6 +146,34 @@ public class FileBackedOutputStreamTest {
         LOG.info("testFileThresholdReachedWithWriteByte ending");
     }
 
+    @Test
+    public void testMemoryBudgetExhausted() throws IOException {
+        LOG.info("testMemoryBudgetExhausted starting");
+        final FileBackedMemoryBudget budget = new FileBackedMemoryBudget(15);
+        byte[] bytes = new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8};
+        try (FileBackedOutputStream fbos1 = new FileBackedOutputStream(10, TEMP_DIR, budget);
+                FileBackedOutputStream fbos2 = new FileBackedOutputStream(10, TEMP_DIR, budget)) {
+            fbos1.write(bytes);
+            assertNull("Found unexpected temp file", findTempFileName(TEMP_DIR));
+            assertEquals("Available", 5, budget.getAvailable());
+
+            // Below the threshold, but the budget cannot accommodate it
+            fbos2.write(bytes);
+            assertNotNull("Expected temp file created", findTempFileName(TEMP_DIR));
+            assertEquals("Available", 5, budget.getAvailable());
+
+            assertArrayEquals("Read bytes", bytes, fbos1.asByteSource().read());
+            assertArrayEquals("Read bytes", bytes, fbos2.asByteSource().read());
+
+            fbos1.cleanup();
+            fbos2.cleanup();
+            assertEquals("Available", 15, budget.getAvailable());
+            assertNull("Found unexpected temp file", findTempFileName(TEMP_DIR));
+        }
+
+        LOG.info("testMemoryBudgetExhausted ending");
+    }
+
     @Test(expected = IOException.class)
     public void testWriteAfterAsByteSource() throws IOException {
         LOG.info("testWriteAfterAsByteSource starting");
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class StreamCompressionTest {
+
+    @Test
+    public void testCompressedRoundTrip() throws IOException, ClassNotFoundException {
+        final List<String> data = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            data.add("(urn:opendaylight:inventory?revision=2013-08-19)node-" + i);
+        }
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(StreamCompression.compress(bos))) {
+            out.writeObject(data);
+        }
+
+        final ByteArrayOutputStream uncompressed = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(uncompressed)) {
+            out.writeObject(data);
+        }
+
+        assertTrue("Expected compressed size " + bos.size() + " < " + uncompressed.size(),
+            bos.size() < uncompressed.size());
+
+        try (ObjectInputStream in = new ObjectInputStream(StreamCompression.decompressIfNeeded(
+                new ByteArrayInputStream(bos.toByteArray())))) {
+            assertEquals(data, in.readObject());
+        }
+    }
+
+    @Test
+    public void testUncompressedPassThrough() throws IOException {
+        final byte[] data = new byte[] { (byte) 0xac, (byte) 0xed, 0, 5, 1, 2, 3 };
+        try (InputStream in = StreamCompression.decompressIfNeeded(new ByteArrayInputStream(data))) {
+            assertArrayEquals(data, ByteStreams.toByteArray(in));
+        }
+
+        final byte[] single = new byte[] { 0x1f };
+        try (InputStream in = StreamCompression.decompressIfNeeded(new ByteArrayInputStream(single))) {
+            assertArrayEquals(single, ByteStreams.toByteArray(in));
+        }
+
+        try (InputStream in = StreamCompression.decompressIfNeeded(new ByteArrayInputStream(new byte[0]))) {
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    public void testCompressedBytes() throws IOException {
+        final byte[] data = new byte[100000];
+        Arrays.fill(data, (byte) 7);
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (OutputStream out = StreamCompression.compress(bos)) {
+            out.write(data);
+        }
+
+        try (InputStream in = StreamCompression.decompressIfNeeded(new ByteArrayInputStream(bos.toByteArray()))) {
+            assertArrayEquals(data, ByteStreams.toByteArray(in));
+        }
+    }
+}
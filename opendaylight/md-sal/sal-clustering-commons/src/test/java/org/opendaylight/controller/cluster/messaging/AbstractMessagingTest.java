@@ -23,6 +23,7 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.cluster.io.FileBackedMemoryBudget;
 import org.opendaylight.controller.cluster.io.FileBackedOutputStream;
 import org.opendaylight.controller.cluster.io.FileBackedOutputStreamFactory;
 
@@ -59,6 +60,8 @@ public class AbstractMessagingTest {
         MockitoAnnotations.initMocks(this);
 
         doReturn(mockFiledBackedStream).when(mockFiledBackedStreamFactory).newInstance();
+        doReturn(mockFiledBackedStream).when(mockFiledBackedStreamFactory).newInstance(
+                any(FileBackedMemoryBudget.class));
         setupMockFiledBackedStream(mockFiledBackedStream);
         doReturn(mockByteSource).when(mockFiledBackedStream).asByteSource();
 
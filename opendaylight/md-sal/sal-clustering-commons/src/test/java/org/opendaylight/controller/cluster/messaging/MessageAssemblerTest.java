@@ -30,6 +30,7 @@ import org.apache.commons.lang3.SerializationUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
+import org.opendaylight.controller.cluster.io.FileBackedMemoryBudget;
 import org.opendaylight.controller.cluster.io.FileBackedOutputStream;
 import org.opendaylight.controller.cluster.messaging.MessageAssembler.Builder;
 
@@ -70,7 +71,8 @@ public class MessageAssemblerTest extends AbstractMessagingTest {
     public void testSingleMessageSlice() {
         try (MessageAssembler assembler = newMessageAssembler("testSingleMessageSlice")) {
             final FileBackedOutputStream fileBackStream = spy(new FileBackedOutputStream(100000000, null));
-            doReturn(fileBackStream).when(mockFiledBackedStreamFactory).newInstance();
+            doReturn(fileBackStream).when(mockFiledBackedStreamFactory).newInstance(
+                    any(FileBackedMemoryBudget.class));
 
             final MessageSliceIdentifier identifier = new MessageSliceIdentifier(IDENTIFIER, 1);
             final BytesMessage message = new BytesMessage(new byte[]{1, 2, 3});
@@ -32,6 +32,7 @@ import com.typesafe.config.ConfigFactory;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
@@ -43,6 +44,7 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.cluster.io.StreamCompression;
 import scala.Option;
 
 /**
@@ -185,6 +187,26 @@ public class LocalSnapshotStoreTest {
         assertEquals("SelectedSnapshot snapshot", "one", possibleSnapshot.get().snapshot());
     }
 
+    @Test
+    public void testDoLoadAsyncWithCompressedSnapshot() throws IOException {
+        String name = toSnapshotName(PERSISTENCE_ID, 1, 1000);
+        try (OutputStream out = StreamCompression.compress(new FileOutputStream(new File(SNAPSHOT_DIR, name)))) {
+            out.write(SerializationUtils.serialize("one"));
+        }
+
+        SnapshotMetadata metadata = new SnapshotMetadata(PERSISTENCE_ID, 1, 1000);
+
+        JavaTestKit probe = new JavaTestKit(system);
+        snapshotStore.tell(new LoadSnapshot(PERSISTENCE_ID,
+                SnapshotSelectionCriteria.latest(), Long.MAX_VALUE), probe.getRef());
+        LoadSnapshotResult result = probe.expectMsgClass(LoadSnapshotResult.class);
+        Option<SelectedSnapshot> possibleSnapshot = result.snapshot();
+
+        assertEquals("SelectedSnapshot present", TRUE, possibleSnapshot.nonEmpty());
+        assertEquals("SelectedSnapshot metadata", metadata, possibleSnapshot.get().metadata());
+        assertEquals("SelectedSnapshot snapshot", "one", possibleSnapshot.get().snapshot());
+    }
+
     private static void createSnapshotFile(final String persistenceId, final String payload, final int seqNr,
             final int timestamp) throws IOException {
         String name = toSnapshotName(persistenceId, seqNr, timestamp);
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for SegmentedJournal.
+ */
+public class SegmentedJournalTest {
+    private static final File JOURNAL_DIR = new File("target/segmented-journal-test");
+    private static final int SEGMENT_SIZE = 256;
+
+    @Before
+    public void setUp() {
+        FileUtils.deleteQuietly(JOURNAL_DIR);
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(JOURNAL_DIR);
+    }
+
+    @Test
+    public void testAppendAndReopen() throws IOException {
+        SegmentedJournal journal = SegmentedJournal.open(JOURNAL_DIR, SEGMENT_SIZE);
+        assertEquals(0, journal.getLastSequenceNr());
+
+        for (int i = 1; i <= 20; i++) {
+            journal.append(i, payload(i));
+        }
+        journal.force();
+
+        assertEquals(20, journal.getLastSequenceNr());
+        assertEquals(10, segmentCount());
+        assertEntries(journal, 1, 20, Long.MAX_VALUE, 1, 20);
+        assertEntries(journal, 5, 12, Long.MAX_VALUE, 5, 12);
+        assertEntries(journal, 5, 20, 3, 5, 7);
+
+        journal = SegmentedJournal.open(JOURNAL_DIR, SEGMENT_SIZE);
+        assertEquals(20, journal.getLastSequenceNr());
+        assertEntries(journal, 1, 20, Long.MAX_VALUE, 1, 20);
+
+        journal.append(21, payload(21));
+        assertEntries(journal, 19, 21, Long.MAX_VALUE, 19, 21);
+    }
+
+    @Test
+    public void testReadBeyondOpenSegmentLimit() throws IOException {
+        SegmentedJournal journal = SegmentedJournal.open(JOURNAL_DIR, SEGMENT_SIZE);
+        for (int i = 1; i <= 40; i++) {
+            journal.append(i, payload(i));
+        }
+        assertEquals(20, segmentCount());
+
+        // Reading all segments closes the least recently read ones, which need to be reopened on the next read
+        assertEntries(journal, 1, 40, Long.MAX_VALUE, 1, 40);
+        assertEntries(journal, 1, 40, Long.MAX_VALUE, 1, 40);
+
+        // Reads starting in the middle of a segment go directly to the requested entry
+        assertEntries(journal, 6, 9, Long.MAX_VALUE, 6, 9);
+        assertEntries(journal, 38, 40, 2, 38, 39);
+
+        journal.delete(31);
+        assertEquals(5, segmentCount());
+        assertEntries(journal, 1, 40, Long.MAX_VALUE, 32, 40);
+
+        journal.append(41, payload(41));
+        journal = SegmentedJournal.open(JOURNAL_DIR, SEGMENT_SIZE);
+        assertEntries(journal, 1, 41, Long.MAX_VALUE, 32, 41);
+    }
+
+    @Test
+    public void testOversizedEntry() throws IOException {
+        final SegmentedJournal journal = SegmentedJournal.open(JOURNAL_DIR, SEGMENT_SIZE);
+        journal.append(1, payload(1));
+
+        final byte[] large = new byte[SEGMENT_SIZE * 2];
+        large[large.length - 1] = 1;
+        journal.append(2, large);
+        journal.append(3, payload(3));
+
+        final List<byte[]> read = new ArrayList<>();
+        journal.read(1, 3, Long.MAX_VALUE, (sequenceNr, payload) -> read.add(payload));
+        assertEquals(3, read.size());
+        assertArrayEquals(large, read.get(1));
+    }
+
+    @Test
+    public void testDelete() throws IOException {
+        SegmentedJournal journal = SegmentedJournal.open(JOURNAL_DIR, SEGMENT_SIZE);
+        for (int i = 1; i <= 20; i++) {
+            journal.append(i, payload(i));
+        }
+
+        journal.delete(10);
+        assertEquals(5, segmentCount());
+        assertEntries(journal, 1, 20, Long.MAX_VALUE, 11, 20);
+
+        journal = SegmentedJournal.open(JOURNAL_DIR, SEGMENT_SIZE);
+        assertEntries(journal, 1, 20, Long.MAX_VALUE, 11, 20);
+
+        journal.delete(Long.MAX_VALUE);
+        assertEquals(0, segmentCount());
+        assertEquals(20, journal.getLastSequenceNr());
+        assertEntries(journal, 1, 20, Long.MAX_VALUE, 0, -1);
+
+        journal = SegmentedJournal.open(JOURNAL_DIR, SEGMENT_SIZE);
+        assertEquals(20, journal.getLastSequenceNr());
+
+        journal.append(21, payload(21));
+        assertEntries(journal, 1, 21, Long.MAX_VALUE, 21, 21);
+    }
+
+    @Test
+    public void testTruncatedEntry() throws IOException {
+        SegmentedJournal journal = SegmentedJournal.open(JOURNAL_DIR, SEGMENT_SIZE);
+        journal.append(1, payload(1));
+        journal.append(2, payload(2));
+        journal.force();
+
+        // Corrupt the last byte of the second entry's payload, as if a write did not complete
+        final File segment = JOURNAL_DIR.listFiles((dir, name) -> name.endsWith(".segment"))[0];
+        try (RandomAccessFile raf = new RandomAccessFile(segment, "rw")) {
+            final long offset = 2 * (JournalSegment.ENTRY_HEADER_SIZE + payload(1).length) - 1;
+            raf.seek(offset);
+            raf.write(raf.read() ^ 0xff);
+        }
+
+        journal = SegmentedJournal.open(JOURNAL_DIR, SEGMENT_SIZE);
+        assertEquals(1, journal.getLastSequenceNr());
+        assertEntries(journal, 1, 2, Long.MAX_VALUE, 1, 1);
+
+        journal.append(2, payload(2));
+        assertEntries(journal, 1, 2, Long.MAX_VALUE, 1, 2);
+    }
+
+    @Test
+    public void testCorruptedEntryInEarlierSegment() throws IOException {
+        SegmentedJournal journal = SegmentedJournal.open(JOURNAL_DIR, SEGMENT_SIZE);
+        for (int i = 1; i <= 4; i++) {
+            journal.append(i, payload(i));
+        }
+        journal.force();
+
+        // Corrupt the first entry of the first segment, which only the last segment may tolerate
+        final File segment = new File(JOURNAL_DIR, String.format("%020d.segment", 1));
+        try (RandomAccessFile raf = new RandomAccessFile(segment, "rw")) {
+            raf.seek(JournalSegment.ENTRY_HEADER_SIZE);
+            raf.write(raf.read() ^ 0xff);
+        }
+
+        journal = SegmentedJournal.open(JOURNAL_DIR, SEGMENT_SIZE);
+        assertEquals(4, journal.getLastSequenceNr());
+        try {
+            journal.read(1, 4, Long.MAX_VALUE, (sequenceNr, payload) -> true);
+            fail("Expected IOException");
+        } catch (IOException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void testFailedGroupAppendIsDiscarded() throws IOException {
+        SegmentedJournal journal = SegmentedJournal.open(JOURNAL_DIR, SEGMENT_SIZE);
+        journal.append(1, payload(1));
+
+        // The second entry of the group starts a new segment and the third one does not follow it
+        try {
+            journal.append(new long[] { 2, 3, 3 }, new byte[][] { payload(2), payload(3), payload(3) });
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+
+        assertEquals(1, journal.getLastSequenceNr());
+        assertEquals(1, segmentCount());
+        assertEntries(journal, 1, 3, Long.MAX_VALUE, 1, 1);
+
+        journal.append(new long[] { 2, 3 }, new byte[][] { payload(2), payload(3) });
+        assertEntries(journal, 1, 3, Long.MAX_VALUE, 1, 3);
+
+        journal = SegmentedJournal.open(JOURNAL_DIR, SEGMENT_SIZE);
+        assertEquals(3, journal.getLastSequenceNr());
+        assertEntries(journal, 1, 3, Long.MAX_VALUE, 1, 3);
+    }
+
+    private static void assertEntries(final SegmentedJournal journal, final long from, final long to, final long max,
+            final long expFirst, final long expLast) throws IOException {
+        final List<Long> read = new ArrayList<>();
+        journal.read(from, to, max, (sequenceNr, payload) -> {
+            assertArrayEquals(payload(sequenceNr), payload);
+            return read.add(sequenceNr);
+        });
+
+        final List<Long> expected = new ArrayList<>();
+        for (long i = expFirst; i <= expLast; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, read);
+    }
+
+    private static int segmentCount() {
+        final File[] files = JOURNAL_DIR.listFiles((dir, name) -> name.endsWith(".segment"));
+        return files == null ? 0 : files.length;
+    }
+
+    private static byte[] payload(final long sequenceNr) {
+        final byte[] ret = new byte[100];
+        for (int i = 0; i < ret.length; i++) {
+            ret[i] = (byte) (sequenceNr + i);
+        }
+        return ret;
+    }
+}
@@ -25,6 +25,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.opendaylight.controller.cluster.datastore.exceptions.NoShardLeaderException;
 import org.opendaylight.controller.cluster.datastore.exceptions.ShardLeaderNotRespondingException;
 import org.opendaylight.controller.md.sal.common.api.data.DataStoreUnavailableException;
@@ -42,7 +44,8 @@ import org.slf4j.LoggerFactory;
 /**
  * ConcurrentDOMDataBroker commits transactions concurrently. The 3
  * commit phases (canCommit, preCommit, and commit) are performed serially and non-blocking
- * (ie async) per transaction but multiple transaction commits can run concurrent.
+ * (ie async) per transaction but multiple transaction commits can run concurrent. Optionally
+ * the canCommit phase is started on all the datastores of a transaction at once.
  *
  * @author Thomas Pantelis
  */
@@ -54,6 +57,7 @@ public class ConcurrentDOMDataBroker extends AbstractDOMBroker {
     private static final String COMMIT = "COMMIT";
 
     private final DurationStatisticsTracker commitStatsTracker;
+    private final boolean parallelCanCommit;
 
     /**
      * This executor is used to execute Future listener callback Runnables async.
@@ -67,9 +71,16 @@ public class ConcurrentDOMDataBroker extends AbstractDOMBroker {
 
     public ConcurrentDOMDataBroker(final Map<LogicalDatastoreType, DOMStore> datastores,
             final Executor listenableFutureExecutor, final DurationStatisticsTracker commitStatsTracker) {
+        this(datastores, listenableFutureExecutor, commitStatsTracker, false);
+    }
+
+    public ConcurrentDOMDataBroker(final Map<LogicalDatastoreType, DOMStore> datastores,
+            final Executor listenableFutureExecutor, final DurationStatisticsTracker commitStatsTracker,
+            final boolean parallelCanCommit) {
         super(datastores);
         this.clientFutureCallbackExecutor = Preconditions.checkNotNull(listenableFutureExecutor);
         this.commitStatsTracker = Preconditions.checkNotNull(commitStatsTracker);
+        this.parallelCanCommit = parallelCanCommit;
     }
 
     public DurationStatisticsTracker getCommitStatsTracker() {
@@ -102,6 +113,11 @@ public class ConcurrentDOMDataBroker extends AbstractDOMBroker {
 
         final long startTime = System.nanoTime();
 
+        if (parallelCanCommit && cohorts.size() > 1) {
+            doParallelCanCommit(startTime, clientSubmitFuture, transaction, cohorts);
+            return;
+        }
+
         final Iterator<DOMStoreThreePhaseCommitCohort> cohortIterator = cohorts.iterator();
 
         // Not using Futures.allAsList here to avoid its internal overhead.
@@ -129,6 +145,39 @@ public class ConcurrentDOMDataBroker extends AbstractDOMBroker {
         Futures.addCallback(canCommitFuture, futureCallback, MoreExecutors.directExecutor());
     }
 
+    private void doParallelCanCommit(final long startTime, final AsyncNotifyingSettableFuture clientSubmitFuture,
+            final DOMDataWriteTransaction transaction,
+            final Collection<DOMStoreThreePhaseCommitCohort> cohorts) {
+
+        final AtomicInteger remaining = new AtomicInteger(cohorts.size());
+        final AtomicBoolean failed = new AtomicBoolean();
+
+        FutureCallback<Boolean> futureCallback = new FutureCallback<Boolean>() {
+            @Override
+            public void onSuccess(final Boolean result) {
+                if (result == null || !result) {
+                    onFailure(new TransactionCommitFailedException("Can Commit failed, no detailed cause available."));
+                } else if (remaining.decrementAndGet() == 0) {
+                    // All cohorts completed successfully - we can move on to the preCommit phase
+                    doPreCommit(startTime, clientSubmitFuture, transaction, cohorts);
+                }
+            }
+
+            @Override
+            public void onFailure(final Throwable failure) {
+                // Only the first failure aborts the transaction
+                if (failed.compareAndSet(false, true)) {
+                    handleException(clientSubmitFuture, transaction, cohorts, CAN_COMMIT, CAN_COMMIT_ERROR_MAPPER,
+                            failure);
+                }
+            }
+        };
+
+        for (DOMStoreThreePhaseCommitCohort cohort : cohorts) {
+            Futures.addCallback(cohort.canCommit(), futureCallback, MoreExecutors.directExecutor());
+        }
+    }
+
     private void doPreCommit(final long startTime, final AsyncNotifyingSettableFuture clientSubmitFuture,
             final DOMDataWriteTransaction transaction,
             final Collection<DOMStoreThreePhaseCommitCohort> cohorts) {
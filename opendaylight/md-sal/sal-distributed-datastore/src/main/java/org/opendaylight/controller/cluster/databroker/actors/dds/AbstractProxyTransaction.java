@@ -19,6 +19,7 @@ import com.google.common.util.concurrent.SettableFuture;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.Iterator;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -326,6 +327,12 @@ abstract class AbstractProxyTransaction implements Identifiable<TransactionIdent
         parent.sendRequest(request, callback);
     }
 
+    final CompletionStage<Void> sendRequestAsync(final TransactionRequest<?> request,
+            final Consumer<Response<?, ?>> callback) {
+        LOG.debug("Transaction proxy {} sending request {} callback {}", this, request, callback);
+        return parent.sendRequestAsync(request, callback);
+    }
+
     /**
      * Seal this transaction before it is either committed or aborted. This method should only be invoked from
      * application thread.
@@ -493,28 +500,33 @@ abstract class AbstractProxyTransaction implements Identifiable<TransactionIdent
         // Precludes startReconnect() from interfering with the fast path
         synchronized (this) {
             if (STATE_UPDATER.compareAndSet(this, SEALED, FLUSHED)) {
-                final SettableFuture<Boolean> ret = SettableFuture.create();
-                sendRequest(Verify.verifyNotNull(commitRequest(false)), t -> {
-                    if (t instanceof TransactionCommitSuccess) {
-                        ret.set(Boolean.TRUE);
-                    } else if (t instanceof RequestFailure) {
-                        final Throwable cause = ((RequestFailure<?, ?>) t).getCause().unwrap();
-                        if (cause instanceof ClosedTransactionException) {
-                            // This is okay, as it indicates the transaction has been completed. It can happen
-                            // when we lose connectivity with the backend after it has received the request.
-                            ret.set(Boolean.TRUE);
+                final SettableFuture<Boolean> result = SettableFuture.create();
+                final CompletionStage<Void> admitted = sendRequestAsync(Verify.verifyNotNull(commitRequest(false)),
+                    t -> {
+                        if (t instanceof TransactionCommitSuccess) {
+                            result.set(Boolean.TRUE);
+                        } else if (t instanceof RequestFailure) {
+                            final Throwable cause = ((RequestFailure<?, ?>) t).getCause().unwrap();
+                            if (cause instanceof ClosedTransactionException) {
+                                // This is okay, as it indicates the transaction has been completed. It can happen
+                                // when we lose connectivity with the backend after it has received the request.
+                                result.set(Boolean.TRUE);
+                            } else {
+                                result.setException(cause);
+                            }
                         } else {
-                            ret.setException(cause);
+                            result.setException(unhandledResponseException(t));
                         }
-                    } else {
-                        ret.setException(unhandledResponseException(t));
-                    }
 
-                    // This is a terminal request, hence we do not need to record it
-                    LOG.debug("Transaction {} directCommit completed", this);
-                    enqueuePurge();
-                });
+                        // This is a terminal request, hence we do not need to record it
+                        LOG.debug("Transaction {} directCommit completed", this);
+                        enqueuePurge();
+                    });
 
+                // Do not block the caller while the connection is congested, but do not report completion until
+                // it is ready to accept further requests, so that callers chaining on the result are throttled.
+                final SettableFuture<Boolean> ret = SettableFuture.create();
+                admitted.whenComplete((ignored, failure) -> ret.setFuture(result));
                 return ret;
             }
         }
@@ -163,6 +163,6 @@ abstract class AbstractShardBackendResolver extends BackendInfoResolver<ShardBac
         final ConnectClientSuccess success = (ConnectClientSuccess) response;
         future.complete(new ShardBackendInfo(success.getBackend(), nextSessionId.getAndIncrement(),
             success.getVersion(), shardName, UnsignedLong.fromLongBits(cookie), success.getDataTree(),
-            success.getMaxMessages()));
+            success.getLeaderLease(), success.getMaxMessages()));
     }
 }
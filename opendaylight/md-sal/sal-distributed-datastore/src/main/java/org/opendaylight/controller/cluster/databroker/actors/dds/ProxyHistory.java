@@ -16,9 +16,11 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import javax.annotation.concurrent.GuardedBy;
 import org.opendaylight.controller.cluster.access.client.AbstractClientConnection;
@@ -49,16 +51,34 @@ import org.slf4j.LoggerFactory;
 abstract class ProxyHistory implements Identifiable<LocalHistoryIdentifier> {
     private abstract static class AbstractLocal extends ProxyHistory {
         private final DataTree dataTree;
+        private final BooleanSupplier leaderLease;
 
         AbstractLocal(final AbstractClientHistory parent, final AbstractClientConnection<ShardBackendInfo> connection,
-            final LocalHistoryIdentifier identifier, final DataTree dataTree) {
+            final LocalHistoryIdentifier identifier, final DataTree dataTree, final BooleanSupplier leaderLease) {
             super(parent, connection, identifier);
             this.dataTree = Preconditions.checkNotNull(dataTree);
+            this.leaderLease = Preconditions.checkNotNull(leaderLease);
         }
 
         final DataTreeSnapshot takeSnapshot() {
             return dataTree.takeSnapshot();
         }
+
+        /**
+         * Check whether a fresh snapshot of the local data tree is guaranteed to reflect all committed data. If the
+         * backend does not hold its leader lease, reads need to go through the backend actor instead.
+         *
+         * @param txId transaction identifier, used for logging
+         * @return true if a local snapshot can be used
+         */
+        final boolean canReadLocally(final TransactionIdentifier txId) {
+            if (leaderLease.getAsBoolean()) {
+                return true;
+            }
+
+            LOG.debug("Proxy {} does not hold a leader lease, routing read-only transaction {} to backend", this, txId);
+            return false;
+        }
     }
 
     private abstract static class AbstractRemote extends ProxyHistory {
@@ -79,8 +99,8 @@ abstract class ProxyHistory implements Identifiable<LocalHistoryIdentifier> {
         private volatile LocalReadWriteProxyTransaction lastSealed;
 
         Local(final AbstractClientHistory parent, final AbstractClientConnection<ShardBackendInfo> connection,
-            final LocalHistoryIdentifier identifier, final DataTree dataTree) {
-            super(parent, connection, identifier, dataTree);
+            final LocalHistoryIdentifier identifier, final DataTree dataTree, final BooleanSupplier leaderLease) {
+            super(parent, connection, identifier, dataTree, leaderLease);
         }
 
         @Override
@@ -99,6 +119,8 @@ abstract class ProxyHistory implements Identifiable<LocalHistoryIdentifier> {
             final DataTreeSnapshot baseSnapshot;
             if (localSealed != null) {
                 baseSnapshot = localSealed.getSnapshot();
+            } else if (snapshotOnly && !canReadLocally(txId)) {
+                return new RemoteProxyTransaction(this, txId, true, true, false);
             } else {
                 baseSnapshot = takeSnapshot();
             }
@@ -143,13 +165,17 @@ abstract class ProxyHistory implements Identifiable<LocalHistoryIdentifier> {
 
     private static final class LocalSingle extends AbstractLocal {
         LocalSingle(final AbstractClientHistory parent, final AbstractClientConnection<ShardBackendInfo> connection,
-            final LocalHistoryIdentifier identifier, final DataTree dataTree) {
-            super(parent, connection, identifier, dataTree);
+            final LocalHistoryIdentifier identifier, final DataTree dataTree, final BooleanSupplier leaderLease) {
+            super(parent, connection, identifier, dataTree, leaderLease);
         }
 
         @Override
         AbstractProxyTransaction doCreateTransactionProxy(final AbstractClientConnection<ShardBackendInfo> connection,
                 final TransactionIdentifier txId, final boolean snapshotOnly, final boolean isDone) {
+            if (snapshotOnly && !isDone && !canReadLocally(txId)) {
+                return new RemoteProxyTransaction(this, txId, true, false, false);
+            }
+
             final DataTreeSnapshot snapshot = takeSnapshot();
             return snapshotOnly ? new LocalReadOnlyProxyTransaction(this, txId, snapshot) :
                 new LocalReadWriteProxyTransaction(this, txId, snapshot);
@@ -334,16 +360,20 @@ abstract class ProxyHistory implements Identifiable<LocalHistoryIdentifier> {
 
     static ProxyHistory createClient(final AbstractClientHistory parent,
             final AbstractClientConnection<ShardBackendInfo> connection, final LocalHistoryIdentifier identifier) {
-        final Optional<DataTree> dataTree = connection.getBackendInfo().flatMap(ShardBackendInfo::getDataTree);
-        return dataTree.isPresent() ? new Local(parent, connection, identifier, dataTree.get())
+        final Optional<ShardBackendInfo> backend = connection.getBackendInfo();
+        final Optional<DataTree> dataTree = backend.flatMap(ShardBackendInfo::getDataTree);
+        return dataTree.isPresent()
+             ? new Local(parent, connection, identifier, dataTree.get(), backend.get().getLeaderLease())
              : new Remote(parent, connection, identifier);
     }
 
     static ProxyHistory createSingle(final AbstractClientHistory parent,
             final AbstractClientConnection<ShardBackendInfo> connection,
             final LocalHistoryIdentifier identifier) {
-        final Optional<DataTree> dataTree = connection.getBackendInfo().flatMap(ShardBackendInfo::getDataTree);
-        return dataTree.isPresent() ? new LocalSingle(parent, connection, identifier, dataTree.get())
+        final Optional<ShardBackendInfo> backend = connection.getBackendInfo();
+        final Optional<DataTree> dataTree = backend.flatMap(ShardBackendInfo::getDataTree);
+        return dataTree.isPresent()
+             ? new LocalSingle(parent, connection, identifier, dataTree.get(), backend.get().getLeaderLease())
              : new RemoteSingle(parent, connection, identifier);
     }
 
@@ -448,6 +478,11 @@ abstract class ProxyHistory implements Identifiable<LocalHistoryIdentifier> {
         connection.sendRequest(request, callback);
     }
 
+    final CompletionStage<Void> sendRequestAsync(final TransactionRequest<?> request,
+            final Consumer<Response<?, ?>> callback) {
+        return connection.sendRequestAsync(request, callback);
+    }
+
     @GuardedBy("lock")
     abstract AbstractProxyTransaction doCreateTransactionProxy(AbstractClientConnection<ShardBackendInfo> connection,
             TransactionIdentifier txId, boolean snapshotOnly, boolean isDone);
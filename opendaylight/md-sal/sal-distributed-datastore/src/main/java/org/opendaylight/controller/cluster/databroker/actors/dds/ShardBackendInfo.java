@@ -12,6 +12,7 @@ import com.google.common.base.MoreObjects.ToStringHelper;
 import com.google.common.base.Preconditions;
 import com.google.common.primitives.UnsignedLong;
 import java.util.Optional;
+import java.util.function.BooleanSupplier;
 import javax.annotation.concurrent.ThreadSafe;
 import org.opendaylight.controller.cluster.access.ABIVersion;
 import org.opendaylight.controller.cluster.access.client.BackendInfo;
@@ -27,15 +28,23 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 @ThreadSafe
 final class ShardBackendInfo extends BackendInfo {
     private final Optional<DataTree> dataTree;
+    private final BooleanSupplier leaderLease;
     private final UnsignedLong cookie;
     private final String shardName;
 
     ShardBackendInfo(final ActorRef actor, final long sessionId, final ABIVersion version, final String shardName,
-        final UnsignedLong cookie, final Optional<DataTree> dataTree, final int maxMessages) {
+        final UnsignedLong cookie, final Optional<DataTree> dataTree, final BooleanSupplier leaderLease,
+        final int maxMessages) {
         super(actor, sessionId, version, maxMessages);
         this.shardName = Preconditions.checkNotNull(shardName);
         this.cookie = Preconditions.checkNotNull(cookie);
         this.dataTree = Preconditions.checkNotNull(dataTree);
+        this.leaderLease = Preconditions.checkNotNull(leaderLease);
+    }
+
+    ShardBackendInfo(final ActorRef actor, final long sessionId, final ABIVersion version, final String shardName,
+        final UnsignedLong cookie, final Optional<DataTree> dataTree, final int maxMessages) {
+        this(actor, sessionId, version, shardName, cookie, dataTree, () -> true, maxMessages);
     }
 
     UnsignedLong getCookie() {
@@ -46,6 +55,16 @@ final class ShardBackendInfo extends BackendInfo {
         return dataTree;
     }
 
+    /**
+     * Return the supplier indicating whether reads from {@link #getDataTree()} observe all data committed by the
+     * backend.
+     *
+     * @return leader lease supplier
+     */
+    BooleanSupplier getLeaderLease() {
+        return leaderLease;
+    }
+
     String getShardName() {
         return shardName;
     }
@@ -35,6 +35,7 @@ import org.opendaylight.controller.md.sal.common.api.data.AsyncDataBroker;
 import org.opendaylight.controller.md.sal.common.api.data.AsyncDataChangeListener;
 import org.opendaylight.controller.md.sal.dom.api.ClusteredDOMDataTreeChangeListener;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreTreeChangePublisher;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeCommitCohort;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeCommitCohortRegistration;
@@ -72,6 +73,7 @@ public abstract class AbstractDataStore implements DistributedDataStoreInterface
 
     private final ClientIdentifier identifier;
     private final DataStoreClient client;
+    private final LocalReplicaCache replicaCache;
 
     @SuppressWarnings("checkstyle:IllegalCatch")
     protected AbstractDataStore(final ActorSystem actorSystem, final ClusterWrapper cluster,
@@ -117,6 +119,7 @@ public abstract class AbstractDataStore implements DistributedDataStoreInterface
 
         identifier = client.getIdentifier();
         LOG.debug("Distributed data store client {} started", identifier);
+        replicaCache = new LocalReplicaCache(actorContext);
 
         this.waitTillReadyTimeInMillis = actorContext.getDatastoreContext().getShardLeaderElectionTimeout()
                 .duration().toMillis() * READY_WAIT_FACTOR;
@@ -136,6 +139,7 @@ public abstract class AbstractDataStore implements DistributedDataStoreInterface
         this.actorContext = Preconditions.checkNotNull(actorContext, "actorContext should not be null");
         this.client = null;
         this.identifier = Preconditions.checkNotNull(identifier);
+        this.replicaCache = new LocalReplicaCache(actorContext);
         this.waitTillReadyTimeInMillis = actorContext.getDatastoreContext().getShardLeaderElectionTimeout()
                 .duration().toMillis() * READY_WAIT_FACTOR;
     }
@@ -146,6 +150,7 @@ public abstract class AbstractDataStore implements DistributedDataStoreInterface
         this.actorContext = Preconditions.checkNotNull(actorContext, "actorContext should not be null");
         this.client = clientActor;
         this.identifier = Preconditions.checkNotNull(identifier);
+        this.replicaCache = new LocalReplicaCache(actorContext);
         this.waitTillReadyTimeInMillis = actorContext.getDatastoreContext().getShardLeaderElectionTimeout()
                 .duration().toMillis() * READY_WAIT_FACTOR;
     }
@@ -262,6 +267,12 @@ public abstract class AbstractDataStore implements DistributedDataStoreInterface
         return actorContext;
     }
 
+    @Override
+    public DOMStoreReadTransaction newReadOnlyTransaction(final long maxStaleness, final TimeUnit unit) {
+        return new BoundedStalenessReadTransaction(newReadOnlyTransaction(), actorContext, replicaCache,
+            unit.toNanos(maxStaleness));
+    }
+
     public void waitTillReady() {
         LOG.info("Beginning to wait for data store to become ready : {}", identifier);
 
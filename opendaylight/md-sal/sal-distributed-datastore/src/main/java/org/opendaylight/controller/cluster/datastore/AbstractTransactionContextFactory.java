@@ -88,7 +88,16 @@ abstract class AbstractTransactionContextFactory<F extends LocalTransactionFacto
         updateShardInfo(shardName, primaryShardInfo);
 
         try {
-            TransactionContext localContext = maybeCreateLocalTransactionContext(parent, shardName);
+            final TransactionContext localContext;
+            if (parent.getType() == TransactionType.READ_ONLY && !primaryShardInfo.isLeaderLeaseValid()) {
+                // The local data tree may be missing the latest commits, route the reads via the shard actor
+                LOG.debug("Tx {}: shard {} does not hold a leader lease, not reading locally", parent.getIdentifier(),
+                    shardName);
+                localContext = null;
+            } else {
+                localContext = maybeCreateLocalTransactionContext(parent, shardName);
+            }
+
             if (localContext != null) {
                 transactionContextWrapper.executePriorTransactionOperations(localContext);
             } else {
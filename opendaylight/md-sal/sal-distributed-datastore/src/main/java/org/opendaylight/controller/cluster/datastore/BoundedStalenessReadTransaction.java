@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.CheckedFuture;
+import java.util.HashMap;
+import java.util.Map;
+import org.opendaylight.controller.cluster.datastore.messages.LocalReplica;
+import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadTransaction;
+import org.opendaylight.controller.sal.core.spi.data.SnapshotBackedTransactions;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A read-only transaction which may be served by a local shard replica, even if it is a follower, as long as its state
+ * lags behind the shard leader's by at most a specified time. The choice is made when a shard is first accessed by
+ * the transaction, so that all reads from a shard observe the same state. Shards without a sufficiently fresh local
+ * replica, as well as reads of the root path, which span all shards, are served by a regular read-only transaction.
+ */
+final class BoundedStalenessReadTransaction implements DOMStoreReadTransaction {
+    private static final Logger LOG = LoggerFactory.getLogger(BoundedStalenessReadTransaction.class);
+
+    private final Map<String, DOMStoreReadTransaction> shardTransactions = new HashMap<>();
+    private final DOMStoreReadTransaction delegate;
+    private final ActorContext actorContext;
+    private final LocalReplicaCache replicaCache;
+    private final long maxStalenessNanos;
+
+    BoundedStalenessReadTransaction(final DOMStoreReadTransaction delegate, final ActorContext actorContext,
+            final LocalReplicaCache replicaCache, final long maxStalenessNanos) {
+        this.delegate = Preconditions.checkNotNull(delegate);
+        this.actorContext = Preconditions.checkNotNull(actorContext);
+        this.replicaCache = Preconditions.checkNotNull(replicaCache);
+        Preconditions.checkArgument(maxStalenessNanos >= 0, "Maximum staleness has to be non-negative, not %s",
+            maxStalenessNanos);
+        this.maxStalenessNanos = maxStalenessNanos;
+    }
+
+    @Override
+    public Object getIdentifier() {
+        return delegate.getIdentifier();
+    }
+
+    @Override
+    public CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> read(final YangInstanceIdentifier path) {
+        return transactionFor(path).read(path);
+    }
+
+    @Override
+    public CheckedFuture<Boolean, ReadFailedException> exists(final YangInstanceIdentifier path) {
+        return transactionFor(path).exists(path);
+    }
+
+    @Override
+    public void close() {
+        shardTransactions.values().stream().filter(tx -> tx != delegate).forEach(DOMStoreReadTransaction::close);
+        shardTransactions.clear();
+        delegate.close();
+    }
+
+    private DOMStoreReadTransaction transactionFor(final YangInstanceIdentifier path) {
+        if (YangInstanceIdentifier.EMPTY.equals(path)) {
+            return delegate;
+        }
+
+        final String shardName = actorContext.getShardStrategyFactory().getStrategy(path).findShard(path);
+        return shardTransactions.computeIfAbsent(shardName, this::newShardTransaction);
+    }
+
+    private DOMStoreReadTransaction newShardTransaction(final String shardName) {
+        final LocalReplica replica = replicaCache.get(shardName);
+        if (replica != null) {
+            if (replica.isFreshWithin(maxStalenessNanos)) {
+                LOG.debug("Tx {}: reading shard {} from local replica {}", getIdentifier(), shardName, replica);
+                return SnapshotBackedTransactions.newReadTransaction(getIdentifier(), false,
+                    replica.getDataTree().takeSnapshot());
+            }
+
+            LOG.debug("Tx {}: local replica {} of shard {} is too stale", getIdentifier(), replica, shardName);
+            replicaCache.invalidate(shardName, replica);
+        }
+
+        return delegate;
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedStalenessReadTransaction [delegate=" + delegate + ", maxStalenessNanos=" + maxStalenessNanos
+                + "]";
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.base.Preconditions;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.opendaylight.controller.cluster.reporting.MetricsReporter;
+
+/**
+ * Breaks down the commit latency of a sample of the transactions committed by a shard leader into the phases of the
+ * commit pipeline. Each phase is recorded into a {@link Timer} registered in the datastore's {@link MetricRegistry},
+ * hence its distribution is exposed through JMX along with the other datastore metrics.
+ *
+ * <p>
+ * Every {@code samplingInterval}-th transaction becoming ready is traced: its {@link Trace} is stamped as it moves
+ * through the pipeline, each stamp recording the time elapsed since the previous one. The timers are removed from the
+ * registry when the tracker is closed.
+ */
+@NotThreadSafe
+final class CommitLatencyTracker implements AutoCloseable {
+    /**
+     * Commit phases, in the order in which a transaction goes through them.
+     */
+    enum Phase {
+        /**
+         * From the transaction becoming ready until it reaches the head of the queue and is validated.
+         */
+        QUEUE_WAIT("queue-wait"),
+        /**
+         * Validation of the modification against the current tip, i.e. canCommit.
+         */
+        VALIDATE("validate"),
+        /**
+         * From successful canCommit until preCommit is requested, which includes the round-trip to the frontend.
+         */
+        PRE_COMMIT_WAIT("pre-commit-wait"),
+        /**
+         * Preparation of the candidate, including user cohorts, i.e. preCommit.
+         */
+        PREPARE("prepare"),
+        /**
+         * From successful preCommit until the commit is started.
+         */
+        COMMIT_WAIT("commit-wait"),
+        /**
+         * Serialization of the candidate into a payload, or waiting for its off-actor encoding to complete.
+         */
+        PAYLOAD_ENCODING("payload-encoding"),
+        /**
+         * Persistence of the payload in the journal and replication to a majority of the followers.
+         */
+        REPLICATION("replication"),
+        /**
+         * Application of the candidate to the data tree.
+         */
+        APPLY("apply"),
+        /**
+         * Publishing of the changes to the data change and data tree change listeners.
+         */
+        PUBLISH("publish");
+
+        private final String metricName;
+
+        Phase(final String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    /**
+     * Timestamps of a single traced transaction.
+     */
+    final class Trace {
+        private final long startTime;
+        private long lastTime;
+        private Phase lastPhase;
+
+        Trace(final long now) {
+            startTime = now;
+            lastTime = now;
+        }
+
+        /**
+         * Record the end of a phase. Phases which have already ended, for example when a step is retried, are ignored.
+         *
+         * @param phase the phase which has ended
+         * @param now current time, as reported by the shard's ticker
+         */
+        void phaseEnded(final Phase phase, final long now) {
+            if (lastPhase == null || phase.compareTo(lastPhase) > 0) {
+                phaseTimers.get(phase).update(now - lastTime, TimeUnit.NANOSECONDS);
+                lastPhase = phase;
+                lastTime = now;
+
+                if (phase == Phase.PUBLISH) {
+                    totalTimer.update(now - startTime, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+
+    private static final String COMMIT_LATENCY = "commit-latency";
+    private static final String TOTAL = "total";
+
+    private final Map<Phase, Timer> phaseTimers = new EnumMap<>(Phase.class);
+    private final MetricRegistry registry;
+    private final String shardName;
+    private final Timer totalTimer;
+    private final int samplingInterval;
+    private int untracedCount;
+
+    CommitLatencyTracker(final String shardName, final int samplingInterval) {
+        Preconditions.checkArgument(samplingInterval > 0, "Invalid sampling interval %s", samplingInterval);
+        this.shardName = Preconditions.checkNotNull(shardName);
+        this.samplingInterval = samplingInterval;
+
+        registry = MetricsReporter.getInstance(DatastoreContext.METRICS_DOMAIN).getMetricsRegistry();
+        for (Phase phase : Phase.values()) {
+            phaseTimers.put(phase, registry.timer(MetricRegistry.name(shardName, COMMIT_LATENCY, phase.metricName)));
+        }
+        totalTimer = registry.timer(MetricRegistry.name(shardName, COMMIT_LATENCY, TOTAL));
+    }
+
+    /**
+     * Invoked when a transaction becomes ready. Returns a trace if the transaction has been picked for tracing.
+     *
+     * @param now current time, as reported by the shard's ticker
+     * @return a new trace, or null if the transaction is not traced
+     */
+    @Nullable
+    Trace newTrace(final long now) {
+        if (++untracedCount < samplingInterval) {
+            return null;
+        }
+
+        untracedCount = 0;
+        return new Trace(now);
+    }
+
+    @Override
+    public void close() {
+        for (Phase phase : Phase.values()) {
+            registry.remove(MetricRegistry.name(shardName, COMMIT_LATENCY, phase.metricName));
+        }
+        registry.remove(MetricRegistry.name(shardName, COMMIT_LATENCY, TOTAL));
+    }
+}
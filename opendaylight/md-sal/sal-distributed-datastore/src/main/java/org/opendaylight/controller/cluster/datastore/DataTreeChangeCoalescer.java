@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+
+/**
+ * Accumulates data tree changes which have not been delivered to a listener yet, merging candidates rooted at the
+ * same path into a single candidate which reflects their net effect. The merged candidate retains only the
+ * before-image of the oldest change and the after-image of the newest one, hence the amount of pending state is
+ * bounded by the size of the modified subtrees rather than by the number of changes.
+ */
+@NotThreadSafe
+final class DataTreeChangeCoalescer {
+    private final Map<YangInstanceIdentifier, DataTreeCandidate> pending = new LinkedHashMap<>();
+    private long mergeCount;
+
+    void add(final Collection<DataTreeCandidate> changes) {
+        for (DataTreeCandidate change : changes) {
+            final YangInstanceIdentifier rootPath = change.getRootPath();
+            final DataTreeCandidate existing = pending.get(rootPath);
+            if (existing == null) {
+                pending.put(rootPath, change);
+            } else {
+                final PathArgument identifier = rootPath.isEmpty() ? null : rootPath.getLastPathArgument();
+                pending.put(rootPath, DataTreeCandidates.newDataTreeCandidate(rootPath,
+                    merge(identifier, existing.getRootNode(), change.getRootNode())));
+                mergeCount++;
+            }
+        }
+    }
+
+    /**
+     * Return all pending changes and reset this coalescer. Changes whose net effect is empty are omitted.
+     *
+     * @return pending changes, possibly empty
+     */
+    Collection<DataTreeCandidate> drain() {
+        final ImmutableList.Builder<DataTreeCandidate> builder = ImmutableList.builder();
+        for (DataTreeCandidate candidate : pending.values()) {
+            if (candidate.getRootNode().getModificationType() != ModificationType.UNMODIFIED) {
+                builder.add(candidate);
+            }
+        }
+
+        pending.clear();
+        return builder.build();
+    }
+
+    boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * Return the number of candidates waiting to be delivered.
+     */
+    int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Return the number of candidates which have been merged into a pending candidate since this coalescer was
+     * created.
+     */
+    long getMergeCount() {
+        return mergeCount;
+    }
+
+    static DataTreeCandidateNode merge(@Nullable final PathArgument identifier, final DataTreeCandidateNode first,
+            final DataTreeCandidateNode next) {
+        if (next.getModificationType() == ModificationType.UNMODIFIED) {
+            return first;
+        }
+        if (first.getModificationType() == ModificationType.UNMODIFIED) {
+            return next;
+        }
+
+        final Optional<NormalizedNode<?, ?>> dataBefore = first.getDataBefore();
+        final Optional<NormalizedNode<?, ?>> dataAfter = next.getDataAfter();
+        final ModificationType type = mergeType(first.getModificationType(), next.getModificationType(),
+            dataBefore.isPresent(), dataAfter.isPresent());
+        if (type == ModificationType.UNMODIFIED) {
+            // The node was created and removed again, there is nothing to report underneath it
+            return new CoalescedNode(identifier, type, dataBefore, dataAfter, Collections.emptyMap());
+        }
+
+        // Children not touched by the next change retain their first modification, children not touched by the first
+        // change have the state before the first change as their before-image.
+        final Map<PathArgument, DataTreeCandidateNode> children = new LinkedHashMap<>();
+        for (DataTreeCandidateNode child : first.getChildNodes()) {
+            children.put(child.getIdentifier(), child);
+        }
+        for (DataTreeCandidateNode child : next.getChildNodes()) {
+            final PathArgument childId = child.getIdentifier();
+            final DataTreeCandidateNode existing = children.get(childId);
+            children.put(childId, existing == null ? child : merge(childId, existing, child));
+        }
+
+        if (type == ModificationType.SUBTREE_MODIFIED && children.values().stream()
+                .allMatch(child -> child.getModificationType() == ModificationType.UNMODIFIED)) {
+            // The modifications underneath this node have cancelled out
+            return new CoalescedNode(identifier, ModificationType.UNMODIFIED, dataBefore, dataAfter,
+                Collections.emptyMap());
+        }
+
+        return new CoalescedNode(identifier, type, dataBefore, dataAfter, children);
+    }
+
+    private static ModificationType mergeType(final ModificationType first, final ModificationType next,
+            final boolean existedBefore, final boolean existsAfter) {
+        if (!existsAfter) {
+            // Only DELETE and DISAPPEARED leave the node absent
+            return existedBefore ? next : ModificationType.UNMODIFIED;
+        }
+        if (!existedBefore) {
+            return first == ModificationType.APPEARED && next != ModificationType.WRITE ? ModificationType.APPEARED
+                    : ModificationType.WRITE;
+        }
+        if (first == ModificationType.WRITE || first == ModificationType.DELETE || next == ModificationType.WRITE) {
+            return ModificationType.WRITE;
+        }
+        return ModificationType.SUBTREE_MODIFIED;
+    }
+
+    private static final class CoalescedNode implements DataTreeCandidateNode {
+        private final PathArgument identifier;
+        private final ModificationType type;
+        private final Optional<NormalizedNode<?, ?>> dataBefore;
+        private final Optional<NormalizedNode<?, ?>> dataAfter;
+        private final Map<PathArgument, DataTreeCandidateNode> children;
+
+        CoalescedNode(@Nullable final PathArgument identifier, final ModificationType type,
+                final Optional<NormalizedNode<?, ?>> dataBefore, final Optional<NormalizedNode<?, ?>> dataAfter,
+                final Map<PathArgument, DataTreeCandidateNode> children) {
+            this.identifier = identifier;
+            this.type = Preconditions.checkNotNull(type);
+            this.dataBefore = Preconditions.checkNotNull(dataBefore);
+            this.dataAfter = Preconditions.checkNotNull(dataAfter);
+            this.children = Preconditions.checkNotNull(children);
+        }
+
+        @Nonnull
+        @Override
+        public PathArgument getIdentifier() {
+            Preconditions.checkState(identifier != null, "Root node does not have an identifier");
+            return identifier;
+        }
+
+        @Nonnull
+        @Override
+        public Collection<DataTreeCandidateNode> getChildNodes() {
+            return Collections.unmodifiableCollection(children.values());
+        }
+
+        @Nullable
+        @Override
+        public DataTreeCandidateNode getModifiedChild(final PathArgument childIdentifier) {
+            return children.get(childIdentifier);
+        }
+
+        @Nonnull
+        @Override
+        public ModificationType getModificationType() {
+            return type;
+        }
+
+        @Nonnull
+        @Override
+        public Optional<NormalizedNode<?, ?>> getDataAfter() {
+            return dataAfter;
+        }
+
+        @Nonnull
+        @Override
+        public Optional<NormalizedNode<?, ?>> getDataBefore() {
+            return dataBefore;
+        }
+    }
+}
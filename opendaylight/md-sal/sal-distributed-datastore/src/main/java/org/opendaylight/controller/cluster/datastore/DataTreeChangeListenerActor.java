@@ -7,8 +7,10 @@
  */
 package org.opendaylight.controller.cluster.datastore;
 
+import akka.actor.ActorRef;
 import akka.actor.Props;
 import com.google.common.base.Preconditions;
+import java.util.Collection;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActor;
 import org.opendaylight.controller.cluster.datastore.messages.DataTreeChanged;
 import org.opendaylight.controller.cluster.datastore.messages.DataTreeChangedReply;
@@ -17,39 +19,57 @@ import org.opendaylight.controller.cluster.datastore.messages.EnableNotification
 import org.opendaylight.controller.cluster.datastore.messages.GetInfo;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 
 /**
  * Proxy actor which acts as a facade to the user-provided listener. Responsible for decapsulating
  * DataTreeChanged messages and dispatching their context to the user.
+ *
+ * <p>
+ * If coalescing is enabled, changes are not dispatched as they arrive. They are accumulated instead and dispatched
+ * once all the messages already queued for this actor have been processed, merging changes to the same path, so a
+ * slow listener sees the net effect of the changes it has fallen behind on.
  */
 final class DataTreeChangeListenerActor extends AbstractUntypedActor {
+    private static final Object DELIVER_PENDING_CHANGES = new Object() {
+        @Override
+        public String toString() {
+            return "deliverPendingChanges";
+        }
+    };
+
     private final DOMDataTreeChangeListener listener;
     private final YangInstanceIdentifier registeredPath;
+    private final DataTreeChangeCoalescer coalescer;
     private boolean notificationsEnabled = false;
+    private boolean deliveryScheduled;
     private long notificationCount;
     private String logContext = "";
 
     private DataTreeChangeListenerActor(final DOMDataTreeChangeListener listener,
-            final YangInstanceIdentifier registeredPath) {
+            final YangInstanceIdentifier registeredPath, final boolean coalesceChanges) {
         this.listener = Preconditions.checkNotNull(listener);
         this.registeredPath = Preconditions.checkNotNull(registeredPath);
+        this.coalescer = coalesceChanges ? new DataTreeChangeCoalescer() : null;
     }
 
     @Override
     protected void handleReceive(final Object message) {
         if (message instanceof DataTreeChanged) {
             dataChanged((DataTreeChanged)message);
+        } else if (DELIVER_PENDING_CHANGES.equals(message)) {
+            deliverPendingChanges();
         } else if (message instanceof EnableNotification) {
             enableNotification((EnableNotification) message);
         } else if (message instanceof GetInfo) {
             getSender().tell(new DataTreeListenerInfo(listener.toString(), registeredPath.toString(),
-                    notificationsEnabled, notificationCount), getSelf());
+                    notificationsEnabled, notificationCount, coalescer == null ? 0 : coalescer.getPendingCount(),
+                    coalescer == null ? 0 : coalescer.getMergeCount()), getSelf());
         } else {
             unknownMessage(message);
         }
     }
 
-    @SuppressWarnings("checkstyle:IllegalCatch")
     private void dataChanged(final DataTreeChanged message) {
         // Do nothing if notifications are not enabled
         if (!notificationsEnabled) {
@@ -58,15 +78,16 @@ final class DataTreeChangeListenerActor extends AbstractUntypedActor {
             return;
         }
 
-        LOG.debug("{}: Sending {} change notification(s) {} to listener {}", logContext, message.getChanges().size(),
-                message.getChanges(), listener);
-
-        notificationCount++;
+        if (coalescer == null) {
+            notifyListener(message.getChanges());
+        } else {
+            coalescer.add(message.getChanges());
 
-        try {
-            this.listener.onDataTreeChanged(message.getChanges());
-        } catch (Exception e) {
-            LOG.error("{}: Error notifying listener {}", logContext, this.listener, e);
+            // Any changes arriving before this message is processed will be merged into the pending ones
+            if (!deliveryScheduled) {
+                deliveryScheduled = true;
+                getSelf().tell(DELIVER_PENDING_CHANGES, ActorRef.noSender());
+            }
         }
 
         // TODO: do we really need this?
@@ -77,6 +98,29 @@ final class DataTreeChangeListenerActor extends AbstractUntypedActor {
         }
     }
 
+    private void deliverPendingChanges() {
+        deliveryScheduled = false;
+
+        final Collection<DataTreeCandidate> changes = coalescer.drain();
+        if (notificationsEnabled && !changes.isEmpty()) {
+            notifyListener(changes);
+        }
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void notifyListener(final Collection<DataTreeCandidate> changes) {
+        LOG.debug("{}: Sending {} change notification(s) {} to listener {}", logContext, changes.size(), changes,
+                listener);
+
+        notificationCount++;
+
+        try {
+            this.listener.onDataTreeChanged(changes);
+        } catch (Exception e) {
+            LOG.error("{}: Error notifying listener {}", logContext, this.listener, e);
+        }
+    }
+
     private void enableNotification(final EnableNotification message) {
         logContext = message.getLogContext();
         notificationsEnabled = message.isEnabled();
@@ -85,6 +129,11 @@ final class DataTreeChangeListenerActor extends AbstractUntypedActor {
     }
 
     public static Props props(final DOMDataTreeChangeListener listener, final YangInstanceIdentifier registeredPath) {
-        return Props.create(DataTreeChangeListenerActor.class, listener, registeredPath);
+        return props(listener, registeredPath, false);
+    }
+
+    public static Props props(final DOMDataTreeChangeListener listener, final YangInstanceIdentifier registeredPath,
+            final boolean coalesceChanges) {
+        return Props.create(DataTreeChangeListenerActor.class, listener, registeredPath, coalesceChanges);
     }
 }
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+
+/**
+ * Index of data tree change listeners, organized as a trie keyed by the {@link PathArgument}s of the registered paths.
+ * A {@link NodeIdentifier} in a registered path acts as a wildcard, matching any entry of the list or leaf-list it
+ * identifies, hence each trie node additionally indexes such children by their {@link QName}, so that both exact and
+ * wildcard matches are found with a single lookup each.
+ *
+ * <p>
+ * Matching a candidate only descends into the parts of the trie which intersect with the modified subtree, picking the
+ * smaller of the two sides to iterate at each level, so the cost of a commit does not grow with the number of
+ * listeners registered elsewhere in the tree.
+ *
+ * <p>
+ * The index is confined to a single thread, which registers listeners and dispatches changes. The only exception is
+ * {@link #unregister(Registration)}, which may be invoked from any thread: it takes effect immediately for dispatch,
+ * while the trie itself is pruned by the owning thread.
+ *
+ * @param <T> listener type
+ */
+@NotThreadSafe
+final class DataTreeChangeListenerIndex<T> {
+    /**
+     * A listener registered in the index.
+     *
+     * @param <T> listener type
+     */
+    static final class Registration<T> {
+        private final Node<T> node;
+        private final T listener;
+        private volatile boolean closed;
+
+        Registration(final Node<T> node, final T listener) {
+            this.node = Preconditions.checkNotNull(node);
+            this.listener = Preconditions.checkNotNull(listener);
+        }
+
+        T getListener() {
+            return listener;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).add("listener", listener).add("closed", closed).toString();
+        }
+    }
+
+    private static final class Node<T> {
+        private final Map<PathArgument, Node<T>> children = new HashMap<>();
+        // Children identified by a NodeIdentifier, indexed by their QName, matching any list or leaf-list entry
+        private final Map<QName, Node<T>> wildcardChildren = new HashMap<>();
+        private final List<Registration<T>> registrations = new ArrayList<>(2);
+        private final Node<T> parent;
+        private final PathArgument identifier;
+
+        Node(@Nullable final Node<T> parent, @Nullable final PathArgument identifier) {
+            this.parent = parent;
+            this.identifier = identifier;
+        }
+
+        Node<T> ensureChild(final PathArgument arg) {
+            Node<T> child = children.get(arg);
+            if (child == null) {
+                child = new Node<>(this, arg);
+                children.put(arg, child);
+                if (arg instanceof NodeIdentifier) {
+                    wildcardChildren.put(arg.getNodeType(), child);
+                }
+            }
+            return child;
+        }
+
+        @Nullable
+        Node<T> wildcardChild(final PathArgument arg) {
+            return wildcardChildren.isEmpty() || !(arg instanceof NodeIdentifierWithPredicates
+                    || arg instanceof NodeWithValue) ? null : wildcardChildren.get(arg.getNodeType());
+        }
+
+        void removeIfUnused() {
+            if (parent != null && registrations.isEmpty() && children.isEmpty()) {
+                parent.children.remove(identifier);
+                if (identifier instanceof NodeIdentifier) {
+                    parent.wildcardChildren.remove(identifier.getNodeType());
+                }
+                parent.removeIfUnused();
+            }
+        }
+    }
+
+    private final Node<T> root = new Node<>(null, null);
+    private final Queue<Registration<T>> pendingRemovals = new ConcurrentLinkedQueue<>();
+
+    Registration<T> register(final YangInstanceIdentifier path, final T listener) {
+        processPendingRemovals();
+
+        Node<T> node = root;
+        for (PathArgument arg : path.getPathArguments()) {
+            node = node.ensureChild(arg);
+        }
+
+        final Registration<T> registration = new Registration<>(node, listener);
+        node.registrations.add(registration);
+        return registration;
+    }
+
+    /**
+     * Remove a registration. This method can safely be invoked from any thread.
+     *
+     * @param registration Registration to remove
+     */
+    void unregister(final Registration<T> registration) {
+        if (!registration.closed) {
+            registration.closed = true;
+            pendingRemovals.add(registration);
+        }
+    }
+
+    /**
+     * Find the listeners affected by a candidate and invoke the specified callback once for each of them, with the
+     * changes rooted at the listener's registered path.
+     *
+     * @param candidate Candidate to dispatch
+     * @param callback Callback to invoke for each affected listener
+     */
+    void dispatch(final DataTreeCandidate candidate, final BiConsumer<T, Collection<DataTreeCandidate>> callback) {
+        processPendingRemovals();
+
+        if (candidate.getRootNode().getModificationType() == ModificationType.UNMODIFIED
+                || (root.children.isEmpty() && root.registrations.isEmpty())) {
+            return;
+        }
+
+        final Map<Registration<T>, List<DataTreeCandidate>> changes = new LinkedHashMap<>();
+        lookup(candidate.getRootPath().getPathArguments(), 0, root, candidate, changes);
+
+        for (Map.Entry<Registration<T>, List<DataTreeCandidate>> entry : changes.entrySet()) {
+            // The registration may have been closed in the meantime
+            if (!entry.getKey().closed) {
+                callback.accept(entry.getKey().listener, entry.getValue());
+            }
+        }
+    }
+
+    private void lookup(final List<PathArgument> args, final int offset, final Node<T> node,
+            final DataTreeCandidate candidate, final Map<Registration<T>, List<DataTreeCandidate>> changes) {
+        if (offset == args.size()) {
+            collectChanges(candidate.getRootPath(), node, candidate.getRootNode(), changes);
+            return;
+        }
+
+        final PathArgument arg = args.get(offset);
+        final Node<T> exactChild = node.children.get(arg);
+        if (exactChild != null) {
+            lookup(args, offset + 1, exactChild, candidate, changes);
+        }
+
+        final Node<T> wildcardChild = node.wildcardChild(arg);
+        if (wildcardChild != null) {
+            lookup(args, offset + 1, wildcardChild, candidate, changes);
+        }
+    }
+
+    private void collectChanges(final YangInstanceIdentifier path, final Node<T> node,
+            final DataTreeCandidateNode candidateNode, final Map<Registration<T>, List<DataTreeCandidate>> changes) {
+        if (candidateNode.getModificationType() == ModificationType.UNMODIFIED) {
+            return;
+        }
+
+        if (!node.registrations.isEmpty()) {
+            final DataTreeCandidate change = DataTreeCandidates.newDataTreeCandidate(path, candidateNode);
+            for (Registration<T> registration : node.registrations) {
+                if (!registration.closed) {
+                    changes.computeIfAbsent(registration, key -> new ArrayList<>(1)).add(change);
+                }
+            }
+        }
+
+        if (node.children.isEmpty()) {
+            return;
+        }
+
+        final Collection<DataTreeCandidateNode> candidateChildren = candidateNode.getChildNodes();
+        if (node.wildcardChildren.isEmpty() && node.children.size() < candidateChildren.size()) {
+            // Fewer listener paths than modified children: look the listener paths up in the candidate
+            for (Node<T> child : node.children.values()) {
+                final DataTreeCandidateNode candidateChild = candidateNode.getModifiedChild(child.identifier);
+                if (candidateChild != null) {
+                    collectChanges(path.node(child.identifier), child, candidateChild, changes);
+                }
+            }
+            return;
+        }
+
+        for (DataTreeCandidateNode candidateChild : candidateChildren) {
+            if (candidateChild.getModificationType() == ModificationType.UNMODIFIED) {
+                continue;
+            }
+
+            final PathArgument childId = candidateChild.getIdentifier();
+            final Node<T> exactChild = node.children.get(childId);
+            final Node<T> wildcardChild = node.wildcardChild(childId);
+            if (exactChild != null || wildcardChild != null) {
+                final YangInstanceIdentifier childPath = path.node(childId);
+                if (exactChild != null) {
+                    collectChanges(childPath, exactChild, candidateChild, changes);
+                }
+                if (wildcardChild != null) {
+                    collectChanges(childPath, wildcardChild, candidateChild, changes);
+                }
+            }
+        }
+    }
+
+    private void processPendingRemovals() {
+        Registration<T> registration;
+        while ((registration = pendingRemovals.poll()) != null) {
+            registration.node.registrations.remove(registration);
+            registration.node.removeIfUnused();
+        }
+    }
+}
@@ -48,7 +48,8 @@ final class DataTreeChangeListenerProxy<T extends DOMDataTreeChangeListener> ext
         this.actorContext = Preconditions.checkNotNull(actorContext);
         this.registeredPath = Preconditions.checkNotNull(registeredPath);
         this.dataChangeListenerActor = actorContext.getActorSystem().actorOf(
-                DataTreeChangeListenerActor.props(getInstance(), registeredPath)
+                DataTreeChangeListenerActor.props(getInstance(), registeredPath,
+                        actorContext.getDatastoreContext().isCoalesceDataTreeChangeNotifications())
                     .withDispatcher(actorContext.getNotificationDispatcherPath()));
 
         LOG.debug("{}: Created actor {} for DTCL {}", actorContext.getDatastoreContext().getLogicalStoreType(),
@@ -61,6 +61,8 @@ public class DatastoreContext implements ClientActorConfig {
     public static final int DEFAULT_MAX_MESSAGE_SLICE_SIZE = 2048 * 1000; // 2MB
 
     public static final long DEFAULT_SYNC_INDEX_THRESHOLD = 10;
+    public static final int DEFAULT_MAXIMUM_COMMIT_BATCH_SIZE = 1;
+    public static final int DEFAULT_COMMIT_LATENCY_SAMPLING_INTERVAL = 0;
 
     private static final Logger LOG = LoggerFactory.getLogger(DatastoreContext.class);
 
@@ -92,6 +94,12 @@ public class DatastoreContext implements ClientActorConfig {
     private long backendAlivenessTimerInterval = AbstractClientConnection.DEFAULT_BACKEND_ALIVE_TIMEOUT_NANOS;
     private long requestTimeout = AbstractClientConnection.DEFAULT_REQUEST_TIMEOUT_NANOS;
     private long noProgressTimeout = AbstractClientConnection.DEFAULT_NO_PROGRESS_TIMEOUT_NANOS;
+    private int maximumCommitBatchSize = DEFAULT_MAXIMUM_COMMIT_BATCH_SIZE;
+    private boolean useCompressedInstallSnapshot = false;
+    private boolean asyncCommitPayloadEncoding = false;
+    private boolean coalesceDataTreeChangeNotifications = false;
+    private boolean parallelCanCommit = false;
+    private int commitLatencySamplingInterval = DEFAULT_COMMIT_LATENCY_SAMPLING_INTERVAL;
 
     public static Set<String> getGlobalDatastoreNames() {
         return GLOBAL_DATASTORE_NAMES;
@@ -132,6 +140,12 @@ public class DatastoreContext implements ClientActorConfig {
         this.backendAlivenessTimerInterval = other.backendAlivenessTimerInterval;
         this.requestTimeout = other.requestTimeout;
         this.noProgressTimeout = other.noProgressTimeout;
+        this.maximumCommitBatchSize = other.maximumCommitBatchSize;
+        this.useCompressedInstallSnapshot = other.useCompressedInstallSnapshot;
+        this.asyncCommitPayloadEncoding = other.asyncCommitPayloadEncoding;
+        this.coalesceDataTreeChangeNotifications = other.coalesceDataTreeChangeNotifications;
+        this.parallelCanCommit = other.parallelCanCommit;
+        this.commitLatencySamplingInterval = other.commitLatencySamplingInterval;
 
         setShardJournalRecoveryLogBatchSize(other.raftConfig.getJournalRecoveryLogBatchSize());
         setSnapshotBatchCount(other.raftConfig.getSnapshotBatchCount());
@@ -146,6 +160,8 @@ public class DatastoreContext implements ClientActorConfig {
         setTempFileDirectory(other.getTempFileDirectory());
         setFileBackedStreamingThreshold(other.getFileBackedStreamingThreshold());
         setSyncIndexThreshold(other.raftConfig.getSyncIndexThreshold());
+        setShardSnapshotChunkWindowSize(other.raftConfig.getSnapshotChunkWindowSize());
+        setShardLeaderLeaseEnabled(other.raftConfig.isLeaderLeaseEnabled());
     }
 
     public static Builder newBuilder() {
@@ -297,6 +313,14 @@ public class DatastoreContext implements ClientActorConfig {
         raftConfig.setSyncIndexThreshold(syncIndexThreshold);
     }
 
+    private void setShardSnapshotChunkWindowSize(final int shardSnapshotChunkWindowSize) {
+        raftConfig.setSnapshotChunkWindowSize(shardSnapshotChunkWindowSize);
+    }
+
+    private void setShardLeaderLeaseEnabled(final boolean shardLeaderLeaseEnabled) {
+        raftConfig.setLeaderLeaseEnabled(shardLeaderLeaseEnabled);
+    }
+
     public int getShardBatchedModificationCount() {
         return shardBatchedModificationCount;
     }
@@ -337,6 +361,30 @@ public class DatastoreContext implements ClientActorConfig {
         return noProgressTimeout;
     }
 
+    public int getMaximumCommitBatchSize() {
+        return maximumCommitBatchSize;
+    }
+
+    public boolean isUseCompressedInstallSnapshot() {
+        return useCompressedInstallSnapshot;
+    }
+
+    public boolean isAsyncCommitPayloadEncoding() {
+        return asyncCommitPayloadEncoding;
+    }
+
+    public boolean isCoalesceDataTreeChangeNotifications() {
+        return coalesceDataTreeChangeNotifications;
+    }
+
+    public boolean isParallelCanCommit() {
+        return parallelCanCommit;
+    }
+
+    public int getCommitLatencySamplingInterval() {
+        return commitLatencySamplingInterval;
+    }
+
     public static class Builder implements org.opendaylight.yangtools.concepts.Builder<DatastoreContext> {
         private final DatastoreContext datastoreContext;
         private int maxShardDataChangeExecutorPoolSize =
@@ -598,6 +646,11 @@ public class DatastoreContext implements ClientActorConfig {
             return this;
         }
 
+        public Builder shardSnapshotChunkWindowSize(final int shardSnapshotChunkWindowSize) {
+            datastoreContext.setShardSnapshotChunkWindowSize(shardSnapshotChunkWindowSize);
+            return this;
+        }
+
         public Builder backendAlivenessTimerIntervalInSeconds(final long interval) {
             datastoreContext.backendAlivenessTimerInterval = TimeUnit.SECONDS.toNanos(interval);
             return this;
@@ -613,6 +666,44 @@ public class DatastoreContext implements ClientActorConfig {
             return this;
         }
 
+        public Builder maximumCommitBatchSize(final int maximumCommitBatchSize) {
+            Preconditions.checkArgument(maximumCommitBatchSize > 0, "Invalid commit batch size %s",
+                maximumCommitBatchSize);
+            datastoreContext.maximumCommitBatchSize = maximumCommitBatchSize;
+            return this;
+        }
+
+        public Builder useCompressedInstallSnapshot(final boolean value) {
+            datastoreContext.useCompressedInstallSnapshot = value;
+            return this;
+        }
+
+        public Builder asyncCommitPayloadEncoding(final boolean value) {
+            datastoreContext.asyncCommitPayloadEncoding = value;
+            return this;
+        }
+
+        public Builder coalesceDataTreeChangeNotifications(final boolean value) {
+            datastoreContext.coalesceDataTreeChangeNotifications = value;
+            return this;
+        }
+
+        public Builder parallelCanCommit(final boolean value) {
+            datastoreContext.parallelCanCommit = value;
+            return this;
+        }
+
+        public Builder commitLatencySamplingInterval(final int interval) {
+            Preconditions.checkArgument(interval >= 0, "Invalid commit latency sampling interval %s", interval);
+            datastoreContext.commitLatencySamplingInterval = interval;
+            return this;
+        }
+
+        public Builder shardLeaderLeaseEnabled(final boolean shardLeaderLeaseEnabled) {
+            datastoreContext.setShardLeaderLeaseEnabled(shardLeaderLeaseEnabled);
+            return this;
+        }
+
         @Override
         public DatastoreContext build() {
             datastoreContext.dataStoreProperties = InMemoryDOMDataStoreConfigProperties.create(
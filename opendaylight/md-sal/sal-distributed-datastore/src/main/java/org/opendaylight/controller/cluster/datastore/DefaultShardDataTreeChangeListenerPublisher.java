@@ -12,8 +12,7 @@ import java.util.Collection;
 import java.util.function.Consumer;
 import javax.annotation.concurrent.NotThreadSafe;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
-import org.opendaylight.mdsal.dom.spi.AbstractDOMDataTreeChangeListenerRegistration;
-import org.opendaylight.mdsal.dom.spi.store.AbstractDOMStoreTreeChangePublisher;
+import org.opendaylight.controller.md.sal.dom.spi.AbstractDOMDataTreeChangeListenerRegistration;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
@@ -22,14 +21,15 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Default implementation of ShardDataTreeChangeListenerPublisher that directly generates and publishes
- * notifications for DataTreeChangeListeners.
+ * notifications for DataTreeChangeListeners. Listeners affected by a change are looked up in a
+ * {@link DataTreeChangeListenerIndex}.
  *
  * @author Thomas Pantelis
  */
 @NotThreadSafe
-final class DefaultShardDataTreeChangeListenerPublisher extends AbstractDOMStoreTreeChangePublisher
-        implements ShardDataTreeChangeListenerPublisher {
+final class DefaultShardDataTreeChangeListenerPublisher implements ShardDataTreeChangeListenerPublisher {
     private static final Logger LOG = LoggerFactory.getLogger(DefaultShardDataTreeChangeListenerPublisher.class);
+    private final DataTreeChangeListenerIndex<DOMDataTreeChangeListener> index = new DataTreeChangeListenerIndex<>();
     private String logContext;
 
     DefaultShardDataTreeChangeListenerPublisher(String logContext) {
@@ -44,19 +44,12 @@ final class DefaultShardDataTreeChangeListenerPublisher extends AbstractDOMStore
             LOG.debug("{}: publishChanges: rootPath: {}", logContext, candidate.getRootPath());
         }
 
-        processCandidateTree(candidate);
+        index.dispatch(candidate, this::notifyListener);
     }
 
-    @Override
-    protected void notifyListener(AbstractDOMDataTreeChangeListenerRegistration<?> registration,
-            Collection<DataTreeCandidate> changes) {
-        LOG.debug("{}: notifyListener: listener: {}", logContext, registration.getInstance());
-        registration.getInstance().onDataTreeChanged(changes);
-    }
-
-    @Override
-    protected void registrationRemoved(final AbstractDOMDataTreeChangeListenerRegistration<?> registration) {
-        LOG.debug("Registration {} removed", registration);
+    private void notifyListener(DOMDataTreeChangeListener listener, Collection<DataTreeCandidate> changes) {
+        LOG.debug("{}: notifyListener: listener: {}", logContext, listener);
+        listener.onDataTreeChanged(changes);
     }
 
     @Override
@@ -65,17 +58,16 @@ final class DefaultShardDataTreeChangeListenerPublisher extends AbstractDOMStore
             Consumer<ListenerRegistration<DOMDataTreeChangeListener>> onRegistration) {
         LOG.debug("{}: registerTreeChangeListener: path: {}, listener: {}", logContext, treeId, listener);
 
-        AbstractDOMDataTreeChangeListenerRegistration<org.opendaylight.mdsal.dom.api.DOMDataTreeChangeListener>
-            registration = super.registerTreeChangeListener(treeId, new ForwardingDOMDataTreeChangeListener(listener));
+        final DataTreeChangeListenerIndex.Registration<DOMDataTreeChangeListener> registration =
+                index.register(treeId, listener);
 
-        onRegistration.accept(
-            new org.opendaylight.controller.md.sal.dom.spi.AbstractDOMDataTreeChangeListenerRegistration<
-                    DOMDataTreeChangeListener>(listener) {
-                @Override
-                protected void removeRegistration() {
-                    registration.close();
-                }
-            });
+        onRegistration.accept(new AbstractDOMDataTreeChangeListenerRegistration<DOMDataTreeChangeListener>(listener) {
+            @Override
+            protected void removeRegistration() {
+                index.unregister(registration);
+                LOG.debug("Registration {} removed", registration);
+            }
+        });
 
         if (initialState.isPresent()) {
             notifySingleListener(treeId, listener, initialState.get(), logContext);
@@ -91,23 +83,4 @@ final class DefaultShardDataTreeChangeListenerPublisher extends AbstractDOMStore
         publisher.registerTreeChangeListener(treeId, listener, Optional.absent(), noop -> { /* NOOP */ });
         publisher.publishChanges(state);
     }
-
-    private static class ForwardingDOMDataTreeChangeListener
-            implements org.opendaylight.mdsal.dom.api.DOMDataTreeChangeListener {
-        final DOMDataTreeChangeListener delegate;
-
-        ForwardingDOMDataTreeChangeListener(DOMDataTreeChangeListener delegate) {
-            this.delegate = delegate;
-        }
-
-        @Override
-        public void onDataTreeChanged(Collection<DataTreeCandidate> changes) {
-            delegate.onDataTreeChanged(changes);
-        }
-
-        @Override
-        public String toString() {
-            return delegate.toString();
-        }
-    }
 }
@@ -7,8 +7,10 @@
  */
 package org.opendaylight.controller.cluster.datastore;
 
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
 import org.opendaylight.controller.sal.core.spi.data.DOMStore;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadTransaction;
 
 /**
  * The public interface exposed vi a DistributedDataStore via the OSGi registry.
@@ -18,4 +20,15 @@ import org.opendaylight.controller.sal.core.spi.data.DOMStore;
 public interface DistributedDataStoreInterface extends DOMStore {
 
     ActorContext getActorContext();
+
+    /**
+     * Creates a read-only transaction which may be served by a local shard replica, even if it is a follower,
+     * as long as the replica's state lags behind the shard leader's by at most the specified time. Otherwise
+     * it is served by the shard leader, just like a transaction returned by {@link #newReadOnlyTransaction()}.
+     *
+     * @param maxStaleness maximum acceptable staleness of the data read
+     * @param unit the time unit of maxStaleness
+     * @return a new read-only transaction
+     */
+    DOMStoreReadTransaction newReadOnlyTransaction(long maxStaleness, TimeUnit unit);
 }
\ No newline at end of file
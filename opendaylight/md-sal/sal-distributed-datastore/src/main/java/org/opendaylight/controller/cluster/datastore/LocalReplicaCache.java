@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import akka.actor.ActorRef;
+import akka.dispatch.OnComplete;
+import com.google.common.base.Preconditions;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.datastore.messages.GetLocalReplica;
+import org.opendaylight.controller.cluster.datastore.messages.LocalReplica;
+import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of {@link LocalReplica}s of local shards, keyed by shard name. Replicas are looked up asynchronously, so that
+ * callers never block waiting for a shard.
+ */
+class LocalReplicaCache {
+    private static final Logger LOG = LoggerFactory.getLogger(LocalReplicaCache.class);
+
+    private final ConcurrentMap<String, LocalReplica> replicas = new ConcurrentHashMap<>();
+    private final Set<String> pendingLookups = ConcurrentHashMap.newKeySet();
+    private final ActorContext actorContext;
+
+    LocalReplicaCache(final ActorContext actorContext) {
+        this.actorContext = Preconditions.checkNotNull(actorContext);
+    }
+
+    /**
+     * Returns the cached local replica of a shard. If there is none, a lookup is started in the background.
+     *
+     * @param shardName the shard name
+     * @return the local replica, or null if it is not known yet
+     */
+    @Nullable
+    LocalReplica get(final String shardName) {
+        final LocalReplica replica = replicas.get(shardName);
+        if (replica == null && pendingLookups.add(shardName)) {
+            lookup(shardName);
+        }
+        return replica;
+    }
+
+    /**
+     * Removes a cached replica, so that it is looked up again on next access. This is used when the replica is too
+     * stale to be used, which is also the case when its shard has been restarted and the replica is no longer
+     * updated.
+     *
+     * @param shardName the shard name
+     * @param replica the replica to remove
+     */
+    void invalidate(final String shardName, final LocalReplica replica) {
+        replicas.remove(shardName, replica);
+    }
+
+    private void lookup(final String shardName) {
+        LOG.debug("Looking up local replica of shard {}", shardName);
+
+        actorContext.findLocalShardAsync(shardName).onComplete(new OnComplete<ActorRef>() {
+            @Override
+            public void onComplete(final Throwable failure, final ActorRef shard) {
+                if (failure != null) {
+                    LOG.debug("No local replica of shard {} found", shardName, failure);
+                    pendingLookups.remove(shardName);
+                    return;
+                }
+
+                actorContext.executeOperationAsync(shard, GetLocalReplica.INSTANCE, actorContext.getOperationTimeout())
+                    .onComplete(new OnComplete<Object>() {
+                        @Override
+                        public void onComplete(final Throwable replyFailure, final Object reply) {
+                            if (reply instanceof LocalReplica) {
+                                LOG.debug("Found local replica of shard {}: {}", shardName, reply);
+                                replicas.put(shardName, (LocalReplica) reply);
+                            } else {
+                                LOG.debug("Failed to retrieve local replica of shard {}: {}", shardName, reply,
+                                    replyFailure);
+                            }
+                            pendingLookups.remove(shardName);
+                        }
+                    }, actorContext.getClientDispatcher());
+            }
+        }, actorContext.getClientDispatcher());
+    }
+}
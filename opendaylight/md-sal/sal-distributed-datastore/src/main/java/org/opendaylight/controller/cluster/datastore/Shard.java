@@ -72,7 +72,9 @@ import org.opendaylight.controller.cluster.datastore.messages.CommitTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.CreateTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.CreateTransactionReply;
 import org.opendaylight.controller.cluster.datastore.messages.ForwardedReadyTransaction;
+import org.opendaylight.controller.cluster.datastore.messages.GetLocalReplica;
 import org.opendaylight.controller.cluster.datastore.messages.GetShardDataTree;
+import org.opendaylight.controller.cluster.datastore.messages.LocalReplica;
 import org.opendaylight.controller.cluster.datastore.messages.MakeLeaderLocal;
 import org.opendaylight.controller.cluster.datastore.messages.OnDemandShardState;
 import org.opendaylight.controller.cluster.datastore.messages.PeerAddressResolved;
@@ -172,6 +174,8 @@ public class Shard extends RaftActor {
 
     private long transactionCommitTimeout;
 
+    private CommitLatencyTracker commitLatencyTracker;
+
     private Cancellable txCommitTimeoutCheckSchedule;
 
     private final Optional<ActorRef> roleChangeNotifier;
@@ -188,6 +192,8 @@ public class Shard extends RaftActor {
 
     private ShardSnapshot restoreFromSnapshot;
 
+    private ShardRecoveryCoordinator recoveryCoordinator;
+
     private final ShardTransactionMessageRetrySupport messageRetrySupport;
 
     private final FrontendMetadata frontendMetadata;
@@ -224,6 +230,8 @@ public class Shard extends RaftActor {
                     builder.getDatastoreContext().getStoreRoot(), treeChangeListenerPublisher,
                     dataChangeListenerPublisher, name, frontendMetadata);
         }
+        store.setMaximumCommitBatchSize(datastoreContext.getMaximumCommitBatchSize());
+        setCommitLatencyTracker();
 
         shardMBean = ShardMBeanFactory.getShardStatsMBean(name, datastoreContext.getDataStoreMXBeanType(), this);
 
@@ -242,12 +250,14 @@ public class Shard extends RaftActor {
                 getRaftActorContext().getConfigParams().getIsolatedCheckIntervalInMillis());
 
         dispatchers = new Dispatchers(context().system().dispatchers());
+        setPayloadEncodingExecutor();
         transactionActorFactory = new ShardTransactionActorFactory(store, datastoreContext,
             dispatchers.getDispatcherPath(Dispatchers.DispatcherType.Transaction),
                 self(), getContext(), shardMBean, builder.getId().getShardName());
 
         snapshotCohort = ShardSnapshotCohort.create(getContext(), builder.getId().getMemberName(), store, LOG,
             this.name);
+        snapshotCohort.setUseCompressedInstallSnapshot(datastoreContext.isUseCompressedInstallSnapshot());
 
         messageRetrySupport = new ShardTransactionMessageRetrySupport(this);
 
@@ -266,6 +276,28 @@ public class Shard extends RaftActor {
         listenerInfoMXBean.register();
     }
 
+    private void setPayloadEncodingExecutor() {
+        store.setPayloadEncodingExecutor(datastoreContext.isAsyncCommitPayloadEncoding()
+                ? dispatchers.getDispatcher(DispatcherType.Serialization) : null);
+    }
+
+    private void setCommitLatencyTracker() {
+        closeCommitLatencyTracker();
+
+        final int samplingInterval = datastoreContext.getCommitLatencySamplingInterval();
+        if (samplingInterval > 0) {
+            commitLatencyTracker = new CommitLatencyTracker(name, samplingInterval);
+        }
+        store.setCommitLatencyTracker(commitLatencyTracker);
+    }
+
+    private void closeCommitLatencyTracker() {
+        if (commitLatencyTracker != null) {
+            commitLatencyTracker.close();
+            commitLatencyTracker = null;
+        }
+    }
+
     private void setTransactionCommitTimeout() {
         transactionCommitTimeout = TimeUnit.MILLISECONDS.convert(
                 datastoreContext.getShardTransactionCommitTimeoutInSeconds(), TimeUnit.SECONDS) / 2;
@@ -291,6 +323,7 @@ public class Shard extends RaftActor {
 
         commitCoordinator.abortPendingTransactions("Transaction aborted due to shutdown.", this);
 
+        closeCommitLatencyTracker();
         shardMBean.unregisterMBean();
         listenerInfoMXBean.unregister();
     }
@@ -361,6 +394,9 @@ public class Shard extends RaftActor {
                 sender().tell(getShardMBean(), self());
             } else if (message instanceof GetShardDataTree) {
                 sender().tell(store.getDataTree(), self());
+            } else if (message instanceof GetLocalReplica) {
+                sender().tell(new LocalReplica(store.getDataTree(), getRaftActorContext().getLeaderLease(),
+                    getRaftActorContext().getReplicaFreshness()), self());
             } else if (message instanceof ServerRemoved) {
                 context().parent().forward(message, context());
             } else if (ShardTransactionMessageRetrySupport.TIMER_MESSAGE_CLASS.isInstance(message)) {
@@ -544,7 +580,8 @@ public class Shard extends RaftActor {
 
             frontend.reconnect();
             message.getReplyTo().tell(new ConnectClientSuccess(message.getTarget(), message.getSequence(), getSelf(),
-                ImmutableList.of(), store.getDataTree(), CLIENT_MAX_MESSAGES).toVersion(selectedVersion),
+                ImmutableList.of(), store.getDataTree(), getRaftActorContext().getLeaderLease()::isValid,
+                CLIENT_MAX_MESSAGES).toVersion(selectedVersion),
                 ActorRef.noSender());
         } catch (RequestException | RuntimeException e) {
             message.getReplyTo().tell(new Failure(e), ActorRef.noSender());
@@ -597,15 +634,26 @@ public class Shard extends RaftActor {
     @Override
     protected LeaderStateChanged newLeaderStateChanged(final String memberId, final String leaderId,
             final short leaderPayloadVersion) {
-        return isLeader() ? new ShardLeaderStateChanged(memberId, leaderId, store.getDataTree(), leaderPayloadVersion)
+        return isLeader() ? new ShardLeaderStateChanged(memberId, leaderId, store.getDataTree(),
+                getRaftActorContext().getLeaderLease()::isValid, leaderPayloadVersion)
                 : new ShardLeaderStateChanged(memberId, leaderId, leaderPayloadVersion);
     }
 
     protected void onDatastoreContext(final DatastoreContext context) {
+        final boolean samplingIntervalChanged =
+                context.getCommitLatencySamplingInterval() != datastoreContext.getCommitLatencySamplingInterval();
         datastoreContext = context;
 
         setTransactionCommitTimeout();
 
+        store.setMaximumCommitBatchSize(datastoreContext.getMaximumCommitBatchSize());
+        setPayloadEncodingExecutor();
+        if (samplingIntervalChanged) {
+            // Keep the existing timers, and the samples they hold, unless the tracing settings have changed
+            setCommitLatencyTracker();
+        }
+        snapshotCohort.setUseCompressedInstallSnapshot(datastoreContext.isUseCompressedInstallSnapshot());
+
         setPersistence(datastoreContext.isPersistent());
 
         updateConfigParams(datastoreContext.getShardRaftConfig());
@@ -842,16 +890,24 @@ public class Shard extends RaftActor {
     @Nonnull
     protected RaftActorRecoveryCohort getRaftActorRecoveryCohort() {
         if (restoreFromSnapshot == null) {
-            return ShardRecoveryCoordinator.create(store, persistenceId(), LOG);
+            recoveryCoordinator = ShardRecoveryCoordinator.create(store, persistenceId(), LOG);
+        } else {
+            recoveryCoordinator = ShardRecoveryCoordinator.forSnapshot(store, persistenceId(), LOG,
+                restoreFromSnapshot.getSnapshot());
         }
 
-        return ShardRecoveryCoordinator.forSnapshot(store, persistenceId(), LOG, restoreFromSnapshot.getSnapshot());
+        return recoveryCoordinator;
     }
 
     @Override
     protected void onRecoveryComplete() {
         restoreFromSnapshot = null;
 
+        if (recoveryCoordinator != null) {
+            recoveryCoordinator.logRecoveryThroughput();
+            recoveryCoordinator = null;
+        }
+
         //notify shard manager
         getContext().parent().tell(new ActorInitialized(), getSelf());
 
@@ -14,6 +14,7 @@ import com.google.common.base.MoreObjects;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
+import com.google.common.base.Throwables;
 import com.google.common.base.Verify;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -28,10 +29,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
@@ -42,12 +47,14 @@ import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
 import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.CommitLatencyTracker.Phase;
 import org.opendaylight.controller.cluster.datastore.DataTreeCohortActorRegistry.CohortRegistryCommand;
 import org.opendaylight.controller.cluster.datastore.ShardDataTreeCohort.State;
 import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardStats;
 import org.opendaylight.controller.cluster.datastore.persisted.AbortTransactionPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.AbstractIdentifiablePayload;
 import org.opendaylight.controller.cluster.datastore.persisted.CloseLocalHistoryPayload;
+import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionBatchPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.CreateLocalHistoryPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.MetadataShardDataTreeSnapshot;
@@ -98,6 +105,13 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         final SimpleShardDataTreeCohort cohort;
         long lastAccess;
 
+        // Payload being encoded off the actor, null if the payload is to be encoded when the commit starts
+        CompletableFuture<CommitTransactionPayload> encodedPayload;
+        boolean resumeOnEncoded;
+
+        // Non-null if this transaction has been sampled for commit latency tracing
+        CommitLatencyTracker.Trace trace;
+
         CommitEntry(final SimpleShardDataTreeCohort cohort, final long now) {
             this.cohort = Preconditions.checkNotNull(cohort);
             lastAccess = now;
@@ -146,6 +160,24 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
 
     private int currentTransactionBatch;
 
+    /**
+     * Maximum number of transactions which can be coalesced into a single {@link CommitTransactionBatchPayload}. A
+     * value of 1 disables group commit, i.e. each transaction is persisted in its own payload.
+     */
+    private int maximumCommitBatchSize = 1;
+
+    /**
+     * Executor on which payloads of prepared transactions are encoded, so that the encoding overlaps with processing
+     * of other transactions rather than blocking the shard. If null, payloads are encoded in the shard actor when
+     * their commit starts.
+     */
+    private Executor payloadEncodingExecutor;
+
+    /**
+     * Tracker of the commit latency breakdown of sampled transactions, null if tracing is disabled.
+     */
+    private CommitLatencyTracker commitLatencyTracker;
+
     ShardDataTree(final Shard shard, final SchemaContext schemaContext, final TipProducingDataTree dataTree,
             final ShardDataTreeChangeListenerPublisher treeChangeListenerPublisher,
             final ShardDataChangeListenerPublisher dataChangeListenerPublisher, final String logContext,
@@ -202,6 +234,20 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         currentTransactionBatch = 0;
     }
 
+    void setMaximumCommitBatchSize(final int maximumCommitBatchSize) {
+        Preconditions.checkArgument(maximumCommitBatchSize > 0, "Invalid commit batch size %s",
+            maximumCommitBatchSize);
+        this.maximumCommitBatchSize = maximumCommitBatchSize;
+    }
+
+    void setPayloadEncodingExecutor(@Nullable final Executor payloadEncodingExecutor) {
+        this.payloadEncodingExecutor = payloadEncodingExecutor;
+    }
+
+    void setCommitLatencyTracker(@Nullable final CommitLatencyTracker commitLatencyTracker) {
+        this.commitLatencyTracker = commitLatencyTracker;
+    }
+
     /**
      * Take a snapshot of current state for later recovery.
      *
@@ -325,6 +371,19 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         }
     }
 
+    /**
+     * Apply a transaction coming from recovery, whose {@link CommitTransactionPayload} has already been decoded.
+     * This method does not assume the SchemaContexts match and performs data pruning.
+     *
+     * @param transaction transaction identifier and candidate
+     * @throws DataValidationFailedException when the candidate fails to apply
+     */
+    void applyRecoveryTransaction(@Nonnull final Entry<TransactionIdentifier, DataTreeCandidate> transaction)
+            throws DataValidationFailedException {
+        applyRecoveryCandidate(transaction.getValue());
+        allMetadataCommittedTransaction(transaction.getKey());
+    }
+
     /**
      * Apply a payload coming from recovery. This method does not assume the SchemaContexts match and performs data
      * pruning in an attempt to adjust the state to our current SchemaContext.
@@ -335,10 +394,11 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
      */
     void applyRecoveryPayload(@Nonnull final Payload payload) throws IOException, DataValidationFailedException {
         if (payload instanceof CommitTransactionPayload) {
-            final Entry<TransactionIdentifier, DataTreeCandidate> e =
-                    ((CommitTransactionPayload) payload).getCandidate();
-            applyRecoveryCandidate(e.getValue());
-            allMetadataCommittedTransaction(e.getKey());
+            applyRecoveryTransaction(((CommitTransactionPayload) payload).getCandidate());
+        } else if (payload instanceof CommitTransactionBatchPayload) {
+            for (CommitTransactionPayload p : ((CommitTransactionBatchPayload) payload).getPayloads()) {
+                applyRecoveryPayload(p);
+            }
         } else if (payload instanceof AbortTransactionPayload) {
             allMetadataAbortedTransaction(((AbortTransactionPayload) payload).getIdentifier());
         } else if (payload instanceof PurgeTransactionPayload) {
@@ -405,6 +465,20 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
                 payloadReplicationComplete(txId);
             }
             allMetadataCommittedTransaction(txId);
+        } else if (payload instanceof CommitTransactionBatchPayload) {
+            final CommitTransactionBatchPayload batch = (CommitTransactionBatchPayload) payload;
+            if (identifier == null) {
+                for (CommitTransactionPayload p : batch.getPayloads()) {
+                    applyReplicatedPayload(null, p);
+                }
+            } else {
+                // Transactions in the batch sit at the head of pendingFinishCommits in batch order, complete them
+                // one by one
+                for (TransactionIdentifier txId : batch.getIdentifiers()) {
+                    payloadReplicationComplete(txId);
+                    allMetadataCommittedTransaction(txId);
+                }
+            }
         } else if (payload instanceof AbortTransactionPayload) {
             if (identifier != null) {
                 payloadReplicationComplete((AbortTransactionPayload) payload);
@@ -718,10 +792,12 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
             final DataTreeModification modification = cohort.getDataTreeModification();
 
             LOG.debug("{}: Validating transaction {}", logContext, cohort.getIdentifier());
+            phaseEnded(entry, Phase.QUEUE_WAIT);
             Exception cause;
             try {
                 tip.validate(modification);
                 LOG.debug("{}: Transaction {} validated", logContext, cohort.getIdentifier());
+                phaseEnded(entry, Phase.VALIDATE);
                 cohort.successfulCanCommit();
                 entry.lastAccess = readTime();
                 return;
@@ -814,6 +890,7 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         Verify.verify(cohort.equals(current), "Attempted to pre-commit %s while %s is pending", cohort, current);
 
         LOG.debug("{}: Preparing transaction {}", logContext, current.getIdentifier());
+        phaseEnded(entry, Phase.PRE_COMMIT_WAIT);
 
         final DataTreeCandidateTip candidate;
         try {
@@ -826,12 +903,17 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
 
         // Set the tip of the data tree.
         tip = Verify.verifyNotNull(candidate);
+        phaseEnded(entry, Phase.PREPARE);
 
         entry.lastAccess = readTime();
 
         pendingTransactions.remove();
         pendingCommits.add(entry);
 
+        if (payloadEncodingExecutor != null) {
+            startPayloadEncoding(entry, candidate);
+        }
+
         LOG.debug("{}: Transaction {} prepared", logContext, current.getIdentifier());
 
         cohort.successfulPreCommit(candidate);
@@ -851,6 +933,8 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         final DataTreeCandidate candidate = cohort.getCandidate();
 
         LOG.debug("{}: Resuming commit of transaction {}", logContext, txId);
+        final CommitEntry entry = pendingFinishCommits.peek();
+        phaseEnded(entry, Phase.REPLICATION);
 
         if (tip == candidate) {
             // All pending candidates have been committed, reset the tip to the data tree.
@@ -865,6 +949,7 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
             return;
         }
 
+        phaseEnded(entry, Phase.APPLY);
         shard.getShardMBean().incrementCommittedTransactionCount();
         shard.getShardMBean().setLastCommittedTransactionTime(System.currentTimeMillis());
 
@@ -873,6 +958,7 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
 
         LOG.trace("{}: Transaction {} committed, proceeding to notify", logContext, txId);
         notifyListeners(candidate);
+        phaseEnded(entry, Phase.PUBLISH);
 
         processNextPending();
     }
@@ -887,12 +973,12 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
             return;
         }
 
-        LOG.debug("{}: Starting commit for transaction {}", logContext, current.getIdentifier());
+        phaseEnded(entry, Phase.COMMIT_WAIT);
 
         final TransactionIdentifier txId = cohort.getIdentifier();
-        final Payload payload;
+        final CommitTransactionPayload payload;
         try {
-            payload = CommitTransactionPayload.create(txId, candidate);
+            payload = encodedPayload(entry, candidate);
         } catch (IOException e) {
             LOG.error("{}: Failed to encode transaction {} candidate {}", logContext, txId, candidate, e);
             pendingCommits.poll().cohort.failedCommit(e);
@@ -900,6 +986,15 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
             return;
         }
 
+        if (payload == null) {
+            LOG.debug("{}: Transaction {} is waiting for its payload to be encoded", logContext, txId);
+            resumeOnPayloadEncoded(entry);
+            return;
+        }
+
+        LOG.debug("{}: Starting commit for transaction {}", logContext, txId);
+        phaseEnded(entry, Phase.PAYLOAD_ENCODING);
+
         // We process next transactions pending canCommit before we call persistPayload to possibly progress subsequent
         // transactions to the COMMIT_PENDING state so the payloads can be batched for replication. This is done for
         // single-shard transactions that immediately transition from canCommit to preCommit to commit. Note that
@@ -914,12 +1009,16 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         pendingCommits.remove();
         pendingFinishCommits.add(entry);
 
+        // With group commit enabled, pull any subsequent transactions which are ready to commit into the same
+        // payload, so they are persisted and replicated as a single journal entry.
+        final Payload toPersist = maximumCommitBatchSize > 1 ? coalescePendingCommits(payload) : payload;
+
         // See if the next transaction is pending commit (ie in the COMMIT_PENDING state) so it can be batched with
         // this transaction for replication.
         boolean replicationBatchHint = peekNextPendingCommit();
 
         // Once completed, we will continue via payloadReplicationComplete
-        shard.persistPayload(txId, payload, replicationBatchHint);
+        shard.persistPayload(txId, toPersist, replicationBatchHint);
 
         entry.lastAccess = shard.ticker().read();
 
@@ -930,6 +1029,126 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         processNextPendingCommit();
     }
 
+    /**
+     * Move transactions in COMMIT_PENDING state from the head of pendingCommits to pendingFinishCommits, encoding
+     * their payloads along the way, until we either run out of such transactions or hit
+     * {@link #maximumCommitBatchSize}.
+     *
+     * @param first Payload of the transaction which initiated the commit, already moved to pendingFinishCommits
+     * @return Payload to persist, which is either {@code first} or a {@link CommitTransactionBatchPayload}
+     */
+    private Payload coalescePendingCommits(final CommitTransactionPayload first) {
+        final List<CommitTransactionPayload> batch = new ArrayList<>(maximumCommitBatchSize);
+        batch.add(first);
+
+        while (batch.size() < maximumCommitBatchSize && peekNextPendingCommit()) {
+            final CommitEntry entry = pendingCommits.peek();
+            final SimpleShardDataTreeCohort cohort = entry.cohort;
+            final TransactionIdentifier txId = cohort.getIdentifier();
+            phaseEnded(entry, Phase.COMMIT_WAIT);
+
+            final CommitTransactionPayload payload;
+            try {
+                payload = encodedPayload(entry, cohort.getCandidate());
+            } catch (IOException e) {
+                LOG.error("{}: Failed to encode transaction {} candidate {}", logContext, txId, cohort.getCandidate(),
+                    e);
+                pendingCommits.poll().cohort.failedCommit(e);
+                break;
+            }
+
+            if (payload == null) {
+                // Do not wait for the encoding, this transaction will start its own commit once it is encoded
+                resumeOnPayloadEncoded(entry);
+                break;
+            }
+            phaseEnded(entry, Phase.PAYLOAD_ENCODING);
+
+            // Same as in startCommit(): give subsequent transactions a chance to reach COMMIT_PENDING while this entry
+            // is still at the head of pendingCommits, so they can join the batch.
+            processNextPendingTransaction();
+
+            pendingCommits.remove();
+            pendingFinishCommits.add(entry);
+            entry.lastAccess = shard.ticker().read();
+            batch.add(payload);
+
+            LOG.debug("{}: Transaction {} added to commit batch", logContext, txId);
+        }
+
+        if (batch.size() == 1) {
+            return first;
+        }
+
+        try {
+            return CommitTransactionBatchPayload.create(batch);
+        } catch (IOException e) {
+            // Should never happen, as we have just created the payloads
+            throw new IllegalStateException("Failed to create batch of " + batch.size() + " payloads", e);
+        }
+    }
+
+    private void startPayloadEncoding(final CommitEntry entry, final DataTreeCandidate candidate) {
+        final TransactionIdentifier txId = entry.cohort.getIdentifier();
+        entry.encodedPayload = CompletableFuture.supplyAsync(() -> {
+            try {
+                return CommitTransactionPayload.create(txId, candidate);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, payloadEncodingExecutor);
+    }
+
+    /**
+     * Discard the payload being encoded for a transaction whose candidate has been replaced and encode the new one.
+     * Cancelling the old payload wakes up any pending resume, which then waits for the new payload.
+     */
+    private void restartPayloadEncoding(final CommitEntry entry, final DataTreeCandidate candidate) {
+        entry.encodedPayload.cancel(false);
+        entry.resumeOnEncoded = false;
+        if (payloadEncodingExecutor != null) {
+            startPayloadEncoding(entry, candidate);
+        } else {
+            entry.encodedPayload = null;
+        }
+    }
+
+    /**
+     * Return the payload of a transaction ready to commit, encoding it if it has not been encoded off the actor.
+     *
+     * @return encoded payload, or null if the payload is still being encoded
+     * @throws IOException if the payload fails to encode
+     */
+    @Nullable
+    private static CommitTransactionPayload encodedPayload(final CommitEntry entry, final DataTreeCandidate candidate)
+            throws IOException {
+        final CompletableFuture<CommitTransactionPayload> future = entry.encodedPayload;
+        if (future == null) {
+            return CommitTransactionPayload.create(entry.cohort.getIdentifier(), candidate);
+        }
+        if (!future.isDone()) {
+            return null;
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            Throwables.propagateIfPossible(cause, IOException.class);
+            throw new IOException("Failed to encode payload", cause);
+        }
+    }
+
+    /**
+     * Arrange for processing of pending commits to resume once the payload of a transaction has been encoded.
+     */
+    private void resumeOnPayloadEncoded(final CommitEntry entry) {
+        if (!entry.resumeOnEncoded) {
+            entry.resumeOnEncoded = true;
+            entry.encodedPayload.whenComplete((payload, failure) -> shard.scheduleNextPendingTransaction());
+        }
+    }
+
     Collection<ActorRef> getCohortActors() {
         return cohortRegistry.getCohortActors();
     }
@@ -950,10 +1169,20 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
     ShardDataTreeCohort createReadyCohort(final TransactionIdentifier txId, final DataTreeModification mod) {
         SimpleShardDataTreeCohort cohort = new SimpleShardDataTreeCohort(this, mod, txId,
                 cohortRegistry.createCohort(schemaContext, txId, COMMIT_STEP_TIMEOUT));
-        pendingTransactions.add(new CommitEntry(cohort, readTime()));
+        final CommitEntry entry = new CommitEntry(cohort, readTime());
+        if (commitLatencyTracker != null) {
+            entry.trace = commitLatencyTracker.newTrace(entry.lastAccess);
+        }
+        pendingTransactions.add(entry);
         return cohort;
     }
 
+    private void phaseEnded(final CommitEntry entry, final Phase phase) {
+        if (entry.trace != null) {
+            entry.trace.phaseEnded(phase, readTime());
+        }
+    }
+
     // Exposed for ShardCommitCoordinator so it does not have deal with local histories (it does not care), this mimics
     // the newReadWriteTransaction()
     ShardDataTreeCohort newReadyCohort(final TransactionIdentifier txId, final DataTreeModification mod) {
@@ -1117,7 +1346,8 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
     private void rebaseTransactions(final Iterator<CommitEntry> iter, @Nonnull final TipProducingDataTreeTip newTip) {
         tip = Preconditions.checkNotNull(newTip);
         while (iter.hasNext()) {
-            final SimpleShardDataTreeCohort cohort = iter.next().cohort;
+            final CommitEntry entry = iter.next();
+            final SimpleShardDataTreeCohort cohort = entry.cohort;
             if (cohort.getState() == State.CAN_COMMIT_COMPLETE) {
                 LOG.debug("{}: Revalidating queued transaction {}", logContext, cohort.getIdentifier());
 
@@ -1136,6 +1366,9 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
                     cohort.userPreCommit(candidate);
 
                     cohort.setNewCandidate(candidate);
+                    if (entry.encodedPayload != null) {
+                        restartPayloadEncoding(entry, candidate);
+                    }
                     tip = candidate;
                 } catch (ExecutionException | TimeoutException | RuntimeException | DataValidationFailedException e) {
                     LOG.debug("{}: Failed to reprepare queued transaction {}", logContext, cohort.getIdentifier(), e);
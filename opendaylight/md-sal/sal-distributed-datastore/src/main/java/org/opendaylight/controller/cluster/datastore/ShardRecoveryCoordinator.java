@@ -8,7 +8,24 @@
 package org.opendaylight.controller.cluster.datastore;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionBatchPayload;
+import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.ShardDataTreeSnapshot;
 import org.opendaylight.controller.cluster.datastore.persisted.ShardSnapshotState;
 import org.opendaylight.controller.cluster.datastore.utils.NormalizedNodeXMLOutput;
@@ -16,14 +33,14 @@ import org.opendaylight.controller.cluster.raft.RaftActorRecoveryCohort;
 import org.opendaylight.controller.cluster.raft.persisted.Snapshot;
 import org.opendaylight.controller.cluster.raft.protobuff.client.messages.Payload;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 import org.slf4j.Logger;
 
 /**
- * Coordinates persistence recovery of journal log entries and snapshots for a shard. Each snapshot
- * and journal log entry batch are de-serialized and applied to their own write transaction
- * instance in parallel on a thread pool for faster recovery time. However the transactions are
- * committed to the data store in the order the corresponding snapshot or log batch are received
- * to preserve data store integrity.
+ * Coordinates persistence recovery of journal log entries and snapshots for a shard. Transaction payloads in a journal
+ * log entry batch are decoded in parallel on a thread pool shared by all shards, while earlier payloads are being
+ * applied. Payloads are always applied to the data store in the order they are received to preserve data store
+ * integrity, and the entire batch is applied by the time {@link #applyCurrentLogRecoveryBatch()} returns.
  *
  * @author Thomas Pantelis
  */
@@ -53,10 +70,45 @@ abstract class ShardRecoveryCoordinator implements RaftActorRecoveryCohort {
         }
     }
 
+    /**
+     * A recovered payload waiting to be applied.
+     */
+    private static final class RecoveredPayload {
+        final Payload payload;
+        // Null if the payload does not need decoding
+        final Future<List<Entry<TransactionIdentifier, DataTreeCandidate>>> transactions;
+
+        RecoveredPayload(final Payload payload,
+                final Future<List<Entry<TransactionIdentifier, DataTreeCandidate>>> transactions) {
+            this.payload = payload;
+            this.transactions = transactions;
+        }
+    }
+
+    private static final int DECODE_THREADS = Runtime.getRuntime().availableProcessors();
+
+    // Upper bound on the number of decoded payloads held by a shard, so memory use does not grow with batch size
+    private static final int MAX_PENDING_PAYLOADS = 4 * DECODE_THREADS;
+
+    private static final ExecutorService DECODE_EXECUTOR;
+
+    static {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(DECODE_THREADS, DECODE_THREADS, 10,
+            TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new ThreadFactoryBuilder().setDaemon(true)
+            .setNameFormat("shard-recovery-decoder-%d").build());
+        // Recovery happens mostly at startup, do not keep the threads around afterwards
+        executor.allowCoreThreadTimeOut(true);
+        DECODE_EXECUTOR = executor;
+    }
+
+    private final Deque<RecoveredPayload> pending = new ArrayDeque<>();
     private final ShardDataTree store;
     private final String shardName;
     private final Logger log;
 
+    private Stopwatch recoveryTimer;
+    private long recoveredPayloads;
+    private long recoveredBytes;
     private boolean open;
 
     ShardRecoveryCoordinator(final ShardDataTree store, final String shardName, final Logger log) {
@@ -77,20 +129,30 @@ abstract class ShardRecoveryCoordinator implements RaftActorRecoveryCohort {
     @Override
     public void startLogRecoveryBatch(final int maxBatchSize) {
         log.debug("{}: starting log recovery batch with max size {}", shardName, maxBatchSize);
+        if (recoveryTimer == null) {
+            recoveryTimer = Stopwatch.createStarted();
+        }
         open = true;
     }
 
     @Override
-    @SuppressWarnings("checkstyle:IllegalCatch")
     public void appendRecoveredLogEntry(final Payload payload) {
         Preconditions.checkState(open, "call startLogRecovery before calling appendRecoveredLogEntry");
 
-        try {
-            store.applyRecoveryPayload(payload);
-        } catch (Exception e) {
-            log.error("{}: failed to apply payload {}", shardName, payload, e);
-            throw new IllegalStateException(String.format("%s: Failed to apply recovery payload %s",
-                shardName, payload), e);
+        final Future<List<Entry<TransactionIdentifier, DataTreeCandidate>>> transactions;
+        if (payload instanceof CommitTransactionPayload || payload instanceof CommitTransactionBatchPayload) {
+            transactions = DECODE_EXECUTOR.submit(() -> decodePayload(payload));
+        } else {
+            transactions = null;
+        }
+        pending.addLast(new RecoveredPayload(payload, transactions));
+
+        // Apply whatever has been decoded already, waiting only if too many payloads are pending
+        for (RecoveredPayload head = pending.peekFirst(); head != null; head = pending.peekFirst()) {
+            if (pending.size() <= MAX_PENDING_PAYLOADS && head.transactions != null && !head.transactions.isDone()) {
+                break;
+            }
+            applyPayload(pending.removeFirst());
         }
     }
 
@@ -100,9 +162,80 @@ abstract class ShardRecoveryCoordinator implements RaftActorRecoveryCohort {
     @Override
     public void applyCurrentLogRecoveryBatch() {
         Preconditions.checkState(open, "call startLogRecovery before calling applyCurrentLogRecoveryBatch");
+
+        for (RecoveredPayload head = pending.pollFirst(); head != null; head = pending.pollFirst()) {
+            applyPayload(head);
+        }
+
+        log.debug("{}: applied log recovery batch, {} payloads ({} bytes) recovered so far", shardName,
+            recoveredPayloads, recoveredBytes);
         open = false;
     }
 
+    /**
+     * Logs the recovery throughput achieved by this coordinator. Invoked once recovery has completed.
+     */
+    void logRecoveryThroughput() {
+        if (recoveryTimer == null) {
+            return;
+        }
+
+        final long elapsedMillis = Math.max(recoveryTimer.elapsed(TimeUnit.MILLISECONDS), 1);
+        log.info("{}: Recovered {} journal payloads ({} bytes) in {}, {} payloads/s, {} KiB/s", shardName,
+            recoveredPayloads, recoveredBytes, recoveryTimer, recoveredPayloads * 1000 / elapsedMillis,
+            recoveredBytes * 1000 / 1024 / elapsedMillis);
+    }
+
+    private static List<Entry<TransactionIdentifier, DataTreeCandidate>> decodePayload(final Payload payload)
+            throws IOException {
+        if (payload instanceof CommitTransactionPayload) {
+            return ImmutableList.of(((CommitTransactionPayload) payload).getCandidate());
+        }
+
+        final List<CommitTransactionPayload> payloads = ((CommitTransactionBatchPayload) payload).getPayloads();
+        final ImmutableList.Builder<Entry<TransactionIdentifier, DataTreeCandidate>> builder =
+                ImmutableList.builder();
+        for (CommitTransactionPayload p : payloads) {
+            builder.add(p.getCandidate());
+        }
+        return builder.build();
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void applyPayload(final RecoveredPayload recovered) {
+        final Payload payload = recovered.payload;
+        try {
+            if (recovered.transactions != null) {
+                for (Entry<TransactionIdentifier, DataTreeCandidate> tx : recovered.transactions.get()) {
+                    store.applyRecoveryTransaction(tx);
+                }
+            } else {
+                store.applyRecoveryPayload(payload);
+            }
+        } catch (Exception e) {
+            discardPending();
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+
+            final Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            log.error("{}: failed to apply payload {}", shardName, payload, cause);
+            throw new IllegalStateException(String.format("%s: Failed to apply recovery payload %s",
+                shardName, payload), cause);
+        }
+
+        recoveredPayloads++;
+        recoveredBytes += payload.size();
+    }
+
+    private void discardPending() {
+        for (RecoveredPayload p = pending.pollFirst(); p != null; p = pending.pollFirst()) {
+            if (p.transactions != null) {
+                p.transactions.cancel(false);
+            }
+        }
+    }
+
     private File writeRoot(final String kind, final NormalizedNode<?, ?> node) {
         final File file = new File(System.getProperty("karaf.data", "."),
             "failed-recovery-" + kind + "-" + shardName + ".xml");
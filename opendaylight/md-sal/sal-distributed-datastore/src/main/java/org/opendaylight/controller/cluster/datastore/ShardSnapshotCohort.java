@@ -23,6 +23,7 @@ import org.opendaylight.controller.cluster.access.concepts.MemberName;
 import org.opendaylight.controller.cluster.datastore.actors.ShardSnapshotActor;
 import org.opendaylight.controller.cluster.datastore.persisted.ShardDataTreeSnapshot;
 import org.opendaylight.controller.cluster.datastore.persisted.ShardSnapshotState;
+import org.opendaylight.controller.cluster.io.StreamCompression;
 import org.opendaylight.controller.cluster.raft.RaftActorSnapshotCohort;
 import org.opendaylight.controller.cluster.raft.persisted.Snapshot;
 import org.opendaylight.controller.cluster.raft.persisted.Snapshot.State;
@@ -40,6 +41,7 @@ class ShardSnapshotCohort implements RaftActorSnapshotCohort {
     private final ShardDataTree store;
     private final String logId;
     private final Logger log;
+    private boolean useCompressedInstallSnapshot;
 
     private ShardSnapshotCohort(final LocalHistoryIdentifier applyHistoryId, final ActorRef snapshotActor,
             final ShardDataTree store, final Logger log, final String logId) {
@@ -68,7 +70,12 @@ class ShardSnapshotCohort implements RaftActorSnapshotCohort {
         final ShardDataTreeSnapshot snapshot = store.takeStateSnapshot();
         log.debug("{}: requesting serialization of snapshot {}", logId, snapshot);
 
-        ShardSnapshotActor.requestSnapshot(snapshotActor, snapshot, installSnapshotStream, actorRef);
+        ShardSnapshotActor.requestSnapshot(snapshotActor, snapshot, installSnapshotStream,
+            useCompressedInstallSnapshot, actorRef);
+    }
+
+    void setUseCompressedInstallSnapshot(final boolean useCompressedInstallSnapshot) {
+        this.useCompressedInstallSnapshot = useCompressedInstallSnapshot;
     }
 
     @Override
@@ -98,7 +105,8 @@ class ShardSnapshotCohort implements RaftActorSnapshotCohort {
 
     @Override
     public State deserializeSnapshot(final ByteSource snapshotBytes) throws IOException {
-        try (ObjectInputStream in = new ObjectInputStream(snapshotBytes.openStream())) {
+        try (ObjectInputStream in = new ObjectInputStream(StreamCompression.decompressIfNeeded(
+                snapshotBytes.openStream()))) {
             return new ShardSnapshotState(ShardDataTreeSnapshot.deserialize(in));
         }
     }
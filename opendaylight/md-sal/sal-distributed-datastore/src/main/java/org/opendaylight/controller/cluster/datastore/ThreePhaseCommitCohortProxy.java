@@ -21,6 +21,7 @@ import com.google.common.util.concurrent.SettableFuture;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.messages.AbortTransaction;
@@ -155,6 +156,11 @@ public class ThreePhaseCommitCohortProxy extends AbstractThreePhaseCommitCohort<
         commitOperationCallback = new TransactionRateLimitingCallback(actorContext);
         commitOperationCallback.run();
 
+        if (cohorts.size() > 1 && actorContext.getDatastoreContext().isParallelCanCommit()) {
+            finishParallelCanCommit(returnFuture);
+            return;
+        }
+
         final Iterator<CohortInfo> iterator = cohorts.iterator();
 
         final OnComplete<Object> onComplete = new OnComplete<Object>() {
@@ -201,6 +207,63 @@ public class ThreePhaseCommitCohortProxy extends AbstractThreePhaseCommitCohort<
         sendCanCommitTransaction(iterator.next(), onComplete);
     }
 
+    /**
+     * Send canCommit to all cohorts at once. This does not add any potential for deadlock compared to contacting the
+     * cohorts one after the other: a shard orders canCommit requests by the order in which the transactions were
+     * readied, not by the order in which the requests arrive, hence a transaction waits for the same transactions in
+     * either case.
+     */
+    private void finishParallelCanCommit(final SettableFuture<Boolean> returnFuture) {
+        final AtomicInteger remaining = new AtomicInteger(cohorts.size());
+        // Replies are processed concurrently, only the first one deciding the outcome completes the future
+        final AtomicBoolean decided = new AtomicBoolean();
+
+        final OnComplete<Object> onComplete = new OnComplete<Object>() {
+            @Override
+            public void onComplete(final Throwable failure, final Object response) {
+                if (failure != null) {
+                    LOG.debug("Tx {}: a canCommit cohort Future failed", transactionId, failure);
+
+                    if (decided.compareAndSet(false, true)) {
+                        commitOperationCallback.failure();
+                        returnFuture.setException(failure);
+                    }
+                    return;
+                }
+
+                if (!CanCommitTransactionReply.isSerializedType(response)) {
+                    LOG.error("Unexpected response type {}", response.getClass());
+                    if (decided.compareAndSet(false, true)) {
+                        returnFuture.setException(new IllegalArgumentException(
+                                String.format("Unexpected response type %s", response.getClass())));
+                    }
+                    return;
+                }
+
+                LOG.debug("Tx {}: received {}", transactionId, response);
+
+                // Unlike the sequential case, we time until the outcome is known. The timer has to be paused
+                // before completing the future, as its listeners may proceed to commit right away.
+                if (!CanCommitTransactionReply.fromSerializable(response).getCanCommit()) {
+                    if (!decided.compareAndSet(false, true)) {
+                        return;
+                    }
+                    LOG.debug("Tx {}: canCommit returning result: false", transactionId);
+                    commitOperationCallback.pause();
+                    returnFuture.set(Boolean.FALSE);
+                } else if (remaining.decrementAndGet() == 0 && decided.compareAndSet(false, true)) {
+                    LOG.debug("Tx {}: canCommit returning result: true", transactionId);
+                    commitOperationCallback.pause();
+                    returnFuture.set(Boolean.TRUE);
+                }
+            }
+        };
+
+        for (CohortInfo info : cohorts) {
+            sendCanCommitTransaction(info, onComplete);
+        }
+    }
+
     private void sendCanCommitTransaction(final CohortInfo toCohortInfo, final OnComplete<Object> onComplete) {
         CanCommitTransaction message = new CanCommitTransaction(transactionId, toCohortInfo.getActorVersion());
 
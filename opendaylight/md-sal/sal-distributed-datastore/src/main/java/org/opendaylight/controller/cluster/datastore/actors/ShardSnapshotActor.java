@@ -17,6 +17,7 @@ import java.util.Optional;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActorWithMetering;
 import org.opendaylight.controller.cluster.datastore.persisted.ShardDataTreeSnapshot;
 import org.opendaylight.controller.cluster.datastore.persisted.ShardSnapshotState;
+import org.opendaylight.controller.cluster.io.StreamCompression;
 import org.opendaylight.controller.cluster.raft.base.messages.CaptureSnapshotReply;
 
 /**
@@ -30,12 +31,14 @@ public final class ShardSnapshotActor extends AbstractUntypedActorWithMetering {
     private static final class SerializeSnapshot {
         private final ShardDataTreeSnapshot snapshot;
         private final Optional<OutputStream> installSnapshotStream;
+        private final boolean compress;
         private final ActorRef replyTo;
 
         SerializeSnapshot(final ShardDataTreeSnapshot snapshot, final Optional<OutputStream> installSnapshotStream,
-                final ActorRef replyTo) {
+                final boolean compress, final ActorRef replyTo) {
             this.snapshot = Preconditions.checkNotNull(snapshot);
             this.installSnapshotStream = Preconditions.checkNotNull(installSnapshotStream);
+            this.compress = compress;
             this.replyTo = Preconditions.checkNotNull(replyTo);
         }
 
@@ -47,6 +50,10 @@ public final class ShardSnapshotActor extends AbstractUntypedActorWithMetering {
             return installSnapshotStream;
         }
 
+        boolean isCompress() {
+            return compress;
+        }
+
         ActorRef getReplyTo() {
             return replyTo;
         }
@@ -71,7 +78,8 @@ public final class ShardSnapshotActor extends AbstractUntypedActorWithMetering {
     private void onSerializeSnapshot(final SerializeSnapshot request) {
         Optional<OutputStream> installSnapshotStream = request.getInstallSnapshotStream();
         if (installSnapshotStream.isPresent()) {
-            try (ObjectOutputStream out = new ObjectOutputStream(installSnapshotStream.get())) {
+            try (ObjectOutputStream out = new ObjectOutputStream(request.isCompress()
+                    ? StreamCompression.compress(installSnapshotStream.get()) : installSnapshotStream.get())) {
                 request.getSnapshot().serialize(out);
             } catch (IOException e) {
                 // TODO - we should communicate the failure in the CaptureSnapshotReply.
@@ -90,11 +98,13 @@ public final class ShardSnapshotActor extends AbstractUntypedActorWithMetering {
      * @param snapshot the snapshot to process
      * @param installSnapshotStream Optional OutputStream that is present if the snapshot is to also be installed
      *        on a follower.
+     * @param compress true if the snapshot written to installSnapshotStream should be compressed
      * @param replyTo the actor to which to send the CaptureSnapshotReply
      */
     public static void requestSnapshot(final ActorRef snapshotActor, final ShardDataTreeSnapshot snapshot,
-            final Optional<OutputStream> installSnapshotStream, final ActorRef replyTo) {
-        snapshotActor.tell(new SerializeSnapshot(snapshot, installSnapshotStream, replyTo), ActorRef.noSender());
+            final Optional<OutputStream> installSnapshotStream, final boolean compress, final ActorRef replyTo) {
+        snapshotActor.tell(new SerializeSnapshot(snapshot, installSnapshotStream, compress, replyTo),
+            ActorRef.noSender());
     }
 
     public static Props props() {
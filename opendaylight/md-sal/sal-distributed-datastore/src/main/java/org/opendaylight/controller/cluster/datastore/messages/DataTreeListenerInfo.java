@@ -20,14 +20,24 @@ public class DataTreeListenerInfo {
     private final String registeredPath;
     private final boolean isEnabled;
     private final long notificationCount;
+    private final int pendingNotificationCount;
+    private final long coalescedNotificationCount;
 
-    @ConstructorProperties({"listener","registeredPath", "isEnabled", "notificationCount"})
     public DataTreeListenerInfo(final String listener, final String registeredPath, final boolean isEnabled,
             final long notificationCount) {
+        this(listener, registeredPath, isEnabled, notificationCount, 0, 0);
+    }
+
+    @ConstructorProperties({"listener","registeredPath", "isEnabled", "notificationCount", "pendingNotificationCount",
+        "coalescedNotificationCount"})
+    public DataTreeListenerInfo(final String listener, final String registeredPath, final boolean isEnabled,
+            final long notificationCount, final int pendingNotificationCount, final long coalescedNotificationCount) {
         this.listener = Preconditions.checkNotNull(listener);
         this.registeredPath = Preconditions.checkNotNull(registeredPath);
         this.isEnabled = isEnabled;
         this.notificationCount = notificationCount;
+        this.pendingNotificationCount = pendingNotificationCount;
+        this.coalescedNotificationCount = coalescedNotificationCount;
     }
 
     public String getListener() {
@@ -45,4 +55,18 @@ public class DataTreeListenerInfo {
     public long getNotificationCount() {
         return notificationCount;
     }
+
+    /**
+     * Returns the number of changes which are waiting to be delivered to a coalescing listener.
+     */
+    public int getPendingNotificationCount() {
+        return pendingNotificationCount;
+    }
+
+    /**
+     * Returns the number of changes which have been merged into a pending change of a coalescing listener.
+     */
+    public long getCoalescedNotificationCount() {
+        return coalescedNotificationCount;
+    }
 }
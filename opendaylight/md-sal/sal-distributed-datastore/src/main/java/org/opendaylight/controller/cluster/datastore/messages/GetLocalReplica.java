@@ -0,0 +1,18 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.messages;
+
+/**
+ * Local message sent to a Shard to retrieve its {@link LocalReplica}.
+ */
+public final class GetLocalReplica {
+    public static final GetLocalReplica INSTANCE = new GetLocalReplica();
+
+    private GetLocalReplica() {
+    }
+}
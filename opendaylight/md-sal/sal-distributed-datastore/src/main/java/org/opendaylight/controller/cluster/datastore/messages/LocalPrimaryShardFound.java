@@ -8,6 +8,7 @@
 package org.opendaylight.controller.cluster.datastore.messages;
 
 import com.google.common.base.Preconditions;
+import java.util.function.BooleanSupplier;
 import javax.annotation.Nonnull;
 import org.apache.commons.lang3.ObjectUtils;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
@@ -21,10 +22,17 @@ public class LocalPrimaryShardFound {
 
     private final String primaryPath;
     private final DataTree localShardDataTree;
+    private final BooleanSupplier leaderLease;
 
-    public LocalPrimaryShardFound(@Nonnull String primaryPath, @Nonnull DataTree localShardDataTree) {
+    public LocalPrimaryShardFound(@Nonnull String primaryPath, @Nonnull DataTree localShardDataTree,
+            @Nonnull BooleanSupplier leaderLease) {
         this.primaryPath = Preconditions.checkNotNull(primaryPath);
         this.localShardDataTree = Preconditions.checkNotNull(localShardDataTree);
+        this.leaderLease = Preconditions.checkNotNull(leaderLease);
+    }
+
+    public LocalPrimaryShardFound(@Nonnull String primaryPath, @Nonnull DataTree localShardDataTree) {
+        this(primaryPath, localShardDataTree, () -> true);
     }
 
     @Nonnull
@@ -37,6 +45,11 @@ public class LocalPrimaryShardFound {
         return localShardDataTree;
     }
 
+    @Nonnull
+    public BooleanSupplier getLeaderLease() {
+        return leaderLease;
+    }
+
     @Override
     public String toString() {
         return "LocalPrimaryShardFound [primaryPath=" + primaryPath
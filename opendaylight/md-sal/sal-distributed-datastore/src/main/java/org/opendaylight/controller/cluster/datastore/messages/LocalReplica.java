@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.messages;
+
+import com.google.common.base.Preconditions;
+import javax.annotation.Nonnull;
+import org.opendaylight.controller.cluster.raft.LeaderLease;
+import org.opendaylight.controller.cluster.raft.ReplicaFreshness;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+
+/**
+ * Local message sent in reply to {@link GetLocalReplica}. It provides access to the data tree of a local shard
+ * replica, regardless of whether it is the leader or a follower, along with the means to determine how stale its
+ * state may be.
+ */
+public final class LocalReplica {
+    private final DataTree dataTree;
+    private final LeaderLease leaderLease;
+    private final ReplicaFreshness freshness;
+
+    public LocalReplica(@Nonnull final DataTree dataTree, @Nonnull final LeaderLease leaderLease,
+            @Nonnull final ReplicaFreshness freshness) {
+        this.dataTree = Preconditions.checkNotNull(dataTree);
+        this.leaderLease = Preconditions.checkNotNull(leaderLease);
+        this.freshness = Preconditions.checkNotNull(freshness);
+    }
+
+    /**
+     * Returns the replica's data tree. It may only be accessed in read-only manner.
+     */
+    @Nonnull
+    public DataTree getDataTree() {
+        return dataTree;
+    }
+
+    /**
+     * Determines whether the replica's state lags behind the shard leader's by at most the specified time. This is
+     * always the case if the replica is the leader and holds an enforced leader lease. A lease held while leases are
+     * disabled, or by an isolated leader, does not rule out another leader having been elected, hence the replica's
+     * freshness is checked instead.
+     *
+     * @param maxStalenessNanos maximum acceptable staleness, in nanoseconds
+     * @return true if the replica can serve reads with the specified staleness bound
+     */
+    public boolean isFreshWithin(final long maxStalenessNanos) {
+        return leaderLease.isEnforced() || freshness.isWithin(maxStalenessNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "LocalReplica [leaderLease=" + leaderLease + ", freshness=" + freshness + "]";
+    }
+}
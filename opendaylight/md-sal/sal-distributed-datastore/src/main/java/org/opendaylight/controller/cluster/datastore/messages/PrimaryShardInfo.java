@@ -10,6 +10,7 @@ package org.opendaylight.controller.cluster.datastore.messages;
 import akka.actor.ActorSelection;
 import com.google.common.base.Preconditions;
 import java.util.Optional;
+import java.util.function.BooleanSupplier;
 import javax.annotation.Nonnull;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 
@@ -22,18 +23,26 @@ public class PrimaryShardInfo {
     private final ActorSelection primaryShardActor;
     private final short primaryShardVersion;
     private final DataTree localShardDataTree;
+    private final BooleanSupplier leaderLease;
 
     public PrimaryShardInfo(@Nonnull ActorSelection primaryShardActor, short primaryShardVersion,
-            @Nonnull DataTree localShardDataTree) {
+            @Nonnull DataTree localShardDataTree, @Nonnull BooleanSupplier leaderLease) {
         this.primaryShardActor = Preconditions.checkNotNull(primaryShardActor);
         this.primaryShardVersion = primaryShardVersion;
         this.localShardDataTree = Preconditions.checkNotNull(localShardDataTree);
+        this.leaderLease = Preconditions.checkNotNull(leaderLease);
+    }
+
+    public PrimaryShardInfo(@Nonnull ActorSelection primaryShardActor, short primaryShardVersion,
+            @Nonnull DataTree localShardDataTree) {
+        this(primaryShardActor, primaryShardVersion, localShardDataTree, () -> true);
     }
 
     public PrimaryShardInfo(@Nonnull ActorSelection primaryShardActor, short primaryShardVersion) {
         this.primaryShardActor = Preconditions.checkNotNull(primaryShardActor);
         this.primaryShardVersion = primaryShardVersion;
         this.localShardDataTree = null;
+        this.leaderLease = () -> false;
     }
 
     /**
@@ -59,4 +68,12 @@ public class PrimaryShardInfo {
     public Optional<DataTree> getLocalShardDataTree() {
         return Optional.ofNullable(localShardDataTree);
     }
+
+    /**
+     * Returns true if the primary shard is local to the caller and currently holds its leader lease, hence reads
+     * from its DataTree are guaranteed to observe all committed data.
+     */
+    public boolean isLeaderLeaseValid() {
+        return localShardDataTree != null && leaderLease.getAsBoolean();
+    }
 }
@@ -9,6 +9,7 @@ package org.opendaylight.controller.cluster.datastore.messages;
 
 import com.google.common.base.Preconditions;
 import java.util.Optional;
+import java.util.function.BooleanSupplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.opendaylight.controller.cluster.notifications.LeaderStateChanged;
@@ -24,21 +25,38 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 public class ShardLeaderStateChanged extends LeaderStateChanged {
 
     private final DataTree localShardDataTree;
+    private final BooleanSupplier leaderLease;
 
     public ShardLeaderStateChanged(@Nonnull String memberId, @Nullable String leaderId,
-            @Nonnull DataTree localShardDataTree, short leaderPayloadVersion) {
+            @Nonnull DataTree localShardDataTree, @Nonnull BooleanSupplier leaderLease, short leaderPayloadVersion) {
         super(memberId, leaderId, leaderPayloadVersion);
         this.localShardDataTree = Preconditions.checkNotNull(localShardDataTree);
+        this.leaderLease = Preconditions.checkNotNull(leaderLease);
+    }
+
+    public ShardLeaderStateChanged(@Nonnull String memberId, @Nullable String leaderId,
+            @Nonnull DataTree localShardDataTree, short leaderPayloadVersion) {
+        this(memberId, leaderId, localShardDataTree, () -> true, leaderPayloadVersion);
     }
 
     public ShardLeaderStateChanged(@Nonnull String memberId, @Nullable String leaderId,
             short leaderPayloadVersion) {
         super(memberId, leaderId, leaderPayloadVersion);
         this.localShardDataTree = null;
+        this.leaderLease = () -> false;
     }
 
     @Nonnull
     public Optional<DataTree> getLocalShardDataTree() {
         return Optional.ofNullable(localShardDataTree);
     }
+
+    /**
+     * Returns a supplier indicating whether reads from the local shard DataTree are guaranteed to observe all
+     * committed data, i.e. whether the local shard currently holds its leader lease.
+     */
+    @Nonnull
+    public BooleanSupplier getLeaderLease() {
+        return leaderLease;
+    }
 }
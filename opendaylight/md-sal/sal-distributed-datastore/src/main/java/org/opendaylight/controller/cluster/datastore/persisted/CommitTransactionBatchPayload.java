@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.persisted;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.List;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.io.ChunkedByteArray;
+import org.opendaylight.controller.cluster.raft.protobuff.client.messages.Payload;
+
+/**
+ * Payload persisted when a group of transactions commits together. It contains a number of
+ * {@link CommitTransactionPayload}s, which are persisted and replicated as a single journal entry, but are applied
+ * one after another, in the order in which they were added.
+ */
+@Beta
+public final class CommitTransactionBatchPayload extends Payload implements Serializable {
+    private static final class Proxy implements Externalizable {
+        private static final long serialVersionUID = 1L;
+        private List<CommitTransactionPayload> payloads;
+        private List<TransactionIdentifier> identifiers;
+
+        // checkstyle flags the public modifier as redundant which really doesn't make sense since it clearly isn't
+        // redundant. It is explicitly needed for Java serialization to be able to create instances via reflection.
+        @SuppressWarnings("checkstyle:RedundantModifier")
+        public Proxy() {
+            // For Externalizable
+        }
+
+        Proxy(final List<CommitTransactionPayload> payloads) {
+            this.payloads = Preconditions.checkNotNull(payloads);
+        }
+
+        @Override
+        public void writeExternal(final ObjectOutput out) throws IOException {
+            out.writeInt(payloads.size());
+            for (CommitTransactionPayload payload : payloads) {
+                final ChunkedByteArray serialized = payload.serialized();
+                out.writeInt(serialized.size());
+                serialized.copyTo(out);
+            }
+        }
+
+        @Override
+        public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+            final int count = in.readInt();
+            final ImmutableList.Builder<CommitTransactionPayload> builder = ImmutableList.builder();
+            for (int i = 0; i < count; ++i) {
+                builder.add(new CommitTransactionPayload(ChunkedByteArray.readFrom(in, in.readInt())));
+            }
+            payloads = builder.build();
+            identifiers = readIdentifiers(payloads);
+        }
+
+        private Object readResolve() {
+            return new CommitTransactionBatchPayload(payloads, identifiers);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<CommitTransactionPayload> payloads;
+    private final List<TransactionIdentifier> identifiers;
+    private final int size;
+
+    private CommitTransactionBatchPayload(final List<CommitTransactionPayload> payloads,
+            final List<TransactionIdentifier> identifiers) {
+        this.payloads = Preconditions.checkNotNull(payloads);
+        this.identifiers = Preconditions.checkNotNull(identifiers);
+
+        int total = 0;
+        for (CommitTransactionPayload payload : payloads) {
+            total += payload.size();
+        }
+        this.size = total;
+    }
+
+    /**
+     * Create a new batch payload, containing specified commit payloads.
+     *
+     * @param payloads Payloads to batch, in the order in which they need to be applied
+     * @return A batch payload
+     * @throws IOException if a payload fails to yield its transaction identifier
+     * @throws IllegalArgumentException if {@code payloads} is empty
+     */
+    public static CommitTransactionBatchPayload create(final List<CommitTransactionPayload> payloads)
+            throws IOException {
+        Preconditions.checkArgument(!payloads.isEmpty(), "Payload batch may not be empty");
+        final List<CommitTransactionPayload> copy = ImmutableList.copyOf(payloads);
+        return new CommitTransactionBatchPayload(copy, readIdentifiers(copy));
+    }
+
+    /**
+     * Return the individual commit payloads, in the order in which they need to be applied.
+     *
+     * @return Individual commit payloads
+     */
+    public List<CommitTransactionPayload> getPayloads() {
+        return payloads;
+    }
+
+    /**
+     * Return the identifiers of transactions contained in this batch, in the order in which they need to be applied.
+     * This method does not need to deserialize the data tree candidates.
+     *
+     * @return Transaction identifiers
+     */
+    public List<TransactionIdentifier> getIdentifiers() {
+        return identifiers;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private Object writeReplace() {
+        return new Proxy(payloads);
+    }
+
+    private static List<TransactionIdentifier> readIdentifiers(final List<CommitTransactionPayload> payloads)
+            throws IOException {
+        final ImmutableList.Builder<TransactionIdentifier> builder = ImmutableList.builder();
+        for (CommitTransactionPayload payload : payloads) {
+            builder.add(TransactionIdentifier.readFrom(payload.serialized().openDataInput()));
+        }
+        return builder.build();
+    }
+}
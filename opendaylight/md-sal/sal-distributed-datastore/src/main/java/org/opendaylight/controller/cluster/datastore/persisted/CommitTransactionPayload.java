@@ -9,9 +9,8 @@ package org.opendaylight.controller.cluster.datastore.persisted;
 
 import com.google.common.annotations.Beta;
 import com.google.common.base.Preconditions;
-import com.google.common.io.ByteArrayDataOutput;
-import com.google.common.io.ByteStreams;
 import java.io.DataInput;
+import java.io.DataOutputStream;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
@@ -20,12 +19,15 @@ import java.io.Serializable;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.Map.Entry;
 import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.io.ChunkedByteArray;
+import org.opendaylight.controller.cluster.io.ChunkedOutputStream;
 import org.opendaylight.controller.cluster.raft.protobuff.client.messages.Payload;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 
 /**
  * Payload persisted when a transaction commits. It contains the transaction identifier and the
- * {@link DataTreeCandidate}
+ * {@link DataTreeCandidate}. The serialized form is kept in a {@link ChunkedByteArray}, so that large transactions
+ * neither need a contiguous array, nor are they copied when the payload is created or deserialized.
  *
  * @author Robert Varga
  */
@@ -33,7 +35,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 public final class CommitTransactionPayload extends Payload implements Serializable {
     private static final class Proxy implements Externalizable {
         private static final long serialVersionUID = 1L;
-        private byte[] serialized;
+        private ChunkedByteArray serialized;
 
         // checkstyle flags the public modifier as redundant which really doesn't make sense since it clearly isn't
         // redundant. It is explicitly needed for Java serialization to be able to create instances via reflection.
@@ -42,21 +44,19 @@ public final class CommitTransactionPayload extends Payload implements Serializa
             // For Externalizable
         }
 
-        Proxy(final byte[] serialized) {
+        Proxy(final ChunkedByteArray serialized) {
             this.serialized = Preconditions.checkNotNull(serialized);
         }
 
         @Override
         public void writeExternal(final ObjectOutput out) throws IOException {
-            out.writeInt(serialized.length);
-            out.write(serialized);
+            out.writeInt(serialized.size());
+            serialized.copyTo(out);
         }
 
         @Override
         public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
-            final int length = in.readInt();
-            serialized = new byte[length];
-            in.readFully(serialized);
+            serialized = ChunkedByteArray.readFrom(in, in.readInt());
         }
 
         private Object readResolve() {
@@ -66,29 +66,37 @@ public final class CommitTransactionPayload extends Payload implements Serializa
 
     private static final long serialVersionUID = 1L;
 
-    private final byte[] serialized;
+    private static final int INITIAL_SERIALIZED_BUFFER_CAPACITY = 512;
 
-    CommitTransactionPayload(final byte[] serialized) {
+    private final ChunkedByteArray serialized;
+
+    CommitTransactionPayload(final ChunkedByteArray serialized) {
         this.serialized = Preconditions.checkNotNull(serialized);
     }
 
     public static CommitTransactionPayload create(final TransactionIdentifier transactionId,
             final DataTreeCandidate candidate) throws IOException {
-        final ByteArrayDataOutput out = ByteStreams.newDataOutput();
-        transactionId.writeTo(out);
-        DataTreeCandidateInputOutput.writeDataTreeCandidate(out, candidate);
-        return new CommitTransactionPayload(out.toByteArray());
+        final ChunkedOutputStream cos = new ChunkedOutputStream(INITIAL_SERIALIZED_BUFFER_CAPACITY);
+        try (DataOutputStream out = new DataOutputStream(cos)) {
+            transactionId.writeTo(out);
+            DataTreeCandidateInputOutput.writeDataTreeCandidate(out, candidate);
+        }
+        return new CommitTransactionPayload(cos.toChunkedByteArray());
     }
 
     public Entry<TransactionIdentifier, DataTreeCandidate> getCandidate() throws IOException {
-        final DataInput in = ByteStreams.newDataInput(serialized);
+        final DataInput in = serialized.openDataInput();
         return new SimpleImmutableEntry<>(TransactionIdentifier.readFrom(in),
                 DataTreeCandidateInputOutput.readDataTreeCandidate(in));
     }
 
     @Override
     public int size() {
-        return serialized.length;
+        return serialized.size();
+    }
+
+    ChunkedByteArray serialized() {
+        return serialized;
     }
 
     private Object writeReplace() {
@@ -18,6 +18,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
 import javax.annotation.Nullable;
 import org.opendaylight.controller.cluster.access.concepts.MemberName;
 import org.opendaylight.controller.cluster.datastore.DatastoreContext;
@@ -50,6 +51,7 @@ final class ShardInformation {
     private ActorRef actor;
 
     private Optional<DataTree> localShardDataTree;
+    private BooleanSupplier leaderLease = () -> false;
     private boolean leaderAvailable = false;
 
     // flag that determines if the actor is ready for business
@@ -109,6 +111,14 @@ final class ShardInformation {
         return localShardDataTree;
     }
 
+    void setLeaderLease(final BooleanSupplier leaderLease) {
+        this.leaderLease = Preconditions.checkNotNull(leaderLease);
+    }
+
+    BooleanSupplier getLeaderLease() {
+        return leaderLease;
+    }
+
     DatastoreContext getDatastoreContext() {
         return datastoreContext;
     }
@@ -26,6 +26,7 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import org.opendaylight.controller.cluster.access.concepts.MemberName;
 import org.opendaylight.controller.cluster.common.actor.Dispatchers;
@@ -223,12 +224,13 @@ public class ActorContext {
                 if (response instanceof RemotePrimaryShardFound) {
                     LOG.debug("findPrimaryShardAsync received: {}", response);
                     RemotePrimaryShardFound found = (RemotePrimaryShardFound)response;
-                    return onPrimaryShardFound(shardName, found.getPrimaryPath(), found.getPrimaryVersion(), null);
+                    return onPrimaryShardFound(shardName, found.getPrimaryPath(), found.getPrimaryVersion(), null,
+                        null);
                 } else if (response instanceof LocalPrimaryShardFound) {
                     LOG.debug("findPrimaryShardAsync received: {}", response);
                     LocalPrimaryShardFound found = (LocalPrimaryShardFound)response;
                     return onPrimaryShardFound(shardName, found.getPrimaryPath(), DataStoreVersions.CURRENT_VERSION,
-                            found.getLocalShardDataTree());
+                            found.getLocalShardDataTree(), found.getLeaderLease());
                 } else if (response instanceof NotInitializedException) {
                     throw (NotInitializedException)response;
                 } else if (response instanceof PrimaryNotFoundException) {
@@ -244,10 +246,10 @@ public class ActorContext {
     }
 
     private PrimaryShardInfo onPrimaryShardFound(String shardName, String primaryActorPath,
-            short primaryVersion, DataTree localShardDataTree) {
+            short primaryVersion, DataTree localShardDataTree, BooleanSupplier leaderLease) {
         ActorSelection actorSelection = actorSystem.actorSelection(primaryActorPath);
         PrimaryShardInfo info = localShardDataTree == null ? new PrimaryShardInfo(actorSelection, primaryVersion) :
-            new PrimaryShardInfo(actorSelection, primaryVersion, localShardDataTree);
+            new PrimaryShardInfo(actorSelection, primaryVersion, localShardDataTree, leaderLease);
         primaryShardInfoCache.putSuccessful(shardName, info);
         return info;
     }
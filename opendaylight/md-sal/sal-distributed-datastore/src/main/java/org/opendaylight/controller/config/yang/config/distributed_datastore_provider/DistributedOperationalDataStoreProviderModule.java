@@ -99,9 +99,17 @@ public class DistributedOperationalDataStoreProviderModule
                 .maximumMessageSliceSize(props.getMaximumMessageSliceSize().getValue().intValue())
                 .useTellBasedProtocol(props.getUseTellBasedProtocol())
                 .syncIndexThreshold(props.getSyncIndexThreshold().getValue())
+                .shardSnapshotChunkWindowSize(props.getShardSnapshotChunkWindowSize().getValue().intValue())
                 .backendAlivenessTimerIntervalInSeconds(props.getBackendAlivenessTimerIntervalInSeconds().getValue())
                 .frontendRequestTimeoutInSeconds(props.getFrontendRequestTimeoutInSeconds().getValue())
                 .frontendNoProgressTimeoutInSeconds(props.getFrontendNoProgressTimeoutInSeconds().getValue())
+                .maximumCommitBatchSize(props.getMaximumCommitBatchSize().getValue().intValue())
+                .useCompressedInstallSnapshot(props.getUseCompressedInstallSnapshot())
+                .shardLeaderLeaseEnabled(props.getShardLeaderLeaseEnabled())
+                .asyncCommitPayloadEncoding(props.getAsyncCommitPayloadEncoding())
+                .coalesceDataTreeChangeNotifications(props.getCoalesceDataTreeChangeNotifications())
+                .parallelCanCommit(props.getParallelCanCommit())
+                .commitLatencySamplingInterval(props.getCommitLatencySamplingInterval().intValue())
                 .build();
     }
 
@@ -8,6 +8,7 @@
 package org.opendaylight.controller.config.yang.config.distributed_datastore_provider;
 
 import com.google.common.collect.ForwardingObject;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.cluster.datastore.DistributedDataStoreInterface;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
 import org.opendaylight.controller.md.sal.common.api.data.AsyncDataBroker.DataChangeScope;
@@ -39,6 +40,11 @@ class ForwardingDistributedDataStore extends ForwardingObject implements Distrib
         return delegate().newReadOnlyTransaction();
     }
 
+    @Override
+    public DOMStoreReadTransaction newReadOnlyTransaction(long maxStaleness, TimeUnit unit) {
+        return delegate().newReadOnlyTransaction(maxStaleness, unit);
+    }
+
     @Override
     public DOMStoreWriteTransaction newWriteOnlyTransaction() {
         return delegate().newWriteOnlyTransaction();
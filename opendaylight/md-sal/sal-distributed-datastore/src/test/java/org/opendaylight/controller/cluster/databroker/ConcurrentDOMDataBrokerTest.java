@@ -68,6 +68,7 @@ import org.opendaylight.controller.sal.core.spi.data.DOMStoreTransactionChain;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreWriteTransaction;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeCommitCohort;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
+import org.opendaylight.yangtools.util.DurationStatisticsTracker;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
@@ -191,6 +192,58 @@ public class ConcurrentDOMDataBrokerTest {
         assertFailure(future, null, mockCohort1, mockCohort2, mockCohort3);
     }
 
+    @Test
+    public void testParallelCanCommit() throws Exception {
+        ConcurrentDOMDataBroker parallelBroker = new ConcurrentDOMDataBroker(
+                ImmutableMap.of(LogicalDatastoreType.OPERATIONAL, new InMemoryDOMDataStore("OPER",
+                    MoreExecutors.newDirectExecutorService())), futureExecutor,
+                DurationStatisticsTracker.createConcurrent(), true);
+
+        // The first canCommit stays pending until the second one has been issued
+        final SettableFuture<Boolean> cohort1CanCommit = SettableFuture.create();
+        doReturn(cohort1CanCommit).when(mockCohort1).canCommit();
+        doReturn(Futures.immediateFuture(null)).when(mockCohort1).preCommit();
+        doReturn(Futures.immediateFuture(null)).when(mockCohort1).commit();
+
+        doReturn(Futures.immediateFuture(true)).when(mockCohort2).canCommit();
+        doReturn(Futures.immediateFuture(null)).when(mockCohort2).preCommit();
+        doReturn(Futures.immediateFuture(null)).when(mockCohort2).commit();
+
+        CheckedFuture<Void, TransactionCommitFailedException> future = parallelBroker.submit(transaction,
+                Arrays.asList(mockCohort1, mockCohort2));
+
+        verify(mockCohort2).canCommit();
+        verify(mockCohort2, never()).preCommit();
+
+        cohort1CanCommit.set(true);
+        future.checkedGet(5, TimeUnit.SECONDS);
+
+        InOrder inOrder = inOrder(mockCohort1, mockCohort2);
+        inOrder.verify(mockCohort1).preCommit();
+        inOrder.verify(mockCohort2).preCommit();
+        inOrder.verify(mockCohort1).commit();
+        inOrder.verify(mockCohort2).commit();
+    }
+
+    @Test
+    public void testParallelCanCommitWithNegativeResponse() throws Exception {
+        ConcurrentDOMDataBroker parallelBroker = new ConcurrentDOMDataBroker(
+                ImmutableMap.of(LogicalDatastoreType.OPERATIONAL, new InMemoryDOMDataStore("OPER",
+                    MoreExecutors.newDirectExecutorService())), futureExecutor,
+                DurationStatisticsTracker.createConcurrent(), true);
+
+        doReturn(Futures.immediateFuture(false)).when(mockCohort1).canCommit();
+        doReturn(Futures.immediateFuture(null)).when(mockCohort1).abort();
+
+        doReturn(Futures.immediateFuture(false)).when(mockCohort2).canCommit();
+        doReturn(Futures.immediateFuture(null)).when(mockCohort2).abort();
+
+        CheckedFuture<Void, TransactionCommitFailedException> future = parallelBroker.submit(
+                transaction, Arrays.asList(mockCohort1, mockCohort2));
+
+        assertFailure(future, null, mockCohort1, mockCohort2);
+    }
+
     private static void assertFailure(final CheckedFuture<Void, TransactionCommitFailedException> future,
             final Exception expCause, final DOMStoreThreePhaseCommitCohort... mockCohorts)
                     throws Exception {
@@ -17,8 +17,10 @@ import com.google.common.base.Optional;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import org.junit.Assert;
 import org.junit.Test;
+import org.opendaylight.controller.cluster.access.client.AbstractClientConnection;
 import org.opendaylight.controller.cluster.access.commands.ExistsTransactionRequest;
 import org.opendaylight.controller.cluster.access.commands.ExistsTransactionSuccess;
 import org.opendaylight.controller.cluster.access.commands.ModifyTransactionRequest;
@@ -27,6 +29,7 @@ import org.opendaylight.controller.cluster.access.commands.PersistenceProtocol;
 import org.opendaylight.controller.cluster.access.commands.ReadTransactionRequest;
 import org.opendaylight.controller.cluster.access.commands.ReadTransactionSuccess;
 import org.opendaylight.controller.cluster.access.commands.TransactionAbortRequest;
+import org.opendaylight.controller.cluster.access.commands.TransactionAbortSuccess;
 import org.opendaylight.controller.cluster.access.commands.TransactionCanCommitSuccess;
 import org.opendaylight.controller.cluster.access.commands.TransactionCommitSuccess;
 import org.opendaylight.controller.cluster.access.commands.TransactionDelete;
@@ -36,6 +39,7 @@ import org.opendaylight.controller.cluster.access.commands.TransactionModificati
 import org.opendaylight.controller.cluster.access.commands.TransactionPreCommitRequest;
 import org.opendaylight.controller.cluster.access.commands.TransactionPreCommitSuccess;
 import org.opendaylight.controller.cluster.access.commands.TransactionWrite;
+import org.opendaylight.controller.cluster.access.concepts.RuntimeRequestException;
 import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
 import org.opendaylight.mdsal.common.api.ReadFailedException;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -106,6 +110,49 @@ public class RemoteProxyTransactionTest extends AbstractProxyTransactionTest<Rem
         assertFutureEquals(true, result);
     }
 
+    @Test
+    public void testDirectCommitThrottled() throws Exception {
+        // Fill the connection queue beyond half of its target depth, so that the commit request is throttled
+        final TransactionTester<RemoteProxyTransaction> tester = getTester();
+        final AbstractClientConnection<ShardBackendInfo> connection = tester.getConnection();
+        final int queued = 8;
+        for (int i = 0; i < queued; i++) {
+            connection.enqueueRequest(new TransactionAbortRequest(TRANSACTION_ID, i, tester.localActor()),
+                createCallbackMock(), connection.currentTime());
+        }
+
+        transaction.seal();
+        final ListenableFuture<Boolean> result = transaction.directCommit();
+
+        for (int i = 0; i < queued; i++) {
+            final TransactionAbortRequest req = tester.expectTransactionRequest(TransactionAbortRequest.class);
+            tester.replySuccess(new TransactionAbortSuccess(TRANSACTION_ID, req.getSequence()));
+        }
+        final ModifyTransactionRequest req = tester.expectTransactionRequest(ModifyTransactionRequest.class);
+        tester.replySuccess(new TransactionCommitSuccess(TRANSACTION_ID, req.getSequence()));
+
+        // The backend has responded, but the result is not reported until the connection admits further requests
+        Assert.assertFalse("Result reported while throttled", result.isDone());
+        assertFutureEquals(true, result);
+    }
+
+    @Test
+    public void testDirectCommitFailure() throws Exception {
+        transaction.seal();
+        final ListenableFuture<Boolean> result = transaction.directCommit();
+        final TransactionTester<RemoteProxyTransaction> tester = getTester();
+        tester.expectTransactionRequest(ModifyTransactionRequest.class);
+
+        final RuntimeException cause = new RuntimeException("fail");
+        tester.replyFailure(new RuntimeRequestException("fail", cause));
+        try {
+            TestUtils.getWithTimeout(result);
+            Assert.fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            Assert.assertSame(cause, e.getCause());
+        }
+    }
+
     @Override
     @Test
     public void testCanCommit() throws Exception {
@@ -51,6 +51,10 @@ class TransactionTester<T extends AbstractProxyTransaction> {
         return transaction;
     }
 
+    AbstractClientConnection<ShardBackendInfo> getConnection() {
+        return connection;
+    }
+
     TransactionRequest<?> getLastReceivedMessage() {
         return (TransactionRequest<?>) envelope.getMessage();
     }
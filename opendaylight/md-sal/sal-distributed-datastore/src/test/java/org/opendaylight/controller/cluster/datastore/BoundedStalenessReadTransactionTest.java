@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.Futures;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.cluster.datastore.messages.LocalReplica;
+import org.opendaylight.controller.cluster.datastore.shardstrategy.ShardStrategyFactory;
+import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
+import org.opendaylight.controller.cluster.datastore.utils.MockConfiguration;
+import org.opendaylight.controller.cluster.raft.LeaderLease;
+import org.opendaylight.controller.cluster.raft.ReplicaFreshness;
+import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadTransaction;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+
+/**
+ * Unit tests for BoundedStalenessReadTransaction.
+ */
+public class BoundedStalenessReadTransactionTest {
+    private static final long MAX_STALENESS_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Mock
+    private ActorContext mockActorContext;
+
+    @Mock
+    private LocalReplicaCache mockReplicaCache;
+
+    @Mock
+    private DOMStoreReadTransaction mockDelegate;
+
+    private final NormalizedNode<?, ?> remoteNode = ImmutableNodes.containerNode(TestModel.TEST_QNAME);
+
+    private BoundedStalenessReadTransaction transaction;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+
+        doReturn(new ShardStrategyFactory(new MockConfiguration(), LogicalDatastoreType.CONFIGURATION))
+                .when(mockActorContext).getShardStrategyFactory();
+        doReturn("tx").when(mockDelegate).getIdentifier();
+        doReturn(Futures.immediateCheckedFuture(Optional.of(remoteNode))).when(mockDelegate)
+                .read(any(YangInstanceIdentifier.class));
+
+        transaction = new BoundedStalenessReadTransaction(mockDelegate, mockActorContext, mockReplicaCache,
+            MAX_STALENESS_NANOS);
+    }
+
+    @Test
+    public void testReadFromFreshReplica() throws ReadFailedException {
+        final LeaderLease lease = new LeaderLease();
+        final ReplicaFreshness freshness = new ReplicaFreshness();
+        freshness.markCurrent();
+        doReturn(newReplica(lease, freshness)).when(mockReplicaCache).get("default");
+
+        // The local replica is empty
+        assertFalse("Data present", transaction.read(TestModel.TEST_PATH).checkedGet().isPresent());
+        verify(mockDelegate, never()).read(any(YangInstanceIdentifier.class));
+
+        // The root path is always read via the delegate
+        assertEquals("Root data", Optional.of(remoteNode),
+            transaction.read(YangInstanceIdentifier.EMPTY).checkedGet());
+
+        transaction.close();
+        verify(mockDelegate).close();
+    }
+
+    @Test
+    public void testReadFromLeaderReplica() throws ReadFailedException {
+        final LeaderLease lease = new LeaderLease();
+        lease.grantUnbounded(this);
+        doReturn(newReplica(lease, new ReplicaFreshness())).when(mockReplicaCache).get("default");
+
+        assertFalse("Data present", transaction.read(TestModel.TEST_PATH).checkedGet().isPresent());
+        verify(mockDelegate, never()).read(any(YangInstanceIdentifier.class));
+    }
+
+    @Test
+    public void testReadFromLeaderReplicaWithUnenforcedLease() throws ReadFailedException {
+        // A lease held by a leader while leases are disabled does not make its replica fresh
+        final LeaderLease lease = new LeaderLease();
+        lease.grantUnenforced(this);
+        final LocalReplica replica = newReplica(lease, new ReplicaFreshness());
+        doReturn(replica).when(mockReplicaCache).get("default");
+
+        assertEquals("Data", Optional.of(remoteNode), transaction.read(TestModel.TEST_PATH).checkedGet());
+        verify(mockReplicaCache).invalidate("default", replica);
+    }
+
+    @Test
+    public void testReadFromStaleReplica() throws ReadFailedException {
+        final LocalReplica replica = newReplica(new LeaderLease(), new ReplicaFreshness());
+        doReturn(replica).when(mockReplicaCache).get("default");
+
+        assertEquals("Data", Optional.of(remoteNode), transaction.read(TestModel.TEST_PATH).checkedGet());
+        verify(mockReplicaCache).invalidate("default", replica);
+
+        // The shard keeps being read via the delegate
+        assertReadViaDelegateDespiteFreshReplica();
+    }
+
+    @Test
+    public void testReadWithUnknownReplica() throws ReadFailedException {
+        doReturn(null).when(mockReplicaCache).get("default");
+
+        assertEquals("Data", Optional.of(remoteNode), transaction.read(TestModel.TEST_PATH).checkedGet());
+        assertReadViaDelegateDespiteFreshReplica();
+    }
+
+    private void assertReadViaDelegateDespiteFreshReplica() throws ReadFailedException {
+        final ReplicaFreshness freshness = new ReplicaFreshness();
+        freshness.markCurrent();
+        doReturn(newReplica(new LeaderLease(), freshness)).when(mockReplicaCache).get("default");
+
+        assertEquals("Data", Optional.of(remoteNode), transaction.read(TestModel.TEST_PATH).checkedGet());
+    }
+
+    private static LocalReplica newReplica(final LeaderLease lease, final ReplicaFreshness freshness) {
+        return new LocalReplica(InMemoryDataTreeFactory.getInstance().create(TreeType.CONFIGURATION), lease,
+            freshness);
+    }
+}
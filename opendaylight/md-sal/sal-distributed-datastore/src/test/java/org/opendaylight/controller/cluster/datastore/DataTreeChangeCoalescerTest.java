@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.function.Consumer;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.md.cluster.datastore.model.CarsModel;
+import org.opendaylight.controller.md.cluster.datastore.model.SchemaContextHelper;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TipProducingDataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+
+/**
+ * Unit tests for DataTreeChangeCoalescer.
+ */
+public class DataTreeChangeCoalescerTest {
+    private TipProducingDataTree dataTree;
+    private DataTreeChangeCoalescer coalescer;
+
+    @Before
+    public void setUp() {
+        dataTree = InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
+        dataTree.setSchemaContext(SchemaContextHelper.select(SchemaContextHelper.CARS_YANG));
+        coalescer = new DataTreeChangeCoalescer();
+    }
+
+    @Test
+    public void testMergeWrites() throws Exception {
+        coalescer.add(ImmutableList.of(commit(mod -> mod.write(CarsModel.BASE_PATH, CarsModel.emptyContainer()))));
+        coalescer.add(ImmutableList.of(commit(mod -> mod.write(CarsModel.CAR_LIST_PATH,
+                CarsModel.newCarMapNode()))));
+        coalescer.add(ImmutableList.of(commit(mod -> mod.write(CarsModel.newCarPath("optima"),
+                CarsModel.newCarEntry("optima", new BigInteger("100"))))));
+
+        assertEquals("Pending count", 1, coalescer.getPendingCount());
+        assertEquals("Merge count", 2, coalescer.getMergeCount());
+
+        final Collection<DataTreeCandidate> changes = coalescer.drain();
+        assertTrue("Coalescer empty", coalescer.isEmpty());
+        assertEquals("Changes size", 1, changes.size());
+
+        final DataTreeCandidate candidate = changes.iterator().next();
+        assertEquals("Root path", YangInstanceIdentifier.EMPTY, candidate.getRootPath());
+
+        final DataTreeCandidateNode cars = candidate.getRootNode().getModifiedChild(
+            CarsModel.BASE_PATH.getLastPathArgument());
+        assertNotNull("Cars node", cars);
+        assertEquals("Cars modification type", ModificationType.WRITE, cars.getModificationType());
+        assertFalse("Cars data before present", cars.getDataBefore().isPresent());
+        assertEquals("Cars data after", dataTree.takeSnapshot().readNode(CarsModel.BASE_PATH), cars.getDataAfter());
+    }
+
+    @Test
+    public void testMergeCancellingChanges() throws Exception {
+        coalescer.add(ImmutableList.of(commit(mod -> mod.write(CarsModel.BASE_PATH, CarsModel.emptyContainer()))));
+        coalescer.add(ImmutableList.of(commit(mod -> mod.delete(CarsModel.BASE_PATH))));
+
+        assertEquals("Merge count", 1, coalescer.getMergeCount());
+        assertEquals("Changes size", 0, coalescer.drain().size());
+    }
+
+    @Test
+    public void testMergeUpdateAndDelete() throws Exception {
+        commit(mod -> mod.write(CarsModel.BASE_PATH, CarsModel.create()));
+
+        coalescer.add(ImmutableList.of(commit(mod -> mod.write(CarsModel.newCarPath("sportage"),
+                CarsModel.newCarEntry("sportage", new BigInteger("200"))))));
+        coalescer.add(ImmutableList.of(commit(mod -> mod.delete(CarsModel.BASE_PATH))));
+
+        final DataTreeCandidate candidate = Iterables.getOnlyElement(coalescer.drain());
+        final DataTreeCandidateNode cars = candidate.getRootNode().getModifiedChild(
+            CarsModel.BASE_PATH.getLastPathArgument());
+        assertNotNull("Cars node", cars);
+        assertEquals("Cars modification type", ModificationType.DELETE, cars.getModificationType());
+        assertTrue("Cars data before present", cars.getDataBefore().isPresent());
+        assertFalse("Cars data after present", cars.getDataAfter().isPresent());
+    }
+
+    private DataTreeCandidate commit(final Consumer<DataTreeModification> operation) throws Exception {
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        operation.accept(modification);
+        modification.ready();
+
+        dataTree.validate(modification);
+        final DataTreeCandidate candidate = dataTree.prepare(modification);
+        dataTree.commit(candidate);
+        return candidate;
+    }
+}
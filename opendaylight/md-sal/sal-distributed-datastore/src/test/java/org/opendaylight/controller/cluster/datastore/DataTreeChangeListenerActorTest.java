@@ -14,15 +14,26 @@ import akka.actor.DeadLetter;
 import akka.actor.Props;
 import akka.testkit.JavaTestKit;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Matchers;
 import org.mockito.Mockito;
 import org.opendaylight.controller.cluster.datastore.messages.DataTreeChanged;
 import org.opendaylight.controller.cluster.datastore.messages.DataTreeChangedReply;
 import org.opendaylight.controller.cluster.datastore.messages.EnableNotification;
+import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 
 public class DataTreeChangeListenerActorTest extends AbstractActorTest {
 
@@ -143,4 +154,57 @@ public class DataTreeChangeListenerActorTest extends AbstractActorTest {
             }
         };
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testDataChangedWithCoalescing() {
+        new JavaTestKit(getSystem()) {
+            {
+                final DataTreeCandidate candidate1 = DataTreeCandidates.fromNormalizedNode(TEST_PATH,
+                        ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+                final DataTreeCandidate candidate2 = DataTreeCandidates.fromNormalizedNode(TEST_PATH,
+                        ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+                final NormalizedNode<?, ?> lastData = ImmutableNodes.containerNode(TestModel.TEST_QNAME);
+                final DataTreeCandidate candidate3 = DataTreeCandidates.fromNormalizedNode(TEST_PATH, lastData);
+
+                // Block the listener in its first notification, so that the remaining changes queue up
+                final CountDownLatch notifying = new CountDownLatch(1);
+                final CountDownLatch blocked = new CountDownLatch(1);
+                final DOMDataTreeChangeListener mockListener = Mockito.mock(DOMDataTreeChangeListener.class);
+                Mockito.doAnswer(invocation -> {
+                    notifying.countDown();
+                    Uninterruptibles.awaitUninterruptibly(blocked, 5, TimeUnit.SECONDS);
+                    return null;
+                }).doNothing().when(mockListener).onDataTreeChanged(Matchers.anyCollectionOf(
+                        DataTreeCandidate.class));
+
+                final Props props = DataTreeChangeListenerActor.props(mockListener, TEST_PATH, true);
+                final ActorRef subject = getSystem().actorOf(props, "testDataTreeChangedWithCoalescing");
+
+                subject.tell(new EnableNotification(true, "test"), getRef());
+
+                subject.tell(new DataTreeChanged(ImmutableList.of(candidate1)), getRef());
+                expectMsgClass(DataTreeChangedReply.class);
+                Assert.assertTrue("Listener notified",
+                        Uninterruptibles.awaitUninterruptibly(notifying, 5, TimeUnit.SECONDS));
+
+                subject.tell(new DataTreeChanged(ImmutableList.of(candidate2)), getRef());
+                subject.tell(new DataTreeChanged(ImmutableList.of(candidate3)), getRef());
+                blocked.countDown();
+
+                expectMsgClass(DataTreeChangedReply.class);
+                expectMsgClass(DataTreeChangedReply.class);
+
+                final ArgumentCaptor<Collection> captor = ArgumentCaptor.forClass(Collection.class);
+                Mockito.verify(mockListener, Mockito.timeout(5000).times(2)).onDataTreeChanged(captor.capture());
+
+                final List<Collection> notifications = captor.getAllValues();
+                Assert.assertEquals("First notification", ImmutableList.of(candidate1), notifications.get(0));
+
+                final DataTreeCandidate merged = (DataTreeCandidate) Iterables.getOnlyElement(notifications.get(1));
+                Assert.assertEquals("Root path", TEST_PATH, merged.getRootPath());
+                Assert.assertSame("Data after", lastData, merged.getRootNode().getDataAfter().get());
+            }
+        };
+    }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.ListMultimap;
+import java.math.BigInteger;
+import java.util.function.Consumer;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.md.cluster.datastore.model.CarsModel;
+import org.opendaylight.controller.md.cluster.datastore.model.SchemaContextHelper;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TipProducingDataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+
+/**
+ * Unit tests for DataTreeChangeListenerIndex.
+ */
+public class DataTreeChangeListenerIndexTest {
+    private static final YangInstanceIdentifier OPTIMA_PATH = CarsModel.newCarPath("optima");
+    private static final YangInstanceIdentifier SPORTAGE_PATH = CarsModel.newCarPath("sportage");
+
+    private final DataTreeChangeListenerIndex<String> index = new DataTreeChangeListenerIndex<>();
+    private final ListMultimap<String, DataTreeCandidate> notifications = ArrayListMultimap.create();
+    private TipProducingDataTree dataTree;
+
+    @Before
+    public void setUp() throws Exception {
+        dataTree = InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
+        dataTree.setSchemaContext(SchemaContextHelper.select(SchemaContextHelper.CARS_YANG));
+
+        commit(mod -> mod.write(CarsModel.BASE_PATH, CarsModel.create()));
+    }
+
+    @Test
+    public void testExactAndWildcardMatches() throws Exception {
+        index.register(CarsModel.CAR_LIST_PATH.node(CarsModel.CAR_QNAME), "wildcard");
+        index.register(OPTIMA_PATH, "optima");
+        index.register(SPORTAGE_PATH, "sportage");
+        index.register(CarsModel.BASE_PATH, "cars");
+
+        dispatch(commit(mod -> mod.write(OPTIMA_PATH, CarsModel.newCarEntry("optima", new BigInteger("100")))));
+
+        assertEquals("Notified listeners", 3, notifications.keySet().size());
+        assertEquals("Wildcard change path", OPTIMA_PATH,
+                Iterables.getOnlyElement(notifications.get("wildcard")).getRootPath());
+        assertEquals("Exact change path", OPTIMA_PATH,
+                Iterables.getOnlyElement(notifications.get("optima")).getRootPath());
+        assertEquals("Parent change path", CarsModel.BASE_PATH,
+                Iterables.getOnlyElement(notifications.get("cars")).getRootPath());
+        assertTrue("Unrelated listener notified", notifications.get("sportage").isEmpty());
+    }
+
+    @Test
+    public void testWildcardMatchesAllModifiedEntries() throws Exception {
+        index.register(CarsModel.CAR_LIST_PATH.node(CarsModel.CAR_QNAME), "wildcard");
+
+        dispatch(commit(mod -> {
+            mod.write(OPTIMA_PATH, CarsModel.newCarEntry("optima", new BigInteger("100")));
+            mod.write(SPORTAGE_PATH, CarsModel.newCarEntry("sportage", new BigInteger("200")));
+        }));
+
+        assertEquals("Changes delivered to wildcard listener", 2, notifications.get("wildcard").size());
+    }
+
+    @Test
+    public void testExactMatchAmongManyModifiedEntries() throws Exception {
+        index.register(SPORTAGE_PATH, "sportage");
+
+        dispatch(commit(mod -> {
+            for (int i = 0; i < 10; i++) {
+                mod.write(CarsModel.newCarPath("car" + i), CarsModel.newCarEntry("car" + i, BigInteger.valueOf(i)));
+            }
+            mod.write(SPORTAGE_PATH, CarsModel.newCarEntry("sportage", new BigInteger("200")));
+        }));
+
+        final DataTreeCandidate change = Iterables.getOnlyElement(notifications.get("sportage"));
+        assertEquals("Change path", SPORTAGE_PATH, change.getRootPath());
+        assertEquals("Modification type", ModificationType.WRITE, change.getRootNode().getModificationType());
+    }
+
+    @Test
+    public void testUnregister() throws Exception {
+        final DataTreeChangeListenerIndex.Registration<String> registration = index.register(OPTIMA_PATH, "optima");
+        index.register(CarsModel.BASE_PATH, "cars");
+        assertEquals("Listener", "optima", registration.getListener());
+
+        index.unregister(registration);
+        dispatch(commit(mod -> mod.write(OPTIMA_PATH, CarsModel.newCarEntry("optima", new BigInteger("100")))));
+
+        assertTrue("Unregistered listener notified", notifications.get("optima").isEmpty());
+        assertEquals("Remaining listener notifications", 1, notifications.get("cars").size());
+
+        // Registering again after the trie has been pruned
+        index.register(OPTIMA_PATH, "optima");
+        dispatch(commit(mod -> mod.delete(OPTIMA_PATH)));
+
+        assertEquals("Change type", ModificationType.DELETE,
+                Iterables.getOnlyElement(notifications.get("optima")).getRootNode().getModificationType());
+    }
+
+    private void dispatch(final DataTreeCandidate candidate) {
+        index.dispatch(candidate, notifications::putAll);
+    }
+
+    private DataTreeCandidate commit(final Consumer<DataTreeModification> operation) throws Exception {
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        operation.accept(modification);
+        modification.ready();
+
+        dataTree.validate(modification);
+        final DataTreeCandidate candidate = dataTree.prepare(modification);
+        dataTree.commit(candidate);
+        return candidate;
+    }
+}
@@ -8,8 +8,10 @@
 
 package org.opendaylight.controller.cluster.datastore;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
@@ -32,8 +34,11 @@ import static org.opendaylight.controller.cluster.datastore.ShardDataTreeMocking
 import static org.opendaylight.controller.cluster.datastore.ShardDataTreeMocking.immediatePayloadReplication;
 import static org.opendaylight.controller.cluster.datastore.ShardDataTreeMocking.immediatePreCommit;
 
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.google.common.base.Optional;
 import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import com.google.common.primitives.UnsignedLong;
 import com.google.common.util.concurrent.FutureCallback;
@@ -44,13 +49,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
+import org.apache.commons.lang3.SerializationUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardStats;
+import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionBatchPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionPayload;
+import org.opendaylight.controller.cluster.reporting.MetricsReporter;
 import org.opendaylight.controller.md.cluster.datastore.model.CarsModel;
 import org.opendaylight.controller.md.cluster.datastore.model.PeopleModel;
 import org.opendaylight.controller.md.cluster.datastore.model.SchemaContextHelper;
@@ -380,6 +389,164 @@ public class ShardDataTreeTest extends AbstractTest {
         assertEquals("Car node present", true, optional.isPresent());
     }
 
+    @Test
+    public void testPipelinedTransactionsWithGroupCommit() throws Exception {
+        shardDataTree.setMaximumCommitBatchSize(3);
+
+        final ShardDataTreeCohort cohort1 = newShardDataTreeCohort(snapshot ->
+            snapshot.write(CarsModel.BASE_PATH, CarsModel.emptyContainer()));
+
+        final ShardDataTreeCohort cohort2 = newShardDataTreeCohort(snapshot ->
+            snapshot.write(CarsModel.CAR_LIST_PATH, CarsModel.newCarMapNode()));
+
+        YangInstanceIdentifier carPath = CarsModel.newCarPath("optima");
+        MapEntryNode carNode = CarsModel.newCarEntry("optima", new BigInteger("100"));
+        final ShardDataTreeCohort cohort3 = newShardDataTreeCohort(snapshot -> snapshot.write(carPath, carNode));
+
+        final FutureCallback<UnsignedLong> commitCallback2 = immediate3PhaseCommit(cohort2);
+        final FutureCallback<UnsignedLong> commitCallback3 = immediate3PhaseCommit(cohort3);
+        final FutureCallback<UnsignedLong> commitCallback1 = immediate3PhaseCommit(cohort1);
+
+        final ArgumentCaptor<CommitTransactionBatchPayload> payloadCaptor =
+                ArgumentCaptor.forClass(CommitTransactionBatchPayload.class);
+        verify(mockShard).persistPayload(eq(cohort1.getIdentifier()), payloadCaptor.capture(), eq(false));
+        verify(mockShard, never()).persistPayload(eq(cohort2.getIdentifier()), any(CommitTransactionPayload.class),
+                anyBoolean());
+        verify(mockShard, never()).persistPayload(eq(cohort3.getIdentifier()), any(CommitTransactionPayload.class),
+                anyBoolean());
+
+        final CommitTransactionBatchPayload payload = payloadCaptor.getValue();
+        assertEquals(ImmutableList.of(cohort1.getIdentifier(), cohort2.getIdentifier(), cohort3.getIdentifier()),
+                payload.getIdentifiers());
+
+        shardDataTree.applyReplicatedPayload(cohort1.getIdentifier(), payload);
+
+        InOrder inOrder = inOrder(commitCallback1, commitCallback2, commitCallback3);
+        inOrder.verify(commitCallback1).onSuccess(any(UnsignedLong.class));
+        inOrder.verify(commitCallback2).onSuccess(any(UnsignedLong.class));
+        inOrder.verify(commitCallback3).onSuccess(any(UnsignedLong.class));
+
+        Optional<NormalizedNode<?, ?>> optional = shardDataTree.readNode(carPath);
+        assertEquals("Car node present", true, optional.isPresent());
+        assertEquals("Car node", carNode, optional.get());
+
+        // The batch must also be unpacked correctly during recovery
+        final ShardDataTree recoveredDataTree = new ShardDataTree(mockShard, fullSchema, TreeType.OPERATIONAL);
+        recoveredDataTree.applyRecoveryPayload(SerializationUtils.clone(payload));
+
+        optional = recoveredDataTree.readNode(carPath);
+        assertEquals("Recovered car node present", true, optional.isPresent());
+        assertEquals("Recovered car node", carNode, optional.get());
+    }
+
+    @Test
+    public void testAsyncPayloadEncoding() throws Exception {
+        immediatePayloadReplication(shardDataTree, mockShard);
+
+        final List<Runnable> encodingTasks = new ArrayList<>();
+        shardDataTree.setPayloadEncodingExecutor(encodingTasks::add);
+
+        final ShardDataTreeCohort cohort = newShardDataTreeCohort(snapshot ->
+            snapshot.write(CarsModel.BASE_PATH, CarsModel.emptyContainer()));
+
+        final FutureCallback<UnsignedLong> commitCallback = immediate3PhaseCommit(cohort);
+
+        // The payload has not been encoded yet, hence the commit has to wait
+        assertEquals("Encoding tasks", 1, encodingTasks.size());
+        verify(mockShard, never()).persistPayload(any(TransactionIdentifier.class),
+                any(CommitTransactionPayload.class), anyBoolean());
+        verify(mockShard, never()).scheduleNextPendingTransaction();
+
+        encodingTasks.forEach(Runnable::run);
+        verify(mockShard).scheduleNextPendingTransaction();
+
+        shardDataTree.resumeNextPendingTransaction();
+        verify(mockShard).persistPayload(eq(cohort.getIdentifier()), any(CommitTransactionPayload.class),
+                eq(false));
+        verify(commitCallback).onSuccess(any(UnsignedLong.class));
+
+        final Optional<NormalizedNode<?, ?>> optional = shardDataTree.readNode(CarsModel.BASE_PATH);
+        assertEquals("Car node present", true, optional.isPresent());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testAsyncPayloadEncodingWithRebase() throws Exception {
+        immediatePayloadReplication(shardDataTree, mockShard);
+
+        final List<Runnable> encodingTasks = new ArrayList<>();
+        shardDataTree.setPayloadEncodingExecutor(encodingTasks::add);
+
+        final ShardDataTreeCohort cohort1 = newShardDataTreeCohort(snapshot ->
+            snapshot.write(CarsModel.BASE_PATH, CarsModel.emptyContainer()));
+
+        final ShardDataTreeCohort cohort2 = newShardDataTreeCohort(snapshot ->
+            snapshot.write(PeopleModel.BASE_PATH, PeopleModel.create()));
+
+        immediateCanCommit(cohort1);
+        coordinatedCanCommit(cohort2);
+        coordinatedPreCommit(cohort1);
+        coordinatedPreCommit(cohort2);
+        assertEquals("Encoding tasks", 2, encodingTasks.size());
+
+        // Aborting the head of the queue re-prepares cohort2, which has to encode its new candidate
+        final FutureCallback<Void> mockAbortCallback = mock(FutureCallback.class);
+        cohort1.abort(mockAbortCallback);
+        verify(mockAbortCallback).onSuccess(null);
+        assertEquals("Encoding tasks", 3, encodingTasks.size());
+
+        final FutureCallback<UnsignedLong> commitCallback = coordinatedCommit(cohort2);
+        verify(mockShard, never()).persistPayload(any(TransactionIdentifier.class),
+                any(CommitTransactionPayload.class), anyBoolean());
+
+        // Only the payload of the new candidate is needed to commit
+        encodingTasks.get(2).run();
+        shardDataTree.resumeNextPendingTransaction();
+
+        final ArgumentCaptor<CommitTransactionPayload> payloadCaptor =
+                ArgumentCaptor.forClass(CommitTransactionPayload.class);
+        verify(mockShard).persistPayload(eq(cohort2.getIdentifier()), payloadCaptor.capture(), eq(false));
+        verify(commitCallback).onSuccess(any(UnsignedLong.class));
+
+        assertArrayEquals("Persisted payload", SerializationUtils.serialize(
+            CommitTransactionPayload.create(cohort2.getIdentifier(), cohort2.getCandidate())),
+            SerializationUtils.serialize(payloadCaptor.getValue()));
+
+        assertEquals("Car node present", false, shardDataTree.readNode(CarsModel.BASE_PATH).isPresent());
+        assertEquals("People node present", true, shardDataTree.readNode(PeopleModel.BASE_PATH).isPresent());
+    }
+
+    @Test
+    public void testCommitLatencyTracing() throws Exception {
+        immediatePayloadReplication(shardDataTree, mockShard);
+        final CommitLatencyTracker tracker = new CommitLatencyTracker("testCommitLatencyTracing", 2);
+        shardDataTree.setCommitLatencyTracker(tracker);
+
+        // Only the second transaction is traced
+        immediate3PhaseCommit(newShardDataTreeCohort(snapshot ->
+            snapshot.write(CarsModel.BASE_PATH, CarsModel.emptyContainer())));
+        immediate3PhaseCommit(newShardDataTreeCohort(snapshot ->
+            snapshot.write(CarsModel.CAR_LIST_PATH, CarsModel.newCarMapNode())));
+
+        final MetricRegistry registry = MetricsReporter.getInstance(DatastoreContext.METRICS_DOMAIN)
+                .getMetricsRegistry();
+        final List<String> phases = ImmutableList.of("queue-wait", "validate", "pre-commit-wait", "prepare",
+                "commit-wait", "payload-encoding", "replication", "apply", "publish", "total");
+        Map<String, Timer> timers = registry.getTimers();
+        for (String phase : phases) {
+            assertEquals(phase + " count", 1,
+                timers.get(MetricRegistry.name("testCommitLatencyTracing", "commit-latency", phase)).getCount());
+        }
+
+        // Closing the tracker removes its timers
+        tracker.close();
+        timers = registry.getTimers();
+        for (String phase : phases) {
+            assertNull(phase + " timer",
+                timers.get(MetricRegistry.name("testCommitLatencyTracing", "commit-latency", phase)));
+        }
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testAbortWithPendingCommits() throws Exception {
@@ -67,6 +67,29 @@ public class ShardRecoveryCoordinatorTest extends AbstractTest {
         coordinator.applyCurrentLogRecoveryBatch();
     }
 
+    @Test
+    public void testAppendRecoveredLogEntriesInOrder() throws IOException {
+        final TipProducingDataTree dataTree = InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
+        dataTree.setSchemaContext(peopleSchemaContext);
+
+        for (int i = 0; i < 50; ++i) {
+            final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+            if (i % 2 == 0) {
+                modification.write(PeopleModel.BASE_PATH, PeopleModel.create());
+            } else {
+                modification.delete(PeopleModel.BASE_PATH);
+            }
+            modification.ready();
+
+            final DataTreeCandidateTip candidate = dataTree.prepare(modification);
+            dataTree.commit(candidate);
+            coordinator.appendRecoveredLogEntry(CommitTransactionPayload.create(nextTransactionId(), candidate));
+        }
+
+        coordinator.applyCurrentLogRecoveryBatch();
+        assertFalse(readPeople(peopleDataTree).isPresent());
+    }
+
     @Test
     public void testApplyRecoverySnapshot() {
         coordinator.applyRecoverySnapshot(createSnapshot());
@@ -23,8 +23,10 @@ import akka.testkit.TestActorRef;
 import com.codahale.metrics.Snapshot;
 import com.codahale.metrics.Timer;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Stopwatch;
 import com.google.common.base.Throwables;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -78,19 +80,7 @@ public class ThreePhaseCommitCohortProxyTest extends AbstractActorTest {
     public void setUp() {
         MockitoAnnotations.initMocks(this);
 
-        actorContext = new ActorContext(getSystem(), actorFactory.createActor(Props.create(DoNothingActor.class)),
-                new MockClusterWrapper(), new MockConfiguration(), DatastoreContext.newBuilder().build(),
-                new PrimaryShardInfoFutureCache()) {
-            @Override
-            public Timer getOperationTimer(final String operationName) {
-                return commitTimer;
-            }
-
-            @Override
-            public double getTxCreationLimit() {
-                return 10.0;
-            }
-        };
+        actorContext = newActorContext(DatastoreContext.newBuilder().build());
 
         doReturn(commitTimerContext).when(commitTimer).time();
         doReturn(commitSnapshot).when(commitTimer).getSnapshot();
@@ -134,6 +124,44 @@ public class ThreePhaseCommitCohortProxyTest extends AbstractActorTest {
         verifyCohortActors();
     }
 
+    @Test
+    public void testParallelCanCommitYesWithThreeCohorts() throws Exception {
+        actorContext = newActorContext(DatastoreContext.newBuilder().parallelCanCommit(true).build());
+        List<CohortInfo> cohorts = Arrays.asList(
+                newCohortInfo(new CohortActor.Builder(tx).expectCanCommit(
+                        CanCommitTransactionReply.yes(CURRENT_VERSION))),
+                newCohortInfo(new CohortActor.Builder(tx).expectCanCommit(
+                        CanCommitTransactionReply.yes(CURRENT_VERSION))),
+                newCohortInfo(new CohortActor.Builder(tx).expectCanCommit(
+                        CanCommitTransactionReply.yes(CURRENT_VERSION))));
+        ThreePhaseCommitCohortProxy proxy = new ThreePhaseCommitCohortProxy(actorContext, cohorts, tx);
+
+        verifyCanCommit(proxy.canCommit(), true);
+        verifyCohortActors();
+    }
+
+    @Test
+    public void testParallelCanCommitNoWithThreeCohorts() throws Exception {
+        actorContext = newActorContext(DatastoreContext.newBuilder().parallelCanCommit(true).build());
+        // All cohorts are asked, even those following the one which replies no
+        List<CohortInfo> cohorts = Arrays.asList(
+                newCohortInfo(new CohortActor.Builder(tx).expectCanCommit(
+                        CanCommitTransactionReply.yes(CURRENT_VERSION))),
+                newCohortInfo(new CohortActor.Builder(tx).expectCanCommit(
+                        CanCommitTransactionReply.no(CURRENT_VERSION))),
+                newCohortInfo(new CohortActor.Builder(tx).expectCanCommit(
+                        CanCommitTransactionReply.yes(CURRENT_VERSION))));
+        ThreePhaseCommitCohortProxy proxy = new ThreePhaseCommitCohortProxy(actorContext, cohorts, tx);
+
+        verifyCanCommit(proxy.canCommit(), false);
+
+        // Replies from the other cohorts may still be in flight
+        for (TestActorRef<CohortActor> actor: cohortActors) {
+            actor.underlyingActor().awaitCanCommit();
+        }
+        verifyCohortActors();
+    }
+
     @Test
     public void testCanCommitNoWithThreeCohorts() throws Exception {
         List<CohortInfo> cohorts = Arrays.asList(
@@ -272,6 +300,22 @@ public class ThreePhaseCommitCohortProxyTest extends AbstractActorTest {
         }
     }
 
+    private ActorContext newActorContext(final DatastoreContext datastoreContext) {
+        return new ActorContext(getSystem(), actorFactory.createActor(Props.create(DoNothingActor.class)),
+                new MockClusterWrapper(), new MockConfiguration(), datastoreContext,
+                new PrimaryShardInfoFutureCache()) {
+            @Override
+            public Timer getOperationTimer(final String operationName) {
+                return commitTimer;
+            }
+
+            @Override
+            public double getTxCreationLimit() {
+                return 10.0;
+            }
+        };
+    }
+
     private CohortInfo newCohortInfo(final CohortActor.Builder builder, final short version) {
         TestActorRef<CohortActor> actor = actorFactory.createTestActor(builder.props()
                 .withDispatcher(Dispatchers.DefaultDispatcherId()), actorFactory.generateActorId("cohort"));
@@ -355,6 +399,13 @@ public class ThreePhaseCommitCohortProxyTest extends AbstractActorTest {
             }
         }
 
+        void awaitCanCommit() {
+            Stopwatch sw = Stopwatch.createStarted();
+            while (canCommitCount.get() == 0 && sw.elapsed(TimeUnit.SECONDS) <= 5) {
+                Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+            }
+        }
+
         void verify() {
             if (assertionError != null) {
                 throw assertionError;
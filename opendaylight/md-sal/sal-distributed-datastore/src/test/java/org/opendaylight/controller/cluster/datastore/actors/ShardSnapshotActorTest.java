@@ -21,6 +21,7 @@ import org.opendaylight.controller.cluster.datastore.AbstractActorTest;
 import org.opendaylight.controller.cluster.datastore.persisted.MetadataShardDataTreeSnapshot;
 import org.opendaylight.controller.cluster.datastore.persisted.ShardDataTreeSnapshot;
 import org.opendaylight.controller.cluster.datastore.persisted.ShardSnapshotState;
+import org.opendaylight.controller.cluster.io.StreamCompression;
 import org.opendaylight.controller.cluster.raft.base.messages.CaptureSnapshotReply;
 import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -30,7 +31,7 @@ public class ShardSnapshotActorTest extends AbstractActorTest {
     private static final NormalizedNode<?, ?> DATA = ImmutableNodes.containerNode(TestModel.TEST_QNAME);
 
     private static void testSerializeSnapshot(final String testName, final ShardDataTreeSnapshot snapshot,
-            final boolean withInstallSnapshot) throws Exception {
+            final boolean withInstallSnapshot, final boolean compress) throws Exception {
         new JavaTestKit(getSystem()) {
             {
                 final ActorRef snapshotActor = getSystem().actorOf(ShardSnapshotActor.props(), testName);
@@ -40,7 +41,7 @@ public class ShardSnapshotActorTest extends AbstractActorTest {
 
                 ByteArrayOutputStream installSnapshotStream = withInstallSnapshot ? new ByteArrayOutputStream() : null;
                 ShardSnapshotActor.requestSnapshot(snapshotActor, snapshot,
-                        Optional.ofNullable(installSnapshotStream), getRef());
+                        Optional.ofNullable(installSnapshotStream), compress, getRef());
 
                 final CaptureSnapshotReply reply = expectMsgClass(duration("3 seconds"), CaptureSnapshotReply.class);
                 assertNotNull("getSnapshotState is null", reply.getSnapshotState());
@@ -49,8 +50,8 @@ public class ShardSnapshotActorTest extends AbstractActorTest {
 
                 if (installSnapshotStream != null) {
                     final ShardDataTreeSnapshot deserialized;
-                    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(
-                            installSnapshotStream.toByteArray()))) {
+                    try (ObjectInputStream in = new ObjectInputStream(StreamCompression.decompressIfNeeded(
+                            new ByteArrayInputStream(installSnapshotStream.toByteArray())))) {
                         deserialized = ShardDataTreeSnapshot.deserialize(in);
                     }
 
@@ -67,8 +68,10 @@ public class ShardSnapshotActorTest extends AbstractActorTest {
     @Test
     public void testSerializeBoronSnapshot() throws Exception {
         testSerializeSnapshot("testSerializeBoronSnapshotWithInstallSnapshot",
-                new MetadataShardDataTreeSnapshot(DATA), true);
+                new MetadataShardDataTreeSnapshot(DATA), true, false);
+        testSerializeSnapshot("testSerializeBoronSnapshotWithCompressedInstallSnapshot",
+                new MetadataShardDataTreeSnapshot(DATA), true, true);
         testSerializeSnapshot("testSerializeBoronSnapshotWithoutInstallSnapshot",
-                new MetadataShardDataTreeSnapshot(DATA), false);
+                new MetadataShardDataTreeSnapshot(DATA), false, false);
     }
 }
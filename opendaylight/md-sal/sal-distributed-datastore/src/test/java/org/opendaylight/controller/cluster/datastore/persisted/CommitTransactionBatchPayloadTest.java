@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.persisted;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.util.Collections;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.AbstractTest;
+import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
+
+public class CommitTransactionBatchPayloadTest extends AbstractTest {
+    private DataTreeCandidate candidate;
+
+    @Before
+    public void setUp() {
+        final NormalizedNode<?, ?> writeData = ImmutableContainerNodeBuilder.create()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(TestModel.TEST_QNAME))
+                .withChild(ImmutableNodes.leafNode(TestModel.DESC_QNAME, "foo")).build();
+        candidate = DataTreeCandidates.fromNormalizedNode(TestModel.TEST_PATH, writeData);
+    }
+
+    @Test
+    public void testPayloadSerDes() throws IOException {
+        final TransactionIdentifier txId1 = nextTransactionId();
+        final TransactionIdentifier txId2 = nextTransactionId();
+        final CommitTransactionPayload payload1 = CommitTransactionPayload.create(txId1, candidate);
+        final CommitTransactionPayload payload2 = CommitTransactionPayload.create(txId2, candidate);
+
+        final CommitTransactionBatchPayload batch = CommitTransactionBatchPayload.create(
+            ImmutableList.of(payload1, payload2));
+        assertEquals("payload size", payload1.size() + payload2.size(), batch.size());
+        assertEquals(ImmutableList.of(txId1, txId2), batch.getIdentifiers());
+
+        final CommitTransactionBatchPayload cloned = SerializationUtils.clone(batch);
+        assertEquals(ImmutableList.of(txId1, txId2), cloned.getIdentifiers());
+        assertEquals(2, cloned.getPayloads().size());
+        assertEquals(txId1, cloned.getPayloads().get(0).getCandidate().getKey());
+        assertEquals(txId2, cloned.getPayloads().get(1).getCandidate().getKey());
+        assertEquals(candidate.getRootPath(), cloned.getPayloads().get(1).getCandidate().getValue().getRootPath());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyBatch() throws IOException {
+        CommitTransactionBatchPayload.create(Collections.emptyList());
+    }
+}
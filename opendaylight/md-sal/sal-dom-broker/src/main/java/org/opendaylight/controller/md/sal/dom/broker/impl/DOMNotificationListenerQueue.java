@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded queue of notifications pending delivery to a single {@link DOMNotificationListener}. Notifications are
+ * delivered in the order in which they were enqueued, by at most one thread at a time, borrowed from an executor
+ * shared by all queues. This allows notifications to be delivered to different listeners in parallel, while each
+ * listener still observes them in publish order.
+ */
+public final class DOMNotificationListenerQueue {
+    /**
+     * Action taken when a notification is dispatched to a listener whose queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Wait for the listener to catch up. This throttles dispatch of all notifications, just as a slow listener
+         * does in the sequential dispatch mode, but no notifications are lost.
+         */
+        BLOCK,
+        /**
+         * Discard the notification for this listener only, so that other listeners are not affected.
+         */
+        DROP,
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(DOMNotificationListenerQueue.class);
+    // Upper bound on notifications delivered in one go, so that a busy listener does not hog an executor thread
+    private static final int MAX_BATCH_SIZE = 64;
+
+    private static final class Entry {
+        final DOMNotification notification;
+        final Runnable onDelivered;
+
+        Entry(final DOMNotification notification, final Runnable onDelivered) {
+            this.notification = notification;
+            this.onDelivered = onDelivered;
+        }
+    }
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final DOMNotificationListener listener;
+    private final BlockingQueue<Entry> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final Executor executor;
+    private final int capacity;
+
+    private volatile boolean closed;
+
+    DOMNotificationListenerQueue(final DOMNotificationListener listener, final int capacity,
+            final OverflowPolicy overflowPolicy, final Executor executor) {
+        Preconditions.checkArgument(capacity > 0, "Queue capacity %s is not positive", capacity);
+        this.listener = Preconditions.checkNotNull(listener);
+        this.overflowPolicy = Preconditions.checkNotNull(overflowPolicy);
+        this.executor = Preconditions.checkNotNull(executor);
+        this.capacity = capacity;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public DOMNotificationListener getListener() {
+        return listener;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of notifications waiting to be delivered to the listener.
+     *
+     * @return current queue depth
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Returns the number of notifications which were not delivered to the listener because its queue was full.
+     *
+     * @return number of dropped notifications
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Enqueue a notification for delivery. The completion callback is invoked once the notification has been
+     * delivered, or it has been determined it will not be delivered.
+     *
+     * @param notification notification to deliver
+     * @param onDelivered completion callback
+     * @throws InterruptedException if interrupted while waiting for space in the queue
+     */
+    void enqueue(final DOMNotification notification, final Runnable onDelivered) throws InterruptedException {
+        if (closed) {
+            onDelivered.run();
+            return;
+        }
+
+        final Entry entry = new Entry(notification, onDelivered);
+        if (!queue.offer(entry)) {
+            switch (overflowPolicy) {
+                case DROP:
+                    LOG.debug("Queue of listener {} is full, dropping notification {}", listener, notification);
+                    droppedCount.incrementAndGet();
+                    onDelivered.run();
+                    return;
+                case BLOCK:
+                    LOG.debug("Queue of listener {} is full, waiting to enqueue notification {}", listener,
+                        notification);
+                    queue.put(entry);
+                    break;
+                default:
+                    throw new IllegalStateException("Unhandled overflow policy " + overflowPolicy);
+            }
+        }
+
+        schedule();
+    }
+
+    /**
+     * Stop delivering notifications to the listener. Pending notifications are completed without being delivered.
+     */
+    void close() {
+        closed = true;
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // The router is shutting down: complete the pending notifications without delivering them
+                LOG.debug("Executor rejected delivery to listener {}, closing its queue", listener, e);
+                closed = true;
+                drain();
+            }
+        }
+    }
+
+    private void drain() {
+        for (int i = 0; i < MAX_BATCH_SIZE; ++i) {
+            final Entry entry = queue.poll();
+            if (entry == null) {
+                break;
+            }
+
+            deliver(entry);
+        }
+
+        scheduled.set(false);
+
+        // An entry may have been enqueued after we stopped polling, but before we cleared the flag
+        if (!queue.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private void deliver(final Entry entry) {
+        if (!closed) {
+            try {
+                LOG.trace("Notifying listener {}", listener);
+                listener.onNotification(entry.notification);
+                LOG.trace("Listener notification completed");
+            } catch (Exception e) {
+                LOG.error("Delivery of notification {} caused an error in listener {}", entry.notification, listener,
+                    e);
+            }
+        }
+
+        entry.onDelivered.run();
+    }
+
+    @Override
+    public String toString() {
+        return "DOMNotificationListenerQueue [listener=" + listener + ", depth=" + queue.size() + ", capacity="
+                + capacity + ", overflowPolicy=" + overflowPolicy + ", dropped=" + droppedCount.get() + "]";
+    }
+}
@@ -15,6 +15,7 @@ import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.lmax.disruptor.EventHandler;
 import com.lmax.disruptor.InsufficientCapacityException;
 import com.lmax.disruptor.PhasedBackoffWaitStrategy;
@@ -25,6 +26,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -32,6 +35,7 @@ import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotificationListener;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotificationPublishService;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotificationService;
+import org.opendaylight.controller.md.sal.dom.broker.impl.DOMNotificationListenerQueue.OverflowPolicy;
 import org.opendaylight.controller.md.sal.dom.spi.DOMNotificationSubscriptionListener;
 import org.opendaylight.controller.md.sal.dom.spi.DOMNotificationSubscriptionListenerRegistry;
 import org.opendaylight.yangtools.concepts.AbstractListenerRegistration;
@@ -54,6 +58,13 @@ import org.slf4j.LoggerFactory;
  * The fully-blocking {@link #publish(long, DOMNotification, Collection)} and non-blocking {@link #offerNotification(DOMNotification)}
  * are realized using the Disruptor's native operations. The bounded-blocking {@link #offerNotification(DOMNotification, long, TimeUnit)}
  * is realized by arming a background wakeup interrupt.
+ *
+ * Optionally the router can operate in parallel dispatch mode, enabled by specifying a positive listener queue depth.
+ * In this mode the first handler does not invoke listeners, but rather hands each notification over to a bounded
+ * {@link DOMNotificationListenerQueue} of each subscribed listener. These queues are drained by a thread pool sized
+ * to the number of available processors, so a slow listener does not hold up delivery to other listeners, while each
+ * listener still sees notifications in the order they were published. The future returned to the publisher completes
+ * once all listeners have been notified, as it does in the default sequential mode.
  */
 public final class DOMNotificationRouter implements AutoCloseable, DOMNotificationPublishService,
         DOMNotificationService, DOMNotificationSubscriptionListenerRegistry {
@@ -66,34 +77,78 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
     private static final EventHandler<DOMNotificationRouterEvent> NOTIFY_FUTURE =
             (event, sequence, endOfBatch) -> event.setFuture();
 
+    private final ConcurrentMap<ListenerRegistration<? extends DOMNotificationListener>,
+            DOMNotificationListenerQueue> listenerQueues = new ConcurrentHashMap<>();
     private final Disruptor<DOMNotificationRouterEvent> disruptor;
     private final ExecutorService executor;
+    private final ExecutorService listenerExecutor;
+    private final OverflowPolicy overflowPolicy;
+    private final int listenerQueueDepth;
     private volatile Multimap<SchemaPath, ListenerRegistration<? extends DOMNotificationListener>> listeners = ImmutableMultimap.of();
     private final ListenerRegistry<DOMNotificationSubscriptionListener> subscriptionListeners = ListenerRegistry.create();
 
     @SuppressWarnings("unchecked")
-    private DOMNotificationRouter(final ExecutorService executor, final int queueDepth, final WaitStrategy strategy) {
+    private DOMNotificationRouter(final ExecutorService executor, final int queueDepth, final WaitStrategy strategy,
+            final int listenerQueueDepth, final OverflowPolicy overflowPolicy) {
         this.executor = Preconditions.checkNotNull(executor);
+        this.overflowPolicy = Preconditions.checkNotNull(overflowPolicy);
+        this.listenerQueueDepth = listenerQueueDepth;
 
         disruptor = new Disruptor<>(DOMNotificationRouterEvent.FACTORY, queueDepth, executor, ProducerType.MULTI, strategy);
-        disruptor.handleEventsWith(DISPATCH_NOTIFICATIONS);
-        disruptor.after(DISPATCH_NOTIFICATIONS).handleEventsWith(NOTIFY_FUTURE);
+        if (listenerQueueDepth > 0) {
+            listenerExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                new ThreadFactoryBuilder().setNameFormat("dom-notification-listener-%d").setDaemon(true).build());
+            final EventHandler<DOMNotificationRouterEvent> dispatchToQueues =
+                (event, sequence, endOfBatch) -> event.dispatchNotification(listenerQueues::get);
+            disruptor.handleEventsWith(dispatchToQueues);
+        } else {
+            listenerExecutor = null;
+            disruptor.handleEventsWith(DISPATCH_NOTIFICATIONS);
+            disruptor.after(DISPATCH_NOTIFICATIONS).handleEventsWith(NOTIFY_FUTURE);
+        }
         disruptor.start();
     }
 
     public static DOMNotificationRouter create(final int queueDepth) {
         final ExecutorService executor = Executors.newCachedThreadPool();
 
-        return new DOMNotificationRouter(executor, queueDepth, DEFAULT_STRATEGY);
+        return new DOMNotificationRouter(executor, queueDepth, DEFAULT_STRATEGY, 0, OverflowPolicy.BLOCK);
     }
 
     public static DOMNotificationRouter create(final int queueDepth, final long spinTime, final long parkTime, final TimeUnit unit) {
+        return create(queueDepth, spinTime, parkTime, unit, 0, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Create a router, optionally operating in parallel dispatch mode.
+     *
+     * @param queueDepth depth of the dispatch ring buffer, has to be a power of two
+     * @param spinTime ring buffer wait strategy spin time
+     * @param parkTime ring buffer wait strategy park time
+     * @param unit time unit of spinTime and parkTime
+     * @param listenerQueueDepth depth of each listener's queue, zero to deliver notifications sequentially
+     * @param overflowPolicy action taken when a listener's queue is full
+     * @return a new router
+     */
+    public static DOMNotificationRouter create(final int queueDepth, final long spinTime, final long parkTime,
+            final TimeUnit unit, final int listenerQueueDepth, final OverflowPolicy overflowPolicy) {
         Preconditions.checkArgument(Long.lowestOneBit(queueDepth) == Long.highestOneBit(queueDepth),
                 "Queue depth %s is not power-of-two", queueDepth);
+        Preconditions.checkArgument(listenerQueueDepth >= 0, "Listener queue depth %s is negative",
+                listenerQueueDepth);
         final ExecutorService executor = Executors.newCachedThreadPool();
         final WaitStrategy strategy = PhasedBackoffWaitStrategy.withLock(spinTime, parkTime, unit);
 
-        return new DOMNotificationRouter(executor, queueDepth, strategy);
+        return new DOMNotificationRouter(executor, queueDepth, strategy, listenerQueueDepth, overflowPolicy);
+    }
+
+    /**
+     * Return the queues of registered listeners. This is empty unless the router operates in parallel dispatch mode.
+     *
+     * @return listener queues
+     */
+    public Collection<DOMNotificationListenerQueue> getListenerQueues() {
+        return ImmutableList.copyOf(listenerQueues.values());
     }
 
     @Override
@@ -106,10 +161,20 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
                 synchronized (DOMNotificationRouter.this) {
                     replaceListeners(ImmutableMultimap.copyOf(Multimaps.filterValues(listeners, input -> input != me)));
                 }
+
+                final DOMNotificationListenerQueue queue = listenerQueues.remove(me);
+                if (queue != null) {
+                    queue.close();
+                }
             }
         };
 
         if (!types.isEmpty()) {
+            if (listenerExecutor != null) {
+                listenerQueues.put(reg, new DOMNotificationListenerQueue(listener, listenerQueueDepth, overflowPolicy,
+                    listenerExecutor));
+            }
+
             final Builder<SchemaPath, ListenerRegistration<? extends DOMNotificationListener>> b = ImmutableMultimap.builder();
             b.putAll(listeners);
 
@@ -222,7 +287,13 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
 
     @Override
     public void close() {
+        // Drain the ring buffer first, as dispatching events may still need the listener executor
         disruptor.shutdown();
         executor.shutdown();
+        if (listenerExecutor != null) {
+            // Let queued notifications complete without delivering them, then stop the delivery threads
+            listenerQueues.values().forEach(DOMNotificationListenerQueue::close);
+            listenerExecutor.shutdown();
+        }
     }
 }
@@ -12,6 +12,8 @@ import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import com.lmax.disruptor.EventFactory;
 import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotificationListener;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
@@ -58,6 +60,65 @@ final class DOMNotificationRouterEvent {
         LOG.trace("Delivery completed");
     }
 
+    /**
+     * Hand the notification over to per-listener queues. The future is completed once all listeners have been
+     * notified, hence this method is used instead of both {@link #deliverNotification()} and {@link #setFuture()}.
+     *
+     * @param queues function returning the queue of a registration, or null if the registration is gone
+     * @throws InterruptedException if interrupted while waiting for space in a queue
+     */
+    void dispatchNotification(final Function<ListenerRegistration<? extends DOMNotificationListener>,
+            DOMNotificationListenerQueue> queues) throws InterruptedException {
+        // This event is reused once we return, hence capture its state
+        final DOMNotification localNotification = notification;
+        final SettableFuture<Void> localFuture = future;
+        final AtomicInteger pending = new AtomicInteger(subscribers.size());
+        final Runnable onDelivered = () -> {
+            if (pending.decrementAndGet() == 0) {
+                localFuture.set(null);
+            }
+        };
+
+        LOG.trace("Start dispatch of notification {}", localNotification);
+        InterruptedException interrupted = null;
+        try {
+            for (ListenerRegistration<? extends DOMNotificationListener> r : subscribers) {
+                if (interrupted != null) {
+                    // Account for the listeners we will not get to, so that the future completes
+                    onDelivered.run();
+                    continue;
+                }
+
+                try {
+                    final DOMNotificationListenerQueue queue = queues.apply(r);
+                    if (queue != null) {
+                        queue.enqueue(localNotification, onDelivered);
+                    } else {
+                        onDelivered.run();
+                    }
+                } catch (InterruptedException e) {
+                    LOG.warn("Interrupted while dispatching notification {}, remaining listeners will not see it",
+                        localNotification, e);
+                    interrupted = e;
+                    onDelivered.run();
+                } catch (RuntimeException e) {
+                    LOG.error("Dispatch of notification {} to listener {} failed", localNotification, r.getInstance(),
+                        e);
+                    onDelivered.run();
+                }
+            }
+        } finally {
+            notification = null;
+            subscribers = null;
+            future = null;
+        }
+
+        if (interrupted != null) {
+            throw interrupted;
+        }
+        LOG.trace("Dispatch completed");
+    }
+
     void setFuture() {
         future.set(null);
         notification = null;
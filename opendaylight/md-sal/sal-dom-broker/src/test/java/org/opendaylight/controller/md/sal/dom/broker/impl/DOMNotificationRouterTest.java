@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationListener;
+import org.opendaylight.controller.md.sal.dom.broker.impl.DOMNotificationListenerQueue.OverflowPolicy;
+import org.opendaylight.controller.md.sal.dom.store.impl.TestModel;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+/**
+ * Unit tests for DOMNotificationRouter.
+ */
+public class DOMNotificationRouterTest {
+    private static final SchemaPath TYPE = SchemaPath.create(true, TestModel.TEST_QNAME);
+
+    private DOMNotificationRouter router;
+
+    @After
+    public void tearDown() {
+        if (router != null) {
+            router.close();
+        }
+    }
+
+    @Test
+    public void testSequentialDispatch() throws Exception {
+        router = DOMNotificationRouter.create(16);
+
+        final RecordingListener listener = new RecordingListener(null);
+        router.registerNotificationListener(listener, TYPE);
+
+        final DOMNotification notification = newNotification();
+        router.putNotification(notification).get(5, TimeUnit.SECONDS);
+        assertEquals("Delivered", 1, listener.received.size());
+        assertSame("Notification", notification, listener.received.get(0));
+        assertTrue("Listener queues", router.getListenerQueues().isEmpty());
+    }
+
+    @Test
+    public void testParallelDispatch() throws Exception {
+        router = DOMNotificationRouter.create(16, 0, 0, TimeUnit.MILLISECONDS, 16, OverflowPolicy.BLOCK);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final RecordingListener slowListener = new RecordingListener(release);
+        final RecordingListener fastListener = new RecordingListener(null);
+        router.registerNotificationListener(slowListener, TYPE);
+        router.registerNotificationListener(fastListener, TYPE);
+        assertEquals("Listener queues", 2, router.getListenerQueues().size());
+
+        final List<DOMNotification> notifications = new ArrayList<>();
+        final List<ListenableFuture<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; ++i) {
+            final DOMNotification notification = newNotification();
+            notifications.add(notification);
+            futures.add(router.putNotification(notification));
+        }
+
+        // The fast listener does not wait for the slow one
+        fastListener.awaitReceived(notifications.size());
+        assertEquals("Fast listener notifications", notifications, fastListener.received);
+        assertFalse("Future done", futures.get(0).isDone());
+
+        release.countDown();
+        for (ListenableFuture<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals("Slow listener notifications", notifications, slowListener.received);
+    }
+
+    @Test
+    public void testParallelDispatchDropPolicy() throws Exception {
+        router = DOMNotificationRouter.create(16, 0, 0, TimeUnit.MILLISECONDS, 1, OverflowPolicy.DROP);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final RecordingListener listener = new RecordingListener(release);
+        router.registerNotificationListener(listener, TYPE);
+
+        final List<ListenableFuture<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; ++i) {
+            futures.add(router.putNotification(newNotification()));
+        }
+
+        // At most one notification is being delivered and at most one is queued
+        final DOMNotificationListenerQueue queue = Iterables.getOnlyElement(router.getListenerQueues());
+        assertSame("Listener", listener, queue.getListener());
+        assertEquals("Capacity", 1, queue.getCapacity());
+        awaitDropped(queue);
+
+        release.countDown();
+        for (ListenableFuture<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals("Delivered and dropped", 3, listener.received.size() + queue.getDroppedCount());
+        assertEquals("Queue depth", 0, queue.getQueueDepth());
+    }
+
+    @Test
+    public void testParallelDispatchAfterUnregistration() throws Exception {
+        router = DOMNotificationRouter.create(16, 0, 0, TimeUnit.MILLISECONDS, 16, OverflowPolicy.BLOCK);
+
+        final RecordingListener listener = new RecordingListener(null);
+        final ListenerRegistration<RecordingListener> reg = router.registerNotificationListener(listener, TYPE);
+        router.putNotification(newNotification()).get(5, TimeUnit.SECONDS);
+        assertEquals("Delivered", 1, listener.received.size());
+
+        reg.close();
+        assertTrue("Listener queues", router.getListenerQueues().isEmpty());
+    }
+
+    @Test
+    public void testParallelDispatchFailure() throws Exception {
+        final ListenerRegistration<DOMNotificationListener> failing = mockRegistration();
+        final ListenerRegistration<DOMNotificationListener> removed = mockRegistration();
+
+        final DOMNotificationRouterEvent event = DOMNotificationRouterEvent.FACTORY.newInstance();
+        final ListenableFuture<Void> future = event.initialize(newNotification(), ImmutableList.of(failing, removed));
+        event.dispatchNotification(reg -> {
+            if (reg == failing) {
+                throw new IllegalStateException("mock");
+            }
+            return null;
+        });
+
+        // A failure to dispatch to one listener does not prevent the notification from completing
+        future.get(5, TimeUnit.SECONDS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ListenerRegistration<DOMNotificationListener> mockRegistration() {
+        final ListenerRegistration<DOMNotificationListener> reg = mock(ListenerRegistration.class);
+        doReturn(new RecordingListener(null)).when(reg).getInstance();
+        return reg;
+    }
+
+    private static void awaitDropped(final DOMNotificationListenerQueue queue) {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queue.getDroppedCount() == 0) {
+            assertTrue("Timed out waiting for a notification to be dropped", System.nanoTime() < deadline);
+            Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static DOMNotification newNotification() {
+        final DOMNotification notification = mock(DOMNotification.class);
+        doReturn(TYPE).when(notification).getType();
+        return notification;
+    }
+
+    private static final class RecordingListener implements DOMNotificationListener {
+        final List<DOMNotification> received = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+
+        RecordingListener(final CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onNotification(final DOMNotification notification) {
+            if (release != null) {
+                Uninterruptibles.awaitUninterruptibly(release, 5, TimeUnit.SECONDS);
+            }
+            received.add(notification);
+        }
+
+        void awaitReceived(final int count) {
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (received.size() < count) {
+                assertTrue("Timed out waiting for notifications", System.nanoTime() < deadline);
+                Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+}
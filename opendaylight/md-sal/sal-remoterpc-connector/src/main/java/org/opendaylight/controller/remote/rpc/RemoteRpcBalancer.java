@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.List;
+import java.util.Map;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+/**
+ * Spreads invocations of global RPCs across all remote nodes providing them, as directed by
+ * a {@link RemoteRpcRoutingLogic}. Routed RPCs are always sent to the node selected by the RPC broker, as they are
+ * tied to their context. Candidates are maintained by {@link RpcRegistrar}, selection is thread-safe.
+ */
+final class RemoteRpcBalancer {
+    private final RemoteRpcRoutingLogic logic;
+
+    private volatile Map<SchemaPath, List<RemoteRpcChannel>> globalRpcs = ImmutableMap.of();
+
+    RemoteRpcBalancer(final RemoteRpcRoutingLogic logic) {
+        this.logic = Preconditions.checkNotNull(logic);
+    }
+
+    boolean isEnabled() {
+        return logic != RemoteRpcRoutingLogic.PREFERRED;
+    }
+
+    void setGlobalRpcs(final Map<SchemaPath, ? extends List<RemoteRpcChannel>> rpcs) {
+        final ImmutableMap.Builder<SchemaPath, List<RemoteRpcChannel>> builder = ImmutableMap.builder();
+        rpcs.forEach((type, channels) -> {
+            // Single-provider RPCs do not need balancing
+            if (channels.size() > 1) {
+                builder.put(type, ImmutableList.copyOf(channels));
+            }
+        });
+        globalRpcs = builder.build();
+    }
+
+    RemoteRpcChannel select(final RemoteRpcChannel preferred, final DOMRpcIdentifier rpc) {
+        if (!YangInstanceIdentifier.EMPTY.equals(rpc.getContextReference())) {
+            return preferred;
+        }
+
+        final List<RemoteRpcChannel> candidates = globalRpcs.get(rpc.getType());
+        return candidates == null ? preferred : logic.select(preferred, candidates);
+    }
+}
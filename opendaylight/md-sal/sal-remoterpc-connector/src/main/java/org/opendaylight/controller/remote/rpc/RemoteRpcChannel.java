@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorRefFactory;
+import akka.pattern.Patterns;
+import akka.util.Timeout;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpc;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * A multiplexed channel to a remote {@link RpcInvoker}. Requests from all callers are queued and sent to the remote
+ * node in batches by a single {@link RemoteRpcChannelActor}, which also matches responses to requests by their
+ * correlation IDs and times out requests which have not been answered in time. Unlike
+ * {@link akka.pattern.Patterns#ask(ActorRef, Object, akka.util.Timeout)}, this does not need a temporary actor and
+ * a scheduled timeout for each request.
+ *
+ * <p>
+ * Invokers which do not understand {@link org.opendaylight.controller.remote.rpc.messages.ExecuteRpcBatch}, as
+ * advertised in their routing table, are sent each request as an individual {@link ExecuteRpc} instead.
+ *
+ * <p>
+ * The channel also tracks the number of outstanding requests and a moving average of response latency, which are
+ * used by {@link RemoteRpcRoutingLogic} to steer requests away from slow or overloaded nodes.
+ */
+final class RemoteRpcChannel implements AutoCloseable {
+    /**
+     * A request which has not been sent yet.
+     */
+    static final class QueuedRpc {
+        final RemoteDOMRpcFuture future;
+        final ExecuteRpc request;
+        final long startNanos;
+
+        QueuedRpc(final RemoteDOMRpcFuture future, final ExecuteRpc request, final long startNanos) {
+            this.future = future;
+            this.request = request;
+            this.startNanos = startNanos;
+        }
+    }
+
+    static final Object FLUSH = new Object() {
+        @Override
+        public String toString() {
+            return "flush";
+        }
+    };
+
+    static final Object CLOSE = new Object() {
+        @Override
+        public String toString() {
+            return "close";
+        }
+    };
+
+    private final Queue<QueuedRpc> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ActorRef remoteInvoker;
+    private final boolean batchingSupported;
+    private final Timeout askDuration;
+    private final ActorRef actor;
+
+    // Set when the channel stops accepting requests
+    private volatile boolean closed;
+    // Set when the actor has stopped and can no longer send requests
+    private volatile boolean stopped;
+
+    // Exponentially-weighted moving average, guarded by this object for updates
+    private volatile long latencyNanos;
+
+    RemoteRpcChannel(final ActorRefFactory factory, final ActorRef remoteInvoker,
+            final RemoteRpcProviderConfig config) {
+        this(factory, remoteInvoker, true, config);
+    }
+
+    RemoteRpcChannel(final ActorRefFactory factory, final ActorRef remoteInvoker, final boolean batchingSupported,
+            final RemoteRpcProviderConfig config) {
+        this.remoteInvoker = Preconditions.checkNotNull(remoteInvoker);
+        this.batchingSupported = batchingSupported;
+        this.askDuration = config.getAskDuration();
+        this.actor = factory.actorOf(RemoteRpcChannelActor.props(this, config));
+    }
+
+    ActorRef getRemoteInvoker() {
+        return remoteInvoker;
+    }
+
+    boolean isBatchingSupported() {
+        return batchingSupported;
+    }
+
+    RemoteDOMRpcFuture invokeRpc(final DOMRpcIdentifier rpc, final NormalizedNode<?, ?> input) {
+        final RemoteDOMRpcFuture ret = RemoteDOMRpcFuture.create(rpc.getType().getLastComponent());
+        if (closed) {
+            ret.failNow(closedException());
+            return ret;
+        }
+
+        inFlight.incrementAndGet();
+        ret.addListener(inFlight::decrementAndGet, MoreExecutors.directExecutor());
+
+        if (!batchingSupported) {
+            final long startNanos = System.nanoTime();
+            ret.addListener(() -> recordLatency(System.nanoTime() - startNanos), MoreExecutors.directExecutor());
+            ret.completeWith(Patterns.ask(remoteInvoker, ExecuteRpc.from(rpc, input), askDuration));
+            return ret;
+        }
+
+        queue.add(new QueuedRpc(ret, ExecuteRpc.from(rpc, input), System.nanoTime()));
+        if (flushScheduled.compareAndSet(false, true)) {
+            actor.tell(FLUSH, ActorRef.noSender());
+        }
+
+        // The actor may have stopped before it could see our request
+        if (stopped) {
+            failQueued();
+        }
+        return ret;
+    }
+
+    /**
+     * Invoked by {@link RemoteRpcChannelActor} before it starts draining queued requests. Any request queued after
+     * this method returns will cause another flush.
+     */
+    void flushStarted() {
+        flushScheduled.set(false);
+    }
+
+    QueuedRpc pollQueued() {
+        return queue.poll();
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    /**
+     * Invoked when a request completes, including when it times out. Batched requests are completed by
+     * {@link RemoteRpcChannelActor}, individual ones by Akka's ask pattern.
+     *
+     * @param sampleNanos observed request latency
+     */
+    synchronized void recordLatency(final long sampleNanos) {
+        final long prev = latencyNanos;
+        latencyNanos = prev == 0 ? sampleNanos : prev + (sampleNanos - prev) / 8;
+    }
+
+    /**
+     * Invoked by {@link RemoteRpcChannelActor} when it stops.
+     */
+    void channelStopped() {
+        closed = true;
+        stopped = true;
+        failQueued();
+    }
+
+    RemoteDOMRpcException closedException() {
+        return new RemoteDOMRpcException("RPC channel to " + remoteInvoker + " has been closed", null);
+    }
+
+    private void failQueued() {
+        for (QueuedRpc rpc = queue.poll(); rpc != null; rpc = queue.poll()) {
+            rpc.future.failNow(closedException());
+        }
+    }
+
+    /**
+     * Stop accepting new requests. Requests which have already been accepted are still sent and complete or time out
+     * as usual, the actor stops once all of them have done so.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        actor.tell(CLOSE, ActorRef.noSender());
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteRpcChannel{" + "remoteInvoker=" + remoteInvoker + ", batchingSupported=" + batchingSupported
+                + ", actor=" + actor + '}';
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc;
+
+import akka.actor.Cancellable;
+import akka.actor.Props;
+import akka.pattern.AskTimeoutException;
+import com.google.common.base.Preconditions;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActor;
+import org.opendaylight.controller.remote.rpc.RemoteRpcChannel.QueuedRpc;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpcBatch;
+import org.opendaylight.controller.remote.rpc.messages.RpcResponse;
+import org.opendaylight.controller.remote.rpc.messages.RpcResponseBatch;
+import scala.concurrent.duration.FiniteDuration;
+
+/**
+ * Actor backing a {@link RemoteRpcChannel}. It assigns correlation IDs to queued requests, sends them to the remote
+ * invoker in {@link ExecuteRpcBatch}es and completes them as {@link RpcResponseBatch}es arrive. Since all requests
+ * have the same timeout, their deadlines are ordered as they were queued, hence a single periodic tick is enough to
+ * time them out.
+ *
+ * <p>
+ * When the channel is closed, the actor drains: it keeps sending the requests which have been queued and completing
+ * the outstanding ones, and stops once none remain, either because they have completed or timed out.
+ */
+final class RemoteRpcChannelActor extends AbstractUntypedActor {
+    private static final class PendingRpc {
+        final RemoteDOMRpcFuture future;
+        final long id;
+        final long startNanos;
+        final long deadlineNanos;
+        boolean completed;
+
+        PendingRpc(final RemoteDOMRpcFuture future, final long id, final long startNanos, final long deadlineNanos) {
+            this.future = future;
+            this.id = id;
+            this.startNanos = startNanos;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+
+    private static final Object TIMEOUT_TICK = new Object() {
+        @Override
+        public String toString() {
+            return "timeout tick";
+        }
+    };
+
+    // Granularity of request timeouts
+    private static final FiniteDuration TICK_INTERVAL = FiniteDuration.create(100, TimeUnit.MILLISECONDS);
+
+    // Limits on the number of requests and their serialized size sent in one message, so that individual messages
+    // stay reasonably sized. A batch is sent as soon as it reaches either limit, hence the last request added to it
+    // may take it over the size limit.
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final long MAX_BATCH_BYTES = 256 * 1024;
+
+    private final Map<Long, PendingRpc> pending = new HashMap<>();
+    private final Deque<PendingRpc> deadlines = new ArrayDeque<>();
+    private final RemoteRpcChannel channel;
+    private final long timeoutNanos;
+
+    private Cancellable timeoutTask;
+    private long nextId;
+    private boolean closing;
+
+    private RemoteRpcChannelActor(final RemoteRpcChannel channel, final RemoteRpcProviderConfig config) {
+        this.channel = Preconditions.checkNotNull(channel);
+        this.timeoutNanos = config.getAskDuration().duration().toNanos();
+    }
+
+    static Props props(final RemoteRpcChannel channel, final RemoteRpcProviderConfig config) {
+        return Props.create(RemoteRpcChannelActor.class, channel, config);
+    }
+
+    @Override
+    public void preStart() throws Exception {
+        super.preStart();
+        timeoutTask = getContext().system().scheduler().schedule(TICK_INTERVAL, TICK_INTERVAL, getSelf(),
+            TIMEOUT_TICK, getContext().dispatcher(), getSelf());
+    }
+
+    @Override
+    public void postStop() throws Exception {
+        if (timeoutTask != null) {
+            timeoutTask.cancel();
+        }
+
+        channel.channelStopped();
+        for (PendingRpc rpc : pending.values()) {
+            rpc.future.failNow(channel.closedException());
+        }
+        pending.clear();
+        deadlines.clear();
+
+        super.postStop();
+    }
+
+    @Override
+    protected void handleReceive(final Object message) {
+        if (RemoteRpcChannel.FLUSH == message) {
+            flush();
+        } else if (message instanceof RpcResponseBatch) {
+            receiveResponses((RpcResponseBatch) message);
+            maybeStop();
+        } else if (TIMEOUT_TICK == message) {
+            expireRequests();
+            maybeStop();
+        } else if (RemoteRpcChannel.CLOSE == message) {
+            LOG.debug("Closing channel to {} with {} outstanding requests", channel.getRemoteInvoker(),
+                pending.size());
+            closing = true;
+            flush();
+            maybeStop();
+        } else {
+            unknownMessage(message);
+        }
+    }
+
+    private void maybeStop() {
+        if (closing && pending.isEmpty()) {
+            LOG.debug("Channel to {} has been drained, stopping", channel.getRemoteInvoker());
+            getContext().stop(getSelf());
+        }
+    }
+
+    private void flush() {
+        channel.flushStarted();
+
+        ExecuteRpcBatch.Builder batch = ExecuteRpcBatch.builder();
+        long firstId = nextId;
+        for (QueuedRpc queued = channel.pollQueued(); queued != null; queued = channel.pollQueued()) {
+            final PendingRpc rpc = new PendingRpc(queued.future, nextId++, queued.startNanos,
+                queued.startNanos + timeoutNanos);
+            pending.put(rpc.id, rpc);
+            deadlines.addLast(rpc);
+            batch.add(queued.request);
+
+            if (batch.size() == MAX_BATCH_SIZE || batch.sizeBytes() >= MAX_BATCH_BYTES) {
+                sendBatch(firstId, batch);
+                batch = ExecuteRpcBatch.builder();
+                firstId = nextId;
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            sendBatch(firstId, batch);
+        }
+    }
+
+    private void sendBatch(final long firstId, final ExecuteRpcBatch.Builder batch) {
+        LOG.debug("Sending {} requests ({} bytes) starting at {} to {}", batch.size(), batch.sizeBytes(), firstId,
+            channel.getRemoteInvoker());
+        channel.getRemoteInvoker().tell(batch.build(firstId), getSelf());
+    }
+
+    private void receiveResponses(final RpcResponseBatch batch) {
+        for (Entry<Long, RpcResponse> e : batch.getResponses().entrySet()) {
+            final PendingRpc rpc = complete(e.getKey());
+            if (rpc != null) {
+                rpc.future.setResponse(e.getValue());
+            }
+        }
+        for (Entry<Long, Throwable> e : batch.getFailures().entrySet()) {
+            final PendingRpc rpc = complete(e.getKey());
+            if (rpc != null) {
+                rpc.future.failNow(e.getValue());
+            }
+        }
+    }
+
+    private PendingRpc complete(final Long id) {
+        final PendingRpc rpc = pending.remove(id);
+        if (rpc == null) {
+            LOG.debug("Ignoring response to unknown request {}, it may have timed out", id);
+            return null;
+        }
+
+        rpc.completed = true;
+        channel.recordLatency(System.nanoTime() - rpc.startNanos);
+        return rpc;
+    }
+
+    private void expireRequests() {
+        final long now = System.nanoTime();
+        for (PendingRpc rpc = deadlines.peekFirst(); rpc != null; rpc = deadlines.peekFirst()) {
+            if (!rpc.completed) {
+                if (rpc.deadlineNanos - now > 0) {
+                    break;
+                }
+
+                pending.remove(rpc.id);
+                rpc.completed = true;
+                channel.recordLatency(now - rpc.startNanos);
+                rpc.future.failNow(new AskTimeoutException("Request " + rpc.id + " to " + channel.getRemoteInvoker()
+                    + " timed out after " + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + "ms"));
+            }
+
+            deadlines.removeFirst();
+        }
+    }
+}
@@ -8,20 +8,18 @@
 
 package org.opendaylight.controller.remote.rpc;
 
-import akka.actor.ActorRef;
-import akka.pattern.Patterns;
-import akka.util.Timeout;
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.CheckedFuture;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
-import org.opendaylight.controller.remote.rpc.messages.ExecuteRpc;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
 /**
- * A {@link DOMRpcImplementation} which routes invocation requests to a remote invoker actor.
+ * A {@link DOMRpcImplementation} which routes invocation requests to a remote invoker actor via
+ * a {@link RemoteRpcChannel}. Global RPCs may be redirected to a different node providing them by
+ * a {@link RemoteRpcBalancer}.
  *
  * @author Robert Varga
  */
@@ -29,20 +27,18 @@ final class RemoteRpcImplementation implements DOMRpcImplementation {
     // 0 for local, 1 for binding, 2 for remote
     private static final long COST = 2;
 
-    private final ActorRef remoteInvoker;
-    private final Timeout askDuration;
+    private final RemoteRpcChannel channel;
+    private final RemoteRpcBalancer balancer;
 
-    RemoteRpcImplementation(final ActorRef remoteInvoker, final RemoteRpcProviderConfig config) {
-        this.remoteInvoker = Preconditions.checkNotNull(remoteInvoker);
-        this.askDuration = config.getAskDuration();
+    RemoteRpcImplementation(final RemoteRpcChannel channel, final RemoteRpcBalancer balancer) {
+        this.channel = Preconditions.checkNotNull(channel);
+        this.balancer = Preconditions.checkNotNull(balancer);
     }
 
     @Override
     public CheckedFuture<DOMRpcResult, DOMRpcException> invokeRpc(final DOMRpcIdentifier rpc,
             final NormalizedNode<?, ?> input) {
-        final RemoteDOMRpcFuture ret = RemoteDOMRpcFuture.create(rpc.getType().getLastComponent());
-        ret.completeWith(Patterns.ask(remoteInvoker, ExecuteRpc.from(rpc, input), askDuration));
-        return ret;
+        return balancer.select(channel, rpc).invokeRpc(rpc, input);
     }
 
     @Override
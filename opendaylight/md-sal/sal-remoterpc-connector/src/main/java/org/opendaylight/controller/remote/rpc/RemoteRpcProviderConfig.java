@@ -27,6 +27,7 @@ public class RemoteRpcProviderConfig extends CommonConfig {
 
     private static final String TAG_GOSSIP_TICK_INTERVAL = "gossip-tick-interval";
     private static final String TAG_RPC_REGISTRY_PERSISTENCE_ID = "rpc-registry-persistence-id";
+    private static final String TAG_RPC_ROUTING_LOGIC = "rpc-routing-logic";
 
     //locally cached values
     private Timeout cachedAskDuration;
@@ -90,6 +91,17 @@ public class RemoteRpcProviderConfig extends CommonConfig {
         return cachedGossipTickInterval;
     }
 
+    /**
+     * Return the name of the policy used to pick a node to execute a global RPC provided by multiple remote nodes.
+     * Supported values are "preferred", which keeps using the node picked by the RPC broker, and
+     * "power-of-two-choices", which spreads requests across nodes based on their outstanding requests and latency.
+     *
+     * @return routing logic name
+     */
+    public String getRpcRoutingLogic() {
+        return get().getString(TAG_RPC_ROUTING_LOGIC);
+    }
+
     /**
      * This is called via blueprint xml as the builder pattern can't be used.
      */
@@ -125,6 +137,9 @@ public class RemoteRpcProviderConfig extends CommonConfig {
 
             // persistence
             configHolder.put(TAG_RPC_REGISTRY_PERSISTENCE_ID, "remote-rpc-registry");
+
+            // routing
+            configHolder.put(TAG_RPC_ROUTING_LOGIC, "preferred");
         }
 
         public Builder gossipTickInterval(final String interval) {
@@ -132,6 +147,11 @@ public class RemoteRpcProviderConfig extends CommonConfig {
             return this;
         }
 
+        public Builder rpcRoutingLogic(final String logic) {
+            configHolder.put(TAG_RPC_ROUTING_LOGIC, logic);
+            return this;
+        }
+
         @Override
         public RemoteRpcProviderConfig build() {
             return new RemoteRpcProviderConfig(merge());
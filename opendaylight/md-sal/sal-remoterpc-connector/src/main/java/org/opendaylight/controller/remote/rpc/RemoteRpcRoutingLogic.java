@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Policy for selecting the remote node which executes a global RPC, if more than one remote node provides it. Local
+ * implementations are always preferred by the RPC broker, as they have a lower invocation cost, hence this policy is
+ * consulted only when the RPC is not available locally.
+ */
+enum RemoteRpcRoutingLogic {
+    /**
+     * Use the node selected by the RPC broker. This concentrates all invocations of an RPC on a single node.
+     */
+    PREFERRED("preferred") {
+        @Override
+        RemoteRpcChannel select(final RemoteRpcChannel preferred, final List<RemoteRpcChannel> candidates) {
+            return preferred;
+        }
+    },
+    /**
+     * Pick two random candidates and use the one with the lower expected wait, estimated from the number of
+     * outstanding requests and observed latency. This spreads load across all nodes, while steering clear of slow
+     * or overloaded nodes, without having to track global state.
+     */
+    POWER_OF_TWO_CHOICES("power-of-two-choices") {
+        @Override
+        RemoteRpcChannel select(final RemoteRpcChannel preferred, final List<RemoteRpcChannel> candidates) {
+            final int size = candidates.size();
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final int firstIndex = random.nextInt(size);
+            int secondIndex = random.nextInt(size - 1);
+            if (secondIndex >= firstIndex) {
+                secondIndex++;
+            }
+
+            final RemoteRpcChannel first = candidates.get(firstIndex);
+            final RemoteRpcChannel second = candidates.get(secondIndex);
+            return expectedWait(first) <= expectedWait(second) ? first : second;
+        }
+    };
+
+    private static final Logger LOG = LoggerFactory.getLogger(RemoteRpcRoutingLogic.class);
+
+    private final String configName;
+
+    RemoteRpcRoutingLogic(final String configName) {
+        this.configName = configName;
+    }
+
+    /**
+     * Select the channel to use.
+     *
+     * @param preferred channel selected by the RPC broker
+     * @param candidates all channels to nodes providing the RPC, has at least two elements
+     * @return selected channel
+     */
+    abstract RemoteRpcChannel select(RemoteRpcChannel preferred, List<RemoteRpcChannel> candidates);
+
+    String getConfigName() {
+        return configName;
+    }
+
+    /**
+     * Return the routing logic configured by name. An unknown name does not prevent remote RPCs from being registered,
+     * it is reported and {@link #PREFERRED} is used instead.
+     *
+     * @param name configured name
+     * @return routing logic to use
+     */
+    static RemoteRpcRoutingLogic forConfigName(final String name) {
+        for (RemoteRpcRoutingLogic logic : values()) {
+            if (logic.configName.equals(name)) {
+                return logic;
+            }
+        }
+
+        LOG.warn("Unknown RPC routing logic \"{}\", using \"{}\"", name, PREFERRED.configName);
+        return PREFERRED;
+    }
+
+    private static long expectedWait(final RemoteRpcChannel channel) {
+        // Channels without latency samples are cheap, so that they get probed
+        return (channel.getInFlight() + 1L) * Math.max(channel.getLatencyNanos(), 1L);
+    }
+}
@@ -12,23 +12,86 @@ import akka.actor.ActorRef;
 import akka.actor.Props;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActor;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
 import org.opendaylight.controller.remote.rpc.messages.ExecuteRpc;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpcBatch;
 import org.opendaylight.controller.remote.rpc.messages.RpcResponse;
+import org.opendaylight.controller.remote.rpc.messages.RpcResponseBatch;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
 /**
  * Actor receiving invocation requests from remote nodes, routing them to
- * {@link DOMRpcService#invokeRpc(SchemaPath, NormalizedNode)}.
+ * {@link DOMRpcService#invokeRpc(SchemaPath, NormalizedNode)}. Requests arrive either individually as
+ * {@link ExecuteRpc}, or multiplexed as {@link ExecuteRpcBatch} from a {@link RemoteRpcChannel}.
  */
 final class RpcInvoker extends AbstractUntypedActor {
+    /**
+     * Collects outcomes of requests in an {@link ExecuteRpcBatch}. Responses which are available by the time all
+     * requests in the batch have been dispatched are sent back in a single {@link RpcResponseBatch}, later ones are
+     * sent as soon as they are available. Failures are always sent in a message of their own, so that a failure cause
+     * which cannot be serialized does not prevent delivery of other outcomes.
+     */
+    private static final class BatchResponder {
+        private final ActorRef sender;
+        private final ActorRef self;
+
+        private Map<Long, RpcResponse> responses = new HashMap<>();
+        private boolean dispatching = true;
+
+        BatchResponder(final ActorRef sender, final ActorRef self) {
+            this.sender = sender;
+            this.self = self;
+        }
+
+        FutureCallback<RpcResponse> callbackFor(final long id) {
+            return new FutureCallback<RpcResponse>() {
+                @Override
+                public void onSuccess(final RpcResponse result) {
+                    addResponse(id, result);
+                }
+
+                @Override
+                public void onFailure(final Throwable failure) {
+                    addFailure(id, failure);
+                }
+            };
+        }
+
+        synchronized void addResponse(final long id, final RpcResponse response) {
+            responses.put(id, response);
+            if (!dispatching) {
+                sendResponses();
+            }
+        }
+
+        void addFailure(final long id, final Throwable failure) {
+            sender.tell(new RpcResponseBatch(ImmutableMap.of(), ImmutableMap.of(id, failure)), self);
+        }
+
+        synchronized void dispatchFinished() {
+            dispatching = false;
+            sendResponses();
+        }
+
+        private void sendResponses() {
+            if (!responses.isEmpty()) {
+                sender.tell(new RpcResponseBatch(responses, ImmutableMap.of()), self);
+                responses = new HashMap<>();
+            }
+        }
+    }
+
     private final DOMRpcService rpcService;
 
     private RpcInvoker(final DOMRpcService rpcService) {
@@ -42,26 +105,55 @@ final class RpcInvoker extends AbstractUntypedActor {
 
     @Override
     protected void handleReceive(final Object message) {
-        if (message instanceof ExecuteRpc) {
+        if (message instanceof ExecuteRpcBatch) {
+            executeRpcBatch((ExecuteRpcBatch) message);
+        } else if (message instanceof ExecuteRpc) {
             executeRpc((ExecuteRpc) message);
         } else {
             unknownMessage(message);
         }
     }
 
-    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void executeRpcBatch(final ExecuteRpcBatch batch) {
+        LOG.debug("Executing {} rpcs starting at {}", batch.getRequests().size(), batch.getFirstId());
+        final BatchResponder responder = new BatchResponder(getSender(), self());
+
+        final List<ExecuteRpc> requests = batch.getRequests();
+        for (int i = 0; i < requests.size(); ++i) {
+            invokeRpc(requests.get(i), responder.callbackFor(batch.getFirstId() + i));
+        }
+
+        responder.dispatchFinished();
+    }
+
     private void executeRpc(final ExecuteRpc msg) {
-        LOG.debug("Executing rpc {}", msg.getRpc());
-        final SchemaPath schemaPath = SchemaPath.create(true, msg.getRpc());
         final ActorRef sender = getSender();
         final ActorRef self = self();
 
+        invokeRpc(msg, new FutureCallback<RpcResponse>() {
+            @Override
+            public void onSuccess(final RpcResponse result) {
+                sender.tell(result, self);
+            }
+
+            @Override
+            public void onFailure(final Throwable failure) {
+                sender.tell(new akka.actor.Status.Failure(failure), self);
+            }
+        });
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void invokeRpc(final ExecuteRpc msg, final FutureCallback<RpcResponse> callback) {
+        LOG.debug("Executing rpc {}", msg.getRpc());
+        final SchemaPath schemaPath = SchemaPath.create(true, msg.getRpc());
+
         final ListenableFuture<DOMRpcResult> future;
         try {
             future = rpcService.invokeRpc(schemaPath, msg.getInputNormalizedNode());
         } catch (final RuntimeException e) {
             LOG.debug("Failed to invoke RPC {}", msg.getRpc(), e);
-            sender.tell(new akka.actor.Status.Failure(e), sender);
+            callback.onFailure(e);
             return;
         }
 
@@ -72,17 +164,16 @@ final class RpcInvoker extends AbstractUntypedActor {
                     // This shouldn't happen but the FutureCallback annotates the result param with Nullable so
                     // handle null here to avoid FindBugs warning.
                     LOG.debug("Got null DOMRpcResult - sending null response for execute rpc : {}", msg.getRpc());
-                    sender.tell(new RpcResponse(null), self);
+                    callback.onSuccess(new RpcResponse(null));
                     return;
                 }
 
                 if (!result.getErrors().isEmpty()) {
                     final String message = String.format("Execution of RPC %s failed", msg.getRpc());
-                    sender.tell(new akka.actor.Status.Failure(new RpcErrorsException(message, result.getErrors())),
-                        self);
+                    callback.onFailure(new RpcErrorsException(message, result.getErrors()));
                 } else {
                     LOG.debug("Sending response for execute rpc : {}", msg.getRpc());
-                    sender.tell(new RpcResponse(result.getResult()), self);
+                    callback.onSuccess(new RpcResponse(result.getResult()));
                 }
             }
 
@@ -91,7 +182,7 @@ final class RpcInvoker extends AbstractUntypedActor {
                 LOG.debug("Failed to execute RPC {}", msg.getRpc(), failure);
                 LOG.error("Failed to execute RPC {} due to {}. More details are available on DEBUG level.",
                     msg.getRpc(), Throwables.getRootCause(failure));
-                sender.tell(new akka.actor.Status.Failure(failure), self);
+                callback.onFailure(failure);
             }
         }, MoreExecutors.directExecutor());
     }
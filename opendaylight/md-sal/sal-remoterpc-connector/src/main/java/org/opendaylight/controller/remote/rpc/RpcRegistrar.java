@@ -10,17 +10,22 @@ package org.opendaylight.controller.remote.rpc;
 import akka.actor.Address;
 import akka.actor.Props;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActor;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationRegistration;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcProviderService;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.UpdateRemoteEndpoints;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.RemoteRpcEndpoint;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
 /**
  * Actor handling registration of RPCs available on remote nodes with the local {@link DOMRpcProviderService}.
@@ -29,12 +34,16 @@ import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.RemoteRpcEndp
  */
 final class RpcRegistrar extends AbstractUntypedActor {
     private final Map<Address, DOMRpcImplementationRegistration<?>> regs = new HashMap<>();
+    private final Map<Address, RemoteRpcChannel> channels = new HashMap<>();
+    private final Map<Address, RemoteRpcEndpoint> remoteEndpoints = new HashMap<>();
     private final DOMRpcProviderService rpcProviderService;
     private final RemoteRpcProviderConfig config;
+    private final RemoteRpcBalancer balancer;
 
     RpcRegistrar(final RemoteRpcProviderConfig config, final DOMRpcProviderService rpcProviderService) {
         this.config = Preconditions.checkNotNull(config);
         this.rpcProviderService = Preconditions.checkNotNull(rpcProviderService);
+        this.balancer = new RemoteRpcBalancer(RemoteRpcRoutingLogic.forConfigName(config.getRpcRoutingLogic()));
     }
 
     public static Props props(final RemoteRpcProviderConfig config, final DOMRpcProviderService rpcProviderService) {
@@ -44,8 +53,11 @@ final class RpcRegistrar extends AbstractUntypedActor {
 
     @Override
     public void postStop() throws Exception {
+        balancer.setGlobalRpcs(ImmutableMap.of());
         regs.values().forEach(DOMRpcImplementationRegistration::close);
         regs.clear();
+        channels.values().forEach(RemoteRpcChannel::close);
+        channels.clear();
 
         super.postStop();
     }
@@ -67,8 +79,14 @@ final class RpcRegistrar extends AbstractUntypedActor {
          *
          * Note that when an RPC moves from one remote node to another, we also do not want to expose the gap,
          * hence we register all new implementations before closing all registrations.
+         *
+         * Channels to remote invokers are reused as long as neither the invoker nor its support for batching
+         * changes. Replaced channels are closed only after their registrations, and after the balancer has stopped
+         * handing them out. Closing a channel only stops it from accepting new requests, the ones in flight still
+         * complete or time out, hence they are not affected by route updates.
          */
         final Collection<DOMRpcImplementationRegistration<?>> prevRegs = new ArrayList<>(endpoints.size());
+        final Collection<RemoteRpcChannel> prevChannels = new ArrayList<>();
 
         for (Entry<Address, Optional<RemoteRpcEndpoint>> e : endpoints.entrySet()) {
             LOG.debug("Updating RPC registrations for {}", e.getKey());
@@ -77,11 +95,28 @@ final class RpcRegistrar extends AbstractUntypedActor {
             final Optional<RemoteRpcEndpoint> maybeEndpoint = e.getValue();
             if (maybeEndpoint.isPresent()) {
                 final RemoteRpcEndpoint endpoint = maybeEndpoint.get();
-                final RemoteRpcImplementation impl = new RemoteRpcImplementation(endpoint.getRouter(), config);
+                RemoteRpcChannel channel = channels.get(e.getKey());
+                if (channel == null || !endpoint.getRouter().equals(channel.getRemoteInvoker())
+                        || endpoint.isBatchingSupported() != channel.isBatchingSupported()) {
+                    if (channel != null) {
+                        prevChannels.add(channel);
+                    }
+                    channel = new RemoteRpcChannel(getContext(), endpoint.getRouter(),
+                        endpoint.isBatchingSupported(), config);
+                    channels.put(e.getKey(), channel);
+                }
+
+                remoteEndpoints.put(e.getKey(), endpoint);
+                final RemoteRpcImplementation impl = new RemoteRpcImplementation(channel, balancer);
                 prevReg = regs.put(e.getKey(), rpcProviderService.registerRpcImplementation(impl,
                     endpoint.getRpcs()));
             } else {
                 prevReg = regs.remove(e.getKey());
+                remoteEndpoints.remove(e.getKey());
+                final RemoteRpcChannel prevChannel = channels.remove(e.getKey());
+                if (prevChannel != null) {
+                    prevChannels.add(prevChannel);
+                }
             }
 
             if (prevReg != null) {
@@ -89,8 +124,29 @@ final class RpcRegistrar extends AbstractUntypedActor {
             }
         }
 
+        if (balancer.isEnabled()) {
+            updateBalancer();
+        }
+
         for (DOMRpcImplementationRegistration<?> r : prevRegs) {
             r.close();
         }
+        for (RemoteRpcChannel c : prevChannels) {
+            c.close();
+        }
+    }
+
+    private void updateBalancer() {
+        final Map<SchemaPath, List<RemoteRpcChannel>> globalRpcs = new HashMap<>();
+        for (Entry<Address, RemoteRpcEndpoint> e : remoteEndpoints.entrySet()) {
+            final RemoteRpcChannel channel = channels.get(e.getKey());
+            for (DOMRpcIdentifier rpc : e.getValue().getRpcs()) {
+                if (YangInstanceIdentifier.EMPTY.equals(rpc.getContextReference())) {
+                    globalRpcs.computeIfAbsent(rpc.getType(), k -> new ArrayList<>()).add(channel);
+                }
+            }
+        }
+
+        balancer.setGlobalRpcs(globalRpcs);
     }
 }
@@ -40,6 +40,10 @@ public class ExecuteRpc implements Serializable {
         return new ExecuteRpc(input, rpc.getType().getLastComponent());
     }
 
+    static ExecuteRpc from(@Nonnull final QName rpc, @Nullable final NormalizedNode<?, ?> input) {
+        return new ExecuteRpc(input, rpc);
+    }
+
     @Nullable
     public NormalizedNode<?, ?> getInputNormalizedNode() {
         return inputNormalizedNode;
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.messages;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.SerializationUtils;
+import org.opendaylight.yangtools.yang.common.QName;
+
+/**
+ * A batch of {@link ExecuteRpc} requests sent over a multiplexed channel. Requests are identified by consecutive
+ * correlation IDs, starting at {@link #getFirstId()}. Responses are delivered in one or more
+ * {@link RpcResponseBatch}es.
+ *
+ * <p>
+ * Batches assembled through a {@link Builder} serialize request inputs as they are added, so that the size of a batch
+ * is known before it is sent without serializing anything twice.
+ */
+public final class ExecuteRpcBatch implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "This field is not Serializable but this class "
+            + "implements writeReplace to delegate serialization to a Proxy class and thus instances of this class "
+            + "aren't serialized. FindBugs does not recognize this.")
+    private final List<ExecuteRpc> requests;
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "This field is not Serializable but this class "
+            + "implements writeReplace to delegate serialization to a Proxy class and thus instances of this class "
+            + "aren't serialized. FindBugs does not recognize this.")
+    @Nullable
+    private final List<byte[]> serializedInputs;
+    private final long firstId;
+
+    public ExecuteRpcBatch(final long firstId, final List<ExecuteRpc> requests) {
+        this(firstId, requests, null);
+    }
+
+    private ExecuteRpcBatch(final long firstId, final List<ExecuteRpc> requests,
+            @Nullable final List<byte[]> serializedInputs) {
+        Preconditions.checkArgument(!requests.isEmpty(), "Requests must not be empty");
+        this.firstId = firstId;
+        this.requests = ImmutableList.copyOf(requests);
+        this.serializedInputs = serializedInputs;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public long getFirstId() {
+        return firstId;
+    }
+
+    public List<ExecuteRpc> getRequests() {
+        return requests;
+    }
+
+    private Object writeReplace() {
+        return new Proxy(this);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("firstId", firstId).add("requests", requests.size()).toString();
+    }
+
+    /**
+     * Assembles an {@link ExecuteRpcBatch}, keeping track of its serialized size.
+     */
+    public static final class Builder {
+        private final List<ExecuteRpc> requests = new ArrayList<>();
+        private final List<byte[]> serializedInputs = new ArrayList<>();
+        private long sizeBytes;
+
+        private Builder() {
+        }
+
+        public void add(final ExecuteRpc request) {
+            final byte[] input = SerializationUtils.serializeNormalizedNode(request.getInputNormalizedNode());
+            requests.add(request);
+            serializedInputs.add(input);
+            sizeBytes += input.length;
+        }
+
+        public boolean isEmpty() {
+            return requests.isEmpty();
+        }
+
+        public int size() {
+            return requests.size();
+        }
+
+        /**
+         * Return the serialized size of request inputs added so far. This does not include the RPC names, which
+         * are written once per distinct name.
+         *
+         * @return size in bytes
+         */
+        public long sizeBytes() {
+            return sizeBytes;
+        }
+
+        public ExecuteRpcBatch build(final long firstId) {
+            return new ExecuteRpcBatch(firstId, requests, ImmutableList.copyOf(serializedInputs));
+        }
+    }
+
+    private static class Proxy implements Externalizable {
+        private static final long serialVersionUID = 1L;
+
+        private ExecuteRpcBatch batch;
+
+        // checkstyle flags the public modifier as redundant which really doesn't make sense since it clearly isn't
+        // redundant. It is explicitly needed for Java serialization to be able to create instances via reflection.
+        @SuppressWarnings("checkstyle:RedundantModifier")
+        public Proxy() {
+        }
+
+        Proxy(final ExecuteRpcBatch batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void writeExternal(final ObjectOutput out) throws IOException {
+            out.writeLong(batch.firstId);
+            out.writeInt(batch.requests.size());
+            for (int i = 0; i < batch.requests.size(); ++i) {
+                final ExecuteRpc request = batch.requests.get(i);
+                // Repeated QNames are written as back-references
+                out.writeObject(request.getRpc());
+                if (batch.serializedInputs != null) {
+                    out.write(batch.serializedInputs.get(i));
+                } else {
+                    SerializationUtils.serializeNormalizedNode(request.getInputNormalizedNode(), out);
+                }
+            }
+        }
+
+        @Override
+        public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+            final long firstId = in.readLong();
+            final int size = in.readInt();
+            final ImmutableList.Builder<ExecuteRpc> builder = ImmutableList.builder();
+            for (int i = 0; i < size; ++i) {
+                final QName rpc = (QName) in.readObject();
+                builder.add(ExecuteRpc.from(rpc, SerializationUtils.deserializeNormalizedNode(in)));
+            }
+            batch = new ExecuteRpcBatch(firstId, builder.build());
+        }
+
+        private Object readResolve() {
+            return batch;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.messages;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.SerializationUtils;
+
+/**
+ * Outcomes of requests previously sent in one or more {@link ExecuteRpcBatch}es, keyed by their correlation IDs.
+ * Failure causes are serialized as objects, which may fail. Senders are expected to send each failure in a batch of its
+ * own, so that such a failure does not affect delivery of other outcomes.
+ */
+public final class RpcResponseBatch implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "This field is not Serializable but this class "
+            + "implements writeReplace to delegate serialization to a Proxy class and thus instances of this class "
+            + "aren't serialized. FindBugs does not recognize this.")
+    private final Map<Long, RpcResponse> responses;
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "This field is not Serializable but this class "
+            + "implements writeReplace to delegate serialization to a Proxy class and thus instances of this class "
+            + "aren't serialized. FindBugs does not recognize this.")
+    private final Map<Long, Throwable> failures;
+
+    public RpcResponseBatch(final Map<Long, RpcResponse> responses, final Map<Long, Throwable> failures) {
+        this.responses = ImmutableMap.copyOf(responses);
+        this.failures = ImmutableMap.copyOf(failures);
+    }
+
+    public Map<Long, RpcResponse> getResponses() {
+        return responses;
+    }
+
+    public Map<Long, Throwable> getFailures() {
+        return failures;
+    }
+
+    private Object writeReplace() {
+        return new Proxy(this);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("responses", responses.keySet())
+                .add("failures", failures.keySet()).toString();
+    }
+
+    private static class Proxy implements Externalizable {
+        private static final long serialVersionUID = 1L;
+
+        private RpcResponseBatch batch;
+
+        // checkstyle flags the public modifier as redundant which really doesn't make sense since it clearly isn't
+        // redundant. It is explicitly needed for Java serialization to be able to create instances via reflection.
+        @SuppressWarnings("checkstyle:RedundantModifier")
+        public Proxy() {
+        }
+
+        Proxy(final RpcResponseBatch batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void writeExternal(final ObjectOutput out) throws IOException {
+            out.writeInt(batch.responses.size());
+            for (Entry<Long, RpcResponse> e : batch.responses.entrySet()) {
+                out.writeLong(e.getKey());
+                SerializationUtils.serializeNormalizedNode(e.getValue().getResultNormalizedNode(), out);
+            }
+
+            out.writeInt(batch.failures.size());
+            for (Entry<Long, Throwable> e : batch.failures.entrySet()) {
+                out.writeLong(e.getKey());
+                out.writeObject(e.getValue());
+            }
+        }
+
+        @Override
+        public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+            final int responseCount = in.readInt();
+            final ImmutableMap.Builder<Long, RpcResponse> responses = ImmutableMap.builder();
+            for (int i = 0; i < responseCount; ++i) {
+                final long id = in.readLong();
+                responses.put(id, new RpcResponse(SerializationUtils.deserializeNormalizedNode(in)));
+            }
+
+            final int failureCount = in.readInt();
+            final ImmutableMap.Builder<Long, Throwable> failures = ImmutableMap.builder();
+            for (int i = 0; i < failureCount; ++i) {
+                final long id = in.readLong();
+                failures.put(id, (Throwable) in.readObject());
+            }
+
+            batch = new RpcResponseBatch(responses.build(), failures.build());
+        }
+
+        private Object readResolve() {
+            return batch;
+        }
+    }
+}
@@ -14,6 +14,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.EOFException;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
@@ -21,7 +22,7 @@ import java.io.ObjectOutput;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
 import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataInput;
@@ -37,6 +38,7 @@ public final class RoutingTable implements BucketData<RoutingTable>, Serializabl
         @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "We deal with the field in serialization methods.")
         private Collection<DOMRpcIdentifier> rpcs;
         private ActorRef rpcInvoker;
+        private boolean batchingSupported;
 
         // checkstyle flags the public modifier as redundant however it is explicitly needed for Java serialization to
         // be able to create instances via reflection.
@@ -48,6 +50,7 @@ public final class RoutingTable implements BucketData<RoutingTable>, Serializabl
         Proxy(final RoutingTable table) {
             rpcs = table.getRoutes();
             rpcInvoker = table.getRpcInvoker();
+            batchingSupported = table.isBatchingSupported();
         }
 
         @Override
@@ -60,6 +63,9 @@ public final class RoutingTable implements BucketData<RoutingTable>, Serializabl
                 nnout.writeSchemaPath(id.getType());
                 nnout.writeYangInstanceIdentifier(id.getContextReference());
             }
+
+            // Appended last, so that nodes which do not know about it skip it
+            out.writeBoolean(batchingSupported);
         }
 
         @Override
@@ -72,10 +78,17 @@ public final class RoutingTable implements BucketData<RoutingTable>, Serializabl
             for (int i = 0; i < size; ++i) {
                 rpcs.add(DOMRpcIdentifier.create(nnin.readSchemaPath(), nnin.readYangInstanceIdentifier()));
             }
+
+            try {
+                batchingSupported = in.readBoolean();
+            } catch (EOFException e) {
+                // Sent by a node which predates ExecuteRpcBatch
+                batchingSupported = false;
+            }
         }
 
         private Object readResolve() {
-            return new RoutingTable(rpcInvoker, rpcs);
+            return new RoutingTable(rpcInvoker, rpcs, batchingSupported);
         }
     }
 
@@ -84,10 +97,18 @@ public final class RoutingTable implements BucketData<RoutingTable>, Serializabl
     @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "We deal with the field in serialization methods.")
     private final Set<DOMRpcIdentifier> rpcs;
     private final ActorRef rpcInvoker;
+    private final boolean batchingSupported;
 
     RoutingTable(final ActorRef rpcInvoker, final Collection<DOMRpcIdentifier> table) {
+        this(rpcInvoker, table, true);
+    }
+
+    RoutingTable(final ActorRef rpcInvoker, final Collection<DOMRpcIdentifier> table,
+            final boolean batchingSupported) {
         this.rpcInvoker = Preconditions.checkNotNull(rpcInvoker);
+        // This is a no-op if the table is already an ImmutableSet
         this.rpcs = ImmutableSet.copyOf(table);
+        this.batchingSupported = batchingSupported;
     }
 
     @Override
@@ -103,16 +124,35 @@ public final class RoutingTable implements BucketData<RoutingTable>, Serializabl
         return rpcInvoker;
     }
 
-    RoutingTable addRpcs(final Collection<DOMRpcIdentifier> toAdd) {
-        final Set<DOMRpcIdentifier> newRpcs = new HashSet<>(rpcs);
-        newRpcs.addAll(toAdd);
-        return new RoutingTable(rpcInvoker, newRpcs);
+    /**
+     * Return whether the invoker owning this table understands
+     * {@link org.opendaylight.controller.remote.rpc.messages.ExecuteRpcBatch}.
+     *
+     * @return true if requests can be sent in batches
+     */
+    boolean isBatchingSupported() {
+        return batchingSupported;
     }
 
-    RoutingTable removeRpcs(final Collection<DOMRpcIdentifier> toRemove) {
-        final Set<DOMRpcIdentifier> newRpcs = new HashSet<>(rpcs);
-        newRpcs.removeAll(toRemove);
-        return new RoutingTable(rpcInvoker, newRpcs);
+    /**
+     * Add and remove RPCs in one go. The set of RPCs is copied at most once, and not at all if nothing changes.
+     *
+     * @param toAdd RPCs to add, must not overlap with toRemove
+     * @param toRemove RPCs to remove
+     * @return Updated RoutingTable, or this table if there is no change.
+     */
+    RoutingTable updateRpcs(final Collection<DOMRpcIdentifier> toAdd, final Set<DOMRpcIdentifier> toRemove) {
+        if (rpcs.containsAll(toAdd) && Collections.disjoint(rpcs, toRemove)) {
+            return this;
+        }
+
+        final ImmutableSet.Builder<DOMRpcIdentifier> builder = ImmutableSet.builder();
+        for (DOMRpcIdentifier rpc : rpcs) {
+            if (!toRemove.contains(rpc)) {
+                builder.add(rpc);
+            }
+        }
+        return new RoutingTable(rpcInvoker, builder.addAll(toAdd).build(), batchingSupported);
     }
 
     private Object writeReplace() {
@@ -131,6 +171,7 @@ public final class RoutingTable implements BucketData<RoutingTable>, Serializabl
 
     @Override
     public String toString() {
-        return "RoutingTable{" + "rpcs=" + rpcs + ", rpcInvoker=" + rpcInvoker + '}';
+        return "RoutingTable{" + "rpcs=" + rpcs + ", rpcInvoker=" + rpcInvoker + ", batchingSupported="
+                + batchingSupported + '}';
     }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataInput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.controller.remote.rpc.registry.gossip.BucketDelta;
+
+/**
+ * A change to a {@link RoutingTable}, expressed as sets of added and removed RPCs. The two sets never overlap.
+ */
+final class RoutingTableDelta implements BucketDelta<RoutingTable> {
+    private static final class Proxy implements Externalizable {
+        private static final long serialVersionUID = 1L;
+
+        @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "We deal with the field in serialization methods.")
+        private Set<DOMRpcIdentifier> added;
+        @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "We deal with the field in serialization methods.")
+        private Set<DOMRpcIdentifier> removed;
+
+        // checkstyle flags the public modifier as redundant however it is explicitly needed for Java serialization to
+        // be able to create instances via reflection.
+        @SuppressWarnings("checkstyle:RedundantModifier")
+        public Proxy() {
+            // For Externalizable
+        }
+
+        Proxy(final RoutingTableDelta delta) {
+            added = delta.added;
+            removed = delta.removed;
+        }
+
+        @Override
+        public void writeExternal(final ObjectOutput out) throws IOException {
+            final NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newDataOutput(out);
+            writeRpcs(nnout, added);
+            writeRpcs(nnout, removed);
+        }
+
+        @Override
+        public void readExternal(final ObjectInput in) throws IOException {
+            final NormalizedNodeDataInput nnin = NormalizedNodeInputOutput.newDataInput(in);
+            added = readRpcs(nnin);
+            removed = readRpcs(nnin);
+        }
+
+        private Object readResolve() {
+            return new RoutingTableDelta(added, removed);
+        }
+
+        private static void writeRpcs(final NormalizedNodeDataOutput out, final Set<DOMRpcIdentifier> rpcs)
+                throws IOException {
+            out.writeInt(rpcs.size());
+            for (DOMRpcIdentifier id : rpcs) {
+                out.writeSchemaPath(id.getType());
+                out.writeYangInstanceIdentifier(id.getContextReference());
+            }
+        }
+
+        private static Set<DOMRpcIdentifier> readRpcs(final NormalizedNodeDataInput in) throws IOException {
+            final int size = in.readInt();
+            final ImmutableSet.Builder<DOMRpcIdentifier> builder = ImmutableSet.builder();
+            for (int i = 0; i < size; ++i) {
+                builder.add(DOMRpcIdentifier.create(in.readSchemaPath(), in.readYangInstanceIdentifier()));
+            }
+            return builder.build();
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "We deal with the field in serialization methods.")
+    private final Set<DOMRpcIdentifier> added;
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "We deal with the field in serialization methods.")
+    private final Set<DOMRpcIdentifier> removed;
+
+    private RoutingTableDelta(final Set<DOMRpcIdentifier> added, final Set<DOMRpcIdentifier> removed) {
+        this.added = ImmutableSet.copyOf(added);
+        this.removed = ImmutableSet.copyOf(removed);
+        Preconditions.checkArgument(Collections.disjoint(this.added, this.removed),
+            "Added %s and removed %s RPCs overlap", this.added, this.removed);
+    }
+
+    static RoutingTableDelta added(final Collection<DOMRpcIdentifier> rpcs) {
+        return new RoutingTableDelta(ImmutableSet.copyOf(rpcs), ImmutableSet.of());
+    }
+
+    static RoutingTableDelta removed(final Collection<DOMRpcIdentifier> rpcs) {
+        return new RoutingTableDelta(ImmutableSet.of(), ImmutableSet.copyOf(rpcs));
+    }
+
+    Set<DOMRpcIdentifier> getAdded() {
+        return added;
+    }
+
+    Set<DOMRpcIdentifier> getRemoved() {
+        return removed;
+    }
+
+    @Override
+    public RoutingTable applyTo(final RoutingTable base) {
+        return base.updateRpcs(added, removed);
+    }
+
+    @Override
+    public RoutingTableDelta mergeWith(final BucketDelta<RoutingTable> next) {
+        Preconditions.checkArgument(next instanceof RoutingTableDelta, "Unsupported delta %s", next);
+        final RoutingTableDelta other = (RoutingTableDelta) next;
+
+        // Later changes override earlier ones
+        return new RoutingTableDelta(Sets.union(Sets.difference(added, other.removed), other.added),
+            Sets.union(Sets.difference(removed, other.added), other.removed));
+    }
+
+    private Object writeReplace() {
+        return new Proxy(this);
+    }
+
+    @Override
+    public String toString() {
+        return "RoutingTableDelta{" + "added=" + added + ", removed=" + removed + '}';
+    }
+}
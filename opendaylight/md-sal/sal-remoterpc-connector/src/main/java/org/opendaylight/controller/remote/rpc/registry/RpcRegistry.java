@@ -71,7 +71,7 @@ public class RpcRegistry extends BucketStoreActor<RoutingTable> {
 
     private void receiveAddRoutes(final AddOrUpdateRoutes msg) {
         LOG.debug("AddOrUpdateRoutes: {}", msg.getRouteIdentifiers());
-        updateLocalBucket(getLocalData().addRpcs(msg.getRouteIdentifiers()));
+        updateLocalBucket(RoutingTableDelta.added(msg.getRouteIdentifiers()));
     }
 
     /**
@@ -81,7 +81,7 @@ public class RpcRegistry extends BucketStoreActor<RoutingTable> {
      */
     private void receiveRemoveRoutes(final RemoveRoutes msg) {
         LOG.debug("RemoveRoutes: {}", msg.getRouteIdentifiers());
-        updateLocalBucket(getLocalData().removeRpcs(msg.getRouteIdentifiers()));
+        updateLocalBucket(RoutingTableDelta.removed(msg.getRouteIdentifiers()));
     }
 
     @Override
@@ -98,7 +98,7 @@ public class RpcRegistry extends BucketStoreActor<RoutingTable> {
 
             final Collection<DOMRpcIdentifier> rpcs = table.getRoutes();
             endpoints.put(e.getKey(), rpcs.isEmpty() ? Optional.empty()
-                    : Optional.of(new RemoteRpcEndpoint(table.getRpcInvoker(), rpcs)));
+                    : Optional.of(new RemoteRpcEndpoint(table.getRpcInvoker(), rpcs, table.isBatchingSupported())));
         }
 
         if (!endpoints.isEmpty()) {
@@ -109,11 +109,18 @@ public class RpcRegistry extends BucketStoreActor<RoutingTable> {
     public static final class RemoteRpcEndpoint {
         private final Set<DOMRpcIdentifier> rpcs;
         private final ActorRef router;
+        private final boolean batchingSupported;
 
         @VisibleForTesting
         public RemoteRpcEndpoint(final ActorRef router, final Collection<DOMRpcIdentifier> rpcs) {
+            this(router, rpcs, true);
+        }
+
+        RemoteRpcEndpoint(final ActorRef router, final Collection<DOMRpcIdentifier> rpcs,
+                final boolean batchingSupported) {
             this.router = Preconditions.checkNotNull(router);
             this.rpcs = ImmutableSet.copyOf(rpcs);
+            this.batchingSupported = batchingSupported;
         }
 
         public ActorRef getRouter() {
@@ -123,6 +130,10 @@ public class RpcRegistry extends BucketStoreActor<RoutingTable> {
         public Set<DOMRpcIdentifier> getRpcs() {
             return rpcs;
         }
+
+        public boolean isBatchingSupported() {
+            return batchingSupported;
+        }
     }
 
     /**
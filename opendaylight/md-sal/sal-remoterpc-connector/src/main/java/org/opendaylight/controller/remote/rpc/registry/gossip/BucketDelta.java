@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import java.io.Serializable;
+import javax.annotation.Nonnull;
+
+/**
+ * A change to {@link BucketData}. Deltas are gossiped instead of full buckets when the receiver is known to hold
+ * the version the delta is based on, so that the amount of data exchanged is proportional to the amount of change
+ * rather than the size of the bucket.
+ *
+ * @param <T> Concrete BucketData type
+ */
+public interface BucketDelta<T extends BucketData<T>> extends Serializable {
+    /**
+     * Apply this delta to a base data.
+     *
+     * @param base data to which this delta should be applied
+     * @return resulting data
+     */
+    @Nonnull T applyTo(@Nonnull T base);
+
+    /**
+     * Create a delta which has the same effect as applying this delta followed by the next delta.
+     *
+     * @param next delta to apply after this one
+     * @return merged delta
+     */
+    @Nonnull BucketDelta<T> mergeWith(@Nonnull BucketDelta<T> next);
+}
@@ -7,7 +7,7 @@
  */
 package org.opendaylight.controller.remote.rpc.registry.gossip;
 
-import static org.opendaylight.controller.remote.rpc.registry.gossip.BucketStoreActor.getBucketsByMembersMessage;
+import static org.opendaylight.controller.remote.rpc.registry.gossip.BucketStoreActor.getBucketUpdatesMessage;
 import static org.opendaylight.controller.remote.rpc.registry.gossip.BucketStoreActor.removeBucketMessage;
 import static org.opendaylight.controller.remote.rpc.registry.gossip.BucketStoreActor.updateRemoteBucketsMessage;
 
@@ -40,15 +40,14 @@ public final class BucketStoreAccess {
         this.timeout = Preconditions.checkNotNull(timeout);
     }
 
-    <T extends BucketData<T>> void getBucketsByMembers(final Collection<Address> members,
-            final Consumer<Map<Address, Bucket<T>>> callback) {
-        Patterns.ask(context.parent(), getBucketsByMembersMessage(members), timeout)
+    void getBucketUpdates(final Address to, final Collection<Address> members, final Map<Address, Long> remoteVersions,
+            final boolean useDeltas, final Consumer<GossipEnvelope> callback) {
+        Patterns.ask(context.parent(), getBucketUpdatesMessage(to, members, remoteVersions, useDeltas), timeout)
             .onComplete(new OnComplete<Object>() {
-                @SuppressWarnings("unchecked")
                 @Override
                 public void onComplete(final Throwable failure, final Object success) {
                     if (failure == null) {
-                        callback.accept((Map<Address, Bucket<T>>) success);
+                        callback.accept((GossipEnvelope) success);
                     }
                 }
             }, context.dispatcher());
@@ -67,8 +66,10 @@ public final class BucketStoreAccess {
     }
 
     @SuppressWarnings("unchecked")
-    void updateRemoteBuckets(final Map<Address, ? extends Bucket<?>> buckets) {
-        context.parent().tell(updateRemoteBucketsMessage((Map<Address, Bucket<?>>) buckets), ActorRef.noSender());
+    void updateRemoteBuckets(final Map<Address, ? extends Bucket<?>> buckets,
+            final Map<Address, ? extends DeltaBucket<?>> deltas) {
+        context.parent().tell(updateRemoteBucketsMessage((Map<Address, Bucket<?>>) buckets,
+            (Map<Address, DeltaBucket<?>>) deltas), ActorRef.noSender());
     }
 
     void removeRemoteBucket(final Address addr) {
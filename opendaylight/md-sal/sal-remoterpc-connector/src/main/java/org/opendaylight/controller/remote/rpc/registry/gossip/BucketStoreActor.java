@@ -36,6 +36,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.Consumer;
+import javax.annotation.Nullable;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedPersistentActorWithMetering;
 import org.opendaylight.controller.remote.rpc.RemoteRpcProviderConfig;
 
@@ -61,6 +62,11 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
      */
     private final Map<Address, Bucket<T>> remoteBuckets = new HashMap<>();
 
+    /**
+     * Recent deltas of remote buckets, so that they can be relayed to other nodes without sending full buckets.
+     */
+    private final Map<Address, DeltaHistory<T>> remoteHistories = new HashMap<>();
+
     /**
      * Bucket version for every known node in the cluster including this node.
      */
@@ -94,16 +100,18 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
         this.persistenceId = Preconditions.checkNotNull(persistenceId);
     }
 
-    static ExecuteInActor getBucketsByMembersMessage(final Collection<Address> members) {
-        return actor -> actor.getBucketsByMembers(members);
+    static ExecuteInActor getBucketUpdatesMessage(final Address to, final Collection<Address> members,
+            final Map<Address, Long> remoteVersions, final boolean useDeltas) {
+        return actor -> actor.getBucketUpdates(to, members, remoteVersions, useDeltas);
     }
 
     static ExecuteInActor removeBucketMessage(final Address addr) {
         return actor -> actor.removeBucket(addr);
     }
 
-    static ExecuteInActor updateRemoteBucketsMessage(final Map<Address, Bucket<?>> buckets) {
-        return actor -> actor.updateRemoteBuckets(buckets);
+    static ExecuteInActor updateRemoteBucketsMessage(final Map<Address, Bucket<?>> buckets,
+            final Map<Address, DeltaBucket<?>> deltas) {
+        return actor -> actor.updateRemoteBuckets(buckets, deltas);
     }
 
     public final T getLocalData() {
@@ -208,9 +216,28 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
         return config;
     }
 
+    /**
+     * Replace local bucket data. Remote nodes will receive the full bucket.
+     *
+     * @param data new data
+     */
     protected final void updateLocalBucket(final T data) {
+        updateLocalBucket(data, null);
+    }
+
+    /**
+     * Apply a delta to local bucket data. Remote nodes which have seen a recent version of the bucket will receive
+     * only the delta.
+     *
+     * @param delta change to apply
+     */
+    protected final void updateLocalBucket(final BucketDelta<T> delta) {
+        updateLocalBucket(delta.applyTo(getLocalData()), delta);
+    }
+
+    private void updateLocalBucket(final T data, @Nullable final BucketDelta<T> delta) {
         final LocalBucket<T> local = getLocalBucket();
-        final boolean bumpIncarnation = local.setData(data);
+        final boolean bumpIncarnation = local.setData(data, delta);
         versions.put(selfAddress, local.getVersion());
 
         if (bumpIncarnation) {
@@ -257,26 +284,49 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
     }
 
     /**
-     * Helper to collect buckets for requested members.
+     * Helper to collect updates of buckets for requested members. Where the remote node supports deltas and the
+     * version it holds allows it, a delta is sent instead of the full bucket.
      *
+     * @param to address of the remote node
      * @param members requested members
+     * @param remoteVersions bucket versions held by the remote node
+     * @param useDeltas true if the remote node supports deltas
      */
-    private void getBucketsByMembers(final Collection<Address> members) {
-        Map<Address, Bucket<T>> buckets = new HashMap<>();
-
-        //first add the local bucket if asked
-        if (members.contains(selfAddress)) {
-            buckets.put(selfAddress, getLocalBucket().snapshot());
-        }
+    private void getBucketUpdates(final Address to, final Collection<Address> members,
+            final Map<Address, Long> remoteVersions, final boolean useDeltas) {
+        final Map<Address, Bucket<T>> buckets = new HashMap<>();
+        final Map<Address, DeltaBucket<T>> deltas = new HashMap<>();
 
-        //then get buckets for requested remote nodes
         for (Address address : members) {
-            if (remoteBuckets.containsKey(address)) {
-                buckets.put(address, remoteBuckets.get(address));
+            final Long remoteVersion = remoteVersions.get(address);
+
+            if (selfAddress.equals(address)) {
+                final LocalBucket<T> local = getLocalBucket();
+                final Optional<DeltaBucket<T>> delta = !useDeltas || remoteVersion == null ? Optional.empty()
+                        : local.deltaSince(remoteVersion);
+                if (delta.isPresent()) {
+                    deltas.put(address, delta.get());
+                } else {
+                    buckets.put(address, local.snapshot());
+                }
+                continue;
+            }
+
+            final Bucket<T> bucket = remoteBuckets.get(address);
+            if (bucket != null) {
+                final DeltaHistory<T> history = remoteHistories.get(address);
+                final Optional<DeltaBucket<T>> delta = !useDeltas || remoteVersion == null || history == null
+                        ? Optional.empty() : history.since(remoteVersion);
+                if (delta.isPresent()) {
+                    deltas.put(address, delta.get());
+                } else {
+                    buckets.put(address, bucket);
+                }
             }
         }
 
-        getSender().tell(buckets, getSelf());
+        LOG.trace("{}: sending {} buckets and {} deltas to {}", selfAddress, buckets.size(), deltas.size(), to);
+        getSender().tell(new GossipEnvelope(selfAddress, to, buckets, deltas), getSelf());
     }
 
     private void removeBucket(final Address addr) {
@@ -286,6 +336,7 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
             onBucketRemoved(addr, bucket);
         }
         versions.remove(addr);
+        remoteHistories.remove(addr);
     }
 
     /**
@@ -296,13 +347,28 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
      */
     @VisibleForTesting
     void updateRemoteBuckets(final Map<Address, Bucket<?>> receivedBuckets) {
-        LOG.debug("{}: receiveUpdateRemoteBuckets: {}", selfAddress, receivedBuckets);
-        if (receivedBuckets == null || receivedBuckets.isEmpty()) {
+        updateRemoteBuckets(receivedBuckets, ImmutableMap.of());
+    }
+
+    /**
+     * Update local copy of remote buckets where local copy's version is older. Deltas are applied only if local
+     * copy's version matches their base version.
+     *
+     * @param receivedBuckets buckets sent by remote
+     *                        {@link org.opendaylight.controller.remote.rpc.registry.gossip.Gossiper}
+     * @param receivedDeltas deltas sent by remote
+     *                       {@link org.opendaylight.controller.remote.rpc.registry.gossip.Gossiper}
+     */
+    @VisibleForTesting
+    void updateRemoteBuckets(final Map<Address, Bucket<?>> receivedBuckets,
+            final Map<Address, DeltaBucket<?>> receivedDeltas) {
+        LOG.debug("{}: receiveUpdateRemoteBuckets: {} deltas: {}", selfAddress, receivedBuckets, receivedDeltas);
+        if (receivedBuckets.isEmpty() && receivedDeltas.isEmpty()) {
             //nothing to do
             return;
         }
 
-        final Map<Address, Bucket<T>> newBuckets = new HashMap<>(receivedBuckets.size());
+        final Map<Address, Bucket<T>> newBuckets = new HashMap<>();
         for (Entry<Address, Bucket<?>> entry : receivedBuckets.entrySet()) {
             final Address addr = entry.getKey();
 
@@ -326,19 +392,36 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
                     remoteVersion);
                 continue;
             }
-            newBuckets.put(addr, receivedBucket);
-            versions.put(addr, remoteVersion);
-            final Bucket<T> prevBucket = remoteBuckets.put(addr, receivedBucket);
-
-            // Deal with DeathWatch subscriptions
-            final Optional<ActorRef> prevRef = prevBucket != null ? prevBucket.getWatchActor() : Optional.empty();
-            final Optional<ActorRef> curRef = receivedBucket.getWatchActor();
-            if (!curRef.equals(prevRef)) {
-                prevRef.ifPresent(ref -> removeWatch(addr, ref));
-                curRef.ifPresent(ref -> addWatch(addr, ref));
+            putRemoteBucket(addr, receivedBucket, newBuckets);
+
+            // We do not know how the bucket relates to previous deltas
+            remoteHistories.remove(addr);
+        }
+
+        for (Entry<Address, DeltaBucket<?>> entry : receivedDeltas.entrySet()) {
+            final Address addr = entry.getKey();
+            if (selfAddress.equals(addr)) {
+                // Remote cannot update our bucket
+                continue;
+            }
+
+            @SuppressWarnings("unchecked")
+            final DeltaBucket<T> receivedDelta = (DeltaBucket<T>) entry.getValue();
+            if (receivedDelta == null) {
+                LOG.debug("Ignoring null delta from {}", addr);
+                continue;
             }
 
-            LOG.debug("Updating bucket from {} to version {}", entry.getKey(), remoteVersion);
+            // apply only if we have the base version, otherwise the next gossip round will sort it out
+            final Bucket<T> prevBucket = remoteBuckets.get(addr);
+            if (prevBucket == null || prevBucket.getVersion() != receivedDelta.getBaseVersion()) {
+                LOG.debug("Ignoring delta from {} based on version {} (local {})", addr,
+                    receivedDelta.getBaseVersion(), prevBucket == null ? null : prevBucket.getVersion());
+                continue;
+            }
+
+            putRemoteBucket(addr, receivedDelta.applyTo(prevBucket), newBuckets);
+            remoteHistories.computeIfAbsent(addr, key -> new DeltaHistory<>()).append(receivedDelta);
         }
 
         LOG.debug("State after update - Local Bucket [{}], Remote Buckets [{}]", localBucket, remoteBuckets);
@@ -346,6 +429,23 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
         onBucketsUpdated(newBuckets);
     }
 
+    private void putRemoteBucket(final Address addr, final Bucket<T> bucket, final Map<Address, Bucket<T>> newBuckets) {
+        final long version = bucket.getVersion();
+        newBuckets.put(addr, bucket);
+        versions.put(addr, version);
+        final Bucket<T> prevBucket = remoteBuckets.put(addr, bucket);
+
+        // Deal with DeathWatch subscriptions
+        final Optional<ActorRef> prevRef = prevBucket != null ? prevBucket.getWatchActor() : Optional.empty();
+        final Optional<ActorRef> curRef = bucket.getWatchActor();
+        if (!curRef.equals(prevRef)) {
+            prevRef.ifPresent(ref -> removeWatch(addr, ref));
+            curRef.ifPresent(ref -> addWatch(addr, ref));
+        }
+
+        LOG.debug("Updating bucket from {} to version {}", addr, version);
+    }
+
     private void addWatch(final Address addr, final ActorRef ref) {
         if (!watchedActors.containsKey(ref)) {
             getContext().watch(ref);
@@ -367,6 +467,7 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
 
         for (Address addr : watchedActors.removeAll(message.getActor())) {
             versions.remove(addr);
+            remoteHistories.remove(addr);
             final Bucket<T> bucket = remoteBuckets.remove(addr);
             if (bucket != null) {
                 LOG.debug("Source actor dead, removing bucket {} from ", bucket, addr);
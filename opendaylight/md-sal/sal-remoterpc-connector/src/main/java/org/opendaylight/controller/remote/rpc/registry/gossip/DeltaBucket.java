@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Verify;
+import java.io.Serializable;
+
+/**
+ * A {@link BucketDelta} which transforms a bucket from one version to another. Unlike a {@link Bucket}, this can
+ * only be applied by a node which holds the bucket at {@link #getBaseVersion()}.
+ *
+ * @param <T> Concrete BucketData type
+ */
+final class DeltaBucket<T extends BucketData<T>> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final long baseVersion;
+    private final long version;
+
+    // Guaranteed to be non-null
+    private final BucketDelta<T> delta;
+
+    DeltaBucket(final long baseVersion, final long version, final BucketDelta<T> delta) {
+        Preconditions.checkArgument(baseVersion < version, "Base version %s is not older than version %s",
+            baseVersion, version);
+        this.baseVersion = baseVersion;
+        this.version = version;
+        this.delta = Preconditions.checkNotNull(delta);
+    }
+
+    long getBaseVersion() {
+        return baseVersion;
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    BucketDelta<T> getDelta() {
+        return delta;
+    }
+
+    /**
+     * Apply this delta to a bucket.
+     *
+     * @param bucket bucket at {@link #getBaseVersion()}
+     * @return bucket at {@link #getVersion()}
+     */
+    Bucket<T> applyTo(final Bucket<T> bucket) {
+        Preconditions.checkArgument(bucket.getVersion() == baseVersion, "Bucket version %s does not match base %s",
+            bucket.getVersion(), baseVersion);
+        return new BucketImpl<>(version, delta.applyTo(bucket.getData()));
+    }
+
+    /**
+     * Extend this delta with a subsequent delta.
+     *
+     * @param next delta based on {@link #getVersion()}
+     * @return delta from {@link #getBaseVersion()} to next delta's version
+     */
+    DeltaBucket<T> mergeWith(final DeltaBucket<T> next) {
+        Preconditions.checkArgument(next.baseVersion == version, "Delta base %s does not match version %s",
+            next.baseVersion, version);
+        return new DeltaBucket<>(baseVersion, next.version, delta.mergeWith(next.delta));
+    }
+
+    @Override
+    public String toString() {
+        return "DeltaBucket{" + "baseVersion=" + baseVersion + ", version=" + version + ", delta=" + delta + '}';
+    }
+
+    private Object readResolve() {
+        Verify.verifyNotNull(delta);
+        return this;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Bounded history of consecutive {@link DeltaBucket}s of a single bucket. It allows the delta between any recently
+ * seen version and the latest version to be reconstructed. Once a delta cannot be reconstructed, the full bucket has
+ * to be sent instead.
+ *
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @param <T> Concrete BucketData type
+ */
+final class DeltaHistory<T extends BucketData<T>> {
+    @VisibleForTesting
+    static final int MAX_DELTAS = 32;
+
+    private final Deque<DeltaBucket<T>> deltas = new ArrayDeque<>();
+
+    /**
+     * Record a delta. If it does not follow the last recorded delta, history is restarted from this delta.
+     *
+     * @param delta delta to record
+     */
+    void append(final DeltaBucket<T> delta) {
+        final DeltaBucket<T> last = deltas.peekLast();
+        if (last != null && last.getVersion() != delta.getBaseVersion()) {
+            deltas.clear();
+        }
+
+        deltas.addLast(delta);
+        if (deltas.size() > MAX_DELTAS) {
+            deltas.removeFirst();
+        }
+    }
+
+    /**
+     * Fold a change into the last recorded delta, without changing its version.
+     *
+     * @param delta change to fold
+     * @return True if the change was folded, false if there is no last delta.
+     */
+    boolean mergeLast(final BucketDelta<T> delta) {
+        final DeltaBucket<T> last = deltas.pollLast();
+        if (last == null) {
+            return false;
+        }
+
+        deltas.addLast(new DeltaBucket<>(last.getBaseVersion(), last.getVersion(), last.getDelta().mergeWith(delta)));
+        return true;
+    }
+
+    /**
+     * Reconstruct the delta from specified version to the latest recorded version.
+     *
+     * @param version base version
+     * @return Delta from specified version, or empty if it cannot be reconstructed.
+     */
+    Optional<DeltaBucket<T>> since(final long version) {
+        final Iterator<DeltaBucket<T>> it = deltas.iterator();
+        while (it.hasNext()) {
+            DeltaBucket<T> ret = it.next();
+            if (ret.getBaseVersion() == version) {
+                while (it.hasNext()) {
+                    ret = ret.mergeWith(it.next());
+                }
+                return Optional.of(ret);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    void clear() {
+        deltas.clear();
+    }
+
+    @VisibleForTesting
+    int size() {
+        return deltas.size();
+    }
+}
@@ -20,9 +20,18 @@ final class GossipEnvelope implements Serializable {
     private final Address from;
     private final Address to;
 
+    // Null when received from a node which does not support deltas
+    private final Map<Address, DeltaBucket<?>> deltas;
+
     GossipEnvelope(final Address from, final Address to, final Map<Address, ? extends Bucket<?>> buckets) {
+        this(from, to, buckets, ImmutableMap.of());
+    }
+
+    GossipEnvelope(final Address from, final Address to, final Map<Address, ? extends Bucket<?>> buckets,
+            final Map<Address, ? extends DeltaBucket<?>> deltas) {
         this.to = Preconditions.checkNotNull(to);
         this.buckets = ImmutableMap.copyOf(buckets);
+        this.deltas = ImmutableMap.copyOf(deltas);
         this.from = from;
     }
 
@@ -30,6 +39,10 @@ final class GossipEnvelope implements Serializable {
         return buckets;
     }
 
+    Map<Address, DeltaBucket<?>> deltas() {
+        return deltas != null ? deltas : ImmutableMap.of();
+    }
+
     Address from() {
         return from;
     }
@@ -18,9 +18,17 @@ final class GossipStatus implements Serializable {
     private final Map<Address, Long> versions;
     private final Address from;
 
+    // False when received from a node which does not support deltas, as the field is missing from its stream
+    private final boolean supportsDeltas;
+
     GossipStatus(final Address from, final Map<Address, Long> versions) {
+        this(from, versions, true);
+    }
+
+    GossipStatus(final Address from, final Map<Address, Long> versions, final boolean supportsDeltas) {
         this.versions = ImmutableMap.copyOf(versions);
         this.from = from;
+        this.supportsDeltas = supportsDeltas;
     }
 
     Address from() {
@@ -30,4 +38,13 @@ final class GossipStatus implements Serializable {
     Map<Address, Long> versions() {
         return versions;
     }
+
+    /**
+     * Return whether the sender is able to apply {@link DeltaBucket}s received in a {@link GossipEnvelope}.
+     *
+     * @return true if the sender supports deltas
+     */
+    boolean supportsDeltas() {
+        return supportsDeltas;
+    }
 }
\ No newline at end of file
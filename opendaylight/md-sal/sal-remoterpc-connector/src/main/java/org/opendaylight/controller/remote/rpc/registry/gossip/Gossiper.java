@@ -45,8 +45,11 @@ import scala.concurrent.duration.FiniteDuration;
  * <p>
  * When bucket versions are received from a remote gossiper, it is compared
  * with bucket store's bucket versions. Which ever buckets are newer
- * locally, are sent to remote gossiper. If any bucket is older in bucket store,
- * a gossip status is sent to remote gossiper so that it can send the newer buckets.
+ * locally, are sent to remote gossiper. If the remote gossiper advertises delta support in its
+ * gossip status and the bucket store knows how the version held by the remote gossiper differs
+ * from the local one, only the delta is sent. If any bucket
+ * is older in bucket store, a gossip status is sent to remote gossiper so that it can send
+ * the newer buckets.
  *
  * <p>
  * When a bucket is received from a remote gossiper, its sent to the bucket store
@@ -303,11 +306,13 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
         }
 
         if (!localIsNewer.isEmpty()) {
-            //send newer buckets to remote
-            bucketStore.getBucketsByMembers(localIsNewer, buckets -> {
-                LOG.trace("Buckets to send from {}: {}", selfAddress, buckets);
-                remote.tell(new GossipEnvelope(selfAddress, remote.path().address(), buckets), getSelf());
-            });
+            //send newer buckets, or their deltas if the remote can apply them, to remote
+            bucketStore.getBucketUpdates(remote.path().address(), localIsNewer, remoteVersions,
+                status.supportsDeltas(), envelope -> {
+                    LOG.trace("Buckets to send from {}: {} deltas: {}", selfAddress, envelope.buckets(),
+                        envelope.deltas());
+                    remote.tell(envelope, getSelf());
+                });
         }
     }
 
@@ -324,18 +329,21 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
             return;
         }
 
-        updateRemoteBuckets(envelope.buckets());
+        updateRemoteBuckets(envelope.buckets(), envelope.deltas());
     }
 
     /**
      * Helper to send received buckets to bucket store.
      *
      * @param buckets map of Buckets to update
+     * @param deltas map of bucket deltas to apply
      */
     @VisibleForTesting
-    void updateRemoteBuckets(final Map<Address, ? extends Bucket<?>> buckets) {
+    void updateRemoteBuckets(final Map<Address, ? extends Bucket<?>> buckets,
+            final Map<Address, ? extends DeltaBucket<?>> deltas) {
         // filter this so we only handle buckets for known peers
-        bucketStore.updateRemoteBuckets(Maps.filterKeys(buckets, peers::containsKey));
+        bucketStore.updateRemoteBuckets(Maps.filterKeys(buckets, peers::containsKey),
+            Maps.filterKeys(deltas, peers::containsKey));
     }
 
     /**
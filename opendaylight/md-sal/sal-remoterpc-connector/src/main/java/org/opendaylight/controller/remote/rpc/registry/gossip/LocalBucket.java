@@ -8,10 +8,13 @@
 package org.opendaylight.controller.remote.rpc.registry.gossip;
 
 import com.google.common.base.Preconditions;
+import java.util.Optional;
+import javax.annotation.Nullable;
 
 /**
  * Local bucket implementation. Unlike a full-blown {@link Bucket}, this class is mutable and tracks when it has been
- * changed and when it has been sent anywhere.
+ * changed and when it has been sent anywhere. It also keeps a history of recent changes, so remote nodes holding an
+ * older version can be brought up to date with a {@link DeltaBucket}.
  *
  * @author Robert Varga
  */
@@ -26,6 +29,8 @@ final class LocalBucket<T extends BucketData<T>> {
     private long version;
     private T data;
 
+    private final DeltaHistory<T> history = new DeltaHistory<>();
+
     // We bump versions only if we took a snapshot since last data update
     private boolean bumpVersion;
 
@@ -48,13 +53,46 @@ final class LocalBucket<T extends BucketData<T>> {
         return new BucketImpl<>(version, data);
     }
 
-    boolean setData(final T data) {
+    /**
+     * Return the delta which transforms data at specified version to current data. Like {@link #snapshot()}, this
+     * publishes the current version.
+     *
+     * @param baseVersion version held by the remote node
+     * @return Delta, or empty if it is not available.
+     */
+    Optional<DeltaBucket<T>> deltaSince(final long baseVersion) {
+        final Optional<DeltaBucket<T>> ret = history.since(baseVersion);
+        if (ret.isPresent()) {
+            bumpVersion = true;
+        }
+        return ret;
+    }
+
+    /**
+     * Update data.
+     *
+     * @param data new data
+     * @param delta change from previous data to new data, null if not known
+     * @return True if the version number has wrapped, and the incarnation needs to be bumped.
+     */
+    boolean setData(final T data, @Nullable final BucketDelta<T> delta) {
         this.data = Preconditions.checkNotNull(data);
         if (!bumpVersion) {
+            // Current version has not been seen by anyone, hence we can fold the change into its delta
+            if (delta == null || !history.mergeLast(delta)) {
+                history.clear();
+            }
             return false;
         }
 
         bumpVersion = false;
-        return (++version & 0xffff_ffffL) == 0;
+        final long baseVersion = version;
+        final boolean wrapped = (++version & 0xffff_ffffL) == 0;
+        if (delta != null) {
+            history.append(new DeltaBucket<>(baseVersion, version, delta));
+        } else {
+            history.clear();
+        }
+        return wrapped;
     }
 }
@@ -106,8 +106,10 @@ public class AbstractRpcTest {
         rpcInvoker1 = node1.actorOf(RpcInvoker.props(domRpcService1));
         rpcRegistry2Probe = new JavaTestKit(node2);
         rpcInvoker2 = node2.actorOf(RpcInvoker.props(domRpcService2));
-        remoteRpcImpl1 = new RemoteRpcImplementation(rpcInvoker2, config1);
-        remoteRpcImpl2 = new RemoteRpcImplementation(rpcInvoker1, config2);
+        remoteRpcImpl1 = new RemoteRpcImplementation(new RemoteRpcChannel(node1, rpcInvoker2, config1),
+            new RemoteRpcBalancer(RemoteRpcRoutingLogic.PREFERRED));
+        remoteRpcImpl2 = new RemoteRpcImplementation(new RemoteRpcChannel(node2, rpcInvoker1, config2),
+            new RemoteRpcBalancer(RemoteRpcRoutingLogic.PREFERRED));
     }
 
     static void assertRpcErrorEquals(final RpcError rpcError, final ErrorSeverity severity,
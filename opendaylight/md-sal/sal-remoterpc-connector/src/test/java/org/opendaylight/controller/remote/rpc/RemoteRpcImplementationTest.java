@@ -11,13 +11,18 @@ package org.opendaylight.controller.remote.rpc;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
+import akka.testkit.JavaTestKit;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Futures;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -25,6 +30,10 @@ import org.mockito.ArgumentCaptor;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
 import org.opendaylight.controller.md.sal.dom.spi.DefaultDOMRpcResult;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpc;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpcBatch;
+import org.opendaylight.controller.remote.rpc.messages.RpcResponse;
+import org.opendaylight.controller.remote.rpc.messages.RpcResponseBatch;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
@@ -60,6 +69,80 @@ public class RemoteRpcImplementationTest extends AbstractRpcTest {
         assertEquals(rpcOutput, result.getResult());
     }
 
+    /**
+     * This test method invokes a remote rpc on a node which does not support batching.
+     */
+    @Test
+    public void testInvokeRpcWithoutBatching() throws Exception {
+        final ContainerNode rpcOutput = makeRPCOutput("bar");
+        final JavaTestKit invoker = new JavaTestKit(node1);
+        final RemoteRpcChannel channel = new RemoteRpcChannel(node1, invoker.getRef(), false, config1);
+        try {
+            final CheckedFuture<DOMRpcResult, DOMRpcException> frontEndFuture =
+                    new RemoteRpcImplementation(channel, new RemoteRpcBalancer(RemoteRpcRoutingLogic.PREFERRED))
+                        .invokeRpc(TEST_RPC_ID, makeRPCInput("foo"));
+
+            final ExecuteRpc request = invoker.expectMsgClass(ExecuteRpc.class);
+            assertEquals(TEST_RPC, request.getRpc());
+            invoker.reply(new RpcResponse(rpcOutput));
+
+            final DOMRpcResult result = frontEndFuture.checkedGet(5, TimeUnit.SECONDS);
+            assertEquals(rpcOutput, result.getResult());
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * This test method closes a channel while a remote rpc is in flight, which still completes.
+     */
+    @Test
+    public void testCloseChannelWithRpcInFlight() throws Exception {
+        final ContainerNode rpcOutput = makeRPCOutput("bar");
+        final JavaTestKit invoker = new JavaTestKit(node1);
+        final RemoteRpcChannel channel = new RemoteRpcChannel(node1, invoker.getRef(), config1);
+        final RemoteRpcImplementation impl = new RemoteRpcImplementation(channel,
+            new RemoteRpcBalancer(RemoteRpcRoutingLogic.PREFERRED));
+
+        final CheckedFuture<DOMRpcResult, DOMRpcException> inFlight = impl.invokeRpc(TEST_RPC_ID, makeRPCInput("foo"));
+        final ExecuteRpcBatch batch = invoker.expectMsgClass(ExecuteRpcBatch.class);
+        channel.close();
+
+        // New requests are rejected
+        try {
+            impl.invokeRpc(TEST_RPC_ID, makeRPCInput("foo")).checkedGet(5, TimeUnit.SECONDS);
+            fail("Expected RemoteDOMRpcException");
+        } catch (RemoteDOMRpcException e) {
+            // expected
+        }
+
+        // The request in flight completes normally
+        invoker.reply(new RpcResponseBatch(ImmutableMap.of(batch.getFirstId(), new RpcResponse(rpcOutput)),
+            ImmutableMap.of()));
+        assertEquals(rpcOutput, inFlight.checkedGet(5, TimeUnit.SECONDS).getResult());
+    }
+
+    /**
+     * This test method invokes many remote rpcs concurrently, so they are multiplexed over the channel.
+     */
+    @Test
+    public void testInvokeMultipleRpcs() throws Exception {
+        final ContainerNode rpcOutput = makeRPCOutput("bar");
+        final DOMRpcResult rpcResult = new DefaultDOMRpcResult(rpcOutput);
+
+        when(domRpcService2.invokeRpc(eq(TEST_RPC_TYPE), any(NormalizedNode.class))).thenReturn(
+                Futures.<DOMRpcResult, DOMRpcException>immediateCheckedFuture(rpcResult));
+
+        final List<CheckedFuture<DOMRpcResult, DOMRpcException>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            futures.add(remoteRpcImpl1.invokeRpc(TEST_RPC_ID, makeRPCInput("foo" + i)));
+        }
+
+        for (CheckedFuture<DOMRpcResult, DOMRpcException> future : futures) {
+            assertEquals(rpcOutput, future.checkedGet(5, TimeUnit.SECONDS).getResult());
+        }
+    }
+
     /**
      * This test method invokes and executes the remote rpc.
      */
@@ -41,6 +41,7 @@ public class RemoteRpcProviderConfigTest {
         Assert.assertNotNull(config.getRpcRegistryPath());
         Assert.assertNotNull(config.getAskDuration());
         Assert.assertNotNull(config.getGossipTickInterval());
+        Assert.assertEquals("preferred", config.getRpcRoutingLogic());
     }
 
     @Test
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import akka.actor.ActorSystem;
+import akka.testkit.JavaTestKit;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpcBatch;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class RemoteRpcRoutingLogicTest {
+    private static final SchemaPath RPC_TYPE = SchemaPath.create(true, QName.create("routing:test", "rpc"));
+    private static final DOMRpcIdentifier GLOBAL_RPC = DOMRpcIdentifier.create(RPC_TYPE);
+    private static final DOMRpcIdentifier ROUTED_RPC = DOMRpcIdentifier.create(RPC_TYPE,
+        YangInstanceIdentifier.of(QName.create("routing:test", "context")));
+
+    private static ActorSystem system;
+    private static RemoteRpcProviderConfig config;
+
+    private JavaTestKit fastInvoker;
+    private JavaTestKit slowInvoker;
+    private RemoteRpcChannel fastChannel;
+    private RemoteRpcChannel slowChannel;
+
+    @BeforeClass
+    public static void setup() {
+        config = new RemoteRpcProviderConfig.Builder("unit-test").build();
+        system = ActorSystem.create("test", config.get());
+    }
+
+    @AfterClass
+    public static void teardown() {
+        JavaTestKit.shutdownActorSystem(system);
+        system = null;
+    }
+
+    @Before
+    public void setUp() {
+        fastInvoker = new JavaTestKit(system);
+        slowInvoker = new JavaTestKit(system);
+        fastChannel = new RemoteRpcChannel(system, fastInvoker.getRef(), config);
+        slowChannel = new RemoteRpcChannel(system, slowInvoker.getRef(), config);
+    }
+
+    @After
+    public void tearDown() {
+        fastChannel.close();
+        slowChannel.close();
+    }
+
+    @Test
+    public void testForConfigName() {
+        for (RemoteRpcRoutingLogic logic : RemoteRpcRoutingLogic.values()) {
+            assertSame(logic, RemoteRpcRoutingLogic.forConfigName(logic.getConfigName()));
+        }
+    }
+
+    @Test
+    public void testForUnknownConfigName() {
+        assertSame(RemoteRpcRoutingLogic.PREFERRED, RemoteRpcRoutingLogic.forConfigName("round-robin"));
+    }
+
+    @Test
+    public void testPreferred() {
+        assertSame(slowChannel, RemoteRpcRoutingLogic.PREFERRED.select(slowChannel,
+            ImmutableList.of(fastChannel, slowChannel)));
+    }
+
+    @Test
+    public void testPowerOfTwoChoicesLatency() {
+        fastChannel.recordLatency(TimeUnit.MILLISECONDS.toNanos(1));
+        slowChannel.recordLatency(TimeUnit.MILLISECONDS.toNanos(100));
+
+        final List<RemoteRpcChannel> candidates = ImmutableList.of(fastChannel, slowChannel);
+        for (int i = 0; i < 16; ++i) {
+            assertSame(fastChannel, RemoteRpcRoutingLogic.POWER_OF_TWO_CHOICES.select(slowChannel, candidates));
+        }
+    }
+
+    @Test
+    public void testPowerOfTwoChoicesInFlight() {
+        fastChannel.recordLatency(TimeUnit.MILLISECONDS.toNanos(10));
+        slowChannel.recordLatency(TimeUnit.MILLISECONDS.toNanos(10));
+
+        // Our invokers never respond, hence these requests remain outstanding
+        slowChannel.invokeRpc(GLOBAL_RPC, null);
+        slowChannel.invokeRpc(GLOBAL_RPC, null);
+        slowInvoker.expectMsgClass(ExecuteRpcBatch.class);
+        assertEquals(2, slowChannel.getInFlight());
+
+        final List<RemoteRpcChannel> candidates = ImmutableList.of(fastChannel, slowChannel);
+        for (int i = 0; i < 16; ++i) {
+            assertSame(fastChannel, RemoteRpcRoutingLogic.POWER_OF_TWO_CHOICES.select(slowChannel, candidates));
+        }
+    }
+
+    @Test
+    public void testBalancer() {
+        fastChannel.recordLatency(TimeUnit.MILLISECONDS.toNanos(1));
+        slowChannel.recordLatency(TimeUnit.MILLISECONDS.toNanos(100));
+
+        final RemoteRpcBalancer balancer = new RemoteRpcBalancer(RemoteRpcRoutingLogic.POWER_OF_TWO_CHOICES);
+        assertSame(slowChannel, balancer.select(slowChannel, GLOBAL_RPC));
+
+        balancer.setGlobalRpcs(ImmutableMap.of(RPC_TYPE, ImmutableList.of(fastChannel, slowChannel)));
+        assertSame(fastChannel, balancer.select(slowChannel, GLOBAL_RPC));
+        // Routed RPCs are never redirected
+        assertSame(slowChannel, balancer.select(slowChannel, ROUTED_RPC));
+    }
+}
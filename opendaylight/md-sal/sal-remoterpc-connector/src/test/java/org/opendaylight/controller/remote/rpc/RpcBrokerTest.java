@@ -14,6 +14,8 @@ import static org.mockito.Mockito.when;
 
 import akka.actor.Status.Failure;
 import akka.testkit.JavaTestKit;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.Futures;
 import org.junit.Assert;
 import org.junit.Test;
@@ -23,7 +25,9 @@ import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationNotAvailab
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
 import org.opendaylight.controller.md.sal.dom.spi.DefaultDOMRpcResult;
 import org.opendaylight.controller.remote.rpc.messages.ExecuteRpc;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpcBatch;
 import org.opendaylight.controller.remote.rpc.messages.RpcResponse;
+import org.opendaylight.controller.remote.rpc.messages.RpcResponseBatch;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
@@ -68,4 +72,53 @@ public class RpcBrokerTest extends AbstractRpcTest {
             }
         };
     }
+
+    @Test
+    public void testExecuteRpcBatch() {
+        new JavaTestKit(node1) {
+            {
+                final ContainerNode invokeRpcResult = makeRPCOutput("bar");
+                final DOMRpcResult rpcResult = new DefaultDOMRpcResult(invokeRpcResult);
+                when(domRpcService1.invokeRpc(eq(TEST_RPC_TYPE), Mockito.<NormalizedNode<?, ?>>any())).thenReturn(
+                        Futures.<DOMRpcResult, DOMRpcException>immediateCheckedFuture(rpcResult));
+
+                rpcInvoker1.tell(new ExecuteRpcBatch(10, ImmutableList.of(ExecuteRpc.from(TEST_RPC_ID, null),
+                    ExecuteRpc.from(TEST_RPC_ID, makeRPCInput("foo")))), getRef());
+
+                // Both requests complete immediately, hence they are answered together
+                final RpcResponseBatch responses = expectMsgClass(duration("5 seconds"), RpcResponseBatch.class);
+                assertEquals(2, responses.getResponses().size());
+                assertEquals(invokeRpcResult, responses.getResponses().get(10L).getResultNormalizedNode());
+                assertEquals(invokeRpcResult, responses.getResponses().get(11L).getResultNormalizedNode());
+                Assert.assertTrue(responses.getFailures().isEmpty());
+            }
+        };
+    }
+
+    @Test
+    public void testExecuteRpcBatchFailure() {
+        new JavaTestKit(node1) {
+            {
+                final ContainerNode invokeRpcResult = makeRPCOutput("bar");
+                when(domRpcService1.invokeRpc(eq(TEST_RPC_TYPE), Mockito.<NormalizedNode<?, ?>>any())).thenReturn(
+                        Futures.<DOMRpcResult, DOMRpcException>immediateCheckedFuture(
+                            new DefaultDOMRpcResult(invokeRpcResult)),
+                        Futures.<DOMRpcResult, DOMRpcException>immediateFailedCheckedFuture(
+                            new DOMRpcImplementationNotAvailableException("NOT FOUND")));
+
+                rpcInvoker1.tell(new ExecuteRpcBatch(10, ImmutableList.of(ExecuteRpc.from(TEST_RPC_ID, null),
+                    ExecuteRpc.from(TEST_RPC_ID, null))), getRef());
+
+                // The failure is sent on its own, as soon as it is known
+                final RpcResponseBatch failures = expectMsgClass(duration("5 seconds"), RpcResponseBatch.class);
+                Assert.assertTrue(failures.getResponses().isEmpty());
+                assertEquals(ImmutableSet.of(11L), failures.getFailures().keySet());
+                Assert.assertTrue(failures.getFailures().get(11L) instanceof DOMRpcException);
+
+                final RpcResponseBatch responses = expectMsgClass(duration("5 seconds"), RpcResponseBatch.class);
+                assertEquals(ImmutableSet.of(10L), responses.getResponses().keySet());
+                Assert.assertTrue(responses.getFailures().isEmpty());
+            }
+        };
+    }
 }
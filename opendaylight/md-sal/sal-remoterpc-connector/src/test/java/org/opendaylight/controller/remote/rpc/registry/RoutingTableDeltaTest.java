@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+import akka.actor.ActorRef;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class RoutingTableDeltaTest {
+    private static final DOMRpcIdentifier RPC1 = newRpc("rpc1");
+    private static final DOMRpcIdentifier RPC2 = newRpc("rpc2");
+    private static final DOMRpcIdentifier RPC3 = newRpc("rpc3");
+
+    private final RoutingTable table = new RoutingTable(mock(ActorRef.class), ImmutableSet.of(RPC1));
+
+    @Test
+    public void testApply() {
+        final RoutingTable added = RoutingTableDelta.added(ImmutableList.of(RPC2)).applyTo(table);
+        assertEquals(ImmutableSet.of(RPC1, RPC2), added.getRoutes());
+
+        final RoutingTable removed = RoutingTableDelta.removed(ImmutableList.of(RPC1)).applyTo(added);
+        assertEquals(ImmutableSet.of(RPC2), removed.getRoutes());
+    }
+
+    @Test
+    public void testApplyWithoutChange() {
+        assertSame(table, RoutingTableDelta.added(ImmutableList.of(RPC1)).applyTo(table));
+        assertSame(table, RoutingTableDelta.removed(ImmutableList.of(RPC2)).applyTo(table));
+    }
+
+    @Test
+    public void testMerge() {
+        final RoutingTableDelta merged = RoutingTableDelta.added(ImmutableList.of(RPC2, RPC3))
+                .mergeWith(RoutingTableDelta.removed(ImmutableList.of(RPC1, RPC2)))
+                .mergeWith(RoutingTableDelta.added(ImmutableList.of(RPC1)));
+        assertEquals("Added", ImmutableSet.of(RPC1, RPC3), merged.getAdded());
+        assertEquals("Removed", ImmutableSet.of(RPC2), merged.getRemoved());
+        assertEquals(ImmutableSet.of(RPC1, RPC3), merged.applyTo(table).getRoutes());
+    }
+
+    @Test
+    public void testSerialization() throws IOException, ClassNotFoundException {
+        final RoutingTableDelta delta = RoutingTableDelta.added(ImmutableList.of(RPC1))
+                .mergeWith(RoutingTableDelta.removed(ImmutableList.of(RPC2)));
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(delta);
+        }
+
+        final RoutingTableDelta clone;
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            clone = (RoutingTableDelta) ois.readObject();
+        }
+        assertEquals("Added", delta.getAdded(), clone.getAdded());
+        assertEquals("Removed", delta.getRemoved(), clone.getRemoved());
+    }
+
+    private static DOMRpcIdentifier newRpc(final String name) {
+        return DOMRpcIdentifier.create(SchemaPath.create(true, QName.create("delta:test", name)));
+    }
+}
@@ -13,7 +13,9 @@ import akka.actor.Address;
 import akka.actor.Props;
 import akka.testkit.JavaTestKit;
 import akka.testkit.TestActorRef;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.typesafe.config.ConfigFactory;
 import java.util.HashMap;
 import java.util.Map;
@@ -40,6 +42,20 @@ public class BucketStoreTest {
         }
     }
 
+    private static final class TDelta implements BucketDelta<T> {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public T applyTo(final T base) {
+            return new T();
+        }
+
+        @Override
+        public BucketDelta<T> mergeWith(final BucketDelta<T> next) {
+            return next;
+        }
+    }
+
     private static ActorSystem system;
 
     @BeforeClass
@@ -133,15 +149,80 @@ public class BucketStoreTest {
 
     }
 
+    /**
+     * Given remote deltas, should apply only those based on local copy's version.
+     */
+    @Test
+    public void testReceiveUpdateRemoteDeltas() {
+        final BucketStoreActor<T> store = createStore("testDeltaStore", "testing-delta-store");
+
+        final Address a1 = new Address("tcp", "system1");
+        final Address a2 = new Address("tcp", "system2");
+        final Bucket<T> b1 = new BucketImpl<>(0L, new T());
+        store.updateRemoteBuckets(ImmutableMap.of(a1, b1));
+
+        // Delta based on known version is applied, delta for unknown bucket is ignored
+        store.updateRemoteBuckets(ImmutableMap.of(), ImmutableMap.of(a1, new DeltaBucket<>(0L, 1L, new TDelta()),
+            a2, new DeltaBucket<>(0L, 1L, new TDelta())));
+        Assert.assertEquals(1L, store.getRemoteBuckets().get(a1).getVersion());
+        Assert.assertNotSame(b1.getData(), store.getRemoteBuckets().get(a1).getData());
+        Assert.assertEquals((Long) 1L, store.getVersions().get(a1));
+        Assert.assertFalse(store.getRemoteBuckets().containsKey(a2));
+
+        // Delta based on a different version is ignored
+        store.updateRemoteBuckets(ImmutableMap.of(), ImmutableMap.of(a1, new DeltaBucket<>(2L, 3L, new TDelta())));
+        Assert.assertEquals(1L, store.getRemoteBuckets().get(a1).getVersion());
+
+        store.updateRemoteBuckets(ImmutableMap.of(), ImmutableMap.of(a1, new DeltaBucket<>(1L, 2L, new TDelta())));
+        Assert.assertEquals(2L, store.getRemoteBuckets().get(a1).getVersion());
+    }
+
+    /**
+     * Given a remote node which does not support deltas, should send full buckets.
+     */
+    @Test
+    public void testGetBucketUpdatesWithoutDeltaSupport() {
+        final TestActorRef<BucketStoreActor<T>> ref = createStoreRef("testDeltaSupportStore",
+            "testing-delta-support-store");
+        final BucketStoreActor<T> store = ref.underlyingActor();
+
+        final Address a1 = new Address("tcp", "system1");
+        final Address to = new Address("tcp", "system2");
+        store.updateRemoteBuckets(ImmutableMap.of(a1, new BucketImpl<>(0L, new T())));
+        store.updateRemoteBuckets(ImmutableMap.of(), ImmutableMap.of(a1, new DeltaBucket<>(0L, 1L, new TDelta())));
+
+        final JavaTestKit probe = new JavaTestKit(system);
+        ref.tell(BucketStoreActor.getBucketUpdatesMessage(to, ImmutableList.of(a1), ImmutableMap.of(a1, 0L), true),
+            probe.getRef());
+        GossipEnvelope envelope = probe.expectMsgClass(GossipEnvelope.class);
+        Assert.assertTrue(envelope.buckets().isEmpty());
+        Assert.assertEquals(ImmutableSet.of(a1), envelope.deltas().keySet());
+
+        ref.tell(BucketStoreActor.getBucketUpdatesMessage(to, ImmutableList.of(a1), ImmutableMap.of(a1, 0L), false),
+            probe.getRef());
+        envelope = probe.expectMsgClass(GossipEnvelope.class);
+        Assert.assertEquals(ImmutableSet.of(a1), envelope.buckets().keySet());
+        Assert.assertEquals(1L, envelope.buckets().get(a1).getVersion());
+        Assert.assertTrue(envelope.deltas().isEmpty());
+    }
+
     /**
      * Create BucketStore actor and returns the underlying instance of BucketStore class.
      *
      * @return instance of BucketStore class
      */
     private static BucketStoreActor<T> createStore() {
+        return createStore("testStore", "testing-store");
+    }
+
+    private static BucketStoreActor<T> createStore(final String name, final String persistenceId) {
+        return createStoreRef(name, persistenceId).underlyingActor();
+    }
+
+    private static TestActorRef<BucketStoreActor<T>> createStoreRef(final String name, final String persistenceId) {
         final Props props = Props.create(TestingBucketStoreActor.class,
-                new RemoteRpcProviderConfig(system.settings().config()), "testing-store",new T());
-        return TestActorRef.<BucketStoreActor<T>>create(system, props, "testStore").underlyingActor();
+                new RemoteRpcProviderConfig(system.settings().config()), persistenceId, new T());
+        return TestActorRef.create(system, props, name);
     }
 
     private static final class TestingBucketStoreActor extends BucketStoreActor<T> {
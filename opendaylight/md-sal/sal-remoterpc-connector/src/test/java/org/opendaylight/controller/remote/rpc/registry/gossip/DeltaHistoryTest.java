@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2017 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import akka.actor.ActorRef;
+import java.util.Optional;
+import org.junit.Test;
+
+public class DeltaHistoryTest {
+    private static final class T implements BucketData<T> {
+        private final int value;
+
+        T(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        public Optional<ActorRef> getWatchActor() {
+            return Optional.empty();
+        }
+    }
+
+    // Adds to the value, so merged deltas can be verified
+    private static final class AddDelta implements BucketDelta<T> {
+        private static final long serialVersionUID = 1L;
+
+        private final int increment;
+
+        AddDelta(final int increment) {
+            this.increment = increment;
+        }
+
+        @Override
+        public T applyTo(final T base) {
+            return new T(base.value + increment);
+        }
+
+        @Override
+        public BucketDelta<T> mergeWith(final BucketDelta<T> next) {
+            return new AddDelta(increment + ((AddDelta) next).increment);
+        }
+    }
+
+    private final DeltaHistory<T> history = new DeltaHistory<>();
+
+    @Test
+    public void testSince() {
+        history.append(new DeltaBucket<>(0, 1, new AddDelta(1)));
+        history.append(new DeltaBucket<>(1, 2, new AddDelta(10)));
+        history.append(new DeltaBucket<>(2, 3, new AddDelta(100)));
+
+        final DeltaBucket<T> delta = history.since(1).get();
+        assertEquals(1, delta.getBaseVersion());
+        assertEquals(3, delta.getVersion());
+        assertEquals(110, delta.getDelta().applyTo(new T(0)).value);
+        assertEquals(111, history.since(0).get().getDelta().applyTo(new T(0)).value);
+        assertFalse(history.since(3).isPresent());
+    }
+
+    @Test
+    public void testMergeLast() {
+        assertFalse(history.mergeLast(new AddDelta(1)));
+
+        history.append(new DeltaBucket<>(0, 1, new AddDelta(1)));
+        assertTrue(history.mergeLast(new AddDelta(2)));
+        final DeltaBucket<T> delta = history.since(0).get();
+        assertEquals(1, delta.getVersion());
+        assertEquals(3, delta.getDelta().applyTo(new T(0)).value);
+    }
+
+    @Test
+    public void testAppendDiscontinuous() {
+        history.append(new DeltaBucket<>(0, 1, new AddDelta(1)));
+        history.append(new DeltaBucket<>(5, 6, new AddDelta(1)));
+        assertEquals(1, history.size());
+        assertFalse(history.since(0).isPresent());
+        assertTrue(history.since(5).isPresent());
+    }
+
+    @Test
+    public void testBounded() {
+        for (int i = 0; i < DeltaHistory.MAX_DELTAS + 1; ++i) {
+            history.append(new DeltaBucket<>(i, i + 1, new AddDelta(1)));
+        }
+        assertEquals(DeltaHistory.MAX_DELTAS, history.size());
+        assertFalse(history.since(0).isPresent());
+        assertEquals(DeltaHistory.MAX_DELTAS, history.since(1).get().getDelta().applyTo(new T(0)).value);
+    }
+}